@@ -0,0 +1,75 @@
+package com.selimhorri.app.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+
+/**
+ * Deterministic catalog data shaped like production rows: products spread over a fixed
+ * set of categories, every product with its category loaded.
+ */
+final class CatalogFixtures {
+	
+	static final int CATEGORIES = 50;
+	
+	private CatalogFixtures() {
+	}
+	
+	static List<Category> categories() {
+		final List<Category> categories = new ArrayList<>(CATEGORIES);
+		for (int categoryId = 1; categoryId <= CATEGORIES; categoryId++)
+			categories.add(Category.builder()
+					.categoryId(categoryId)
+					.categoryTitle("Category " + categoryId)
+					.imageUrl("https://example.com/categories/" + categoryId + ".jpg")
+					.build());
+		return categories;
+	}
+	
+	static List<Product> products(final int count) {
+		final List<Category> categories = categories();
+		final List<Product> products = new ArrayList<>(count);
+		for (int productId = 1; productId <= count; productId++)
+			products.add(Product.builder()
+					.productId(productId)
+					.productTitle("Benchmark product " + productId)
+					.imageUrl("https://example.com/products/" + productId + ".jpg")
+					.sku("BENCH-SKU-" + productId)
+					.priceUnit(10.0 + productId % 1000)
+					.quantity(productId % 100)
+					.category(categories.get(productId % CATEGORIES))
+					.build());
+		return products;
+	}
+	
+	static ProductDto productDto(final int productId) {
+		final int categoryId = productId % CATEGORIES + 1;
+		return ProductDto.builder()
+				.productId(productId)
+				.productTitle("Benchmark product " + productId)
+				.imageUrl("https://example.com/products/" + productId + ".jpg")
+				.sku("BENCH-SKU-" + productId)
+				.priceUnit(10.0 + productId % 1000)
+				.quantity(productId % 100)
+				.categoryDto(CategoryDto.builder()
+						.categoryId(categoryId)
+						.categoryTitle("Category " + categoryId)
+						.imageUrl("https://example.com/categories/" + categoryId + ".jpg")
+						.build())
+				.build();
+	}
+	
+	static List<ProductDto> productDtos(final int count) {
+		final List<ProductDto> products = new ArrayList<>(count);
+		for (int productId = 1; productId <= count; productId++)
+			products.add(productDto(productId));
+		return products;
+	}
+	
+	
+	
+}
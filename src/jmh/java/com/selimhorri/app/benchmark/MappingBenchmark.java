@@ -0,0 +1,91 @@
+package com.selimhorri.app.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.helper.CategoryMappingHelper;
+import com.selimhorri.app.helper.ProductMappingHelper;
+
+/**
+ * Entity/DTO mapping as done on every read and write, plus the {@code findAll} pipeline
+ * with and without its {@code .distinct()}, which hashes every DTO including its nested
+ * category.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MappingBenchmark {
+	
+	@Param({ "100", "10000" })
+	private int products;
+	
+	private List<Product> entities;
+	private List<ProductDto> dtos;
+	private List<Category> categories;
+	
+	@Setup
+	public void setUp() {
+		this.entities = CatalogFixtures.products(this.products);
+		this.dtos = CatalogFixtures.productDtos(this.products);
+		this.categories = CatalogFixtures.categories();
+	}
+	
+	@Benchmark
+	public void productToDto(final Blackhole blackhole) {
+		for (final Product product : this.entities)
+			blackhole.consume(ProductMappingHelper.map(product));
+	}
+	
+	@Benchmark
+	public void productToEntity(final Blackhole blackhole) {
+		for (final ProductDto productDto : this.dtos)
+			blackhole.consume(ProductMappingHelper.map(productDto));
+	}
+	
+	@Benchmark
+	public void categoryToDto(final Blackhole blackhole) {
+		for (final Category category : this.categories)
+			blackhole.consume(CategoryMappingHelper.map(category));
+	}
+	
+	/**
+	 * Same pipeline as {@code ProductServiceImpl.findAll}.
+	 */
+	@Benchmark
+	public List<ProductDto> findAllWithDistinct() {
+		return this.entities.stream()
+				.map(ProductMappingHelper::map)
+				.distinct()
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Benchmark
+	public List<ProductDto> findAllWithoutDistinct() {
+		return this.entities.stream()
+				.map(ProductMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	
+	
+}
@@ -0,0 +1,118 @@
+package com.selimhorri.app.benchmark;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.cache.UnknownIdCache;
+import com.selimhorri.app.config.mapper.MapperConfig;
+import com.selimhorri.app.event.CatalogChangedEvent.EntityType;
+import com.selimhorri.app.exception.ApiExceptionHandler;
+import com.selimhorri.app.exception.payload.ExceptionMsg;
+import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Requests for an unknown product id, from the throw to the serialized error body:
+ * {@code before} fills in a stack trace {@code stackDepth} frames deep (a Spring MVC
+ * request runs over a hundred), formats the message and looks the zone up per call;
+ * {@code after} answers from the {@link UnknownIdCache} and goes through
+ * {@link ApiExceptionHandler}. The query {@code before} also made on every request is
+ * left out, so the gap understates the real one.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class NotFoundBenchmark {
+	
+	private static final int UNKNOWN_ID = 987_654;
+	
+	@Param({ "20", "150" })
+	private int stackDepth;
+	
+	private final ObjectMapper objectMapper = new MapperConfig().objectMapperBean();
+	private final ApiExceptionHandler apiExceptionHandler = new ApiExceptionHandler();
+	private UnknownIdCache unknownIds;
+	
+	@Setup
+	public void setUp() {
+		this.unknownIds = new UnknownIdCache(TimeUnit.HOURS.toMillis(1), 10_000, new SimpleMeterRegistry());
+		this.unknownIds.recordUnknown(EntityType.PRODUCT, UNKNOWN_ID, this.unknownIds.generation(EntityType.PRODUCT));
+	}
+	
+	@Benchmark
+	public byte[] before() throws JsonProcessingException {
+		try {
+			descend(this.stackDepth, id -> {
+				throw new StackfulNotFoundException(String.format("Product with id: %d not found", id));
+			});
+			throw new IllegalStateException();
+		}
+		catch (StackfulNotFoundException e) {
+			return this.objectMapper.writeValueAsBytes(ExceptionMsg.builder()
+					.msg("#### " + e.getMessage() + "! ####")
+					.httpStatus(HttpStatus.BAD_REQUEST)
+					.timestamp(ZonedDateTime.now(ZoneId.systemDefault()))
+					.build());
+		}
+	}
+	
+	@Benchmark
+	public byte[] after() throws JsonProcessingException {
+		try {
+			descend(this.stackDepth, id -> {
+				if (this.unknownIds.isUnknown(EntityType.PRODUCT, id))
+					throw new ProductNotFoundException("Product with id: " + id + " not found");
+			});
+			throw new IllegalStateException();
+		}
+		catch (ProductNotFoundException e) {
+			return this.objectMapper.writeValueAsBytes(this.apiExceptionHandler.handleApiRequestException(e).getBody());
+		}
+	}
+	
+	private static void descend(final int depth, final IntConsumer lookup) {
+		if (depth == 0)
+			lookup.accept(UNKNOWN_ID);
+		else
+			descend(depth - 1, lookup);
+	}
+	
+	/**
+	 * What the domain exceptions were before they dropped their stack traces.
+	 */
+	private static final class StackfulNotFoundException extends RuntimeException {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private StackfulNotFoundException(final String message) {
+			super(message);
+		}
+	
+	}
+	
+	
+	
+}
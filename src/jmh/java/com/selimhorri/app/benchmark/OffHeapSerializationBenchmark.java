@@ -0,0 +1,87 @@
+package com.selimhorri.app.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.offheap.OffHeapProductStore;
+
+/**
+ * Full-catalog serialization from on-heap DTOs vs straight from the off-heap store's
+ * records; {@code -prof gc} shows the allocation difference per pass. The JMH counterpart
+ * of {@code OffHeapProductStoreBenchmarkTest}, which also measures retained heap.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class OffHeapSerializationBenchmark {
+	
+	@Param({ "100000" })
+	private int products;
+	
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private List<ProductDto> onHeap;
+	private OffHeapProductStore store;
+	
+	@Setup
+	public void setUp() {
+		this.onHeap = CatalogFixtures.productDtos(this.products);
+		this.store = new OffHeapProductStore(64 << 20, this.products);
+		this.onHeap.forEach(this.store::put);
+	}
+	
+	@Benchmark
+	public void onHeap() throws IOException {
+		this.objectMapper.writeValue(NullOutputStream.INSTANCE, new DtoCollectionResponse<>(this.onHeap));
+	}
+	
+	@Benchmark
+	public void offHeap() throws IOException {
+		try (JsonGenerator generator = this.objectMapper.getFactory()
+				.createGenerator(NullOutputStream.INSTANCE, JsonEncoding.UTF8)) {
+			generator.writeStartObject();
+			generator.writeArrayFieldStart("collection");
+			this.store.visitAll(record -> record.writeJson(generator));
+			generator.writeEndArray();
+			generator.writeEndObject();
+		}
+	}
+	
+	private static final class NullOutputStream extends OutputStream {
+		
+		static final NullOutputStream INSTANCE = new NullOutputStream();
+		
+		@Override
+		public void write(final int b) {
+		}
+		
+		@Override
+		public void write(final byte[] b, final int off, final int len) {
+		}
+	
+	}
+	
+	
+	
+}
@@ -0,0 +1,67 @@
+package com.selimhorri.app.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.selimhorri.app.config.mapper.MapperConfig;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+
+/**
+ * Product list serialization with the application's {@code ObjectMapper}, which indents
+ * its output, against a compact one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+	
+	@Param({ "1", "100", "10000" })
+	private int products;
+	
+	private final ObjectMapper indented = new MapperConfig().objectMapperBean();
+	private final ObjectMapper compact = new JsonMapper();
+	private DtoCollectionResponse<ProductDto> response;
+	private ProductDto single;
+	
+	@Setup
+	public void setUp() {
+		this.response = new DtoCollectionResponse<>(CatalogFixtures.productDtos(this.products));
+		this.single = CatalogFixtures.productDto(1);
+	}
+	
+	@Benchmark
+	public byte[] listIndented() throws JsonProcessingException {
+		return this.indented.writeValueAsBytes(this.response);
+	}
+	
+	@Benchmark
+	public byte[] listCompact() throws JsonProcessingException {
+		return this.compact.writeValueAsBytes(this.response);
+	}
+	
+	@Benchmark
+	public ProductDto singleRoundTrip() throws JsonProcessingException {
+		return this.compact.readValue(this.compact.writeValueAsBytes(this.single), ProductDto.class);
+	}
+	
+	
+	
+}
@@ -0,0 +1,71 @@
+package com.selimhorri.app.benchmark;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+
+/**
+ * What {@code @Valid} on a request body costs: Bean Validation walks the whole DTO graph
+ * even where no constraint applies.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationBenchmark {
+	
+	private ValidatorFactory validatorFactory;
+	private Validator validator;
+	private ProductDto product;
+	private CategoryDto category;
+	
+	@Setup
+	public void setUp() {
+		this.validatorFactory = Validation.buildDefaultValidatorFactory();
+		this.validator = this.validatorFactory.getValidator();
+		this.product = CatalogFixtures.productDto(1);
+		this.category = CategoryDto.builder()
+				.categoryTitle("Laptops")
+				.parentCategoryDto(CategoryDto.builder().categoryId(1).build())
+				.build();
+	}
+	
+	@TearDown
+	public void tearDown() {
+		this.validatorFactory.close();
+	}
+	
+	@Benchmark
+	public Set<ConstraintViolation<ProductDto>> product() {
+		return this.validator.validate(this.product);
+	}
+	
+	@Benchmark
+	public Set<ConstraintViolation<CategoryDto>> category() {
+		return this.validator.validate(this.category);
+	}
+	
+	
+	
+}
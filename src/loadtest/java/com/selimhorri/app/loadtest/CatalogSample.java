@@ -0,0 +1,56 @@
+package com.selimhorri.app.loadtest;
+
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Ids the workloads pick from, read once from the seeded database.
+ */
+@Getter
+@AllArgsConstructor
+final class CatalogSample {
+	
+	private static final int WRITE_TARGETS = 1_000;
+	
+	private final int[] productIds;
+	/** Categories holding at least one product */
+	private final int[] categoryIds;
+	/** Full products, since updates replace every field */
+	private final List<ProductDto> writeTargets;
+	
+	static CatalogSample load(final JdbcTemplate jdbcTemplate) {
+		final int[] productIds = jdbcTemplate.queryForList("SELECT product_id FROM product_views ORDER BY product_id", Integer.class)
+				.stream()
+				.mapToInt(Integer::intValue)
+				.toArray();
+		final int[] categoryIds = jdbcTemplate.queryForList("SELECT category_id FROM category_aggregates "
+				+ "WHERE product_count > 0 ORDER BY category_id", Integer.class)
+				.stream()
+				.mapToInt(Integer::intValue)
+				.toArray();
+		if (productIds.length == 0 || categoryIds.length == 0)
+			throw new IllegalStateException("The catalog is empty, nothing to load-test against");
+		final List<ProductDto> writeTargets = jdbcTemplate.query("SELECT product_id, product_title, image_url, sku, "
+				+ "price_unit, quantity, category_id FROM product_views ORDER BY product_id LIMIT " + WRITE_TARGETS,
+				(row, rowNum) -> ProductDto.builder()
+						.productId(row.getInt(1))
+						.productTitle(row.getString(2))
+						.imageUrl(row.getString(3))
+						.sku(row.getString(4))
+						.priceUnit(row.getObject(5) == null ? 1.0 : row.getDouble(5))
+						.quantity(row.getInt(6))
+						.categoryDto(CategoryDto.builder().categoryId(row.getInt(7)).build())
+						.build());
+		return new CatalogSample(productIds, categoryIds, writeTargets);
+	}
+	
+	
+	
+}
@@ -0,0 +1,56 @@
+package com.selimhorri.app.loadtest;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.ProductServiceApplication;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Boots the service on a random port against an in-memory H2 database seeded by the
+ * catalog generator, drives one workload at a fixed arrival rate over HTTP and writes a
+ * JSON report:
+ * <pre>
+ * ./mvnw -Ploadtest -DskipTests verify -Dloadtest.workload=browse -Dloadtest.rate=500 \
+ *     -Dloadtest.baseline=previous-report.json
+ * </pre>
+ */
+@Slf4j
+public final class LoadTestMain {
+	
+	private LoadTestMain() {
+	}
+	
+	public static void main(final String[] args) throws Exception {
+		final LoadTestSettings settings = LoadTestSettings.parse(args);
+		final var objectMapper = new ObjectMapper();
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ProductServiceApplication.class)
+				.run("--spring.profiles.active=loadtest,datagen",
+						"--server.port=0",
+						"--app.datagen.products=" + settings.getProducts(),
+						"--app.datagen.seed=" + settings.getSeed(),
+						"--app.datagen.clear=true")) {
+			final int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+			final String baseUrl = "http://localhost:" + port + context.getEnvironment().getProperty("server.servlet.context-path", "");
+			final List<Operation> operations = settings.getWorkload()
+					.operations(baseUrl, CatalogSample.load(context.getBean(JdbcTemplate.class)), objectMapper);
+			
+			final Map<String, OperationStats> stats = new OpenLoopDriver(settings, operations).run();
+			final var report = new LoadTestReport(settings, stats);
+			report.write(objectMapper, settings.getReport());
+			log.info("*** Load test finished, report written to {}:\n{} *", settings.getReport(), report.summary(objectMapper));
+			if (settings.getBaseline() != null)
+				log.info("*** {} *", report.compare(objectMapper, settings.getBaseline()));
+		}
+	}
+	
+	
+	
+}
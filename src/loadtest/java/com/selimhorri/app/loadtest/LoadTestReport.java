@@ -0,0 +1,102 @@
+package com.selimhorri.app.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.HdrHistogram.Histogram;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * JSON report of one run: settings, and per operation and overall the outcome counts and
+ * response/service time percentiles in microseconds. Runs with equal settings are
+ * comparable, and {@link #compare} prints the changes against an earlier report.
+ */
+final class LoadTestReport {
+	
+	private static final String[] COMPARED_PERCENTILES = { "p50", "p99", "p99.9" };
+	
+	private final Map<String, Object> content = new LinkedHashMap<>();
+	
+	LoadTestReport(final LoadTestSettings settings, final Map<String, OperationStats> stats) {
+		final double measuredSeconds = settings.getDurationSeconds() - settings.getWarmupSeconds();
+		final Map<String, Object> settingsReport = new LinkedHashMap<>();
+		settingsReport.put("workload", settings.getWorkload().name());
+		settingsReport.put("rate", settings.getRate());
+		settingsReport.put("durationSeconds", settings.getDurationSeconds());
+		settingsReport.put("warmupSeconds", settings.getWarmupSeconds());
+		settingsReport.put("products", settings.getProducts());
+		settingsReport.put("seed", settings.getSeed());
+		this.content.put("finishedAt", Instant.now().toString());
+		this.content.put("settings", settingsReport);
+		
+		final Histogram responseTime = new Histogram(OperationStats.HIGHEST_TRACKABLE_MICROS, 3);
+		final Histogram serviceTime = new Histogram(OperationStats.HIGHEST_TRACKABLE_MICROS, 3);
+		final Map<String, Object> operations = new LinkedHashMap<>();
+		long dropped = 0;
+		long errors = 0;
+		for (final OperationStats operation : stats.values()) {
+			operations.put(operation.getName(), operation.toReport(measuredSeconds));
+			responseTime.add(operation.getResponseTime());
+			serviceTime.add(operation.getServiceTime());
+			dropped += operation.getDropped().sum();
+			errors += operation.getServerErrors().sum() + operation.getFailures().sum();
+		}
+		final Map<String, Object> all = new LinkedHashMap<>();
+		all.put("completed", responseTime.getTotalCount());
+		all.put("throughput", Math.round(responseTime.getTotalCount() / measuredSeconds * 10) / 10.0);
+		all.put("errors", errors);
+		all.put("dropped", dropped);
+		all.put("responseTimeMicros", OperationStats.percentiles(responseTime));
+		all.put("serviceTimeMicros", OperationStats.percentiles(serviceTime));
+		this.content.put("all", all);
+		this.content.put("operations", operations);
+	}
+	
+	void write(final ObjectMapper objectMapper, final Path path) throws IOException {
+		if (path.getParent() != null)
+			Files.createDirectories(path.getParent());
+		objectMapper.writerWithDefaultPrettyPrinter().writeValue(path.toFile(), this.content);
+	}
+	
+	String summary(final ObjectMapper objectMapper) throws IOException {
+		return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(this.content.get("all"));
+	}
+	
+	/**
+	 * Response time percentiles of every operation present in both reports, before and
+	 * after, with the relative change.
+	 */
+	String compare(final ObjectMapper objectMapper, final Path baseline) throws IOException {
+		final JsonNode before = objectMapper.readTree(baseline.toFile());
+		final JsonNode after = objectMapper.valueToTree(this.content);
+		final var comparison = new StringBuilder(String.format("Response time vs %s (micros):%n", baseline));
+		appendComparison(comparison, "all", before.path("all"), after.path("all"));
+		for (final Iterator<String> names = after.path("operations").fieldNames(); names.hasNext();) {
+			final String name = names.next();
+			if (before.path("operations").has(name))
+				appendComparison(comparison, name, before.path("operations").path(name), after.path("operations").path(name));
+		}
+		return comparison.toString();
+	}
+	
+	private static void appendComparison(final StringBuilder comparison, final String name, final JsonNode before, final JsonNode after) {
+		comparison.append(String.format("  %-22s", name));
+		for (final String percentile : COMPARED_PERCENTILES) {
+			final long was = before.path("responseTimeMicros").path(percentile).asLong();
+			final long is = after.path("responseTimeMicros").path(percentile).asLong();
+			comparison.append(String.format(" %s %d -> %d (%+.1f%%)", percentile, was, is,
+					was == 0 ? 0.0 : (is - was) * 100.0 / was));
+		}
+		comparison.append(System.lineSeparator());
+	}
+	
+	
+	
+}
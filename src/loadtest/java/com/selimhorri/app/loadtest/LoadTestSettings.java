@@ -0,0 +1,92 @@
+package com.selimhorri.app.loadtest;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Load-test options, given as {@code --name=value} arguments.
+ */
+@Getter
+@Builder
+@ToString
+public class LoadTestSettings {
+	
+	@Builder.Default
+	private final Workload workload = Workload.MIXED;
+	/** Requests started per second, whether or not earlier ones completed */
+	@Builder.Default
+	private final int rate = 200;
+	@Builder.Default
+	private final int durationSeconds = 60;
+	/** Leading part of the run left out of the report */
+	@Builder.Default
+	private final int warmupSeconds = 15;
+	/** Beyond this many outstanding requests new ones are counted as dropped instead of sent */
+	@Builder.Default
+	private final int maxInFlight = 2_000;
+	@Builder.Default
+	private final int products = 100_000;
+	@Builder.Default
+	private final long seed = 42L;
+	@Builder.Default
+	private final Path report = Path.of("target", "loadtest-report.json");
+	/** Earlier report to print percentile deltas against */
+	private final Path baseline;
+	
+	static LoadTestSettings parse(final String[] args) {
+		final Map<String, String> options = new HashMap<>();
+		for (final String arg : args) {
+			if (!arg.startsWith("--") || !arg.contains("="))
+				throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+			options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+		}
+		final var settings = LoadTestSettings.builder();
+		options.forEach((name, value) -> {
+			if (value.isBlank())
+				return;
+			switch (name) {
+				case "workload":
+					settings.workload(Workload.valueOf(value.toUpperCase()));
+					break;
+				case "rate":
+					settings.rate(Integer.parseInt(value));
+					break;
+				case "duration":
+					settings.durationSeconds(Integer.parseInt(value));
+					break;
+				case "warmup":
+					settings.warmupSeconds(Integer.parseInt(value));
+					break;
+				case "max-in-flight":
+					settings.maxInFlight(Integer.parseInt(value));
+					break;
+				case "products":
+					settings.products(Integer.parseInt(value));
+					break;
+				case "seed":
+					settings.seed(Long.parseLong(value));
+					break;
+				case "report":
+					settings.report(Path.of(value));
+					break;
+				case "baseline":
+					settings.baseline(Path.of(value));
+					break;
+				default:
+					throw new IllegalArgumentException("Unknown option: --" + name);
+			}
+		});
+		final LoadTestSettings parsed = settings.build();
+		if (parsed.rate < 1 || parsed.durationSeconds <= parsed.warmupSeconds || parsed.warmupSeconds < 0)
+			throw new IllegalArgumentException("rate must be positive and duration longer than warmup");
+		return parsed;
+	}
+	
+	
+	
+}
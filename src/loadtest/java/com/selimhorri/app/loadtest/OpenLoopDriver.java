@@ -0,0 +1,110 @@
+package com.selimhorri.app.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Open workload: request {@code i} is due at {@code start + i / rate} and is sent then,
+ * however many earlier requests are still outstanding, as independent users would. A
+ * closed loop that waits for responses would slow down with the service and hide its
+ * stalls. Requests due during the warmup are sent but not recorded.
+ */
+@Slf4j
+final class OpenLoopDriver {
+	
+	private static final long DRAIN_TIMEOUT_SECONDS = 60;
+	
+	private final LoadTestSettings settings;
+	private final List<Operation> operations;
+	private final int[] cumulativeWeights;
+	private final Map<String, OperationStats> stats = new LinkedHashMap<>();
+	private final AtomicInteger inFlight = new AtomicInteger();
+	
+	OpenLoopDriver(final LoadTestSettings settings, final List<Operation> operations) {
+		this.settings = settings;
+		this.operations = operations;
+		this.cumulativeWeights = new int[operations.size()];
+		int total = 0;
+		for (int i = 0; i < operations.size(); i++) {
+			total += operations.get(i).getWeight();
+			this.cumulativeWeights[i] = total;
+			this.stats.put(operations.get(i).getName(), new OperationStats(operations.get(i).getName()));
+		}
+	}
+	
+	Map<String, OperationStats> run() throws InterruptedException {
+		final ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+			final var thread = new Thread(runnable, "loadtest-client");
+			thread.setDaemon(true);
+			return thread;
+		});
+		final HttpClient client = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(Duration.ofSeconds(5))
+				.executor(executor)
+				.build();
+		final var random = new Random(this.settings.getSeed());
+		final long intervalNanos = TimeUnit.SECONDS.toNanos(1) / this.settings.getRate();
+		final long start = System.nanoTime();
+		final long measureFrom = start + TimeUnit.SECONDS.toNanos(this.settings.getWarmupSeconds());
+		final long end = start + TimeUnit.SECONDS.toNanos(this.settings.getDurationSeconds());
+		log.info("*** Load test started: {} *", this.settings);
+		
+		for (long i = 0;; i++) {
+			final long due = start + i * intervalNanos;
+			if (due >= end)
+				break;
+			for (long wait = due - System.nanoTime(); wait > 0; wait = due - System.nanoTime())
+				LockSupport.parkNanos(wait);
+			
+			final Operation operation = this.pick(random);
+			final OperationStats operationStats = this.stats.get(operation.getName());
+			final boolean measured = due >= measureFrom;
+			if (this.inFlight.get() >= this.settings.getMaxInFlight()) {
+				if (measured)
+					operationStats.getDropped().increment();
+				continue;
+			}
+			this.inFlight.incrementAndGet();
+			final long sent = System.nanoTime();
+			client.sendAsync(operation.getRequests().apply(random), HttpResponse.BodyHandlers.discarding())
+					.whenComplete((response, failure) -> {
+						final long done = System.nanoTime();
+						this.inFlight.decrementAndGet();
+						if (measured)
+							operationStats.record(due, sent, done, failure == null ? response.statusCode() : 0);
+					});
+		}
+		
+		final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(DRAIN_TIMEOUT_SECONDS);
+		while (this.inFlight.get() > 0 && System.nanoTime() < deadline)
+			Thread.sleep(10);
+		if (this.inFlight.get() > 0)
+			log.warn("*** {} requests still outstanding after the run, left out of the report *", this.inFlight.get());
+		executor.shutdownNow();
+		return this.stats;
+	}
+	
+	private Operation pick(final Random random) {
+		final int draw = random.nextInt(this.cumulativeWeights[this.cumulativeWeights.length - 1]);
+		for (int i = 0; i < this.cumulativeWeights.length; i++)
+			if (draw < this.cumulativeWeights[i])
+				return this.operations.get(i);
+		throw new IllegalStateException();
+	}
+	
+	
+	
+}
@@ -0,0 +1,23 @@
+package com.selimhorri.app.loadtest;
+
+import java.net.http.HttpRequest;
+import java.util.Random;
+import java.util.function.Function;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One kind of request in a workload, picked with a probability proportional to its weight.
+ */
+@Getter
+@AllArgsConstructor
+final class Operation {
+	
+	private final String name;
+	private final int weight;
+	private final Function<Random, HttpRequest> requests;
+	
+	
+	
+}
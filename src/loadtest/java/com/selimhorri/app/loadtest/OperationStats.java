@@ -0,0 +1,85 @@
+package com.selimhorri.app.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import lombok.Getter;
+
+/**
+ * Outcomes and latencies of one operation. Response time runs from the instant the
+ * request was due to start, not when it was actually sent, so a stalled service is
+ * charged for every request it delayed; that is the coordinated-omission correction of
+ * an open workload. Service time runs from the actual send.
+ */
+@Getter
+final class OperationStats {
+	
+	static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+	private static final int SIGNIFICANT_DIGITS = 3;
+	
+	private final String name;
+	private final Histogram responseTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+	private final Histogram serviceTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+	private final LongAdder ok = new LongAdder();
+	private final LongAdder clientErrors = new LongAdder();
+	private final LongAdder serverErrors = new LongAdder();
+	/** Connection errors and timeouts */
+	private final LongAdder failures = new LongAdder();
+	/** Not sent because too many requests were outstanding */
+	private final LongAdder dropped = new LongAdder();
+	
+	OperationStats(final String name) {
+		this.name = name;
+	}
+	
+	void record(final long dueNanos, final long sentNanos, final long doneNanos, final int status) {
+		this.responseTime.recordValue(micros(doneNanos - dueNanos));
+		this.serviceTime.recordValue(micros(doneNanos - sentNanos));
+		if (status == 0)
+			this.failures.increment();
+		else if (status >= 500)
+			this.serverErrors.increment();
+		else if (status >= 400)
+			this.clientErrors.increment();
+		else
+			this.ok.increment();
+	}
+	
+	Map<String, Object> toReport(final double measuredSeconds) {
+		final Map<String, Object> report = new LinkedHashMap<>();
+		final long completed = this.responseTime.getTotalCount();
+		report.put("completed", completed);
+		report.put("throughput", Math.round(completed / measuredSeconds * 10) / 10.0);
+		report.put("ok", this.ok.sum());
+		report.put("clientErrors", this.clientErrors.sum());
+		report.put("serverErrors", this.serverErrors.sum());
+		report.put("failures", this.failures.sum());
+		report.put("dropped", this.dropped.sum());
+		report.put("responseTimeMicros", percentiles(this.responseTime));
+		report.put("serviceTimeMicros", percentiles(this.serviceTime));
+		return report;
+	}
+	
+	static Map<String, Object> percentiles(final Histogram histogram) {
+		final Map<String, Object> percentiles = new LinkedHashMap<>();
+		percentiles.put("p50", histogram.getValueAtPercentile(50));
+		percentiles.put("p90", histogram.getValueAtPercentile(90));
+		percentiles.put("p99", histogram.getValueAtPercentile(99));
+		percentiles.put("p99.9", histogram.getValueAtPercentile(99.9));
+		percentiles.put("max", histogram.getMaxValue());
+		percentiles.put("mean", Math.round(histogram.getMean()));
+		return percentiles;
+	}
+	
+	private static long micros(final long nanos) {
+		return Math.max(0, Math.min(HIGHEST_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(nanos)));
+	}
+	
+	
+	
+}
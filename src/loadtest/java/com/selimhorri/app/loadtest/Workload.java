@@ -0,0 +1,126 @@
+package com.selimhorri.app.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+
+/**
+ * Request mixes. Browsing favours a small set of popular products and categories,
+ * checkout looks up products evenly across the catalog, writes update stock and add
+ * products.
+ */
+enum Workload {
+	
+	BROWSE, CHECKOUT, WRITES, MIXED;
+	
+	private static final Duration TIMEOUT = Duration.ofSeconds(30);
+	
+	List<Operation> operations(final String baseUrl, final CatalogSample sample, final ObjectMapper objectMapper) {
+		final var requests = new Requests(baseUrl, sample, objectMapper);
+		final List<Operation> operations = new ArrayList<>();
+		if (this == BROWSE || this == MIXED) {
+			final int share = this == MIXED ? 8 : 10;
+			operations.add(new Operation("product-by-id", 4 * share, random -> requests.get("/api/products/" + popular(random, sample.getProductIds()))));
+			operations.add(new Operation("product-sparse", share, random -> requests.get("/api/products/" + popular(random, sample.getProductIds())
+					+ "?fields=productId,productTitle,priceUnit")));
+			operations.add(new Operation("category-by-id", 2 * share, random -> requests.get("/api/categories/" + popular(random, sample.getCategoryIds()))));
+			operations.add(new Operation("category-top-priced", 2 * share, random -> requests.get("/api/products/query?sort=-price&limit=50&categoryId="
+					+ popular(random, sample.getCategoryIds()))));
+			operations.add(new Operation("category-listing", share, random -> requests.get("/api/product-views?categoryId="
+					+ popular(random, sample.getCategoryIds()))));
+		}
+		if (this == CHECKOUT || this == MIXED) {
+			final int share = this == MIXED ? 5 : 35;
+			operations.add(new Operation("checkout-product", 2 * share, random -> requests.get("/api/products/" + uniform(random, sample.getProductIds()))));
+			operations.add(new Operation("checkout-view", share, random -> requests.get("/api/product-views/" + uniform(random, sample.getProductIds()))));
+		}
+		if (this == WRITES || this == MIXED) {
+			final int share = this == MIXED ? 1 : 20;
+			operations.add(new Operation("update-stock", 3 * share, requests::updateStock));
+			operations.add(new Operation("create-product", 2 * share, requests::createProduct));
+		}
+		return operations;
+	}
+	
+	/**
+	 * Cubing the uniform draw sends half of the picks to the first 12% of the ids.
+	 */
+	private static int popular(final Random random, final int[] ids) {
+		return ids[(int) (ids.length * Math.pow(random.nextDouble(), 3))];
+	}
+	
+	private static int uniform(final Random random, final int[] ids) {
+		return ids[random.nextInt(ids.length)];
+	}
+	
+	private static final class Requests {
+		
+		private final String baseUrl;
+		private final CatalogSample sample;
+		private final ObjectMapper objectMapper;
+		private final AtomicInteger created = new AtomicInteger();
+		
+		private Requests(final String baseUrl, final CatalogSample sample, final ObjectMapper objectMapper) {
+			this.baseUrl = baseUrl;
+			this.sample = sample;
+			this.objectMapper = objectMapper;
+		}
+		
+		HttpRequest get(final String path) {
+			return HttpRequest.newBuilder(URI.create(this.baseUrl + path))
+					.timeout(TIMEOUT)
+					.GET()
+					.build();
+		}
+		
+		HttpRequest updateStock(final Random random) {
+			final ProductDto target = this.sample.getWriteTargets().get(random.nextInt(this.sample.getWriteTargets().size()));
+			return this.json("/api/products/" + target.getProductId(), "PUT", ProductDto.builder()
+					.productTitle(target.getProductTitle())
+					.imageUrl(target.getImageUrl())
+					.sku(target.getSku())
+					.priceUnit(target.getPriceUnit())
+					.quantity(random.nextInt(500))
+					.categoryDto(target.getCategoryDto())
+					.build());
+		}
+		
+		HttpRequest createProduct(final Random random) {
+			final int sequence = this.created.incrementAndGet();
+			return this.json("/api/products", "POST", ProductDto.builder()
+					.productTitle("Load test product " + sequence)
+					.imageUrl("https://cdn.example.com/products/load-" + sequence + ".jpg")
+					.sku("LOAD-" + sequence)
+					.priceUnit(9.99 + random.nextInt(500))
+					.quantity(1 + random.nextInt(100))
+					.categoryDto(CategoryDto.builder().categoryId(uniform(random, this.sample.getCategoryIds())).build())
+					.build());
+		}
+		
+		private HttpRequest json(final String path, final String method, final ProductDto body) {
+			try {
+				return HttpRequest.newBuilder(URI.create(this.baseUrl + path))
+						.timeout(TIMEOUT)
+						.header("Content-Type", "application/json")
+						.method(method, HttpRequest.BodyPublishers.ofByteArray(this.objectMapper.writeValueAsBytes(body)))
+						.build();
+			}
+			catch (JsonProcessingException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+	
+	}
+	
+	
+	
+}
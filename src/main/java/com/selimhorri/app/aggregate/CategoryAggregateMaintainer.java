@@ -0,0 +1,213 @@
+package com.selimhorri.app.aggregate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.selimhorri.app.domain.CategoryAggregate;
+import com.selimhorri.app.projection.CategoryAggregateRow;
+import com.selimhorri.app.repository.CategoryAggregateRepository;
+import com.selimhorri.app.repository.ProductRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Applies product writes to {@link CategoryAggregate} rows inside the writing transaction.
+ * Counts, stock and price sums move by deltas; a removed price that was the minimum or
+ * maximum cannot be undone that way, so that category is recomputed from its products.
+ * Rows are locked in ascending category id order, like {@link CategoryAggregateReconciler}
+ * does, so concurrent writers serialize per category without deadlocking.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class CategoryAggregateMaintainer {
+	
+	private final CategoryAggregateRepository categoryAggregateRepository;
+	private final ProductRepository productRepository;
+	
+	/**
+	 * @param before the product as it was, {@code null} when it has just been created
+	 * @param after the product as saved, {@code null} when it no longer counts anywhere
+	 */
+	public void apply(final ProductFacts before, final ProductFacts after) {
+		if (Objects.equals(before, after))
+			return;
+		
+		final var categoryIds = new TreeSet<Integer>();
+		if (before != null)
+			categoryIds.add(before.getCategoryId());
+		if (after != null)
+			categoryIds.add(after.getCategoryId());
+		
+		for (final Integer categoryId : categoryIds) {
+			final CategoryAggregate aggregate = this.categoryAggregateRepository.findForUpdate(categoryId).orElse(null);
+			if (aggregate == null) {
+				this.recompute(categoryId, null);
+				continue;
+			}
+			final boolean exact = (before == null || !categoryId.equals(before.getCategoryId()) || subtract(aggregate, before))
+					& (after == null || !categoryId.equals(after.getCategoryId()) || add(aggregate, after));
+			if (exact)
+				aggregate.setUpdatedAt(Instant.now());
+			else
+				this.recompute(categoryId, aggregate);
+		}
+	}
+	
+	/**
+	 * Folds the aggregate of {@code fromCategoryId} into {@code toCategoryId} after every
+	 * product of the former was moved to the latter in bulk, and drops the emptied row.
+	 */
+	public void merge(final Integer fromCategoryId, final Integer toCategoryId) {
+		final Integer first = Math.min(fromCategoryId, toCategoryId);
+		final Integer second = Math.max(fromCategoryId, toCategoryId);
+		final CategoryAggregate firstRow = this.categoryAggregateRepository.findForUpdate(first).orElse(null);
+		final CategoryAggregate secondRow = this.categoryAggregateRepository.findForUpdate(second).orElse(null);
+		final CategoryAggregate from = first.equals(fromCategoryId) ? firstRow : secondRow;
+		final CategoryAggregate to = first.equals(toCategoryId) ? firstRow : secondRow;
+		
+		if (from != null)
+			this.categoryAggregateRepository.delete(from);
+		if (from == null || to == null) {
+			// nothing reliable to add up: count the destination again
+			this.recompute(toCategoryId, to);
+			return;
+		}
+		to.setProductCount(to.getProductCount() + from.getProductCount());
+		to.setTotalStock(to.getTotalStock() + from.getTotalStock());
+		to.setPricedCount(to.getPricedCount() + from.getPricedCount());
+		to.setPriceSum(to.getPriceSum().add(from.getPriceSum()));
+		to.setMinPrice(min(to.getMinPrice(), from.getMinPrice()));
+		to.setMaxPrice(max(to.getMaxPrice(), from.getMaxPrice()));
+		to.setUpdatedAt(Instant.now());
+	}
+	
+	/**
+	 * Rebuilds the aggregates of the given categories from their products, for writes that
+	 * changed many products with set-based statements.
+	 */
+	public void recompute(final Collection<Integer> categoryIds) {
+		final Map<Integer, CategoryAggregate> current = new HashMap<>();
+		for (final Integer categoryId : new TreeSet<>(categoryIds))
+			this.categoryAggregateRepository.findForUpdate(categoryId)
+					.ifPresent(aggregate -> current.put(categoryId, aggregate));
+		final Map<Integer, CategoryAggregateRow> counted = new HashMap<>();
+		this.productRepository.findCategoryAggregates(categoryIds)
+				.forEach(row -> counted.put(row.getCategoryId(), row));
+		
+		for (final Integer categoryId : categoryIds) {
+			final CategoryAggregateRow row = counted.get(categoryId);
+			final CategoryAggregate expected = row == null ? empty(categoryId) : from(row);
+			final CategoryAggregate aggregate = current.get(categoryId);
+			if (aggregate == null)
+				this.categoryAggregateRepository.save(expected);
+			else
+				copyFigures(expected, aggregate);
+		}
+	}
+	
+	/**
+	 * Rebuilds the aggregate of one category from its products, creating the row if needed.
+	 */
+	void recompute(final Integer categoryId, final CategoryAggregate current) {
+		log.debug("*** Recomputing aggregates of category {} *", categoryId);
+		final List<CategoryAggregateRow> rows = this.productRepository.findCategoryAggregates(List.of(categoryId));
+		final CategoryAggregate expected = rows.isEmpty() ? empty(categoryId) : from(rows.get(0));
+		if (current == null) {
+			this.categoryAggregateRepository.save(expected);
+			return;
+		}
+		copyFigures(expected, current);
+	}
+	
+	static void copyFigures(final CategoryAggregate source, final CategoryAggregate target) {
+		target.setProductCount(source.getProductCount());
+		target.setTotalStock(source.getTotalStock());
+		target.setPricedCount(source.getPricedCount());
+		target.setPriceSum(source.getPriceSum());
+		target.setMinPrice(source.getMinPrice());
+		target.setMaxPrice(source.getMaxPrice());
+		target.setUpdatedAt(source.getUpdatedAt());
+	}
+	
+	static CategoryAggregate from(final CategoryAggregateRow row) {
+		return CategoryAggregate.builder()
+				.categoryId(row.getCategoryId())
+				.productCount(row.getProductCount() == null ? 0 : row.getProductCount())
+				.totalStock(row.getTotalStock() == null ? 0 : row.getTotalStock())
+				.pricedCount(row.getPricedCount() == null ? 0 : row.getPricedCount())
+				.priceSum(row.getPriceSum() == null ? BigDecimal.ZERO.setScale(2) : money(row.getPriceSum()))
+				.minPrice(row.getMinPrice())
+				.maxPrice(row.getMaxPrice())
+				.updatedAt(Instant.now())
+				.build();
+	}
+	
+	static CategoryAggregate empty(final Integer categoryId) {
+		return CategoryAggregate.builder()
+				.categoryId(categoryId)
+				.priceSum(BigDecimal.ZERO.setScale(2))
+				.updatedAt(Instant.now())
+				.build();
+	}
+	
+	/**
+	 * @return {@code false} if the row can no longer be trusted or {@code facts} held an
+	 * extreme price, in which case the category must be recomputed
+	 */
+	private static boolean subtract(final CategoryAggregate aggregate, final ProductFacts facts) {
+		aggregate.setProductCount(aggregate.getProductCount() - 1);
+		aggregate.setTotalStock(aggregate.getTotalStock() - facts.getQuantity());
+		if (facts.getPriceUnit() != null) {
+			aggregate.setPricedCount(aggregate.getPricedCount() - 1);
+			aggregate.setPriceSum(aggregate.getPriceSum().subtract(money(facts.getPriceUnit())));
+			if (aggregate.getPricedCount() == 0) {
+				aggregate.setMinPrice(null);
+				aggregate.setMaxPrice(null);
+			}
+			else if (facts.getPriceUnit().equals(aggregate.getMinPrice()) || facts.getPriceUnit().equals(aggregate.getMaxPrice()))
+				return false;
+		}
+		return aggregate.getProductCount() >= 0 && aggregate.getPricedCount() >= 0;
+	}
+	
+	private static boolean add(final CategoryAggregate aggregate, final ProductFacts facts) {
+		aggregate.setProductCount(aggregate.getProductCount() + 1);
+		aggregate.setTotalStock(aggregate.getTotalStock() + facts.getQuantity());
+		if (facts.getPriceUnit() != null) {
+			aggregate.setPricedCount(aggregate.getPricedCount() + 1);
+			aggregate.setPriceSum(aggregate.getPriceSum().add(money(facts.getPriceUnit())));
+			aggregate.setMinPrice(min(aggregate.getMinPrice(), facts.getPriceUnit()));
+			aggregate.setMaxPrice(max(aggregate.getMaxPrice(), facts.getPriceUnit()));
+		}
+		return true;
+	}
+	
+	static BigDecimal money(final double value) {
+		return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+	}
+	
+	private static Double min(final Double a, final Double b) {
+		return a == null ? b : b == null ? a : Double.valueOf(Math.min(a, b));
+	}
+	
+	private static Double max(final Double a, final Double b) {
+		return a == null ? b : b == null ? a : Double.valueOf(Math.max(a, b));
+	}
+	
+	
+	
+}
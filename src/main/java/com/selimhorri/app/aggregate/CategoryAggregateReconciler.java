@@ -0,0 +1,104 @@
+package com.selimhorri.app.aggregate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.selimhorri.app.domain.CategoryAggregate;
+import com.selimhorri.app.projection.CategoryAggregateRow;
+import com.selimhorri.app.repository.CategoryAggregateRepository;
+import com.selimhorri.app.repository.CategoryRepository;
+import com.selimhorri.app.repository.ProductRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Periodically recomputes every category aggregate from the products and repairs the
+ * rows that drifted, e.g. after writes that bypassed {@link CategoryAggregateMaintainer}.
+ * All rows are locked first, so no maintained delta lands between the reading and the
+ * repair.
+ */
+@Component
+@Slf4j
+public class CategoryAggregateReconciler {
+	
+	private final CategoryAggregateRepository categoryAggregateRepository;
+	private final CategoryRepository categoryRepository;
+	private final ProductRepository productRepository;
+	private final Counter repairs;
+	
+	public CategoryAggregateReconciler(final CategoryAggregateRepository categoryAggregateRepository,
+			final CategoryRepository categoryRepository,
+			final ProductRepository productRepository,
+			final MeterRegistry meterRegistry) {
+		this.categoryAggregateRepository = categoryAggregateRepository;
+		this.categoryRepository = categoryRepository;
+		this.productRepository = productRepository;
+		this.repairs = Counter.builder("category.aggregates.repairs")
+				.description("Category aggregate rows found missing, drifted or orphaned")
+				.register(meterRegistry);
+	}
+	
+	/**
+	 * @return number of rows inserted, corrected or deleted
+	 */
+	@Scheduled(fixedDelayString = "${app.category-aggregates.reconcile-interval:300000}",
+			initialDelayString = "${app.category-aggregates.initial-delay:60000}")
+	@Transactional
+	public int reconcile() {
+		final Map<Integer, CategoryAggregate> actual = new HashMap<>();
+		this.categoryAggregateRepository.findAllForUpdate()
+				.forEach(aggregate -> actual.put(aggregate.getCategoryId(), aggregate));
+		final Map<Integer, CategoryAggregateRow> counted = new HashMap<>();
+		this.productRepository.findCategoryAggregates()
+				.forEach(row -> counted.put(row.getCategoryId(), row));
+		
+		final List<Integer> repaired = new ArrayList<>();
+		for (final Integer categoryId : this.categoryRepository.findAllIds()) {
+			final CategoryAggregateRow row = counted.get(categoryId);
+			final CategoryAggregate current = actual.remove(categoryId);
+			if (current == null && row == null)
+				continue; // a category without products reads as all zeros anyway
+			final CategoryAggregate expected = row == null
+					? CategoryAggregateMaintainer.empty(categoryId)
+					: CategoryAggregateMaintainer.from(row);
+			if (current == null)
+				this.categoryAggregateRepository.save(expected);
+			else if (!sameFigures(current, expected))
+				CategoryAggregateMaintainer.copyFigures(expected, current);
+			else
+				continue;
+			repaired.add(categoryId);
+		}
+		// categories deleted without going through CategoryServiceImpl
+		this.categoryAggregateRepository.deleteAll(actual.values());
+		repaired.addAll(actual.keySet());
+		
+		if (!repaired.isEmpty()) {
+			log.warn("*** Repaired aggregates of {} categories: {} *", repaired.size(),
+					repaired.size() > 100 ? repaired.subList(0, 100) : repaired);
+			this.repairs.increment(repaired.size());
+		}
+		return repaired.size();
+	}
+	
+	private static boolean sameFigures(final CategoryAggregate a, final CategoryAggregate b) {
+		return a.getProductCount() == b.getProductCount()
+				&& a.getTotalStock() == b.getTotalStock()
+				&& a.getPricedCount() == b.getPricedCount()
+				&& a.getPriceSum().compareTo(b.getPriceSum()) == 0
+				&& Objects.equals(a.getMinPrice(), b.getMinPrice())
+				&& Objects.equals(a.getMaxPrice(), b.getMaxPrice());
+	}
+	
+	
+	
+}
@@ -0,0 +1,38 @@
+package com.selimhorri.app.aggregate;
+
+import com.selimhorri.app.domain.Product;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * The part of a product that category aggregates count, captured before and after a write.
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ProductFacts {
+	
+	private final Integer categoryId;
+	private final Double priceUnit;
+	private final int quantity;
+	
+	/**
+	 * @return {@code null} for a product outside any category, which no aggregate counts
+	 */
+	public static ProductFacts of(final Product product) {
+		if (product == null || product.getCategory() == null || product.getCategory().getCategoryId() == null)
+			return null;
+		return new ProductFacts(
+				product.getCategory().getCategoryId(),
+				product.getPriceUnit(),
+				product.getQuantity() == null ? 0 : product.getQuantity());
+	}
+	
+	
+	
+}
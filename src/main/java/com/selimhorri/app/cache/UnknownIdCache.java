@@ -0,0 +1,150 @@
+package com.selimhorri.app.cache;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.selimhorri.app.cache.invalidation.LocalCacheInvalidator;
+import com.selimhorri.app.event.CatalogChangedEvent;
+import com.selimhorri.app.event.CatalogChangedEvent.EntityType;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Ids recently looked up and not found, answered as not found again for a short ttl
+ * without touching the database. Meant for bots and stale links probing ids.
+ * <p>
+ * Writes drop the ids they touch, here when the change is published and on commit,
+ * and from peers through the invalidation bus. Each type keeps a generation that every
+ * invalidation bumps; a miss is only recorded if no invalidation of its type happened
+ * while it was being loaded, so a lookup racing the insert of its id cannot cache a
+ * stale miss. Once {@code maxEntries} ids are held, new misses are not recorded until
+ * expired ones are purged.
+ */
+public class UnknownIdCache implements LocalCacheInvalidator {
+	
+	private final long ttlNanos;
+	private final int maxEntries;
+	private final Map<EntityType, Region> regions = new EnumMap<>(EntityType.class);
+	
+	public UnknownIdCache(final long ttlMillis, final int maxEntries, final MeterRegistry meterRegistry) {
+		this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+		this.maxEntries = maxEntries;
+		for (final EntityType entityType : EntityType.values()) {
+			final var region = new Region(Counter.builder("catalog.unknown.ids.hits")
+					.description("Lookups answered as not found from the unknown id cache")
+					.tag("entity", entityType.name().toLowerCase())
+					.register(meterRegistry));
+			Gauge.builder("catalog.unknown.ids.size", region.expiresAt, Map::size)
+					.description("Ids currently cached as not found")
+					.tag("entity", entityType.name().toLowerCase())
+					.register(meterRegistry);
+			this.regions.put(entityType, region);
+		}
+	}
+	
+	/**
+	 * True when {@code id} was found missing less than a ttl ago.
+	 */
+	public boolean isUnknown(final EntityType entityType, final Integer id) {
+		final Region region = this.regions.get(entityType);
+		final Long expiresAt = region.expiresAt.get(id);
+		if (expiresAt == null)
+			return false;
+		if (System.nanoTime() - expiresAt >= 0) {
+			region.expiresAt.remove(id, expiresAt);
+			return false;
+		}
+		region.hits.increment();
+		return true;
+	}
+	
+	/**
+	 * To be read before the lookup whose miss may then be passed to {@link #recordUnknown}.
+	 */
+	public long generation(final EntityType entityType) {
+		return this.regions.get(entityType).generation.get();
+	}
+	
+	public void recordUnknown(final EntityType entityType, final Integer id, final long generation) {
+		final Region region = this.regions.get(entityType);
+		final long now = System.nanoTime();
+		if (region.expiresAt.size() >= this.maxEntries) {
+			region.expiresAt.values().removeIf(expiresAt -> now - expiresAt >= 0);
+			if (region.expiresAt.size() >= this.maxEntries)
+				return;
+		}
+		// invalidations bump the generation before removing, so one that slips in after
+		// this put either shows here or removes the entry itself
+		region.expiresAt.put(id, now + this.ttlNanos);
+		if (region.generation.get() != generation)
+			region.expiresAt.remove(id);
+	}
+	
+	/**
+	 * Drops the ids when the write is published, so later lookups in the same transaction
+	 * find them.
+	 */
+	@EventListener
+	public void onCatalogChanged(final CatalogChangedEvent event) {
+		this.apply(event);
+	}
+	
+	/**
+	 * Drops them again on commit: misses other requests recorded until then are stale.
+	 */
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void onCatalogCommitted(final CatalogChangedEvent event) {
+		this.apply(event);
+	}
+	
+	@Override
+	public void invalidate(final EntityType entityType, final Set<Integer> ids) {
+		final Region region = this.regions.get(entityType);
+		region.generation.incrementAndGet();
+		ids.forEach(region.expiresAt::remove);
+	}
+	
+	@Override
+	public void invalidateAll(final EntityType entityType) {
+		final Region region = this.regions.get(entityType);
+		region.generation.incrementAndGet();
+		region.expiresAt.clear();
+	}
+	
+	@Override
+	public void invalidateEverything() {
+		this.regions.keySet().forEach(this::invalidateAll);
+	}
+	
+	private void apply(final CatalogChangedEvent event) {
+		if (event.isAllOfType())
+			this.invalidateAll(event.getEntityType());
+		else
+			this.invalidate(event.getEntityType(), event.getIds());
+	}
+	
+	private static final class Region {
+		
+		private final Map<Integer, Long> expiresAt = new ConcurrentHashMap<>();
+		private final AtomicLong generation = new AtomicLong();
+		private final Counter hits;
+		
+		private Region(final Counter hits) {
+			this.hits = hits;
+		}
+	
+	}
+	
+	
+	
+}
@@ -0,0 +1,180 @@
+package com.selimhorri.app.cache.invalidation;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.selimhorri.app.event.CatalogChangedEvent;
+import com.selimhorri.app.event.CatalogChangedEvent.EntityType;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Collects the ids touched by committed writes and periodically broadcasts them, batched,
+ * to every peer instance; on the receiving side applies them to the local caches.
+ * A receiver that notices a hole in a peer's sequence drops all local caches instead.
+ * Sources not heard from for {@code sourceTtlMillis} are forgotten, so instances that left
+ * do not pile up; a forgotten source that speaks again costs one full refresh.
+ */
+@Slf4j
+public class CacheInvalidationBus {
+	
+	@Getter
+	private final String source;
+	private final PeerDirectory peerDirectory;
+	private final InvalidationTransport transport;
+	private final List<LocalCacheInvalidator> invalidators;
+	private final int maxIdsPerMessage;
+	private final long sourceTtlMillis;
+	
+	private final AtomicLong sequence = new AtomicLong();
+	private final Object pendingLock = new Object();
+	private Map<EntityType, Set<Integer>> pendingIds = new EnumMap<>(EntityType.class);
+	private Set<EntityType> pendingAllOfType = EnumSet.noneOf(EntityType.class);
+	private final Map<String, SourceState> sources = new HashMap<>();
+	private final AtomicLong fullRefreshes = new AtomicLong();
+	
+	public CacheInvalidationBus(final String source, final PeerDirectory peerDirectory,
+			final InvalidationTransport transport, final List<LocalCacheInvalidator> invalidators,
+			final int maxIdsPerMessage, final long sourceTtlMillis) {
+		this.source = source;
+		this.peerDirectory = peerDirectory;
+		this.transport = transport;
+		this.invalidators = List.copyOf(invalidators);
+		this.maxIdsPerMessage = maxIdsPerMessage;
+		this.sourceTtlMillis = sourceTtlMillis;
+	}
+	
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+	public void onCatalogChanged(final CatalogChangedEvent event) {
+		synchronized (this.pendingLock) {
+			if (event.isAllOfType())
+				this.pendingAllOfType.add(event.getEntityType());
+			else
+				this.pendingIds.computeIfAbsent(event.getEntityType(), type -> new HashSet<>()).addAll(event.getIds());
+		}
+	}
+	
+	@Scheduled(fixedDelayString = "${app.cache.invalidation.flush-interval:200}")
+	public void flush() {
+		
+		final Map<EntityType, Set<Integer>> ids;
+		final Set<EntityType> allOfType;
+		synchronized (this.pendingLock) {
+			if (this.pendingIds.isEmpty() && this.pendingAllOfType.isEmpty())
+				return;
+			ids = this.pendingIds;
+			allOfType = this.pendingAllOfType;
+			this.pendingIds = new EnumMap<>(EntityType.class);
+			this.pendingAllOfType = EnumSet.noneOf(EntityType.class);
+		}
+		
+		// a whole-type eviction supersedes the individual ids of that type
+		allOfType.forEach(ids::remove);
+		
+		final List<String> peers = this.peerDirectory.peerBaseUrls();
+		for (final InvalidationMessage message : this.split(ids, allOfType))
+			for (final String peer : peers)
+				this.sendQuietly(peer, message);
+	}
+	
+	public synchronized void receive(final InvalidationMessage message) {
+		
+		if (message.getSource() == null || this.source.equals(message.getSource()))
+			return;
+		
+		final long now = System.currentTimeMillis();
+		this.sources.values().removeIf(state -> now - state.lastSeenMillis > this.sourceTtlMillis);
+		
+		final SourceState state = this.sources.get(message.getSource());
+		final Long last = state == null ? null : state.sequence;
+		if (last != null && message.getSequence() <= last)
+			return;
+		this.sources.put(message.getSource(), new SourceState(message.getSequence(), now));
+		
+		final long expected = last == null ? 1L : last + 1;
+		if (message.getSequence() != expected) {
+			log.warn("*** Invalidation gap from {}: expected {}, got {}; dropping local caches *",
+					message.getSource(), expected, message.getSequence());
+			this.fullRefreshes.incrementAndGet();
+			this.invalidators.forEach(LocalCacheInvalidator::invalidateEverything);
+			return;
+		}
+		
+		if (message.getAllOfType() != null)
+			message.getAllOfType().forEach(type -> this.invalidators.forEach(i -> i.invalidateAll(type)));
+		if (message.getIds() != null)
+			message.getIds().forEach((type, ids) -> this.invalidators.forEach(i -> i.invalidate(type, ids)));
+	}
+	
+	public long getFullRefreshCount() {
+		return this.fullRefreshes.get();
+	}
+	
+	private List<InvalidationMessage> split(final Map<EntityType, Set<Integer>> ids, final Set<EntityType> allOfType) {
+		
+		final List<InvalidationMessage> messages = new ArrayList<>();
+		Map<EntityType, Set<Integer>> chunk = new EnumMap<>(EntityType.class);
+		int chunkSize = 0;
+		
+		for (final var entry : ids.entrySet()) {
+			for (final Integer id : entry.getValue()) {
+				if (chunkSize == this.maxIdsPerMessage) {
+					messages.add(this.message(chunk, Set.of()));
+					chunk = new EnumMap<>(EntityType.class);
+					chunkSize = 0;
+				}
+				chunk.computeIfAbsent(entry.getKey(), type -> new HashSet<>()).add(id);
+				chunkSize++;
+			}
+		}
+		
+		messages.add(this.message(chunk, allOfType));
+		return messages;
+	}
+	
+	private InvalidationMessage message(final Map<EntityType, Set<Integer>> ids, final Set<EntityType> allOfType) {
+		return InvalidationMessage.builder()
+				.source(this.source)
+				.sequence(this.sequence.incrementAndGet())
+				.ids(ids)
+				.allOfType(allOfType)
+				.build();
+	}
+	
+	private void sendQuietly(final String peer, final InvalidationMessage message) {
+		try {
+			this.transport.send(peer, message);
+		}
+		catch (RuntimeException e) {
+			// the peer will see the sequence gap on its next message and refresh fully
+			log.warn("*** Could not deliver invalidation #{} to {}: {} *", message.getSequence(), peer, e.getMessage());
+		}
+	}
+	
+	private static final class SourceState {
+		
+		private final long sequence;
+		private final long lastSeenMillis;
+		
+		private SourceState(final long sequence, final long lastSeenMillis) {
+			this.sequence = sequence;
+			this.lastSeenMillis = lastSeenMillis;
+		}
+	
+	}
+	
+	
+	
+}
@@ -0,0 +1,39 @@
+package com.selimhorri.app.cache.invalidation;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.serviceregistry.Registration;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class EurekaPeerDirectory implements PeerDirectory {
+	
+	private final DiscoveryClient discoveryClient;
+	private final ObjectProvider<Registration> registration;
+	private final String serviceId;
+	private final String contextPath;
+	
+	@Override
+	public List<String> peerBaseUrls() {
+		final var self = this.registration.getIfAvailable();
+		return this.discoveryClient.getInstances(this.serviceId)
+				.stream()
+				.filter(instance -> self == null || !this.isSelf(self, instance))
+				.map(instance -> instance.getUri().toString() + this.contextPath)
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	private boolean isSelf(final Registration self, final ServiceInstance instance) {
+		if (self.getInstanceId() != null && instance.getInstanceId() != null)
+			return self.getInstanceId().equals(instance.getInstanceId());
+		return self.getHost().equals(instance.getHost()) && self.getPort() == instance.getPort();
+	}
+	
+	
+	
+}
@@ -0,0 +1,61 @@
+package com.selimhorri.app.cache.invalidation;
+
+import java.util.Set;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.event.CatalogChangedEvent.EntityType;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Evicts the second-level cache. Query results are always dropped as well: a remote write
+ * never bumps this instance's update-timestamps region, so cached id lists would survive it.
+ */
+@RequiredArgsConstructor
+public class HibernateCacheInvalidator implements LocalCacheInvalidator {
+	
+	private final EntityManagerFactory entityManagerFactory;
+	
+	@Override
+	public void invalidate(final EntityType entityType, final Set<Integer> ids) {
+		final Cache cache = this.cache();
+		ids.forEach(id -> cache.evictEntityData(entityClass(entityType), id));
+		this.evictQueries(cache, entityType);
+	}
+	
+	@Override
+	public void invalidateAll(final EntityType entityType) {
+		final Cache cache = this.cache();
+		cache.evictEntityData(entityClass(entityType));
+		this.evictQueries(cache, entityType);
+	}
+	
+	@Override
+	public void invalidateEverything() {
+		this.cache().evictAllRegions();
+	}
+	
+	private void evictQueries(final Cache cache, final EntityType entityType) {
+		if (entityType == EntityType.CATEGORY)
+			cache.evictQueryRegion(AppConstant.CacheRegions.CATEGORY_QUERIES);
+		cache.evictDefaultQueryRegion();
+	}
+	
+	private Cache cache() {
+		return this.entityManagerFactory.unwrap(SessionFactory.class).getCache();
+	}
+	
+	private static Class<?> entityClass(final EntityType entityType) {
+		return entityType == EntityType.PRODUCT ? Product.class : Category.class;
+	}
+	
+	
+	
+}
@@ -0,0 +1,37 @@
+package com.selimhorri.app.cache.invalidation;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.selimhorri.app.event.CatalogChangedEvent.EntityType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One batch of invalidations sent from an instance to its peers. {@code sequence} grows by
+ * exactly one per message and source, which lets receivers detect lost messages.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class InvalidationMessage implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private String source;
+	private long sequence;
+	
+	@JsonInclude(Include.NON_EMPTY)
+	private Map<EntityType, Set<Integer>> ids;
+	
+	@JsonInclude(Include.NON_EMPTY)
+	private Set<EntityType> allOfType;
+	
+}
@@ -0,0 +1,7 @@
+package com.selimhorri.app.cache.invalidation;
+
+public interface InvalidationTransport {
+	
+	void send(final String peerBaseUrl, final InvalidationMessage message);
+	
+}
@@ -0,0 +1,21 @@
+package com.selimhorri.app.cache.invalidation;
+
+import java.util.Set;
+
+import com.selimhorri.app.event.CatalogChangedEvent.EntityType;
+
+/**
+ * An in-process cache that must drop entries when another instance writes.
+ */
+public interface LocalCacheInvalidator {
+	
+	void invalidate(final EntityType entityType, final Set<Integer> ids);
+	
+	void invalidateAll(final EntityType entityType);
+	
+	/**
+	 * Called when messages from a peer were lost and nothing cached can be trusted.
+	 */
+	void invalidateEverything();
+	
+}
@@ -0,0 +1,12 @@
+package com.selimhorri.app.cache.invalidation;
+
+import java.util.List;
+
+public interface PeerDirectory {
+	
+	/**
+	 * Base URLs (including context path) of every other live instance of this service.
+	 */
+	List<String> peerBaseUrls();
+	
+}
@@ -0,0 +1,33 @@
+package com.selimhorri.app.cache.invalidation;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.client.RestTemplate;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Posts straight to a given peer. The {@code @LoadBalanced} template from {@code ClientConfig}
+ * cannot be used here: it resolves a service name to one arbitrary instance, whereas a
+ * broadcast has to reach every instance by address. Every message carries the secret shared
+ * by all instances, which the receiving endpoint checks.
+ */
+@RequiredArgsConstructor
+public class RestInvalidationTransport implements InvalidationTransport {
+	
+	public static final String PATH = "/api/internal/cache-invalidations";
+	public static final String SECRET_HEADER = "X-Cache-Invalidation-Secret";
+	
+	private final RestTemplate restTemplate;
+	private final String secret;
+	
+	@Override
+	public void send(final String peerBaseUrl, final InvalidationMessage message) {
+		final var headers = new HttpHeaders();
+		headers.set(SECRET_HEADER, this.secret);
+		this.restTemplate.postForLocation(peerBaseUrl + PATH, new HttpEntity<>(message, headers));
+	}
+	
+	
+	
+}
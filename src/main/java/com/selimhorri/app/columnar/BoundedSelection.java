@@ -0,0 +1,121 @@
+package com.selimhorri.app.columnar;
+
+/**
+ * Keeps the {@code limit} best rows seen, where smaller {@code (key, productId)} is
+ * better, in a binary max-heap whose root is the worst row kept. Selecting N of M
+ * candidates costs O(M log N) and never materializes or sorts the full result.
+ */
+final class BoundedSelection {
+	
+	private final int limit;
+	private final long[] keys;
+	private final int[] productIds;
+	private final CategoryColumns[] columns;
+	private final int[] rows;
+	private int size;
+	
+	BoundedSelection(final int limit) {
+		this.limit = limit;
+		this.keys = new long[limit];
+		this.productIds = new int[limit];
+		this.columns = new CategoryColumns[limit];
+		this.rows = new int[limit];
+	}
+	
+	boolean isFull() {
+		return this.size == this.limit;
+	}
+	
+	/**
+	 * True if a row with this key can no longer enter a full selection, whatever its id.
+	 */
+	boolean rejects(final long key) {
+		return this.isFull() && (this.limit == 0 || key > this.keys[0]);
+	}
+	
+	void offer(final long key, final CategoryColumns source, final int row) {
+		final int productId = source.ids[row];
+		if (this.size < this.limit) {
+			this.set(this.size, key, productId, source, row);
+			this.siftUp(this.size++);
+		}
+		else if (this.limit > 0 && worse(this.keys[0], this.productIds[0], key, productId)) {
+			this.set(0, key, productId, source, row);
+			this.siftDown(0, this.size);
+		}
+	}
+	
+	/**
+	 * Empties the heap into {@code consumer}, best row first.
+	 */
+	void drainInOrder(final RowConsumer consumer) {
+		final int count = this.size;
+		for (int end = count - 1; end > 0; end--) {
+			this.swap(0, end);
+			this.siftDown(0, end);
+		}
+		for (int i = 0; i < count; i++)
+			consumer.accept(this.columns[i], this.rows[i]);
+		this.size = 0;
+	}
+	
+	@FunctionalInterface
+	interface RowConsumer {
+		void accept(final CategoryColumns columns, final int row);
+	}
+	
+	private void siftUp(int index) {
+		while (index > 0) {
+			final int parent = (index - 1) >>> 1;
+			if (!worse(this.keys[index], this.productIds[index], this.keys[parent], this.productIds[parent]))
+				return;
+			this.swap(index, parent);
+			index = parent;
+		}
+	}
+	
+	private void siftDown(int index, final int end) {
+		while (true) {
+			final int left = 2 * index + 1;
+			if (left >= end)
+				return;
+			final int right = left + 1;
+			int worst = left;
+			if (right < end && worse(this.keys[right], this.productIds[right], this.keys[left], this.productIds[left]))
+				worst = right;
+			if (!worse(this.keys[worst], this.productIds[worst], this.keys[index], this.productIds[index]))
+				return;
+			this.swap(index, worst);
+			index = worst;
+		}
+	}
+	
+	private void set(final int index, final long key, final int productId, final CategoryColumns source, final int row) {
+		this.keys[index] = key;
+		this.productIds[index] = productId;
+		this.columns[index] = source;
+		this.rows[index] = row;
+	}
+	
+	private void swap(final int a, final int b) {
+		final long key = this.keys[a];
+		this.keys[a] = this.keys[b];
+		this.keys[b] = key;
+		final int productId = this.productIds[a];
+		this.productIds[a] = this.productIds[b];
+		this.productIds[b] = productId;
+		final CategoryColumns source = this.columns[a];
+		this.columns[a] = this.columns[b];
+		this.columns[b] = source;
+		final int row = this.rows[a];
+		this.rows[a] = this.rows[b];
+		this.rows[b] = row;
+	}
+	
+	private static boolean worse(final long key, final int productId, final long otherKey, final int otherProductId) {
+		return key != otherKey ? key > otherKey : productId > otherProductId;
+	}
+	
+	
+	
+}
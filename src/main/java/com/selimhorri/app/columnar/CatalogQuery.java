@@ -0,0 +1,38 @@
+package com.selimhorri.app.columnar;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Range filter and ordering for {@link ColumnarCatalog#query}. Prices are in cents and
+ * both bounds are inclusive; a {@code null} category means every category.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public final class CatalogQuery {
+	
+	public enum Sort {
+		PRICE_ASC,
+		PRICE_DESC,
+		NEWEST
+	}
+	
+	private final Integer categoryId;
+	
+	@Builder.Default
+	private final long minPriceCents = 0;
+	
+	@Builder.Default
+	private final long maxPriceCents = Long.MAX_VALUE - 1;
+	
+	private final boolean inStockOnly;
+	
+	@Builder.Default
+	private final Sort sort = Sort.PRICE_ASC;
+	
+	@Builder.Default
+	private final int limit = 50;
+	
+}
@@ -0,0 +1,139 @@
+package com.selimhorri.app.columnar;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import com.selimhorri.app.projection.ProductColumnsRow;
+
+/**
+ * Immutable column arrays for the products of one category, sorted by price and then id.
+ * Products without a price sort last with {@link #NO_PRICE}; products without a creation
+ * date carry {@link #NO_DATE}.
+ */
+final class CategoryColumns {
+	
+	static final long NO_PRICE = Long.MAX_VALUE;
+	static final long NO_DATE = Long.MIN_VALUE;
+	
+	static final Comparator<ProductColumnsRow> PRICE_ORDER = Comparator
+			.comparingLong(CategoryColumns::priceCents)
+			.thenComparingInt(ProductColumnsRow::getProductId);
+	
+	final int categoryId;
+	final int[] ids;
+	final long[] priceCents;
+	final int[] quantity;
+	final long[] createdAt;
+	
+	private CategoryColumns(final int categoryId, final int size) {
+		this.categoryId = categoryId;
+		this.ids = new int[size];
+		this.priceCents = new long[size];
+		this.quantity = new int[size];
+		this.createdAt = new long[size];
+	}
+	
+	/**
+	 * @param rows already sorted with {@link #PRICE_ORDER}
+	 */
+	static CategoryColumns of(final int categoryId, final List<ProductColumnsRow> rows) {
+		final var columns = new CategoryColumns(categoryId, rows.size());
+		for (int i = 0; i < rows.size(); i++) {
+			final ProductColumnsRow row = rows.get(i);
+			columns.ids[i] = row.getProductId();
+			columns.priceCents[i] = priceCents(row);
+			columns.quantity[i] = row.getQuantity() == null ? 0 : row.getQuantity();
+			columns.createdAt[i] = row.getCreatedAt() == null ? NO_DATE : row.getCreatedAt().toEpochMilli();
+		}
+		return columns;
+	}
+	
+	/**
+	 * Returns a copy without the {@code removedIds} (sorted) and with {@code added} rows
+	 * (sorted with {@link #PRICE_ORDER}) merged in, in time linear to the category size.
+	 */
+	CategoryColumns with(final int[] removedIds, final List<ProductColumnsRow> added) {
+		int kept = 0;
+		for (final int id : this.ids)
+			if (Arrays.binarySearch(removedIds, id) < 0)
+				kept++;
+		
+		final var merged = new CategoryColumns(this.categoryId, kept + added.size());
+		int source = 0;
+		int next = 0;
+		int target = 0;
+		while (source < this.ids.length || next < added.size()) {
+			if (source < this.ids.length && Arrays.binarySearch(removedIds, this.ids[source]) >= 0) {
+				source++;
+				continue;
+			}
+			final boolean takeAdded = source == this.ids.length || (next < added.size()
+					&& compare(added.get(next), this.priceCents[source], this.ids[source]) < 0);
+			if (takeAdded) {
+				final ProductColumnsRow row = added.get(next++);
+				merged.ids[target] = row.getProductId();
+				merged.priceCents[target] = priceCents(row);
+				merged.quantity[target] = row.getQuantity() == null ? 0 : row.getQuantity();
+				merged.createdAt[target] = row.getCreatedAt() == null ? NO_DATE : row.getCreatedAt().toEpochMilli();
+			}
+			else {
+				merged.ids[target] = this.ids[source];
+				merged.priceCents[target] = this.priceCents[source];
+				merged.quantity[target] = this.quantity[source];
+				merged.createdAt[target] = this.createdAt[source];
+				source++;
+			}
+			target++;
+		}
+		return merged;
+	}
+	
+	int size() {
+		return this.ids.length;
+	}
+	
+	/**
+	 * @return index of the first product priced at or above {@code cents}
+	 */
+	int lowerBound(final long cents) {
+		int low = 0;
+		int high = this.priceCents.length;
+		while (low < high) {
+			final int mid = (low + high) >>> 1;
+			if (this.priceCents[mid] < cents)
+				low = mid + 1;
+			else
+				high = mid;
+		}
+		return low;
+	}
+	
+	/**
+	 * @return index of the first product priced above {@code cents}
+	 */
+	int upperBound(final long cents) {
+		int low = 0;
+		int high = this.priceCents.length;
+		while (low < high) {
+			final int mid = (low + high) >>> 1;
+			if (this.priceCents[mid] <= cents)
+				low = mid + 1;
+			else
+				high = mid;
+		}
+		return low;
+	}
+	
+	static long priceCents(final ProductColumnsRow row) {
+		return row.getPriceUnit() == null ? NO_PRICE : Math.round(row.getPriceUnit() * 100);
+	}
+	
+	private static int compare(final ProductColumnsRow row, final long priceCents, final int id) {
+		final int byPrice = Long.compare(priceCents(row), priceCents);
+		return byPrice != 0 ? byPrice : Integer.compare(row.getProductId(), id);
+	}
+	
+	
+	
+}
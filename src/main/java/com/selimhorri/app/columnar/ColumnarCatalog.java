@@ -0,0 +1,137 @@
+package com.selimhorri.app.columnar;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.selimhorri.app.dto.CatalogEntryDto;
+import com.selimhorri.app.projection.ProductColumnsRow;
+
+/**
+ * Live catalog kept as primitive columns per category, each sorted by price, for range
+ * filters and top-N selection without touching the database. Writers replace whole
+ * {@link CategoryColumns} instances (copy-on-write), so queries run lock-free on a
+ * consistent view of every category they read.
+ */
+public class ColumnarCatalog {
+	
+	private volatile Map<Integer, CategoryColumns> byCategory = Map.of();
+	
+	/**
+	 * Category of every indexed product, to find the columns an update must leave.
+	 * Only touched by writers.
+	 */
+	private final Map<Integer, Integer> categoryByProduct = new HashMap<>();
+	
+	public synchronized void replaceAll(final Collection<ProductColumnsRow> rows) {
+		this.categoryByProduct.clear();
+		final Map<Integer, CategoryColumns> next = new HashMap<>();
+		groupByCategory(rows).forEach((categoryId, categoryRows) -> {
+			categoryRows.forEach(row -> this.categoryByProduct.put(row.getProductId(), categoryId));
+			next.put(categoryId, CategoryColumns.of(categoryId, categoryRows));
+		});
+		this.byCategory = Map.copyOf(next);
+	}
+	
+	/**
+	 * Applies the current state of the {@code changedIds}: products present in
+	 * {@code rows} are inserted or moved, the others are removed. Only the categories they
+	 * left or entered are rebuilt.
+	 */
+	public synchronized void apply(final Collection<Integer> changedIds, final Collection<ProductColumnsRow> rows) {
+		final int[] removedIds = changedIds.stream().mapToInt(Integer::intValue).sorted().toArray();
+		final Map<Integer, List<ProductColumnsRow>> addedByCategory = groupByCategory(rows);
+		
+		final Set<Integer> affected = new HashSet<>(addedByCategory.keySet());
+		for (final Integer productId : changedIds) {
+			final Integer previousCategory = this.categoryByProduct.remove(productId);
+			if (previousCategory != null)
+				affected.add(previousCategory);
+		}
+		addedByCategory.forEach((categoryId, categoryRows) ->
+				categoryRows.forEach(row -> this.categoryByProduct.put(row.getProductId(), categoryId)));
+		
+		final Map<Integer, CategoryColumns> next = new HashMap<>(this.byCategory);
+		for (final Integer categoryId : affected) {
+			final List<ProductColumnsRow> added = addedByCategory.getOrDefault(categoryId, List.of());
+			final CategoryColumns current = next.get(categoryId);
+			final CategoryColumns updated = current == null
+					? CategoryColumns.of(categoryId, added)
+					: current.with(removedIds, added);
+			if (updated.size() == 0)
+				next.remove(categoryId);
+			else
+				next.put(categoryId, updated);
+		}
+		this.byCategory = Map.copyOf(next);
+	}
+	
+	public List<CatalogEntryDto> query(final CatalogQuery query) {
+		final Map<Integer, CategoryColumns> snapshot = this.byCategory;
+		final Collection<CategoryColumns> sources;
+		if (query.getCategoryId() == null)
+			sources = snapshot.values();
+		else
+			sources = snapshot.containsKey(query.getCategoryId()) ? List.of(snapshot.get(query.getCategoryId())) : List.of();
+		
+		final var selection = new BoundedSelection(query.getLimit());
+		for (final CategoryColumns columns : sources) {
+			final int from = columns.lowerBound(query.getMinPriceCents());
+			final int to = columns.upperBound(query.getMaxPriceCents());
+			switch (query.getSort()) {
+				case PRICE_ASC:
+					// rows come cheapest first, so stop once the selection cannot improve
+					for (int row = from; row < to && !selection.rejects(columns.priceCents[row]); row++)
+						if (matches(query, columns, row))
+							selection.offer(columns.priceCents[row], columns, row);
+					break;
+				case PRICE_DESC:
+					for (int row = to - 1; row >= from && !selection.rejects(~columns.priceCents[row]); row--)
+						if (matches(query, columns, row))
+							selection.offer(~columns.priceCents[row], columns, row);
+					break;
+				case NEWEST:
+					for (int row = from; row < to; row++)
+						if (matches(query, columns, row))
+							selection.offer(~columns.createdAt[row], columns, row);
+					break;
+			}
+		}
+		
+		final List<CatalogEntryDto> result = new ArrayList<>(Math.min(query.getLimit(), 1024));
+		selection.drainInOrder((columns, row) -> result.add(CatalogEntryDto.builder()
+				.productId(columns.ids[row])
+				.categoryId(columns.categoryId)
+				.priceUnit(columns.priceCents[row] == CategoryColumns.NO_PRICE ? null : columns.priceCents[row] / 100d)
+				.quantity(columns.quantity[row])
+				.createdAt(columns.createdAt[row] == CategoryColumns.NO_DATE ? null : Instant.ofEpochMilli(columns.createdAt[row]))
+				.build()));
+		return result;
+	}
+	
+	public int size() {
+		return this.byCategory.values().stream()
+				.mapToInt(CategoryColumns::size)
+				.sum();
+	}
+	
+	private static boolean matches(final CatalogQuery query, final CategoryColumns columns, final int row) {
+		return !query.isInStockOnly() || columns.quantity[row] > 0;
+	}
+	
+	private static Map<Integer, List<ProductColumnsRow>> groupByCategory(final Collection<ProductColumnsRow> rows) {
+		return rows.stream()
+				.filter(row -> row.getCategoryId() != null)
+				.sorted(CategoryColumns.PRICE_ORDER)
+				.collect(Collectors.groupingBy(ProductColumnsRow::getCategoryId, Collectors.toList()));
+	}
+	
+	
+	
+}
@@ -0,0 +1,81 @@
+package com.selimhorri.app.columnar;
+
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.selimhorri.app.cache.invalidation.LocalCacheInvalidator;
+import com.selimhorri.app.event.CatalogChangedEvent;
+import com.selimhorri.app.event.CatalogChangedEvent.EntityType;
+import com.selimhorri.app.event.PendingCatalogChanges;
+import com.selimhorri.app.projection.ProductColumnsRow;
+import com.selimhorri.app.repository.ProductRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Feeds product writes committed by the service layer, and by peers through the
+ * invalidation bus, into the {@link ColumnarCatalog}. Category-only changes are ignored:
+ * the columns hold no category data besides the id, and moving products between
+ * categories is reported as a product change.
+ */
+@Slf4j
+public class ColumnarCatalogSynchronizer implements LocalCacheInvalidator {
+	
+	private final ColumnarCatalog catalog;
+	private final ProductRepository productRepository;
+	private final PendingCatalogChanges pending = new PendingCatalogChanges();
+	
+	public ColumnarCatalogSynchronizer(final ColumnarCatalog catalog, final ProductRepository productRepository) {
+		this.catalog = catalog;
+		this.productRepository = productRepository;
+	}
+	
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+	public void onCatalogChanged(final CatalogChangedEvent event) {
+		this.pending.add(event);
+	}
+	
+	@Override
+	public void invalidate(final EntityType entityType, final Set<Integer> ids) {
+		this.pending.add(entityType, ids);
+	}
+	
+	@Override
+	public void invalidateAll(final EntityType entityType) {
+		this.pending.requestFullReload();
+	}
+	
+	@Override
+	public void invalidateEverything() {
+		this.pending.requestFullReload();
+	}
+	
+	@Scheduled(fixedDelayString = "${app.columnar.sync-interval:200}")
+	public void sync() {
+		final PendingCatalogChanges.Batch batch = this.pending.drain();
+		if (!batch.isFullReload() && batch.getProductIds().isEmpty())
+			return;
+		
+		try {
+			if (batch.isFullReload()) {
+				final List<ProductColumnsRow> rows = this.productRepository.findColumnsWithoutDeleted();
+				this.catalog.replaceAll(rows);
+				log.info("*** Built columnar catalog of {} products *", rows.size());
+			}
+			else
+				this.catalog.apply(batch.getProductIds(),
+						this.productRepository.findColumnsByIdWithoutDeleted(batch.getProductIds()));
+		}
+		catch (RuntimeException e) {
+			log.warn("*** Columnar catalog sync failed, retrying next run: {} *", e.getMessage());
+			this.pending.requeue(batch);
+		}
+	}
+	
+	
+	
+}
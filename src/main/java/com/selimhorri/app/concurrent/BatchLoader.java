@@ -0,0 +1,242 @@
+package com.selimhorri.app.concurrent;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import com.selimhorri.app.exception.wrapper.LoadTimeoutException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * DataLoader-style micro-batcher: single-key lookups issued by concurrent callers are queued,
+ * a dispatcher thread groups them and one worker runs the batch function for the whole group.
+ * <p>
+ * Both the collection window and the batch size adapt: a lone request is dispatched at once
+ * and the window shrinks towards zero, while batches that fill up let the window and the
+ * batch size grow, up to their configured maxima.
+ */
+@Slf4j
+public class BatchLoader<K, V> implements AutoCloseable {
+	
+	private static final long MIN_GROWN_WINDOW_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+	
+	private final Function<Set<K>, Map<K, V>> batchFunction;
+	private final Settings settings;
+	private final BlockingQueue<Pending<K, V>> queue;
+	private final ExecutorService workers;
+	private final Thread dispatcher;
+	private final DistributionSummary batchSizes;
+	private final Counter rejected;
+	
+	@Getter
+	private volatile long windowNanos;
+	@Getter
+	private volatile int batchSize;
+	private volatile boolean running = true;
+	
+	public BatchLoader(final String name, final Function<Set<K>, Map<K, V>> batchFunction,
+			final Settings settings, final MeterRegistry meterRegistry) {
+		
+		this.batchFunction = batchFunction;
+		this.settings = settings;
+		this.queue = new ArrayBlockingQueue<>(settings.getQueueCapacity());
+		this.batchSize = settings.getMinBatchSize();
+		this.windowNanos = 0L;
+		
+		final var threadIds = new AtomicInteger();
+		this.workers = new ThreadPoolExecutor(settings.getWorkers(), settings.getWorkers(), 0L, TimeUnit.MILLISECONDS,
+				new LinkedBlockingQueue<>(settings.getWorkers() * 2),
+				runnable -> daemon(runnable, "batch-loader-" + name + "-" + threadIds.incrementAndGet()),
+				new ThreadPoolExecutor.CallerRunsPolicy());
+		
+		this.batchSizes = DistributionSummary.builder("batchloader.batch.size")
+				.tag("name", name)
+				.description("Keys per dispatched batch")
+				.register(meterRegistry);
+		this.rejected = Counter.builder("batchloader.rejected")
+				.tag("name", name)
+				.description("Lookups refused because the queue was full")
+				.register(meterRegistry);
+		Gauge.builder("batchloader.window", this, loader -> loader.windowNanos / 1_000.0)
+				.tag("name", name)
+				.baseUnit("microseconds")
+				.register(meterRegistry);
+		Gauge.builder("batchloader.batch.limit", this, loader -> loader.batchSize)
+				.tag("name", name)
+				.register(meterRegistry);
+		
+		this.dispatcher = daemon(this::dispatchLoop, "batch-loader-" + name + "-dispatcher");
+		this.dispatcher.start();
+	}
+	
+	/**
+	 * Blocks until the batch holding {@code key} completed; returns {@code null} when the
+	 * batch function did not return a value for it.
+	 */
+	public V load(final K key) {
+		
+		final var pending = new Pending<K, V>(key);
+		if (!this.running || !this.queue.offer(pending)) {
+			this.rejected.increment();
+			throw new LoadTimeoutException("Batch loader queue is full");
+		}
+		
+		try {
+			return pending.future.get(this.settings.getTimeoutMillis(), TimeUnit.MILLISECONDS);
+		}
+		catch (TimeoutException e) {
+			throw new LoadTimeoutException("Timed out waiting for batched load of " + key, e);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new LoadTimeoutException("Interrupted waiting for batched load of " + key, e);
+		}
+		catch (ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw new IllegalStateException(cause);
+		}
+	}
+	
+	@Override
+	public void close() {
+		this.running = false;
+		this.dispatcher.interrupt();
+		this.workers.shutdown();
+		final List<Pending<K, V>> abandoned = new ArrayList<>();
+		this.queue.drainTo(abandoned);
+		abandoned.forEach(pending -> pending.future.completeExceptionally(
+				new LoadTimeoutException("Batch loader is shutting down")));
+	}
+	
+	private void dispatchLoop() {
+		while (this.running) {
+			try {
+				final Pending<K, V> first = this.queue.poll(100, TimeUnit.MILLISECONDS);
+				if (first == null)
+					continue;
+				final List<Pending<K, V>> batch = this.collect(first);
+				this.adapt(batch.size());
+				this.batchSizes.record(batch.size());
+				this.workers.execute(() -> this.run(batch));
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+			catch (RuntimeException e) {
+				log.error("*** Batch loader dispatcher failure *", e);
+			}
+		}
+	}
+	
+	private List<Pending<K, V>> collect(final Pending<K, V> first) throws InterruptedException {
+		
+		final int limit = this.batchSize;
+		final List<Pending<K, V>> batch = new ArrayList<>(limit);
+		batch.add(first);
+		this.queue.drainTo(batch, limit - batch.size());
+		
+		final long deadline = System.nanoTime() + this.windowNanos;
+		while (batch.size() < limit) {
+			final long remaining = deadline - System.nanoTime();
+			if (remaining <= 0)
+				break;
+			final Pending<K, V> next = this.queue.poll(remaining, TimeUnit.NANOSECONDS);
+			if (next == null)
+				break;
+			batch.add(next);
+			this.queue.drainTo(batch, limit - batch.size());
+		}
+		return batch;
+	}
+	
+	private void adapt(final int size) {
+		
+		if (size == this.batchSize)
+			this.batchSize = Math.min(this.settings.getMaxBatchSize(), this.batchSize * 2);
+		else if (size < this.batchSize / 4)
+			this.batchSize = Math.max(this.settings.getMinBatchSize(), this.batchSize / 2);
+		
+		// concurrent demand: worth waiting a little for company; idle: dispatch immediately
+		if (size > 1)
+			this.windowNanos = Math.min(this.settings.getMaxWindowNanos(),
+					Math.max(MIN_GROWN_WINDOW_NANOS, this.windowNanos * 2));
+		else
+			this.windowNanos = this.windowNanos < MIN_GROWN_WINDOW_NANOS ? 0L : this.windowNanos / 2;
+	}
+	
+	private void run(final List<Pending<K, V>> batch) {
+		final Set<K> keys = new LinkedHashSet<>();
+		batch.forEach(pending -> keys.add(pending.key));
+		try {
+			final Map<K, V> values = this.batchFunction.apply(keys);
+			batch.forEach(pending -> pending.future.complete(values.get(pending.key)));
+		}
+		catch (RuntimeException | Error e) {
+			batch.forEach(pending -> pending.future.completeExceptionally(e));
+		}
+	}
+	
+	private static Thread daemon(final Runnable runnable, final String name) {
+		final var thread = new Thread(runnable, name);
+		thread.setDaemon(true);
+		return thread;
+	}
+	
+	@Getter
+	@Builder
+	public static class Settings {
+		
+		@Builder.Default
+		private final long maxWindowNanos = TimeUnit.MILLISECONDS.toNanos(2);
+		@Builder.Default
+		private final int minBatchSize = 8;
+		@Builder.Default
+		private final int maxBatchSize = 256;
+		@Builder.Default
+		private final int workers = 8;
+		@Builder.Default
+		private final int queueCapacity = 10_000;
+		@Builder.Default
+		private final long timeoutMillis = 2_000L;
+		
+	}
+	
+	private static final class Pending<K, V> {
+		
+		private final K key;
+		private final CompletableFuture<V> future = new CompletableFuture<>();
+		
+		private Pending(final K key) {
+			this.key = key;
+		}
+		
+	}
+	
+	
+	
+}
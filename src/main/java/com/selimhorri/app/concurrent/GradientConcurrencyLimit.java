@@ -0,0 +1,161 @@
+package com.selimhorri.app.concurrent;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Concurrency limit that follows queueing delay, after Netflix's Gradient2. Latency is
+ * averaged per sampling window (the short-term RTT) and over many windows (the long-term
+ * RTT). Their ratio is the gradient: near one, requests are not queueing and the limit
+ * grows by its square root each window; once the short-term RTT exceeds the long-term one
+ * by more than {@code tolerance}, the limit shrinks in proportion, by at most half a
+ * window. Changes are smoothed, and the limit only grows while at least half of it is in
+ * use, so an idle service does not drift to the maximum.
+ * <p>
+ * Acquiring is a CAS on the in-flight count. The limit is recomputed by whichever request
+ * completes first after a window closes, without making the others wait.
+ */
+public class GradientConcurrencyLimit {
+	
+	private final Settings settings;
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final LongAdder windowRttNanos = new LongAdder();
+	private final LongAdder windowSamples = new LongAdder();
+	private final LongAccumulator windowPeakInFlight = new LongAccumulator(Math::max, 0);
+	private final ReentrantLock updateLock = new ReentrantLock();
+	private final Counter rejected;
+	
+	@Getter
+	private volatile int limit;
+	private volatile long windowEndNanos;
+	
+	// guarded by updateLock
+	private double estimatedLimit;
+	private double longRttNanos;
+	
+	public GradientConcurrencyLimit(final String name, final Settings settings, final MeterRegistry meterRegistry) {
+		this.settings = settings;
+		this.estimatedLimit = settings.getInitialLimit();
+		this.limit = settings.getInitialLimit();
+		this.windowEndNanos = System.nanoTime() + settings.getWindowNanos();
+		this.rejected = Counter.builder("concurrency.limit.rejected")
+				.description("Requests shed because the concurrency limit was reached")
+				.tag("limiter", name)
+				.register(meterRegistry);
+		Gauge.builder("concurrency.limit", this, GradientConcurrencyLimit::getLimit)
+				.description("Current adaptive concurrency limit")
+				.tag("limiter", name)
+				.register(meterRegistry);
+		Gauge.builder("concurrency.limit.in.flight", this, GradientConcurrencyLimit::getInFlight)
+				.description("Requests currently holding a permit")
+				.tag("limiter", name)
+				.register(meterRegistry);
+	}
+	
+	/**
+	 * Takes a permit if fewer than {@link #getLimit()} are out; never waits. Every
+	 * successful call must be followed by one {@link #release}.
+	 */
+	public boolean tryAcquire() {
+		for (;;) {
+			final int current = this.inFlight.get();
+			if (current >= this.limit) {
+				this.rejected.increment();
+				return false;
+			}
+			if (this.inFlight.compareAndSet(current, current + 1)) {
+				this.windowPeakInFlight.accumulate(current + 1);
+				return true;
+			}
+		}
+	}
+	
+	public void release(final long rttNanos) {
+		this.inFlight.decrementAndGet();
+		this.windowRttNanos.add(rttNanos);
+		this.windowSamples.increment();
+		
+		final long now = System.nanoTime();
+		if (now - this.windowEndNanos < 0 || !this.updateLock.tryLock())
+			return;
+		try {
+			if (now - this.windowEndNanos >= 0 && this.windowSamples.sum() >= this.settings.getMinWindowSamples())
+				this.update(now);
+		}
+		finally {
+			this.updateLock.unlock();
+		}
+	}
+	
+	public int getInFlight() {
+		return this.inFlight.get();
+	}
+	
+	private void update(final long now) {
+		
+		final double shortRttNanos = (double) this.windowRttNanos.sumThenReset() / this.windowSamples.sumThenReset();
+		final long peakInFlight = this.windowPeakInFlight.getThenReset();
+		this.windowEndNanos = now + this.settings.getWindowNanos();
+		if (shortRttNanos <= 0)
+			return;
+		
+		if (this.longRttNanos == 0)
+			this.longRttNanos = shortRttNanos;
+		else
+			this.longRttNanos += (shortRttNanos - this.longRttNanos) * 2 / (this.settings.getLongWindows() + 1);
+		// a long-term average stuck far above current latency would let the limit overshoot
+		// after a slow period; pull it down faster than the average alone would
+		if (this.longRttNanos > 2 * shortRttNanos)
+			this.longRttNanos *= 0.95;
+		
+		if (peakInFlight < this.estimatedLimit / 2)
+			return;
+		
+		final double gradient = Math.max(0.5, Math.min(1.0, this.settings.getTolerance() * this.longRttNanos / shortRttNanos));
+		final double target = this.estimatedLimit * gradient + Math.sqrt(this.estimatedLimit);
+		final double smoothed = this.estimatedLimit * (1 - this.settings.getSmoothing()) + target * this.settings.getSmoothing();
+		this.estimatedLimit = Math.max(this.settings.getMinLimit(), Math.min(this.settings.getMaxLimit(), smoothed));
+		this.limit = (int) this.estimatedLimit;
+	}
+	
+	@Getter
+	@Builder
+	public static class Settings {
+		
+		@Builder.Default
+		private final int initialLimit = 20;
+		@Builder.Default
+		private final int minLimit = 4;
+		@Builder.Default
+		private final int maxLimit = 200;
+		/**
+		 * How much the short-term RTT may exceed the long-term one before the limit shrinks.
+		 */
+		@Builder.Default
+		private final double tolerance = 1.5;
+		@Builder.Default
+		private final double smoothing = 0.2;
+		@Builder.Default
+		private final long windowNanos = TimeUnit.MILLISECONDS.toNanos(100);
+		@Builder.Default
+		private final int minWindowSamples = 10;
+		/**
+		 * Windows averaged into the long-term RTT.
+		 */
+		@Builder.Default
+		private final int longWindows = 600;
+	
+	}
+	
+	
+	
+}
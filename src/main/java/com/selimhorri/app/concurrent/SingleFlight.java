@@ -0,0 +1,94 @@
+package com.selimhorri.app.concurrent;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import com.selimhorri.app.exception.wrapper.LoadTimeoutException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Collapses concurrent loads of the same key: the first caller runs the loader on its own
+ * thread, later callers wait (bounded) for that result, or its exception, instead of
+ * issuing their own query. Nothing is kept once the load completes.
+ */
+public class SingleFlight<K, V> {
+	
+	private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+	private final long timeoutMillis;
+	private final Counter loads;
+	private final Counter collapsed;
+	private final Counter timeouts;
+	
+	public SingleFlight(final String name, final long timeoutMillis, final MeterRegistry meterRegistry) {
+		this.timeoutMillis = timeoutMillis;
+		this.loads = Counter.builder("singleflight.loads")
+				.tag("name", name)
+				.description("Loads actually executed")
+				.register(meterRegistry);
+		this.collapsed = Counter.builder("singleflight.collapsed")
+				.tag("name", name)
+				.description("Calls served by joining a load already in flight")
+				.register(meterRegistry);
+		this.timeouts = Counter.builder("singleflight.timeouts")
+				.tag("name", name)
+				.description("Joined calls that gave up waiting")
+				.register(meterRegistry);
+	}
+	
+	public V execute(final K key, final Supplier<V> loader) {
+		
+		final var created = new CompletableFuture<V>();
+		final CompletableFuture<V> existing = this.inFlight.putIfAbsent(key, created);
+		
+		if (existing == null) {
+			this.loads.increment();
+			try {
+				final V value = loader.get();
+				created.complete(value);
+				return value;
+			}
+			catch (RuntimeException | Error e) {
+				created.completeExceptionally(e);
+				throw e;
+			}
+			finally {
+				this.inFlight.remove(key, created);
+			}
+		}
+		
+		this.collapsed.increment();
+		try {
+			return existing.get(this.timeoutMillis, TimeUnit.MILLISECONDS);
+		}
+		catch (TimeoutException e) {
+			this.timeouts.increment();
+			throw new LoadTimeoutException("Timed out waiting for in-flight load of " + key, e);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new LoadTimeoutException("Interrupted waiting for in-flight load of " + key, e);
+		}
+		catch (ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw new IllegalStateException(cause);
+		}
+	}
+	
+	public int inFlightCount() {
+		return this.inFlight.size();
+	}
+	
+	
+	
+}
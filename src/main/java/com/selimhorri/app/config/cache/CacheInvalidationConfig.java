@@ -0,0 +1,72 @@
+package com.selimhorri.app.config.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.selimhorri.app.cache.invalidation.CacheInvalidationBus;
+import com.selimhorri.app.cache.invalidation.EurekaPeerDirectory;
+import com.selimhorri.app.cache.invalidation.HibernateCacheInvalidator;
+import com.selimhorri.app.cache.invalidation.LocalCacheInvalidator;
+import com.selimhorri.app.cache.invalidation.PeerDirectory;
+import com.selimhorri.app.cache.invalidation.RestInvalidationTransport;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Configuration
+@Slf4j
+public class CacheInvalidationConfig {
+	
+	@Bean
+	public HibernateCacheInvalidator hibernateCacheInvalidatorBean(final EntityManagerFactory entityManagerFactory) {
+		return new HibernateCacheInvalidator(entityManagerFactory);
+	}
+	
+	@Bean
+	public CacheInvalidationBus cacheInvalidationBusBean(
+			final DiscoveryClient discoveryClient,
+			final ObjectProvider<Registration> registration,
+			final RestTemplateBuilder restTemplateBuilder,
+			final List<LocalCacheInvalidator> invalidators,
+			@Value("${spring.application.name}") final String serviceId,
+			@Value("${server.servlet.context-path:}") final String contextPath,
+			@Value("${app.cache.invalidation.max-ids-per-message:500}") final int maxIdsPerMessage,
+			@Value("${app.cache.invalidation.source-ttl:3600000}") final long sourceTtlMillis,
+			@Value("${app.cache.invalidation.secret:}") final String secret) {
+		
+		final var restTemplate = restTemplateBuilder
+				.setConnectTimeout(Duration.ofMillis(500))
+				.setReadTimeout(Duration.ofSeconds(2))
+				.build();
+		
+		// peers refuse messages without the shared secret, so without one there is no one to send to
+		final PeerDirectory peerDirectory;
+		if (secret.isBlank()) {
+			log.warn("*** No app.cache.invalidation.secret set: writes are not broadcast to other instances *");
+			peerDirectory = List::of;
+		}
+		else
+			peerDirectory = new EurekaPeerDirectory(discoveryClient, registration, serviceId, contextPath);
+		
+		return new CacheInvalidationBus(
+				serviceId + "-" + UUID.randomUUID(),
+				peerDirectory,
+				new RestInvalidationTransport(restTemplate, secret),
+				invalidators,
+				maxIdsPerMessage,
+				sourceTtlMillis);
+	}
+	
+	
+	
+}
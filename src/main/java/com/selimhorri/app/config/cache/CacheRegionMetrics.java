@@ -0,0 +1,107 @@
+package com.selimhorri.app.config.cache;
+
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.constant.AppConstant;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Publishes hit/miss/put counts and in-memory size of every Hibernate cache region,
+ * tagged by region, so they show up under {@code /actuator/metrics} and Prometheus.
+ * Hibernate only counts them with {@code hibernate.generate_statistics}; without it no
+ * meters are registered rather than ones stuck at zero.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheRegionMetrics implements MeterBinder {
+	
+	private static final List<String> DOMAIN_REGIONS = List.of(
+			AppConstant.CacheRegions.CATEGORY,
+			AppConstant.CacheRegions.PRODUCT);
+	
+	private static final List<String> QUERY_REGIONS = List.of(
+			AppConstant.CacheRegions.CATEGORY_QUERIES,
+			AppConstant.CacheRegions.DEFAULT_QUERY_RESULTS);
+	
+	private final EntityManagerFactory entityManagerFactory;
+	
+	@Override
+	public void bindTo(final MeterRegistry registry) {
+		
+		final Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		if (!statistics.isStatisticsEnabled())
+			return;
+		
+		DOMAIN_REGIONS.forEach(region -> this.bindRegion(registry, "entity", region,
+				statistics, s -> s.getDomainDataRegionStatistics(region)));
+		QUERY_REGIONS.forEach(region -> this.bindRegion(registry, "query", region,
+				statistics, s -> s.getQueryRegionStatistics(region)));
+	}
+	
+	private void bindRegion(final MeterRegistry registry, final String kind, final String region,
+			final Statistics statistics, final RegionLookup lookup) {
+		
+		this.counter(registry, "hibernate.cache.region.hits", kind, region, statistics,
+				s -> count(find(lookup, s), CacheRegionStatistics::getHitCount));
+		this.counter(registry, "hibernate.cache.region.misses", kind, region, statistics,
+				s -> count(find(lookup, s), CacheRegionStatistics::getMissCount));
+		this.counter(registry, "hibernate.cache.region.puts", kind, region, statistics,
+				s -> count(find(lookup, s), CacheRegionStatistics::getPutCount));
+		
+		Gauge.builder("hibernate.cache.region.size", statistics,
+						s -> count(find(lookup, s), CacheRegionStatistics::getElementCountInMemory))
+				.tag("kind", kind)
+				.tag("region", region)
+				.description("Entries held in memory by the cache region")
+				.register(registry);
+	}
+	
+	private void counter(final MeterRegistry registry, final String name, final String kind, final String region,
+			final Statistics statistics, final ToDoubleFunction<Statistics> function) {
+		FunctionCounter.builder(name, statistics, function)
+				.tag("kind", kind)
+				.tag("region", region)
+				.register(registry);
+	}
+	
+	private static CacheRegionStatistics find(final RegionLookup lookup, final Statistics statistics) {
+		try {
+			return lookup.find(statistics);
+		}
+		catch (IllegalArgumentException e) {
+			// region not built, e.g. second-level cache disabled for this profile
+			return null;
+		}
+	}
+	
+	private static double count(final CacheRegionStatistics regionStatistics,
+			final ToDoubleFunction<CacheRegionStatistics> function) {
+		if (regionStatistics == null)
+			return 0;
+		final double value = function.applyAsDouble(regionStatistics);
+		return value < 0 ? 0 : value;
+	}
+	
+	@FunctionalInterface
+	private interface RegionLookup {
+		
+		CacheRegionStatistics find(final Statistics statistics);
+		
+	}
+	
+	
+	
+}
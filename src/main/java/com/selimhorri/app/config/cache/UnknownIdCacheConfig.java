@@ -0,0 +1,26 @@
+package com.selimhorri.app.config.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.selimhorri.app.cache.UnknownIdCache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.cache.unknown-ids", name = "enabled", havingValue = "true")
+public class UnknownIdCacheConfig {
+	
+	@Bean
+	public UnknownIdCache unknownIdCacheBean(
+			@Value("${app.cache.unknown-ids.ttl:2000}") final long ttlMillis,
+			@Value("${app.cache.unknown-ids.max-entries:10000}") final int maxEntries,
+			final MeterRegistry meterRegistry) {
+		return new UnknownIdCache(ttlMillis, maxEntries, meterRegistry);
+	}
+	
+	
+	
+}
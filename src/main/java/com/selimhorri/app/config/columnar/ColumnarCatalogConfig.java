@@ -0,0 +1,34 @@
+package com.selimhorri.app.config.columnar;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.selimhorri.app.columnar.ColumnarCatalog;
+import com.selimhorri.app.columnar.ColumnarCatalogSynchronizer;
+import com.selimhorri.app.repository.ProductRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class ColumnarCatalogConfig {
+	
+	@Bean
+	public ColumnarCatalog columnarCatalogBean(final MeterRegistry meterRegistry) {
+		final var catalog = new ColumnarCatalog();
+		Gauge.builder("columnar.products", catalog, ColumnarCatalog::size)
+				.register(meterRegistry);
+		return catalog;
+	}
+	
+	@Bean
+	public ColumnarCatalogSynchronizer columnarCatalogSynchronizerBean(
+			final ColumnarCatalog columnarCatalog,
+			final ProductRepository productRepository) {
+		// also a LocalCacheInvalidator, so peer writes reach the columns through the invalidation bus
+		return new ColumnarCatalogSynchronizer(columnarCatalog, productRepository);
+	}
+	
+	
+	
+}
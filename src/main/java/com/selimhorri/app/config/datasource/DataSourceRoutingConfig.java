@@ -0,0 +1,93 @@
+package com.selimhorri.app.config.datasource;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(DataSourceRoutingProperties.class)
+public class DataSourceRoutingConfig {
+	
+	@Bean
+	public ReadYourWritesTracker readYourWritesTrackerBean(final DataSourceRoutingProperties routingProperties) {
+		return new ReadYourWritesTracker(routingProperties.getStickinessWindow().toMillis(),
+				routingProperties.getMaxTrackedClients());
+	}
+	
+	@Bean
+	public ReadYourWritesFilter readYourWritesFilterBean(final ReadYourWritesTracker readYourWritesTracker,
+			final DataSourceRoutingProperties routingProperties) {
+		return new ReadYourWritesFilter(readYourWritesTracker, routingProperties.getClientHeader());
+	}
+	
+	@Bean
+	public ReplicaLagMonitor replicaLagMonitorBean(final DataSourceRoutingProperties routingProperties) {
+		final Map<String, DataSource> replicas = new LinkedHashMap<>();
+		final List<DataSourceRoutingProperties.Replica> configured = routingProperties.getReplicas();
+		for (int i = 0; i < configured.size(); i++) {
+			final var replica = configured.get(i);
+			replicas.put("replica-" + i, DataSourceBuilder.create()
+					.type(HikariDataSource.class)
+					.driverClassName(replica.getDriverClassName())
+					.url(replica.getUrl())
+					.username(replica.getUsername())
+					.password(replica.getPassword())
+					.build());
+		}
+		final var monitor = new ReplicaLagMonitor(replicas, routingProperties.getLagQuery(),
+				routingProperties.getMaxLag().toMillis());
+		monitor.refresh();
+		return monitor;
+	}
+	
+	/**
+	 * The primary pool, tuned by {@code spring.datasource.hikari.*} as without routing, and
+	 * closed with the context.
+	 */
+	@Bean
+	@ConfigurationProperties("spring.datasource.hikari")
+	public HikariDataSource primaryDataSourceBean(final DataSourceProperties dataSourceProperties) {
+		return dataSourceProperties.initializeDataSourceBuilder()
+				.type(HikariDataSource.class)
+				.build();
+	}
+	
+	@Bean
+	@Primary
+	public DataSource dataSource(@Qualifier("primaryDataSourceBean") final HikariDataSource primary,
+			final ReplicaLagMonitor replicaLagMonitor,
+			final ReadYourWritesTracker readYourWritesTracker) {
+		
+		final Map<Object, Object> targets = new HashMap<>(replicaLagMonitor.getReplicas());
+		targets.put(ReadWriteRoutingDataSource.PRIMARY, primary);
+		
+		final var routing = new ReadWriteRoutingDataSource(new ArrayList<>(replicaLagMonitor.getReplicas().keySet()),
+				replicaLagMonitor, readYourWritesTracker);
+		routing.setTargetDataSources(targets);
+		routing.setDefaultTargetDataSource(primary);
+		routing.afterPropertiesSet();
+		
+		return new LazyConnectionDataSourceProxy(routing);
+	}
+	
+	
+	
+}
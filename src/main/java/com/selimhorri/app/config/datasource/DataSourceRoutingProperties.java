@@ -0,0 +1,61 @@
+package com.selimhorri.app.config.datasource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public class DataSourceRoutingProperties {
+	
+	/**
+	 * Route read-only transactions to the configured replicas.
+	 */
+	private boolean enabled = false;
+	
+	private List<Replica> replicas = new ArrayList<>();
+	
+	/**
+	 * Query returning the replication lag in seconds as a single numeric column,
+	 * e.g. a pt-heartbeat style {@code SELECT TIMESTAMPDIFF(SECOND, ts, NOW()) FROM heartbeat}.
+	 * When empty, replicas are only checked for connectivity.
+	 */
+	private String lagQuery;
+	
+	/**
+	 * Replicas lagging more than this are skipped and reads fall back to the primary.
+	 */
+	private Duration maxLag = Duration.ofSeconds(2);
+	
+	/**
+	 * After a client writes, its reads are pinned to the primary for this long.
+	 */
+	private Duration stickinessWindow = Duration.ofSeconds(5);
+	
+	/**
+	 * Upper bound on the number of clients tracked for read-your-writes stickiness.
+	 */
+	private int maxTrackedClients = 10_000;
+	
+	/**
+	 * Request header identifying a client; falls back to the remote address.
+	 */
+	private String clientHeader = "X-Client-Id";
+	
+	@Data
+	public static class Replica {
+		
+		private String url;
+		private String username;
+		private String password;
+		private String driverClassName;
+		
+	}
+	
+	
+	
+}
@@ -0,0 +1,55 @@
+package com.selimhorri.app.config.datasource;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions to a healthy replica (round robin) and everything else to
+ * the primary. Must be wrapped in a {@code LazyConnectionDataSourceProxy} so the lookup
+ * happens after the transaction's read-only flag has been bound to the thread.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+	
+	public static final String PRIMARY = "primary";
+	
+	private final List<String> replicaKeys;
+	private final ReplicaLagMonitor lagMonitor;
+	private final ReadYourWritesTracker readYourWritesTracker;
+	private final AtomicInteger cursor = new AtomicInteger();
+	
+	public ReadWriteRoutingDataSource(final List<String> replicaKeys, final ReplicaLagMonitor lagMonitor,
+			final ReadYourWritesTracker readYourWritesTracker) {
+		this.replicaKeys = List.copyOf(replicaKeys);
+		this.lagMonitor = lagMonitor;
+		this.readYourWritesTracker = readYourWritesTracker;
+	}
+	
+	@Override
+	protected Object determineCurrentLookupKey() {
+		
+		if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			if (TransactionSynchronizationManager.isActualTransactionActive())
+				this.readYourWritesTracker.markWrite();
+			return PRIMARY;
+		}
+		
+		if (this.replicaKeys.isEmpty() || this.readYourWritesTracker.isSticky())
+			return PRIMARY;
+		
+		final int size = this.replicaKeys.size();
+		final int start = Math.floorMod(this.cursor.getAndIncrement(), size);
+		for (int i = 0; i < size; i++) {
+			final String key = this.replicaKeys.get((start + i) % size);
+			if (this.lagMonitor.isUsable(key))
+				return key;
+		}
+		
+		return PRIMARY;
+	}
+	
+	
+	
+}
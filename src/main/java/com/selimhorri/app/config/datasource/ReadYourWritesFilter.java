@@ -0,0 +1,36 @@
+package com.selimhorri.app.config.datasource;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+	
+	private final ReadYourWritesTracker readYourWritesTracker;
+	private final String clientHeader;
+	
+	@Override
+	protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+			final FilterChain filterChain) throws ServletException, IOException {
+		
+		final String clientId = request.getHeader(this.clientHeader);
+		this.readYourWritesTracker.begin(clientId != null && !clientId.isBlank() ? clientId : request.getRemoteAddr());
+		try {
+			filterChain.doFilter(request, response);
+		}
+		finally {
+			this.readYourWritesTracker.end();
+		}
+	}
+	
+	
+	
+}
@@ -0,0 +1,96 @@
+package com.selimhorri.app.config.datasource;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Remembers which clients wrote recently so that their subsequent reads are served
+ * by the primary until the replicas have had a chance to catch up.
+ */
+public class ReadYourWritesTracker {
+	
+	private static final ThreadLocal<RequestState> CURRENT = new ThreadLocal<>();
+	
+	private final Map<String, Long> lastWriteByClient = new ConcurrentHashMap<>();
+	private final long windowMillis;
+	private final int maxTrackedClients;
+	
+	public ReadYourWritesTracker(final long windowMillis, final int maxTrackedClients) {
+		this.windowMillis = windowMillis;
+		this.maxTrackedClients = maxTrackedClients;
+	}
+	
+	public void begin(final String clientKey) {
+		CURRENT.set(new RequestState(clientKey));
+	}
+	
+	/**
+	 * Closes the request scope; a write is only recorded here, after its transaction committed.
+	 */
+	public void end() {
+		final var state = CURRENT.get();
+		CURRENT.remove();
+		if (state == null || !state.wrote || state.clientKey == null)
+			return;
+		if (this.lastWriteByClient.size() >= this.maxTrackedClients)
+			this.evictExpired(System.currentTimeMillis());
+		if (this.lastWriteByClient.size() < this.maxTrackedClients)
+			this.lastWriteByClient.put(state.clientKey, System.currentTimeMillis());
+	}
+	
+	/**
+	 * Counts the current transaction as a write of the request once it commits; a rolled
+	 * back transaction wrote nothing the client could read back.
+	 */
+	public void markWrite() {
+		final var state = CURRENT.get();
+		if (state == null)
+			return;
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			state.wrote = true;
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				state.wrote = true;
+			}
+		});
+	}
+	
+	public boolean isSticky() {
+		final var state = CURRENT.get();
+		if (state == null || state.clientKey == null)
+			return false;
+		if (state.wrote)
+			return true;
+		final Long lastWrite = this.lastWriteByClient.get(state.clientKey);
+		if (lastWrite == null)
+			return false;
+		if (System.currentTimeMillis() - lastWrite <= this.windowMillis)
+			return true;
+		this.lastWriteByClient.remove(state.clientKey, lastWrite);
+		return false;
+	}
+	
+	private void evictExpired(final long now) {
+		this.lastWriteByClient.values().removeIf(lastWrite -> now - lastWrite > this.windowMillis);
+	}
+	
+	private static final class RequestState {
+		
+		private final String clientKey;
+		private boolean wrote;
+		
+		private RequestState(final String clientKey) {
+			this.clientKey = clientKey;
+		}
+	
+	}
+	
+	
+	
+}
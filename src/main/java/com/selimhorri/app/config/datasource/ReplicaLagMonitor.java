@@ -0,0 +1,90 @@
+package com.selimhorri.app.config.datasource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Periodically probes each replica and keeps its last observed lag, so routing can skip
+ * replicas that are unreachable or too far behind the primary. Owns the replica pools and
+ * closes them on shutdown.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+	
+	private static final long UNUSABLE = -1L;
+	
+	private final Map<String, DataSource> replicas;
+	private final String lagQuery;
+	private final long maxLagMillis;
+	private final Map<String, Long> lagMillisByReplica = new ConcurrentHashMap<>();
+	
+	public ReplicaLagMonitor(final Map<String, DataSource> replicas, final String lagQuery, final long maxLagMillis) {
+		this.replicas = replicas;
+		this.lagQuery = (lagQuery == null || lagQuery.isBlank()) ? null : lagQuery;
+		this.maxLagMillis = maxLagMillis;
+	}
+	
+	@Scheduled(fixedDelayString = "${app.datasource.routing.lag-check-interval:5000}")
+	public void refresh() {
+		this.replicas.forEach((key, dataSource) -> this.lagMillisByReplica.put(key, this.probe(key, dataSource)));
+	}
+	
+	@PreDestroy
+	public void close() {
+		this.replicas.forEach((key, dataSource) -> {
+			if (!(dataSource instanceof AutoCloseable))
+				return;
+			try {
+				((AutoCloseable) dataSource).close();
+			}
+			catch (Exception e) {
+				log.warn("*** Could not close replica {}: {} *", key, e.getMessage());
+			}
+		});
+	}
+	
+	public boolean isUsable(final String replicaKey) {
+		final long lag = this.lagMillisByReplica.getOrDefault(replicaKey, UNUSABLE);
+		return lag != UNUSABLE && lag <= this.maxLagMillis;
+	}
+	
+	public Map<String, DataSource> getReplicas() {
+		return this.replicas;
+	}
+	
+	public Map<String, Long> getLagMillisByReplica() {
+		return Map.copyOf(this.lagMillisByReplica);
+	}
+	
+	private long probe(final String key, final DataSource dataSource) {
+		try (Connection connection = dataSource.getConnection()) {
+			if (this.lagQuery == null)
+				return connection.isValid(1) ? 0L : UNUSABLE;
+			try (Statement statement = connection.createStatement();
+					ResultSet resultSet = statement.executeQuery(this.lagQuery)) {
+				if (!resultSet.next())
+					return UNUSABLE;
+				final double lagSeconds = resultSet.getDouble(1);
+				return resultSet.wasNull() ? UNUSABLE : (long) (lagSeconds * 1000);
+			}
+		}
+		catch (SQLException e) {
+			log.warn("*** Replica {} is unreachable: {} *", key, e.getMessage());
+			return UNUSABLE;
+		}
+	}
+	
+	
+	
+}
@@ -0,0 +1,78 @@
+package com.selimhorri.app.config.graphql;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+
+import com.selimhorri.app.graphql.CatalogDataFetchers;
+
+import graphql.GraphQL;
+import graphql.analysis.FieldComplexityCalculator;
+import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.analysis.MaxQueryDepthInstrumentation;
+import graphql.execution.instrumentation.ChainedInstrumentation;
+import graphql.execution.instrumentation.dataloader.DataLoaderDispatcherInstrumentation;
+import graphql.schema.GraphQLTypeUtil;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.TypeDefinitionRegistry;
+
+@Configuration
+public class GraphQLConfig {
+	
+	private static final String SCHEMA_LOCATION = "graphql/schema.graphqls";
+	
+	@Bean
+	public GraphQL graphQLBean(final CatalogDataFetchers fetchers,
+			@Value("${app.graphql.max-depth:6}") final int maxDepth,
+			@Value("${app.graphql.max-complexity:5000}") final int maxComplexity,
+			@Value("${app.graphql.list-cost-factor:10}") final int listCostFactor) throws IOException {
+		
+		final TypeDefinitionRegistry typeRegistry;
+		try (Reader reader = new InputStreamReader(
+				new ClassPathResource(SCHEMA_LOCATION).getInputStream(), StandardCharsets.UTF_8)) {
+			typeRegistry = new SchemaParser().parse(reader);
+		}
+		
+		final RuntimeWiring wiring = RuntimeWiring.newRuntimeWiring()
+				.type("Query", builder -> builder
+						.dataFetcher("products", fetchers.products())
+						.dataFetcher("product", fetchers.product())
+						.dataFetcher("categories", fetchers.categories())
+						.dataFetcher("category", fetchers.category()))
+				.type("Product", builder -> builder
+						.dataFetcher("category", fetchers.productCategory()))
+				.type("Category", builder -> builder
+						.dataFetcher("parentCategory", fetchers.parentCategory())
+						.dataFetcher("subCategories", fetchers.subCategories())
+						.dataFetcher("products", fetchers.categoryProducts()))
+				.build();
+		
+		// a list field multiplies the cost of everything selected below it, by the number of
+		// ids when they are given
+		final FieldComplexityCalculator complexity = (env, childComplexity) -> {
+			if (!GraphQLTypeUtil.isList(GraphQLTypeUtil.unwrapNonNull(env.getFieldDefinition().getType())))
+				return 1 + childComplexity;
+			final Object ids = env.getArguments().get("ids");
+			return (ids instanceof List ? ((List<?>) ids).size() : listCostFactor) * (1 + childComplexity);
+		};
+		
+		return GraphQL.newGraphQL(new SchemaGenerator().makeExecutableSchema(typeRegistry, wiring))
+				.instrumentation(new ChainedInstrumentation(List.of(
+						new MaxQueryDepthInstrumentation(maxDepth),
+						new MaxQueryComplexityInstrumentation(maxComplexity, complexity),
+						new DataLoaderDispatcherInstrumentation())))
+				.build();
+	}
+	
+	
+	
+}
@@ -0,0 +1,36 @@
+package com.selimhorri.app.config.jdbc;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import com.selimhorri.app.jdbc.InstrumentedDataSource;
+import com.selimhorri.app.jdbc.StatementExecutionListener;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Wraps the application's data sources in an {@link InstrumentedDataSource} when at least
+ * one {@link StatementExecutionListener} bean exists; otherwise they are left untouched and
+ * statements pay nothing.
+ */
+@RequiredArgsConstructor
+public class InstrumentedDataSourcePostProcessor implements BeanPostProcessor {
+	
+	private final ObjectProvider<StatementExecutionListener> listeners;
+	
+	@Override
+	public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+		if (!(bean instanceof DataSource) || bean instanceof InstrumentedDataSource)
+			return bean;
+		final List<StatementExecutionListener> ordered = this.listeners.orderedStream().collect(Collectors.toList());
+		return ordered.isEmpty() ? bean : new InstrumentedDataSource((DataSource) bean, ordered);
+	}
+	
+	
+	
+}
@@ -0,0 +1,21 @@
+package com.selimhorri.app.config.jdbc;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.selimhorri.app.jdbc.StatementExecutionListener;
+
+@Configuration
+public class JdbcInstrumentationConfig {
+	
+	@Bean
+	public static InstrumentedDataSourcePostProcessor instrumentedDataSourcePostProcessorBean(
+			final ObjectProvider<StatementExecutionListener> listeners) {
+		// static: post-processors are created before regular beans
+		return new InstrumentedDataSourcePostProcessor(listeners);
+	}
+	
+	
+	
+}
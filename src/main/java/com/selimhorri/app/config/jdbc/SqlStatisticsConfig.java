@@ -0,0 +1,30 @@
+package com.selimhorri.app.config.jdbc;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.selimhorri.app.jdbc.SqlStatistics;
+import com.selimhorri.app.jdbc.SqlStatisticsEndpoint;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.jdbc.statistics", name = "enabled", havingValue = "true")
+public class SqlStatisticsConfig {
+	
+	@Bean
+	public SqlStatistics sqlStatisticsBean(
+			@Value("${app.jdbc.statistics.max-statements:1000}") final int maxStatements,
+			@Value("${app.jdbc.statistics.max-sql-length:2000}") final int maxSqlLength,
+			@Value("${app.jdbc.statistics.slow-threshold:500}") final long slowThresholdMillis) {
+		return new SqlStatistics(maxStatements, maxSqlLength, slowThresholdMillis);
+	}
+	
+	@Bean
+	public SqlStatisticsEndpoint sqlStatisticsEndpointBean(final SqlStatistics sqlStatistics) {
+		return new SqlStatisticsEndpoint(sqlStatistics);
+	}
+	
+	
+	
+}
@@ -0,0 +1,49 @@
+package com.selimhorri.app.config.offheap;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.selimhorri.app.offheap.OffHeapCatalogSynchronizer;
+import com.selimhorri.app.offheap.OffHeapProductStore;
+import com.selimhorri.app.service.ProductService;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.off-heap", name = "enabled", havingValue = "true")
+public class OffHeapStoreConfig {
+	
+	@Bean
+	public OffHeapProductStore offHeapProductStoreBean(
+			@Value("${app.off-heap.segment-size:67108864}") final int segmentSize,
+			@Value("${app.off-heap.expected-products:100000}") final int expectedProducts,
+			final MeterRegistry meterRegistry) {
+		final var store = new OffHeapProductStore(segmentSize, expectedProducts);
+		Gauge.builder("offheap.products", store, OffHeapProductStore::size)
+				.register(meterRegistry);
+		Gauge.builder("offheap.products.bytes", store, OffHeapProductStore::getAllocatedBytes)
+				.tag("state", "allocated")
+				.baseUnit("bytes")
+				.register(meterRegistry);
+		Gauge.builder("offheap.products.bytes", store, OffHeapProductStore::getLiveBytes)
+				.tag("state", "live")
+				.baseUnit("bytes")
+				.register(meterRegistry);
+		return store;
+	}
+	
+	@Bean
+	public OffHeapCatalogSynchronizer offHeapCatalogSynchronizerBean(
+			final OffHeapProductStore offHeapProductStore,
+			@Qualifier("resilientProductService") final ProductService productService) {
+		// also a LocalCacheInvalidator, so peer writes reach the store through the invalidation bus
+		return new OffHeapCatalogSynchronizer(offHeapProductStore, productService);
+	}
+	
+	
+	
+}
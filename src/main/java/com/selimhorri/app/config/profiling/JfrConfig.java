@@ -0,0 +1,43 @@
+package com.selimhorri.app.config.profiling;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.selimhorri.app.profiling.JfrDownloadEndpoint;
+import com.selimhorri.app.profiling.JfrEndpoint;
+import com.selimhorri.app.profiling.JfrRecorder;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.jfr", name = "enabled", havingValue = "true")
+public class JfrConfig {
+	
+	@Bean
+	public JfrRecorder jfrRecorderBean(
+			@Value("${app.jfr.directory}") final String directory,
+			@Value("${app.jfr.max-recordings:10}") final int maxRecordings,
+			@Value("${app.jfr.max-total-size:536870912}") final long maxTotalBytes,
+			@Value("${app.jfr.max-duration:600}") final long maxDurationSeconds,
+			@Value("${app.jfr.summary-top:20}") final int summaryTop) {
+		return new JfrRecorder(Path.of(directory), maxRecordings, maxTotalBytes,
+				Duration.ofSeconds(maxDurationSeconds), summaryTop);
+	}
+	
+	@Bean
+	public JfrEndpoint jfrEndpointBean(final JfrRecorder jfrRecorder,
+			@Value("${app.jfr.default-duration:60}") final long defaultDurationSeconds) {
+		return new JfrEndpoint(jfrRecorder, Duration.ofSeconds(defaultDurationSeconds));
+	}
+	
+	@Bean
+	public JfrDownloadEndpoint jfrDownloadEndpointBean(final JfrRecorder jfrRecorder) {
+		return new JfrDownloadEndpoint(jfrRecorder);
+	}
+	
+	
+	
+}
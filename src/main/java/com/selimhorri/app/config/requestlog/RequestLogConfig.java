@@ -0,0 +1,34 @@
+package com.selimhorri.app.config.requestlog;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.selimhorri.app.requestlog.AsyncRequestLog;
+import com.selimhorri.app.requestlog.RequestLogFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.request-log", name = "enabled", havingValue = "true")
+public class RequestLogConfig {
+	
+	@Bean
+	public AsyncRequestLog asyncRequestLogBean(
+			@Value("${app.request-log.buffer-size:8192}") final int bufferSize,
+			@Value("${app.request-log.sample-rate:0.01}") final double sampleRate,
+			@Value("${app.request-log.slow-threshold:500}") final long slowThresholdMillis,
+			@Value("${app.request-log.idle-wait:10}") final long idleMillis,
+			final MeterRegistry meterRegistry) {
+		return new AsyncRequestLog(bufferSize, sampleRate, slowThresholdMillis, idleMillis, meterRegistry);
+	}
+	
+	@Bean
+	public RequestLogFilter requestLogFilterBean(final AsyncRequestLog asyncRequestLog) {
+		return new RequestLogFilter(asyncRequestLog);
+	}
+	
+	
+	
+}
@@ -0,0 +1,46 @@
+package com.selimhorri.app.config.resilience;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.resilience.ClientRateLimitFilter;
+import com.selimhorri.app.resilience.ClientRateLimiters;
+
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.resilience.rate-limit", name = "enabled", havingValue = "true")
+public class ClientRateLimitConfig {
+	
+	@Bean
+	public ClientRateLimiters clientRateLimitersBean(
+			final RateLimiterRegistry rateLimiterRegistry,
+			@Value("${app.resilience.rate-limit.config:perClient}") final String configName,
+			@Value("${app.resilience.rate-limit.max-clients:10000}") final int maxClients,
+			@Value("${app.resilience.rate-limit.idle-timeout:300000}") final long idleTimeoutMillis,
+			final MeterRegistry meterRegistry) {
+		// configured under resilience4j.ratelimiter.configs, the limiters themselves are never registered
+		final RateLimiterConfig config = rateLimiterRegistry.getConfiguration(configName)
+				.orElseGet(rateLimiterRegistry::getDefaultConfig);
+		return new ClientRateLimiters(config, maxClients, Duration.ofMillis(idleTimeoutMillis), meterRegistry);
+	}
+	
+	@Bean
+	public ClientRateLimitFilter clientRateLimitFilterBean(
+			final ClientRateLimiters clientRateLimiters,
+			@Value("${app.resilience.rate-limit.paths:/api/products}") final List<String> paths,
+			final ObjectMapper objectMapper) {
+		return new ClientRateLimitFilter(clientRateLimiters, paths, objectMapper);
+	}
+	
+	
+	
+}
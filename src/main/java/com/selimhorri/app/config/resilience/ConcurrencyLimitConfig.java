@@ -0,0 +1,50 @@
+package com.selimhorri.app.config.resilience;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.concurrent.GradientConcurrencyLimit;
+import com.selimhorri.app.resilience.ConcurrencyLimitFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.resilience.concurrency-limit", name = "enabled", havingValue = "true")
+public class ConcurrencyLimitConfig {
+	
+	@Bean
+	public GradientConcurrencyLimit gradientConcurrencyLimitBean(
+			@Value("${app.resilience.concurrency-limit.initial-limit:20}") final int initialLimit,
+			@Value("${app.resilience.concurrency-limit.min-limit:4}") final int minLimit,
+			@Value("${app.resilience.concurrency-limit.max-limit:200}") final int maxLimit,
+			@Value("${app.resilience.concurrency-limit.tolerance:1.5}") final double tolerance,
+			@Value("${app.resilience.concurrency-limit.window:100}") final long windowMillis,
+			final MeterRegistry meterRegistry) {
+		return new GradientConcurrencyLimit("api", GradientConcurrencyLimit.Settings.builder()
+				.initialLimit(initialLimit)
+				.minLimit(minLimit)
+				.maxLimit(maxLimit)
+				.tolerance(tolerance)
+				.windowNanos(TimeUnit.MILLISECONDS.toNanos(windowMillis))
+				.build(),
+			meterRegistry);
+	}
+	
+	@Bean
+	public ConcurrencyLimitFilter concurrencyLimitFilterBean(
+			final GradientConcurrencyLimit gradientConcurrencyLimit,
+			@Value("${app.resilience.concurrency-limit.paths:/api/products,/api/categories}") final List<String> paths,
+			@Value("${app.resilience.concurrency-limit.retry-after:1}") final long retryAfterSeconds,
+			final ObjectMapper objectMapper) {
+		return new ConcurrencyLimitFilter(gradientConcurrencyLimit, paths, retryAfterSeconds, objectMapper);
+	}
+	
+	
+	
+}
@@ -0,0 +1,35 @@
+package com.selimhorri.app.config.snapshot;
+
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.selimhorri.app.service.ProductService;
+import com.selimhorri.app.snapshot.CatalogSnapshotManager;
+import com.selimhorri.app.snapshot.SnapshotReadFallback;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class CatalogSnapshotConfig {
+	
+	@Bean
+	public CatalogSnapshotManager catalogSnapshotManagerBean(
+			@Qualifier("resilientProductService") final ProductService productService,
+			@Value("${app.snapshot.path}") final String path,
+			final MeterRegistry meterRegistry) {
+		// a full-catalog scan gains nothing from request coalescing, but takes its turn in the scan bulkhead
+		return new CatalogSnapshotManager(productService, Path.of(path), meterRegistry);
+	}
+	
+	@Bean
+	public SnapshotReadFallback snapshotReadFallbackBean(final CatalogSnapshotManager catalogSnapshotManager) {
+		return new SnapshotReadFallback(catalogSnapshotManager);
+	}
+	
+	
+	
+}
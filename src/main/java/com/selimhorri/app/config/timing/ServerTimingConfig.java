@@ -0,0 +1,63 @@
+package com.selimhorri.app.config.timing;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.timing.RequestTimingStatementListener;
+import com.selimhorri.app.timing.ServerTimingFilter;
+import com.selimhorri.app.timing.ServiceTimingInterceptor;
+import com.selimhorri.app.timing.TimedJsonHttpMessageConverter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Per-request timing breakdown; with {@code app.server-timing.enabled} off none of these
+ * beans exist, the data source is not wrapped and the mapping hooks stay no-ops.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.server-timing", name = "enabled", havingValue = "true")
+public class ServerTimingConfig {
+	
+	@Bean
+	public ServerTimingFilter serverTimingFilterBean(final MeterRegistry meterRegistry,
+			@Value("${app.server-timing.header:true}") final boolean header) {
+		return new ServerTimingFilter(meterRegistry, header);
+	}
+	
+	/**
+	 * Replaces Boot's default Jackson converter, which backs off when one is defined.
+	 */
+	@Bean
+	public TimedJsonHttpMessageConverter mappingJackson2HttpMessageConverter(final ObjectMapper objectMapper,
+			@Value("${app.server-timing.header:true}") final boolean header) {
+		return new TimedJsonHttpMessageConverter(objectMapper, header);
+	}
+	
+	@Bean
+	public RequestTimingStatementListener requestTimingStatementListenerBean() {
+		return new RequestTimingStatementListener();
+	}
+	
+	@Bean
+	@Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+	public static Advisor serviceTimingAdvisorBean() {
+		final var advisor = new DefaultPointcutAdvisor(new AnnotationMatchingPointcut(Service.class, true),
+				new ServiceTimingInterceptor());
+		// outside the transaction advice, so commit time counts as service time
+		advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+		return advisor;
+	}
+	
+	
+	
+}
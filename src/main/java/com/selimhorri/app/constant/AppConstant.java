@@ -11,6 +11,17 @@ public abstract class AppConstant {
 	public static final String ZONED_DATE_TIME_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
 	public static final String INSTANT_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
 	
+	@NoArgsConstructor(access = AccessLevel.PRIVATE)
+	public abstract class CacheRegions {
+		
+		public static final String CATEGORY = "category";
+		public static final String PRODUCT = "product";
+		public static final String CATEGORY_QUERIES = "query.categories";
+		public static final String DEFAULT_QUERY_RESULTS = "default-query-results-region";
+		public static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+		
+	}
+	
 	@NoArgsConstructor(access = AccessLevel.PRIVATE)
 	public abstract class DiscoveredDomainsApi {
 		
@@ -0,0 +1,331 @@
+package com.selimhorri.app.datagen;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.selimhorri.app.helper.ProductViewMappingHelper;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bulk-loads a synthetic catalog through batched JDBC, on H2 or MySQL (add
+ * {@code rewriteBatchedStatements=true} to MySQL URLs). Categories form a tree below
+ * {@code rootCategories} departments where most nodes have few children and some branches
+ * run {@code categoryDepth} levels deep; products land on the leaves following a Zipf
+ * distribution. The read model and category aggregates of the new rows are filled as the
+ * services would have. Everything derives from the seed, so equal settings produce equal
+ * data, but generated titles and skus are unique only within one run: regenerate with
+ * {@code clear}, which outside H2 also takes {@code confirmClear}. Commits every batch
+ * itself, so it must not run inside a transaction.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class CatalogGenerator {
+	
+	static final List<String> RESERVED_CATEGORIES = List.of("No category", "Deleted");
+	private static final Instant CREATED_FROM = Instant.parse("2020-01-01T00:00:00Z");
+	private static final Instant CREATED_UNTIL = Instant.parse("2025-01-01T00:00:00Z");
+	private static final int PROGRESS_INTERVAL = 100_000;
+	
+	private static final String[] DEPARTMENTS = {
+		"Electronics", "Home", "Garden", "Toys", "Sports", "Books",
+		"Fashion", "Beauty", "Automotive", "Grocery", "Office", "Pets"
+	};
+	private static final String[][] NOUNS = {
+		{ "Laptop", "Laptops" }, { "Monitor", "Monitors" }, { "Keyboard", "Keyboards" }, { "Headphone", "Headphones" },
+		{ "Camera", "Cameras" }, { "Phone", "Phones" }, { "Tablet", "Tablets" }, { "Speaker", "Speakers" },
+		{ "Lamp", "Lamps" }, { "Chair", "Chairs" }, { "Desk", "Desks" }, { "Sofa", "Sofas" },
+		{ "Blender", "Blenders" }, { "Kettle", "Kettles" }, { "Pan", "Pans" }, { "Knife", "Knives" },
+		{ "Drill", "Drills" }, { "Hose", "Hoses" }, { "Mower", "Mowers" }, { "Planter", "Planters" },
+		{ "Puzzle", "Puzzles" }, { "Doll", "Dolls" }, { "Ball", "Balls" }, { "Racket", "Rackets" },
+		{ "Tent", "Tents" }, { "Backpack", "Backpacks" }, { "Jacket", "Jackets" }, { "Sneaker", "Sneakers" },
+		{ "Watch", "Watches" }, { "Shampoo", "Shampoos" }, { "Perfume", "Perfumes" }, { "Tire", "Tires" },
+		{ "Notebook", "Notebooks" }, { "Pen", "Pens" }, { "Leash", "Leashes" }, { "Novel", "Novels" }
+	};
+	private static final String[] BRANDS = {
+		"Acme", "Norvik", "Zentra", "Halden", "Orbis", "Kestrel", "Lumio", "Vantor", "Brisa", "Corvo",
+		"Tessel", "Quanta", "Mirel", "Aldo", "Pexa", "Sorin", "Falk", "Ivara", "Nexo", "Rudd"
+	};
+	private static final String[] ADJECTIVES = {
+		"Pro", "Compact", "Classic", "Ultra", "Eco", "Smart", "Mini", "Max", "Lite", "Premium", "Travel", "Essential"
+	};
+	private static final String[] VARIANTS = {
+		"Black", "White", "Silver", "Blue", "Red", "Green", "Small", "Medium", "Large", "XL", "2-Pack", "Refurbished"
+	};
+	
+	private static final String INSERT_CATEGORY = "INSERT INTO categories "
+			+ "(parent_category_id, category_title, category_title_normalized, image_url, created_at) "
+			+ "VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP)";
+	private static final String INSERT_PRODUCT = "INSERT INTO products "
+			+ "(category_id, product_title, image_url, sku, price_unit, quantity, created_at) "
+			+ "VALUES (?, ?, ?, ?, ?, ?, ?)";
+	private static final String INSERT_PRODUCT_VIEWS = "INSERT INTO product_views "
+			+ "(product_id, product_title, image_url, sku, price_unit, quantity, category_id, category_title, "
+			+ "category_image_url, parent_category_id, category_path, created_at) "
+			+ "SELECT p.product_id, p.product_title, p.image_url, p.sku, p.price_unit, p.quantity, c.category_id, "
+			+ "c.category_title, c.image_url, c.parent_category_id, ?, p.created_at "
+			+ "FROM products p JOIN categories c ON c.category_id = p.category_id WHERE p.category_id = ?";
+	private static final String INSERT_CATEGORY_AGGREGATES = "INSERT INTO category_aggregates "
+			+ "(category_id, product_count, total_stock, priced_count, price_sum, min_price, max_price, updated_at) "
+			+ "SELECT c.category_id, COUNT(p.product_id), COALESCE(SUM(COALESCE(p.quantity, 0)), 0), "
+			+ "COUNT(p.price_unit), COALESCE(SUM(p.price_unit), 0), MIN(p.price_unit), MAX(p.price_unit), CURRENT_TIMESTAMP "
+			+ "FROM categories c LEFT JOIN products p ON p.category_id = c.category_id "
+			+ "WHERE NOT EXISTS (SELECT 1 FROM category_aggregates a WHERE a.category_id = c.category_id) "
+			+ "GROUP BY c.category_id";
+	
+	private final JdbcTemplate jdbcTemplate;
+	private final CatalogGeneratorSettings settings;
+	
+	public Result generate() {
+		this.settings.validate();
+		log.info("*** Generating catalog: {} *", this.settings);
+		final long start = System.nanoTime();
+		final var random = new Random(this.settings.getSeed());
+		
+		if (this.settings.isClear())
+			this.clear();
+		this.ensureReservedCategories();
+		final List<GeneratedCategory> categories = this.generateCategories(random);
+		this.insertCategories(categories);
+		final List<GeneratedCategory> leaves = categories.stream()
+				.filter(GeneratedCategory::isLeaf)
+				.collect(Collectors.toCollection(ArrayList::new));
+		// so the largest categories are not all below the first department
+		Collections.shuffle(leaves, random);
+		this.insertProducts(random, leaves);
+		this.project(leaves);
+		
+		final var result = new Result(categories.size(), leaves.size(), this.settings.getProducts(),
+				Duration.ofNanos(System.nanoTime() - start).toMillis());
+		log.info("*** Generated catalog: {} *", result);
+		return result;
+	}
+	
+	private void clear() {
+		final String database = this.jdbcTemplate.execute(
+				(ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+		if (!"H2".equals(database) && !this.settings.isConfirmClear())
+			throw new IllegalStateException("Refusing to clear the " + database
+					+ " catalog without confirmClear (app.datagen.confirm-clear=true, --confirm-clear=true)");
+		List.of("scheduled_price_changes", "price_change_entries", "price_change_batches",
+				"category_aggregates", "product_views", "products")
+				.forEach(table -> this.jdbcTemplate.update("DELETE FROM " + table));
+		this.jdbcTemplate.update("UPDATE categories SET parent_category_id = NULL");
+		this.jdbcTemplate.update("DELETE FROM categories WHERE category_title NOT IN (?, ?)",
+				RESERVED_CATEGORIES.toArray());
+	}
+	
+	private void ensureReservedCategories() {
+		for (final String title : RESERVED_CATEGORIES)
+			if (this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM categories WHERE category_title = ?", Integer.class, title) == 0)
+				this.jdbcTemplate.update(INSERT_CATEGORY, null, title, title.toLowerCase(Locale.ROOT), null);
+	}
+	
+	/**
+	 * Breadth-first, so parents always precede their children. Squaring the uniform draw
+	 * makes one or two children far more likely than {@code maxChildren}.
+	 */
+	private List<GeneratedCategory> generateCategories(final Random random) {
+		final List<GeneratedCategory> categories = new ArrayList<>();
+		final Deque<GeneratedCategory> queue = new ArrayDeque<>();
+		for (int i = 0; i < this.settings.getRootCategories(); i++) {
+			final String department = DEPARTMENTS[i % DEPARTMENTS.length];
+			final var root = new GeneratedCategory(i < DEPARTMENTS.length ? department : department + " " + (i / DEPARTMENTS.length + 1),
+					null, random.nextInt(NOUNS.length));
+			categories.add(root);
+			queue.add(root);
+		}
+		while (!queue.isEmpty()) {
+			final GeneratedCategory parent = queue.poll();
+			if (parent.depth >= this.settings.getCategoryDepth())
+				continue;
+			int children = (int) (this.settings.getMaxChildren() * Math.pow(random.nextDouble(), 2));
+			if (parent.parent == null)
+				children = Math.max(1, children);
+			for (int i = 0; i < children && categories.size() < this.settings.getMaxCategories(); i++) {
+				final int noun = random.nextInt(NOUNS.length);
+				final var child = new GeneratedCategory(NOUNS[noun][1] + " " + (categories.size() + 1), parent, noun);
+				parent.leaf = false;
+				categories.add(child);
+				queue.add(child);
+			}
+		}
+		return categories;
+	}
+	
+	/**
+	 * One batch per level, reading the new ids back by title before the next level
+	 * references them as parents.
+	 */
+	private void insertCategories(final List<GeneratedCategory> categories) {
+		final Map<Integer, List<GeneratedCategory>> levels = categories.stream()
+				.collect(Collectors.groupingBy(category -> category.depth));
+		for (int depth = 0; levels.containsKey(depth); depth++) {
+			final List<GeneratedCategory> level = levels.get(depth);
+			this.jdbcTemplate.batchUpdate(INSERT_CATEGORY, level, this.settings.getBatchSize(), (statement, category) -> {
+				if (category.parent == null)
+					statement.setNull(1, Types.INTEGER);
+				else
+					statement.setInt(1, category.parent.id);
+				statement.setString(2, category.title);
+				statement.setString(3, category.title.toLowerCase(Locale.ROOT));
+				statement.setString(4, "https://cdn.example.com/categories/" + slug(category.title) + ".jpg");
+			});
+			final Map<String, Integer> ids = new HashMap<>();
+			this.jdbcTemplate.query("SELECT category_id, category_title FROM categories",
+					row -> { ids.put(row.getString(2), row.getInt(1)); });
+			level.forEach(category -> category.id = ids.get(category.title));
+		}
+	}
+	
+	private void insertProducts(final Random random, final List<GeneratedCategory> leaves) {
+		final double[] cumulativeWeights = new double[leaves.size()];
+		double total = 0;
+		for (int rank = 0; rank < leaves.size(); rank++)
+			cumulativeWeights[rank] = total += 1.0 / Math.pow(rank + 1, this.settings.getCategorySkew());
+		final double totalWeight = total;
+		final int products = this.settings.getProducts();
+		final long spacingSeconds = Math.max(1, Duration.between(CREATED_FROM, CREATED_UNTIL).getSeconds() / Math.max(1, products));
+		
+		this.jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+			final boolean autoCommit = connection.getAutoCommit();
+			connection.setAutoCommit(false);
+			try (PreparedStatement statement = connection.prepareStatement(INSERT_PRODUCT)) {
+				for (int i = 0; i < products; i++) {
+					final int index = Arrays.binarySearch(cumulativeWeights, random.nextDouble() * totalWeight);
+					final GeneratedCategory category = leaves.get(Math.min(leaves.size() - 1, index < 0 ? -index - 1 : index));
+					this.bindProduct(statement, random, i + 1, category);
+					statement.setTimestamp(7, Timestamp.from(CREATED_FROM.plusSeconds(i * spacingSeconds)));
+					statement.addBatch();
+					if ((i + 1) % this.settings.getBatchSize() == 0 || i == products - 1) {
+						statement.executeBatch();
+						connection.commit();
+					}
+					if ((i + 1) % PROGRESS_INTERVAL == 0)
+						log.info("*** Generated {} of {} products *", i + 1, products);
+				}
+			}
+			catch (SQLException | RuntimeException e) {
+				connection.rollback();
+				throw e;
+			}
+			finally {
+				connection.setAutoCommit(autoCommit);
+			}
+			return null;
+		});
+	}
+	
+	/**
+	 * Titles mix a skewed brand, an optional adjective and variant with the category's
+	 * noun; prices are log-normal around 40 ending in .99, a few unpriced; stock is
+	 * log-normal around 20 with some products sold out.
+	 */
+	private void bindProduct(final PreparedStatement statement, final Random random, final int sequence,
+			final GeneratedCategory category) throws SQLException {
+		final String brand = BRANDS[(int) (BRANDS.length * Math.pow(random.nextDouble(), 2))];
+		final String[] noun = NOUNS[category.noun];
+		final var title = new StringBuilder(brand).append(' ');
+		if (random.nextInt(10) < 7)
+			title.append(ADJECTIVES[random.nextInt(ADJECTIVES.length)]).append(' ');
+		title.append(noun[0]).append(' ').append((char) ('A' + random.nextInt(26))).append(100 + random.nextInt(900));
+		if (random.nextInt(10) < 4)
+			title.append(" - ").append(VARIANTS[random.nextInt(VARIANTS.length)]);
+		final String sku = String.format("%s-%s-%07d", code(noun[0]), code(brand), sequence);
+		
+		statement.setInt(1, category.id);
+		statement.setString(2, title.toString());
+		statement.setString(3, "https://cdn.example.com/products/" + sku.toLowerCase(Locale.ROOT) + ".jpg");
+		statement.setString(4, sku);
+		final double price = Math.exp(Math.log(40) + random.nextGaussian());
+		if (random.nextInt(100) == 0)
+			statement.setNull(5, Types.DECIMAL);
+		else
+			statement.setBigDecimal(5, BigDecimal.valueOf((long) Math.min(9_999, Math.max(0, price)) * 100 + 99, 2));
+		final double stock = Math.exp(Math.log(20) + 1.2 * random.nextGaussian());
+		statement.setInt(6, random.nextInt(100) < 8 ? 0 : (int) Math.max(1, Math.min(10_000, Math.round(stock))));
+	}
+	
+	/**
+	 * Fills the read model and aggregates with set-based statements, one per category.
+	 */
+	private void project(final List<GeneratedCategory> leaves) {
+		this.jdbcTemplate.batchUpdate(INSERT_PRODUCT_VIEWS, leaves, this.settings.getBatchSize(), (statement, category) -> {
+			statement.setString(1, category.path());
+			statement.setInt(2, category.id);
+		});
+		this.jdbcTemplate.update(INSERT_CATEGORY_AGGREGATES);
+	}
+	
+	private static String code(final String word) {
+		return word.substring(0, Math.min(3, word.length())).toUpperCase(Locale.ROOT);
+	}
+	
+	private static String slug(final String title) {
+		return title.toLowerCase(Locale.ROOT).replace(' ', '-');
+	}
+	
+	@Getter
+	@ToString
+	@AllArgsConstructor
+	public static class Result {
+		
+		private final int categories;
+		private final int leafCategories;
+		private final int products;
+		private final long elapsedMillis;
+	
+	}
+	
+	private static final class GeneratedCategory {
+		
+		private final String title;
+		private final GeneratedCategory parent;
+		private final int depth;
+		private final int noun;
+		private Integer id;
+		private boolean leaf = true;
+		
+		private GeneratedCategory(final String title, final GeneratedCategory parent, final int noun) {
+			this.title = title;
+			this.parent = parent;
+			this.depth = parent == null ? 0 : parent.depth + 1;
+			this.noun = noun;
+		}
+		
+		boolean isLeaf() {
+			return this.leaf;
+		}
+		
+		String path() {
+			return this.parent == null ? this.title : this.parent.path() + ProductViewMappingHelper.PATH_SEPARATOR + this.title;
+		}
+	
+	}
+	
+	
+	
+}
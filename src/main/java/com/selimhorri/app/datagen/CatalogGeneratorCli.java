@@ -0,0 +1,70 @@
+package com.selimhorri.app.datagen;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * Generates a catalog without starting the service, migrating the schema first:
+ * <pre>
+ * java -cp target/product-service-v0.1.0.jar -Dloader.main=com.selimhorri.app.datagen.CatalogGeneratorCli \
+ *     org.springframework.boot.loader.PropertiesLauncher \
+ *     --url=jdbc:mysql://localhost:3306/ecommerce_db?rewriteBatchedStatements=true --user=root --password=... \
+ *     --products=2000000 --seed=7 --clear=true --confirm-clear=true
+ * </pre>
+ * Other options match {@link CatalogGeneratorSettings}: {@code --root-categories},
+ * {@code --category-depth}, {@code --max-children}, {@code --max-categories},
+ * {@code --category-skew} and {@code --batch-size}.
+ */
+public final class CatalogGeneratorCli {
+	
+	private CatalogGeneratorCli() {
+	}
+	
+	public static void main(final String[] args) {
+		final Map<String, String> options = parse(args);
+		if (!options.containsKey("url")) {
+			System.err.println("Usage: CatalogGeneratorCli --url=<jdbc url> [--user=..] [--password=..] [--migrate=true] "
+					+ "[--seed=42] [--products=1000000] [--root-categories=12] [--category-depth=6] [--max-children=8] "
+					+ "[--max-categories=5000] [--category-skew=1.1] [--batch-size=1000] [--clear=false] [--confirm-clear=false]");
+			System.exit(2);
+		}
+		
+		final var dataSource = new DriverManagerDataSource(options.get("url"),
+				options.getOrDefault("user", ""), options.getOrDefault("password", ""));
+		if (Boolean.parseBoolean(options.getOrDefault("migrate", "true")))
+			Flyway.configure().dataSource(dataSource).load().migrate();
+		
+		final var defaults = CatalogGeneratorSettings.builder().build();
+		final CatalogGenerator.Result result = new CatalogGenerator(new JdbcTemplate(dataSource), CatalogGeneratorSettings.builder()
+				.seed(Long.parseLong(options.getOrDefault("seed", String.valueOf(defaults.getSeed()))))
+				.products(Integer.parseInt(options.getOrDefault("products", String.valueOf(defaults.getProducts()))))
+				.rootCategories(Integer.parseInt(options.getOrDefault("root-categories", String.valueOf(defaults.getRootCategories()))))
+				.categoryDepth(Integer.parseInt(options.getOrDefault("category-depth", String.valueOf(defaults.getCategoryDepth()))))
+				.maxChildren(Integer.parseInt(options.getOrDefault("max-children", String.valueOf(defaults.getMaxChildren()))))
+				.maxCategories(Integer.parseInt(options.getOrDefault("max-categories", String.valueOf(defaults.getMaxCategories()))))
+				.categorySkew(Double.parseDouble(options.getOrDefault("category-skew", String.valueOf(defaults.getCategorySkew()))))
+				.batchSize(Integer.parseInt(options.getOrDefault("batch-size", String.valueOf(defaults.getBatchSize()))))
+				.clear(Boolean.parseBoolean(options.getOrDefault("clear", String.valueOf(defaults.isClear()))))
+				.confirmClear(Boolean.parseBoolean(options.getOrDefault("confirm-clear", String.valueOf(defaults.isConfirmClear()))))
+				.build())
+				.generate();
+		System.out.println(result);
+	}
+	
+	private static Map<String, String> parse(final String[] args) {
+		final Map<String, String> options = new HashMap<>();
+		for (final String arg : args) {
+			if (!arg.startsWith("--") || !arg.contains("="))
+				throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+			options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+		}
+		return options;
+	}
+	
+	
+	
+}
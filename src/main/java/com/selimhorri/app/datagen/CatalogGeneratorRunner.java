@@ -0,0 +1,66 @@
+package com.selimhorri.app.datagen;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.cache.invalidation.LocalCacheInvalidator;
+
+/**
+ * Generates a catalog when the service starts with the {@code datagen} profile, configured
+ * by {@code app.datagen.*}, then drops every local cache and in-memory copy of the catalog
+ * so they reload it. Runs before the application reports ready.
+ */
+@Component
+@Profile("datagen")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CatalogGeneratorRunner implements ApplicationRunner {
+	
+	private final JdbcTemplate jdbcTemplate;
+	private final List<LocalCacheInvalidator> invalidators;
+	private final CatalogGeneratorSettings settings;
+	
+	public CatalogGeneratorRunner(final JdbcTemplate jdbcTemplate,
+			final List<LocalCacheInvalidator> invalidators,
+			@Value("${app.datagen.seed:42}") final long seed,
+			@Value("${app.datagen.products:1000000}") final int products,
+			@Value("${app.datagen.root-categories:12}") final int rootCategories,
+			@Value("${app.datagen.category-depth:6}") final int categoryDepth,
+			@Value("${app.datagen.max-children:8}") final int maxChildren,
+			@Value("${app.datagen.max-categories:5000}") final int maxCategories,
+			@Value("${app.datagen.category-skew:1.1}") final double categorySkew,
+			@Value("${app.datagen.batch-size:1000}") final int batchSize,
+			@Value("${app.datagen.clear:false}") final boolean clear,
+			@Value("${app.datagen.confirm-clear:false}") final boolean confirmClear) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.invalidators = invalidators;
+		this.settings = CatalogGeneratorSettings.builder()
+				.seed(seed)
+				.products(products)
+				.rootCategories(rootCategories)
+				.categoryDepth(categoryDepth)
+				.maxChildren(maxChildren)
+				.maxCategories(maxCategories)
+				.categorySkew(categorySkew)
+				.batchSize(batchSize)
+				.clear(clear)
+				.confirmClear(confirmClear)
+				.build();
+	}
+	
+	@Override
+	public void run(final ApplicationArguments args) {
+		new CatalogGenerator(this.jdbcTemplate, this.settings).generate();
+		this.invalidators.forEach(LocalCacheInvalidator::invalidateEverything);
+	}
+	
+	
+	
+}
@@ -0,0 +1,56 @@
+package com.selimhorri.app.datagen;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Shape of a generated catalog. The same settings, seed included, always produce the same
+ * categories and products, so benchmark runs against them are comparable.
+ */
+@Getter
+@Builder
+@ToString
+public class CatalogGeneratorSettings {
+	
+	@Builder.Default
+	private final long seed = 42L;
+	@Builder.Default
+	private final int products = 1_000_000;
+	@Builder.Default
+	private final int rootCategories = 12;
+	/** Levels below the roots; branches stop early at random, so depths vary */
+	@Builder.Default
+	private final int categoryDepth = 6;
+	@Builder.Default
+	private final int maxChildren = 8;
+	@Builder.Default
+	private final int maxCategories = 5_000;
+	/** Zipf exponent of products per category: 0 is uniform, above 1 a few categories hold most products */
+	@Builder.Default
+	private final double categorySkew = 1.1;
+	@Builder.Default
+	private final int batchSize = 1_000;
+	/** Deletes the existing catalog, except the reserved categories, before generating */
+	@Builder.Default
+	private final boolean clear = false;
+	/** Required for {@code clear} on any database but H2 */
+	@Builder.Default
+	private final boolean confirmClear = false;
+	
+	void validate() {
+		if (this.products < 0)
+			throw new IllegalArgumentException("products must not be negative");
+		if (this.rootCategories < 1 || this.categoryDepth < 0 || this.maxChildren < 1)
+			throw new IllegalArgumentException("rootCategories and maxChildren must be positive, categoryDepth not negative");
+		if (this.maxCategories < this.rootCategories)
+			throw new IllegalArgumentException("maxCategories must be at least rootCategories");
+		if (this.categorySkew < 0)
+			throw new IllegalArgumentException("categorySkew must not be negative");
+		if (this.batchSize < 1)
+			throw new IllegalArgumentException("batchSize must be positive");
+	}
+	
+	
+	
+}
@@ -1,8 +1,10 @@
 package com.selimhorri.app.domain;
 
 import java.io.Serializable;
+import java.util.Locale;
 import java.util.Set;
 
+import javax.persistence.Cacheable;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -13,17 +15,27 @@ import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.selimhorri.app.constant.AppConstant;
 
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = AppConstant.CacheRegions.CATEGORY)
 @Table(name = "categories")
 @NoArgsConstructor
 @AllArgsConstructor
@@ -42,6 +54,15 @@ public final class Category extends AbstractMappedEntity implements Serializable
 	@Column(name = "category_title")
 	private String categoryTitle;
 	
+	/**
+	 * Lower-cased {@link #categoryTitle}, kept in sync on every write so case-insensitive
+	 * lookups can use the unique index on this column instead of scanning the table.
+	 */
+	@JsonIgnore
+	@Setter(AccessLevel.NONE)
+	@Column(name = "category_title_normalized")
+	private String categoryTitleNormalized;
+	
 	@Column(name = "image_url")
 	private String imageUrl;
 	
@@ -57,6 +78,16 @@ public final class Category extends AbstractMappedEntity implements Serializable
 	@OneToMany(mappedBy = "category", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
 	private Set<Product> products;
 	
+	public static String normalizeTitle(final String categoryTitle) {
+		return categoryTitle == null ? null : categoryTitle.toLowerCase(Locale.ROOT);
+	}
+	
+	@PrePersist
+	@PreUpdate
+	void syncNormalizedTitle() {
+		this.categoryTitleNormalized = normalizeTitle(this.categoryTitle);
+	}
+	
 }
 
 
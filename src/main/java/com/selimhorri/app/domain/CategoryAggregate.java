@@ -0,0 +1,61 @@
+package com.selimhorri.app.domain;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Product statistics of one category, counting every product whose {@code category_id}
+ * points at it. The average price is {@link #priceSum} over {@link #pricedCount}.
+ */
+@Entity
+@Table(name = "category_aggregates")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public final class CategoryAggregate implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@Id
+	@Column(name = "category_id", unique = true, nullable = false, updatable = false)
+	private Integer categoryId;
+	
+	@Column(name = "product_count", nullable = false)
+	private long productCount;
+	
+	@Column(name = "total_stock", nullable = false)
+	private long totalStock;
+	
+	/**
+	 * Products with a price, the ones {@link #priceSum}, {@link #minPrice} and
+	 * {@link #maxPrice} are computed over.
+	 */
+	@Column(name = "priced_count", nullable = false)
+	private long pricedCount;
+	
+	@Builder.Default
+	@Column(name = "price_sum", nullable = false, precision = 19, scale = 2)
+	private BigDecimal priceSum = BigDecimal.ZERO;
+	
+	@Column(name = "min_price", columnDefinition = "decimal")
+	private Double minPrice;
+	
+	@Column(name = "max_price", columnDefinition = "decimal")
+	private Double maxPrice;
+	
+	@Column(name = "updated_at")
+	private Instant updatedAt;
+	
+}
@@ -0,0 +1,59 @@
+package com.selimhorri.app.domain;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One run of a bulk price adjustment. {@link #completedAt} stays {@code null} if the run
+ * stopped part way; the {@link PriceChangeEntry} rows then tell which chunks were applied.
+ */
+@Entity
+@Table(name = "price_change_batches")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public final class PriceChangeBatch implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "batch_id", unique = true, nullable = false, updatable = false)
+	private Integer batchId;
+	
+	/**
+	 * The rule as applied, e.g. {@code category 5 subtree; +10% rounded up to 0.05}.
+	 */
+	@Column(name = "description", nullable = false, length = 1024)
+	private String description;
+	
+	@Column(name = "product_count", nullable = false)
+	private int productCount;
+	
+	@Column(name = "min_delta", precision = 9, scale = 2)
+	private BigDecimal minDelta;
+	
+	@Column(name = "max_delta", precision = 9, scale = 2)
+	private BigDecimal maxDelta;
+	
+	@Column(name = "started_at")
+	private Instant startedAt;
+	
+	@Column(name = "completed_at")
+	private Instant completedAt;
+	
+}
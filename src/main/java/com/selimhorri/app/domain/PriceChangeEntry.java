@@ -0,0 +1,61 @@
+package com.selimhorri.app.domain;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Price of one product before and after a {@link PriceChangeBatch}. Rows are written by
+ * set-based inserts, never through this entity.
+ */
+@Entity
+@IdClass(PriceChangeEntry.Key.class)
+@Table(name = "price_change_entries")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public final class PriceChangeEntry implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@Id
+	@Column(name = "batch_id", nullable = false, updatable = false)
+	private Integer batchId;
+	
+	@Id
+	@Column(name = "product_id", nullable = false, updatable = false)
+	private Integer productId;
+	
+	/**
+	 * {@code null} when the product had no price yet.
+	 */
+	@Column(name = "old_price", precision = 7, scale = 2)
+	private BigDecimal oldPrice;
+	
+	@Column(name = "new_price", nullable = false, precision = 7, scale = 2)
+	private BigDecimal newPrice;
+	
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Key implements Serializable {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private Integer batchId;
+		private Integer productId;
+	
+	}
+	
+}
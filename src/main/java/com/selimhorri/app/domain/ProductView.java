@@ -0,0 +1,73 @@
+package com.selimhorri.app.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonFormat.Shape;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Read model row of a live product with its category embedded, so product reads need
+ * neither a join nor the "Deleted" filter. Written only by the {@code ProductViewProjector}.
+ */
+@Entity
+@Table(name = "product_views")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public final class ProductView implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@Id
+	@Column(name = "product_id", unique = true, nullable = false, updatable = false)
+	private Integer productId;
+	
+	@Column(name = "product_title")
+	private String productTitle;
+	
+	@Column(name = "image_url")
+	private String imageUrl;
+	
+	private String sku;
+	
+	@Column(name = "price_unit", columnDefinition = "decimal")
+	private Double priceUnit;
+	
+	@Column(name = "quantity")
+	private Integer quantity;
+	
+	@Column(name = "category_id", nullable = false)
+	private Integer categoryId;
+	
+	@Column(name = "category_title")
+	private String categoryTitle;
+	
+	@Column(name = "category_image_url")
+	private String categoryImageUrl;
+	
+	@Column(name = "parent_category_id")
+	private Integer parentCategoryId;
+	
+	/**
+	 * Category titles from the root down to the product's category, e.g. {@code Computer / Laptops}.
+	 */
+	@Column(name = "category_path", length = 1024)
+	private String categoryPath;
+	
+	@JsonFormat(shape = Shape.STRING)
+	@Column(name = "created_at")
+	private Instant createdAt;
+	
+}
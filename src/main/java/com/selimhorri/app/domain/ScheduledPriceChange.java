@@ -0,0 +1,72 @@
+package com.selimhorri.app.domain;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A price a product takes at {@link #activateAt}. Every change due at the same tick is
+ * applied in one transaction, recorded as one {@link PriceChangeBatch}.
+ */
+@Entity
+@Table(name = "scheduled_price_changes")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public final class ScheduledPriceChange implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public enum Status {
+		PENDING,
+		/** The product got this price */
+		APPLIED,
+		/** The product no longer exists, or a later change due in the same batch won */
+		SKIPPED,
+		CANCELLED
+	}
+	
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "schedule_id", unique = true, nullable = false, updatable = false)
+	private Long scheduleId;
+	
+	@Column(name = "product_id", nullable = false)
+	private Integer productId;
+	
+	@Column(name = "new_price", nullable = false, precision = 7, scale = 2)
+	private BigDecimal newPrice;
+	
+	@Column(name = "activate_at", nullable = false)
+	private Instant activateAt;
+	
+	@Builder.Default
+	@Enumerated(EnumType.STRING)
+	@Column(name = "status", nullable = false, length = 16)
+	private Status status = Status.PENDING;
+	
+	@Column(name = "batch_id")
+	private Integer batchId;
+	
+	@Column(name = "created_at")
+	private Instant createdAt;
+	
+	@Column(name = "applied_at")
+	private Instant appliedAt;
+	
+}
@@ -0,0 +1,33 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonFormat.Shape;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One row of a columnar catalog query; product details are fetched by id when needed.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class CatalogEntryDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private Integer productId;
+	private Integer categoryId;
+	private Double priceUnit;
+	private Integer quantity;
+	
+	@JsonFormat(shape = Shape.STRING)
+	private Instant createdAt;
+	
+}
@@ -0,0 +1,28 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Product statistics of one category; prices are {@code null} when no product has one.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class CategoryAggregateDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private long productCount;
+	private long totalStock;
+	private Double minPrice;
+	private Double maxPrice;
+	private BigDecimal averagePrice;
+	
+}
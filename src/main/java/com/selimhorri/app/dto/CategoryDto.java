@@ -15,7 +15,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Data
-@Builder
+@Builder(toBuilder = true)
 public class CategoryDto implements Serializable {
 	
 	private static final long serialVersionUID = 1L;
@@ -34,6 +34,12 @@ public class CategoryDto implements Serializable {
 	@JsonInclude(Include.NON_NULL)
 	private Set<ProductDto> productDtos;
 	
+	/**
+	 * Only filled in on request, see {@code GET /api/categories?include=aggregates}.
+	 */
+	@JsonInclude(Include.NON_NULL)
+	private CategoryAggregateDto aggregates;
+	
 }
 
 
@@ -0,0 +1,35 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonFormat.Shape;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class PriceChangeBatchDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private Integer batchId;
+	private String description;
+	private int productCount;
+	private BigDecimal minDelta;
+	private BigDecimal maxDelta;
+	
+	@JsonFormat(shape = Shape.STRING)
+	private Instant startedAt;
+	
+	@JsonFormat(shape = Shape.STRING)
+	private Instant completedAt;
+	
+}
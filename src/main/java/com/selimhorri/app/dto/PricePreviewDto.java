@@ -0,0 +1,26 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * What a price rule would do right now; deltas are {@code null} when nothing changes.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class PricePreviewDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private long affectedCount;
+	private BigDecimal minDelta;
+	private BigDecimal maxDelta;
+	
+}
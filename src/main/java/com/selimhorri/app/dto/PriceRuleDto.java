@@ -0,0 +1,54 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Set;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Bulk price adjustment request. The scope fields are combined with AND and at least one
+ * must be set; products without a price or in the Deleted category are never touched.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class PriceRuleDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public enum Adjustment {
+		/** {@link PriceRuleDto#amount} is a percentage, e.g. {@code -15} for 15% off */
+		PERCENT,
+		/** {@link PriceRuleDto#amount} is added to every price */
+		FIXED
+	}
+	
+	public enum Rounding {
+		NEAREST,
+		UP,
+		DOWN
+	}
+	
+	/**
+	 * Root of a category subtree: the category and all its descendants.
+	 */
+	private Integer categoryId;
+	private Set<String> skus;
+	private BigDecimal minPrice;
+	private BigDecimal maxPrice;
+	
+	private Adjustment adjustment;
+	private BigDecimal amount;
+	
+	/**
+	 * New prices are rounded to a multiple of this increment, {@code 0.01} by default.
+	 */
+	private BigDecimal roundTo;
+	private Rounding rounding;
+	
+}
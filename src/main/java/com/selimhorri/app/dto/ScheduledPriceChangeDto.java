@@ -0,0 +1,34 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import com.selimhorri.app.domain.ScheduledPriceChange.Status;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A price a product takes at {@link #activateAt}. Only {@code productId}, {@code newPrice}
+ * and {@code activateAt} are read on input.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class ScheduledPriceChangeDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private Long scheduleId;
+	private Integer productId;
+	private BigDecimal newPrice;
+	private Instant activateAt;
+	private Status status;
+	private Integer batchId;
+	private Instant appliedAt;
+	
+}
@@ -0,0 +1,23 @@
+package com.selimhorri.app.dto.request;
+
+import java.io.Serializable;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class GraphQLRequest implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private String query;
+	private String operationName;
+	private Map<String, Object> variables;
+	
+}
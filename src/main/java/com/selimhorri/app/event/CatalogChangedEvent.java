@@ -0,0 +1,52 @@
+package com.selimhorri.app.event;
+
+import java.util.Collection;
+import java.util.Set;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published by the service layer for every catalog write. Listeners interested in committed
+ * state should use {@code @TransactionalEventListener}.
+ */
+@Getter
+@ToString
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class CatalogChangedEvent {
+	
+	public enum EntityType {
+		PRODUCT,
+		CATEGORY
+	}
+	
+	private final EntityType entityType;
+	private final Set<Integer> ids;
+	
+	/**
+	 * True when the write touched an unknown set of rows of this type (bulk update),
+	 * in which case {@link #ids} is empty.
+	 */
+	private final boolean allOfType;
+	
+	public static CatalogChangedEvent ofProduct(final Integer productId) {
+		return new CatalogChangedEvent(EntityType.PRODUCT, Set.of(productId), false);
+	}
+	
+	public static CatalogChangedEvent ofProducts(final Collection<Integer> productIds) {
+		return new CatalogChangedEvent(EntityType.PRODUCT, Set.copyOf(productIds), false);
+	}
+	
+	public static CatalogChangedEvent ofCategory(final Integer categoryId) {
+		return new CatalogChangedEvent(EntityType.CATEGORY, Set.of(categoryId), false);
+	}
+	
+	public static CatalogChangedEvent allOf(final EntityType entityType) {
+		return new CatalogChangedEvent(entityType, Set.of(), true);
+	}
+	
+	
+	
+}
@@ -0,0 +1,73 @@
+package com.selimhorri.app.event;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import com.selimhorri.app.event.CatalogChangedEvent.EntityType;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Thread-safe accumulator of catalog changes for read models that catch up periodically:
+ * writers {@link #add} events, the sync task {@link #drain}s them and {@link #requeue}s
+ * a batch it failed to apply. Starts out requesting a full reload.
+ */
+public final class PendingCatalogChanges {
+	
+	private Set<Integer> productIds = new HashSet<>();
+	private Set<Integer> categoryIds = new HashSet<>();
+	private boolean fullReload = true;
+	
+	public synchronized void add(final CatalogChangedEvent event) {
+		if (event.isAllOfType())
+			this.fullReload = true;
+		else
+			this.add(event.getEntityType(), event.getIds());
+	}
+	
+	public synchronized void add(final EntityType entityType, final Set<Integer> ids) {
+		(entityType == EntityType.PRODUCT ? this.productIds : this.categoryIds).addAll(ids);
+	}
+	
+	public synchronized void requestFullReload() {
+		this.fullReload = true;
+	}
+	
+	public synchronized Batch drain() {
+		final var batch = new Batch(this.productIds, this.categoryIds, this.fullReload);
+		this.productIds = new HashSet<>();
+		this.categoryIds = new HashSet<>();
+		this.fullReload = false;
+		return batch;
+	}
+	
+	public synchronized void requeue(final Batch batch) {
+		this.productIds.addAll(batch.productIds);
+		this.categoryIds.addAll(batch.categoryIds);
+		this.fullReload |= batch.fullReload;
+	}
+	
+	@Getter
+	@AllArgsConstructor(access = AccessLevel.PRIVATE)
+	public static final class Batch {
+		
+		private final Set<Integer> productIds;
+		private final Set<Integer> categoryIds;
+		
+		/**
+		 * Every product embeds its category, so a bulk change of either type, or a lost
+		 * peer message, means reloading everything.
+		 */
+		private final boolean fullReload;
+		
+		public boolean isEmpty() {
+			return !this.fullReload && this.productIds.isEmpty() && this.categoryIds.isEmpty();
+		}
+	
+	}
+	
+	
+	
+}
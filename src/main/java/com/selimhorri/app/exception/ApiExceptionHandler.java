@@ -1,8 +1,9 @@
 package com.selimhorri.app.exception;
 
-import java.time.ZoneId;
+import java.time.Clock;
 import java.time.ZonedDateTime;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -13,8 +14,17 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 
 import com.selimhorri.app.exception.payload.ExceptionMsg;
 import com.selimhorri.app.exception.wrapper.CategoryNotFoundException;
+import com.selimhorri.app.exception.wrapper.DuplicateSkuException;
+import com.selimhorri.app.exception.wrapper.InvalidFieldsException;
+import com.selimhorri.app.exception.wrapper.InvalidPriceRuleException;
+import com.selimhorri.app.exception.wrapper.InvalidQueryException;
+import com.selimhorri.app.exception.wrapper.LoadTimeoutException;
+import com.selimhorri.app.exception.wrapper.PriceChangeBatchNotFoundException;
 import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
+import com.selimhorri.app.exception.wrapper.ScheduledPriceChangeNotFoundException;
 
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -23,42 +33,87 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class ApiExceptionHandler {
 	
+	/**
+	 * {@link java.time.ZoneId#systemDefault()} clones the default time zone on every call.
+	 */
+	private static final Clock CLOCK = Clock.systemDefaultZone();
+	
+	private static final String RETRY_AFTER_SECONDS = "1";
+	
 	@ExceptionHandler(value = {
 		MethodArgumentNotValidException.class,
 		HttpMessageNotReadableException.class,
 	})
 	public <T extends BindException> ResponseEntity<ExceptionMsg> handleValidationException(final T e) {
 		
-		log.info("**ApiExceptionHandler controller, handle validation exception*\n");
+		log.debug("**ApiExceptionHandler controller, handle validation exception*\n");
 		final var badRequest = HttpStatus.BAD_REQUEST;
 		
 		return new ResponseEntity<>(
 				ExceptionMsg.builder()
 					.msg("*" + e.getBindingResult().getFieldError().getDefaultMessage() + "!**")
 					.httpStatus(badRequest)
-					.timestamp(ZonedDateTime
-							.now(ZoneId.systemDefault()))
+					.timestamp(ZonedDateTime.now(CLOCK))
 					.build(), badRequest);
 	}
 	
 	@ExceptionHandler(value = {
 		CategoryNotFoundException.class,
 		ProductNotFoundException.class,
+		DuplicateSkuException.class,
+		InvalidFieldsException.class,
+		InvalidQueryException.class,
+		InvalidPriceRuleException.class,
+		PriceChangeBatchNotFoundException.class,
+		ScheduledPriceChangeNotFoundException.class,
 	})
 	public <T extends RuntimeException> ResponseEntity<ExceptionMsg> handleApiRequestException(final T e) {
 		
-		log.info("**ApiExceptionHandler controller, handle API request*\n");
+		// bots probing ids make this the busiest error path: no logging here
 		final var badRequest = HttpStatus.BAD_REQUEST;
 		
 		return new ResponseEntity<>(
 				ExceptionMsg.builder()
 					.msg("#### " + e.getMessage() + "! ####")
 					.httpStatus(badRequest)
-					.timestamp(ZonedDateTime
-							.now(ZoneId.systemDefault()))
+					.timestamp(ZonedDateTime.now(CLOCK))
 					.build(), badRequest);
 	}
 	
+	@ExceptionHandler(value = {
+		LoadTimeoutException.class,
+	})
+	public <T extends RuntimeException> ResponseEntity<ExceptionMsg> handleLoadTimeoutException(final T e) {
+		
+		log.warn("**ApiExceptionHandler controller, handle load timeout*\n");
+		final var serviceUnavailable = HttpStatus.SERVICE_UNAVAILABLE;
+		
+		return new ResponseEntity<>(
+				ExceptionMsg.builder()
+					.msg("#### " + e.getMessage() + "! ####")
+					.httpStatus(serviceUnavailable)
+					.timestamp(ZonedDateTime.now(CLOCK))
+					.build(), serviceUnavailable);
+	}
+	
+	@ExceptionHandler(value = {
+		BulkheadFullException.class,
+		CallNotPermittedException.class,
+	})
+	public <T extends RuntimeException> ResponseEntity<ExceptionMsg> handleRejectedCallException(final T e) {
+		
+		// counted by the resilience4j meters; logging each one would only add to the overload
+		final var serviceUnavailable = HttpStatus.SERVICE_UNAVAILABLE;
+		
+		return ResponseEntity.status(serviceUnavailable)
+				.header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+				.body(ExceptionMsg.builder()
+					.msg("#### " + e.getMessage() + "! ####")
+					.httpStatus(serviceUnavailable)
+					.timestamp(ZonedDateTime.now(CLOCK))
+					.build());
+	}
+	
 	
 	
 }
@@ -0,0 +1,36 @@
+package com.selimhorri.app.exception.wrapper;
+
+/**
+ * A request the API turns down with a 400: unknown ids, unknown fields, invalid queries
+ * or price rules. Ordinary client traffic raises these, bots probing ids included, so
+ * they carry no stack trace: it would only point at the throw site, and filling it in
+ * is most of what creating the exception costs. A cause keeps its own.
+ */
+public abstract class ApiRequestException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	protected ApiRequestException() {
+		super();
+	}
+	
+	protected ApiRequestException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	protected ApiRequestException(String message) {
+		super(message);
+	}
+	
+	protected ApiRequestException(Throwable cause) {
+		super(cause);
+	}
+	
+	@Override
+	public synchronized Throwable fillInStackTrace() {
+		return this;
+	}
+	
+	
+	
+}
@@ -1,6 +1,6 @@
 package com.selimhorri.app.exception.wrapper;
 
-public class CategoryNotFoundException extends RuntimeException {
+public class CategoryNotFoundException extends ApiRequestException {
 	
 	private static final long serialVersionUID = 1L;
 	
@@ -0,0 +1,25 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class DuplicateSkuException extends ApiRequestException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public DuplicateSkuException() {
+		super();
+	}
+	
+	public DuplicateSkuException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	public DuplicateSkuException(String message) {
+		super(message);
+	}
+	
+	public DuplicateSkuException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
@@ -0,0 +1,25 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class InvalidPriceRuleException extends ApiRequestException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public InvalidPriceRuleException() {
+		super();
+	}
+	
+	public InvalidPriceRuleException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	public InvalidPriceRuleException(String message) {
+		super(message);
+	}
+	
+	public InvalidPriceRuleException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
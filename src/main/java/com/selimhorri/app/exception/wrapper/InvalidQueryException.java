@@ -0,0 +1,25 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class InvalidQueryException extends ApiRequestException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public InvalidQueryException() {
+		super();
+	}
+	
+	public InvalidQueryException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	public InvalidQueryException(String message) {
+		super(message);
+	}
+	
+	public InvalidQueryException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
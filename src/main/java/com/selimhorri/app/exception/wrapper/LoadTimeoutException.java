@@ -0,0 +1,25 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class LoadTimeoutException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public LoadTimeoutException() {
+		super();
+	}
+	
+	public LoadTimeoutException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	public LoadTimeoutException(String message) {
+		super(message);
+	}
+	
+	public LoadTimeoutException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
@@ -0,0 +1,25 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class PriceChangeBatchNotFoundException extends ApiRequestException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public PriceChangeBatchNotFoundException() {
+		super();
+	}
+	
+	public PriceChangeBatchNotFoundException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	public PriceChangeBatchNotFoundException(String message) {
+		super(message);
+	}
+	
+	public PriceChangeBatchNotFoundException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
@@ -1,6 +1,6 @@
 package com.selimhorri.app.exception.wrapper;
 
-public class ProductNotFoundException extends RuntimeException {
+public class ProductNotFoundException extends ApiRequestException {
 	
 	private static final long serialVersionUID = 1L;
 	
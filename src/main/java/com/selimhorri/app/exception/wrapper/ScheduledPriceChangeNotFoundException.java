@@ -0,0 +1,25 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class ScheduledPriceChangeNotFoundException extends ApiRequestException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public ScheduledPriceChangeNotFoundException() {
+		super();
+	}
+	
+	public ScheduledPriceChangeNotFoundException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	public ScheduledPriceChangeNotFoundException(String message) {
+		super(message);
+	}
+	
+	public ScheduledPriceChangeNotFoundException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
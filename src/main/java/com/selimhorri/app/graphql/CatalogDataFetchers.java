@@ -0,0 +1,110 @@
+package com.selimhorri.app.graphql;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.dataloader.DataLoader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.exception.wrapper.CategoryNotFoundException;
+import com.selimhorri.app.service.CategoryService;
+import com.selimhorri.app.service.ProductService;
+
+import graphql.schema.DataFetcher;
+
+/**
+ * Root fields go through the regular services; nested fields only ever go through the
+ * request's {@link CatalogDataLoaders}, never straight to the database. {@code products(ids:)}
+ * takes no more ids than one loader batch.
+ */
+@Component
+public class CatalogDataFetchers {
+	
+	private final ProductService productService;
+	private final CategoryService categoryService;
+	private final int maxBatchSize;
+	
+	public CatalogDataFetchers(final ProductService productService, final CategoryService categoryService,
+			@Value("${app.graphql.max-batch-size:500}") final int maxBatchSize) {
+		this.productService = productService;
+		this.categoryService = categoryService;
+		this.maxBatchSize = maxBatchSize;
+	}
+	
+	public DataFetcher<List<ProductDto>> products() {
+		return env -> {
+			final List<Integer> ids = env.getArgument("ids");
+			if (ids != null && ids.size() > this.maxBatchSize)
+				throw new IllegalArgumentException("products takes at most " + this.maxBatchSize + " ids, got " + ids.size());
+			return ids == null ? this.productService.findAll() : this.productService.findAllById(ids);
+		};
+	}
+	
+	public DataFetcher<ProductDto> product() {
+		return env -> {
+			final Integer id = env.getArgument("id");
+			return this.productService.findAllById(List.of(id))
+					.stream()
+					.findFirst()
+					.orElse(null);
+		};
+	}
+	
+	public DataFetcher<List<CategoryDto>> categories() {
+		return env -> this.categoryService.findAll();
+	}
+	
+	public DataFetcher<CategoryDto> category() {
+		return env -> {
+			try {
+				return this.categoryService.findById(env.getArgument("id"));
+			}
+			catch (CategoryNotFoundException e) {
+				return null;
+			}
+		};
+	}
+	
+	public DataFetcher<CompletableFuture<CategoryDto>> productCategory() {
+		return env -> {
+			final ProductDto product = env.getSource();
+			if (product.getCategoryDto() == null || product.getCategoryDto().getCategoryId() == null)
+				return CompletableFuture.completedFuture(null);
+			final DataLoader<Integer, CategoryDto> loader = env.getDataLoader(CatalogDataLoaders.CATEGORY);
+			return loader.load(product.getCategoryDto().getCategoryId());
+		};
+	}
+	
+	public DataFetcher<CompletableFuture<CategoryDto>> parentCategory() {
+		return env -> {
+			final CategoryDto category = env.getSource();
+			final CategoryDto parent = category.getParentCategoryDto();
+			if (parent == null || parent.getCategoryId() == null)
+				return CompletableFuture.completedFuture(null);
+			final DataLoader<Integer, CategoryDto> loader = env.getDataLoader(CatalogDataLoaders.CATEGORY);
+			return loader.load(parent.getCategoryId());
+		};
+	}
+	
+	public DataFetcher<CompletableFuture<List<CategoryDto>>> subCategories() {
+		return env -> {
+			final CategoryDto category = env.getSource();
+			final DataLoader<Integer, List<CategoryDto>> loader = env.getDataLoader(CatalogDataLoaders.SUB_CATEGORIES);
+			return loader.load(category.getCategoryId());
+		};
+	}
+	
+	public DataFetcher<CompletableFuture<List<ProductDto>>> categoryProducts() {
+		return env -> {
+			final CategoryDto category = env.getSource();
+			final DataLoader<Integer, List<ProductDto>> loader = env.getDataLoader(CatalogDataLoaders.CATEGORY_PRODUCTS);
+			return loader.load(category.getCategoryId());
+		};
+	}
+	
+	
+	
+}
@@ -0,0 +1,56 @@
+package com.selimhorri.app.graphql;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderOptions;
+import org.dataloader.DataLoaderRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.service.CatalogBatchService;
+
+/**
+ * Per-request data loaders: every key requested at one level of a query is collected and
+ * resolved with a single {@link CatalogBatchService} call before the next level runs.
+ */
+@Component
+public class CatalogDataLoaders {
+	
+	public static final String CATEGORY = "category";
+	public static final String SUB_CATEGORIES = "subCategories";
+	public static final String CATEGORY_PRODUCTS = "categoryProducts";
+	
+	private final CatalogBatchService catalogBatchService;
+	private final int maxBatchSize;
+	
+	public CatalogDataLoaders(final CatalogBatchService catalogBatchService,
+			@Value("${app.graphql.max-batch-size:500}") final int maxBatchSize) {
+		this.catalogBatchService = catalogBatchService;
+		this.maxBatchSize = maxBatchSize;
+	}
+	
+	public DataLoaderRegistry newRegistry() {
+		
+		final var options = DataLoaderOptions.newOptions().setMaxBatchSize(this.maxBatchSize);
+		final var registry = new DataLoaderRegistry();
+		
+		registry.register(CATEGORY, DataLoader.<Integer, CategoryDto>newMappedDataLoader(
+				keys -> CompletableFuture.completedFuture(this.catalogBatchService.findCategoriesByIds(keys)),
+				options));
+		registry.register(SUB_CATEGORIES, DataLoader.<Integer, List<CategoryDto>>newMappedDataLoader(
+				keys -> CompletableFuture.completedFuture(this.catalogBatchService.findSubCategoriesByParentIds(keys)),
+				options));
+		registry.register(CATEGORY_PRODUCTS, DataLoader.<Integer, List<ProductDto>>newMappedDataLoader(
+				keys -> CompletableFuture.completedFuture(this.catalogBatchService.findProductsByCategoryIds(keys)),
+				options));
+		
+		return registry;
+	}
+	
+	
+	
+}
@@ -4,25 +4,31 @@ import java.util.Optional;
 
 import com.selimhorri.app.domain.Category;
 import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.timing.RequestTiming;
 
 public interface CategoryMappingHelper {
 	
 	public static CategoryDto map(final Category category) {
-		
-		final var parentCategory = Optional.ofNullable(category
-				.getParentCategory()).orElseGet(() -> new Category());
-		
-		return CategoryDto.builder()
-				.categoryId(category.getCategoryId())
-				.categoryTitle(category.getCategoryTitle())
-				.imageUrl(category.getImageUrl())
-				.parentCategoryDto(
-						CategoryDto.builder()
-							.categoryId(parentCategory.getCategoryId())
-							.categoryTitle(parentCategory.getCategoryTitle())
-							.imageUrl(parentCategory.getImageUrl())
-							.build())
-				.build();
+		RequestTiming.mappingStarted();
+		try {
+			final var parentCategory = Optional.ofNullable(category
+					.getParentCategory()).orElseGet(() -> new Category());
+			
+			return CategoryDto.builder()
+					.categoryId(category.getCategoryId())
+					.categoryTitle(category.getCategoryTitle())
+					.imageUrl(category.getImageUrl())
+					.parentCategoryDto(
+							CategoryDto.builder()
+								.categoryId(parentCategory.getCategoryId())
+								.categoryTitle(parentCategory.getCategoryTitle())
+								.imageUrl(parentCategory.getImageUrl())
+								.build())
+					.build();
+		}
+		finally {
+			RequestTiming.mappingFinished();
+		}
 	}
 	
 	public static Category map(final CategoryDto categoryDto) {
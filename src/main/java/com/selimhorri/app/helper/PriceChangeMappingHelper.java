@@ -0,0 +1,44 @@
+package com.selimhorri.app.helper;
+
+import com.selimhorri.app.domain.PriceChangeBatch;
+import com.selimhorri.app.domain.PriceChangeEntry;
+import com.selimhorri.app.domain.ScheduledPriceChange;
+import com.selimhorri.app.dto.PriceChangeBatchDto;
+import com.selimhorri.app.dto.PriceChangeEntryDto;
+import com.selimhorri.app.dto.ScheduledPriceChangeDto;
+
+public interface PriceChangeMappingHelper {
+	
+	public static PriceChangeBatchDto map(final PriceChangeBatch batch) {
+		return PriceChangeBatchDto.builder()
+				.batchId(batch.getBatchId())
+				.description(batch.getDescription())
+				.productCount(batch.getProductCount())
+				.minDelta(batch.getMinDelta())
+				.maxDelta(batch.getMaxDelta())
+				.startedAt(batch.getStartedAt())
+				.completedAt(batch.getCompletedAt())
+				.build();
+	}
+	
+	public static PriceChangeEntryDto map(final PriceChangeEntry entry) {
+		return PriceChangeEntryDto.builder()
+				.productId(entry.getProductId())
+				.oldPrice(entry.getOldPrice())
+				.newPrice(entry.getNewPrice())
+				.build();
+	}
+	
+	public static ScheduledPriceChangeDto map(final ScheduledPriceChange change) {
+		return ScheduledPriceChangeDto.builder()
+				.scheduleId(change.getScheduleId())
+				.productId(change.getProductId())
+				.newPrice(change.getNewPrice())
+				.activateAt(change.getActivateAt())
+				.status(change.getStatus())
+				.batchId(change.getBatchId())
+				.appliedAt(change.getAppliedAt())
+				.build();
+	}
+	
+}
@@ -4,24 +4,31 @@ import com.selimhorri.app.domain.Category;
 import com.selimhorri.app.domain.Product;
 import com.selimhorri.app.dto.CategoryDto;
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.timing.RequestTiming;
 
 public interface ProductMappingHelper {
 	
 	public static ProductDto map(final Product product) {
-		return ProductDto.builder()
-				.productId(product.getProductId())
-				.productTitle(product.getProductTitle())
-				.imageUrl(product.getImageUrl())
-				.sku(product.getSku())
-				.priceUnit(product.getPriceUnit())
-				.quantity(product.getQuantity())
-				.categoryDto(
-						CategoryDto.builder()
-							.categoryId(product.getCategory().getCategoryId())
-							.categoryTitle(product.getCategory().getCategoryTitle())
-							.imageUrl(product.getCategory().getImageUrl())
-							.build())
-				.build();
+		RequestTiming.mappingStarted();
+		try {
+			return ProductDto.builder()
+					.productId(product.getProductId())
+					.productTitle(product.getProductTitle())
+					.imageUrl(product.getImageUrl())
+					.sku(product.getSku())
+					.priceUnit(product.getPriceUnit())
+					.quantity(product.getQuantity())
+					.categoryDto(
+							CategoryDto.builder()
+								.categoryId(product.getCategory().getCategoryId())
+								.categoryTitle(product.getCategory().getCategoryTitle())
+								.imageUrl(product.getCategory().getImageUrl())
+								.build())
+					.build();
+		}
+		finally {
+			RequestTiming.mappingFinished();
+		}
 	}
 	
 	public static Product map(final ProductDto productDto) {
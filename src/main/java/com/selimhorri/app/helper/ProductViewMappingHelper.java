@@ -0,0 +1,72 @@
+package com.selimhorri.app.helper;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.domain.ProductView;
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.timing.RequestTiming;
+
+public interface ProductViewMappingHelper {
+	
+	String PATH_SEPARATOR = " / ";
+	
+	/**
+	 * Bounds the walk up the category tree in case of a parent cycle.
+	 */
+	int MAX_CATEGORY_DEPTH = 32;
+	
+	public static ProductView map(final Product product) {
+		final Category category = product.getCategory();
+		return ProductView.builder()
+				.productId(product.getProductId())
+				.productTitle(product.getProductTitle())
+				.imageUrl(product.getImageUrl())
+				.sku(product.getSku())
+				.priceUnit(product.getPriceUnit())
+				.quantity(product.getQuantity())
+				.categoryId(category.getCategoryId())
+				.categoryTitle(category.getCategoryTitle())
+				.categoryImageUrl(category.getImageUrl())
+				.parentCategoryId(category.getParentCategory() == null ? null : category.getParentCategory().getCategoryId())
+				.categoryPath(path(category))
+				.createdAt(product.getCreatedAt())
+				.build();
+	}
+	
+	public static ProductDto map(final ProductView productView) {
+		RequestTiming.mappingStarted();
+		try {
+			return ProductDto.builder()
+					.productId(productView.getProductId())
+					.productTitle(productView.getProductTitle())
+					.imageUrl(productView.getImageUrl())
+					.sku(productView.getSku())
+					.priceUnit(productView.getPriceUnit())
+					.quantity(productView.getQuantity())
+					.categoryDto(
+							CategoryDto.builder()
+								.categoryId(productView.getCategoryId())
+								.categoryTitle(productView.getCategoryTitle())
+								.imageUrl(productView.getCategoryImageUrl())
+								.build())
+					.build();
+		}
+		finally {
+			RequestTiming.mappingFinished();
+		}
+	}
+	
+	private static String path(final Category category) {
+		final Deque<String> titles = new ArrayDeque<>();
+		for (Category current = category; current != null && titles.size() < MAX_CATEGORY_DEPTH; current = current.getParentCategory())
+			titles.addFirst(String.valueOf(current.getCategoryTitle()));
+		return String.join(PATH_SEPARATOR, titles);
+	}
+	
+	
+	
+}
@@ -0,0 +1,154 @@
+package com.selimhorri.app.jdbc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Times every {@code execute*} call made through the connections it hands out and reports
+ * it to the {@link StatementExecutionListener}s. Connections and statements are wrapped in
+ * JDK proxies; only the execute calls do any extra work, everything else is passed through.
+ * Time spent reading rows after the execute call returns is not included.
+ */
+public class InstrumentedDataSource extends DelegatingDataSource {
+	
+	private final StatementExecutionListener[] listeners;
+	
+	public InstrumentedDataSource(final DataSource targetDataSource, final List<StatementExecutionListener> listeners) {
+		super(targetDataSource);
+		this.listeners = listeners.toArray(StatementExecutionListener[]::new);
+	}
+	
+	@Override
+	public Connection getConnection() throws SQLException {
+		return this.wrap(super.getConnection());
+	}
+	
+	@Override
+	public Connection getConnection(final String username, final String password) throws SQLException {
+		return this.wrap(super.getConnection(username, password));
+	}
+	
+	private Connection wrap(final Connection connection) {
+		return (Connection) Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(),
+				new Class<?>[] { Connection.class }, new ConnectionHandler(connection));
+	}
+	
+	private void executed(final String sql, final long elapsedNanos) {
+		for (final StatementExecutionListener listener : this.listeners)
+			listener.afterExecute(sql, elapsedNanos);
+	}
+	
+	private static Object invokeTarget(final Object target, final Method method, final Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		}
+		catch (InvocationTargetException e) {
+			throw e.getTargetException();
+		}
+	}
+	
+	private final class ConnectionHandler implements InvocationHandler {
+		
+		private final Connection target;
+		
+		ConnectionHandler(final Connection target) {
+			this.target = target;
+		}
+		
+		@Override
+		public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+			switch (method.getName()) {
+				case "equals":
+					return proxy == args[0];
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				case "createStatement":
+					return this.statement(Statement.class, (Statement) invokeTarget(this.target, method, args), proxy, null);
+				case "prepareStatement":
+					return this.statement(PreparedStatement.class, (Statement) invokeTarget(this.target, method, args), proxy, (String) args[0]);
+				case "prepareCall":
+					return this.statement(CallableStatement.class, (Statement) invokeTarget(this.target, method, args), proxy, (String) args[0]);
+				default:
+					return invokeTarget(this.target, method, args);
+			}
+		}
+		
+		private Object statement(final Class<? extends Statement> type, final Statement statement,
+				final Object connection, final String sql) {
+			return Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(),
+					new Class<?>[] { type }, new StatementHandler(statement, connection, sql));
+		}
+	
+	}
+	
+	private final class StatementHandler implements InvocationHandler {
+		
+		private final Statement target;
+		private final Object connection;
+		private final String sql;
+		private String batchSql;
+		
+		StatementHandler(final Statement target, final Object connection, final String sql) {
+			this.target = target;
+			this.connection = connection;
+			this.sql = sql;
+		}
+		
+		@Override
+		public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+			final String name = method.getName();
+			if (name.startsWith("execute"))
+				return this.execute(name, method, args);
+			switch (name) {
+				case "equals":
+					return proxy == args[0];
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				case "getConnection":
+					return this.connection;
+				case "addBatch":
+					// Statement.addBatch(String); PreparedStatement.addBatch() repeats this.sql
+					if (args != null && this.batchSql == null)
+						this.batchSql = (String) args[0];
+					break;
+				case "clearBatch":
+					this.batchSql = null;
+					break;
+				default:
+					break;
+			}
+			return invokeTarget(this.target, method, args);
+		}
+		
+		private Object execute(final String name, final Method method, final Object[] args) throws Throwable {
+			final boolean batch = name.endsWith("Batch");
+			final String executedSql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0]
+					: batch && this.batchSql != null ? this.batchSql : this.sql;
+			final long start = System.nanoTime();
+			try {
+				return invokeTarget(this.target, method, args);
+			}
+			finally {
+				executed(executedSql, System.nanoTime() - start);
+				if (batch)
+					this.batchSql = null;
+			}
+		}
+	
+	}
+	
+	
+	
+}
@@ -0,0 +1,103 @@
+package com.selimhorri.app.jdbc;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reduces a statement to its shape so that executions differing only in literal values
+ * are counted together: string and numeric literals become {@code ?}, comments are dropped,
+ * whitespace is collapsed and lists of placeholders such as {@code IN (?, ?, ?)} are folded
+ * into {@code (?, ...)}. Identifiers, including ones with digits like {@code product0_},
+ * are kept as they are.
+ */
+public final class SqlNormalizer {
+	
+	private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\(\\?(?:, ?\\?)+\\)");
+	private static final String FOLDED_LIST = "(?, ...)";
+	private static final String TRUNCATED = " ...";
+	
+	private SqlNormalizer() {
+	}
+	
+	/**
+	 * @param maxLength statements are cut to this many characters once normalized
+	 */
+	public static String normalize(final String sql, final int maxLength) {
+		final int length = sql.length();
+		final var out = new StringBuilder(Math.min(length, maxLength) + TRUNCATED.length());
+		int i = 0;
+		while (i < length && out.length() < maxLength) {
+			final char c = sql.charAt(i);
+			if (c == '\'') {
+				i = skipQuoted(sql, i, '\'');
+				out.append('?');
+			}
+			else if (c == '"' || c == '`') {
+				final int end = skipQuoted(sql, i, c);
+				out.append(sql, i, end);
+				i = end;
+			}
+			else if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+				final int end = sql.indexOf("*/", i + 2);
+				i = end < 0 ? length : end + 2;
+				appendSpace(out);
+			}
+			else if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
+				final int end = sql.indexOf('\n', i + 2);
+				i = end < 0 ? length : end + 1;
+				appendSpace(out);
+			}
+			else if (Character.isWhitespace(c)) {
+				appendSpace(out);
+				i++;
+			}
+			else if (Character.isDigit(c)) {
+				// numbers, including decimals, exponents and hex literals
+				while (i < length && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '.'))
+					i++;
+				out.append('?');
+			}
+			else if (isIdentifierPart(c)) {
+				final int start = i;
+				while (i < length && isIdentifierPart(sql.charAt(i)))
+					i++;
+				out.append(sql, start, i);
+			}
+			else {
+				if (out.length() > 0 && out.charAt(out.length() - 1) == ' ' && (c == ',' || c == ')'))
+					out.setLength(out.length() - 1);
+				out.append(c);
+				i++;
+			}
+		}
+		
+		final boolean truncated = i < length;
+		final String normalized = PLACEHOLDER_LIST.matcher(out.toString().trim()).replaceAll(Matcher.quoteReplacement(FOLDED_LIST));
+		return truncated ? normalized + TRUNCATED : normalized;
+	}
+	
+	private static int skipQuoted(final String sql, final int start, final char quote) {
+		int i = start + 1;
+		while (i < sql.length()) {
+			if (sql.charAt(i++) != quote)
+				continue;
+			if (i < sql.length() && sql.charAt(i) == quote)
+				i++;
+			else
+				return i;
+		}
+		return i;
+	}
+	
+	private static void appendSpace(final StringBuilder out) {
+		if (out.length() > 0 && out.charAt(out.length() - 1) != ' ' && out.charAt(out.length() - 1) != '(')
+			out.append(' ');
+	}
+	
+	private static boolean isIdentifierPart(final char c) {
+		return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+	}
+	
+	
+	
+}
@@ -0,0 +1,27 @@
+package com.selimhorri.app.jdbc;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Totals for one normalized statement. Percentiles come from power-of-two buckets, so each
+ * is an upper bound within a factor of two of the true value.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public final class SqlStatementStats {
+	
+	private final String sql;
+	private final long count;
+	private final double totalMillis;
+	private final double meanMillis;
+	private final double maxMillis;
+	private final double p50Millis;
+	private final double p95Millis;
+	private final double p99Millis;
+	
+	
+	
+}
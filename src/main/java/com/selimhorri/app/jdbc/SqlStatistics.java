@@ -0,0 +1,161 @@
+package com.selimhorri.app.jdbc;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-statement execution counts, total and max time and a latency histogram, keyed by the
+ * {@link SqlNormalizer normalized} statement. Updates are lock-free. The number of distinct
+ * statements is bounded: once {@code maxStatements} are tracked, new ones are counted under
+ * {@link #OTHER_STATEMENTS}. Statements at or over the slow threshold are logged, normalized
+ * so that no literal values reach the log.
+ */
+@Slf4j
+public class SqlStatistics implements StatementExecutionListener {
+	
+	public static final String OTHER_STATEMENTS = "<other statements>";
+	public static final String UNKNOWN_STATEMENT = "<unknown>";
+	
+	/**
+	 * Raw statement texts whose normalized form is cached, per tracked statement; prepared
+	 * statements repeat the same text, so most executions skip normalization.
+	 */
+	private static final int RAW_SQL_PER_STATEMENT = 4;
+	
+	private final int maxStatements;
+	private final int maxSqlLength;
+	private final long slowThresholdNanos;
+	private final Map<String, String> normalizedSql = new ConcurrentHashMap<>();
+	private final Map<String, Entry> statements = new ConcurrentHashMap<>();
+	private volatile Instant since = Instant.now();
+	
+	public SqlStatistics(final int maxStatements, final int maxSqlLength, final long slowThresholdMillis) {
+		this.maxStatements = maxStatements;
+		this.maxSqlLength = maxSqlLength;
+		this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+	}
+	
+	@Override
+	public void afterExecute(final String sql, final long elapsedNanos) {
+		final String normalized = sql == null ? UNKNOWN_STATEMENT : this.normalize(sql);
+		this.entry(normalized).record(elapsedNanos);
+		if (elapsedNanos >= this.slowThresholdNanos)
+			log.warn("*** Slow query, {} ms; {} *", TimeUnit.NANOSECONDS.toMillis(elapsedNanos), normalized);
+	}
+	
+	/**
+	 * @return the {@code limit} statements with the highest total time
+	 */
+	public SqlStatisticsReport report(final int limit) {
+		return SqlStatisticsReport.builder()
+				.since(this.since)
+				.distinctStatements(this.statements.size())
+				.maxStatements(this.maxStatements)
+				.slowThresholdMillis(TimeUnit.NANOSECONDS.toMillis(this.slowThresholdNanos))
+				.statements(this.statements.entrySet().stream()
+						.map(entry -> entry.getValue().snapshot(entry.getKey()))
+						.sorted(Comparator.comparingDouble(SqlStatementStats::getTotalMillis).reversed())
+						.limit(Math.max(0, limit))
+						.collect(Collectors.toUnmodifiableList()))
+				.build();
+	}
+	
+	/**
+	 * Starts a new collection window. Executions finishing during the reset may be lost.
+	 */
+	public void reset() {
+		this.statements.clear();
+		this.since = Instant.now();
+	}
+	
+	private String normalize(final String sql) {
+		final String cached = this.normalizedSql.get(sql);
+		if (cached != null)
+			return cached;
+		final String normalized = SqlNormalizer.normalize(sql, this.maxSqlLength);
+		if (this.normalizedSql.size() < this.maxStatements * RAW_SQL_PER_STATEMENT)
+			this.normalizedSql.putIfAbsent(sql, normalized);
+		return normalized;
+	}
+	
+	private Entry entry(final String normalized) {
+		final Entry entry = this.statements.get(normalized);
+		if (entry != null)
+			return entry;
+		// racing inserts may overshoot the bound by a few entries
+		return this.statements.size() < this.maxStatements
+				? this.statements.computeIfAbsent(normalized, key -> new Entry())
+				: this.statements.computeIfAbsent(OTHER_STATEMENTS, key -> new Entry());
+	}
+	
+	private static final class Entry {
+		
+		/**
+		 * Bucket {@code b} counts executions under {@code 2^b} microseconds; the last one
+		 * takes everything from about 18 minutes up.
+		 */
+		private static final int BUCKETS = 31;
+		
+		private final LongAdder count = new LongAdder();
+		private final LongAdder totalNanos = new LongAdder();
+		private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+		private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+		
+		void record(final long elapsedNanos) {
+			this.count.increment();
+			this.totalNanos.add(elapsedNanos);
+			this.maxNanos.accumulate(elapsedNanos);
+			final long micros = Math.max(0L, elapsedNanos) / 1_000L;
+			this.buckets.incrementAndGet(Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros)));
+		}
+		
+		SqlStatementStats snapshot(final String sql) {
+			final long count = this.count.sum();
+			final long totalNanos = this.totalNanos.sum();
+			final long maxNanos = this.maxNanos.get();
+			final long[] counts = new long[BUCKETS];
+			long histogramCount = 0L;
+			for (int b = 0; b < BUCKETS; b++)
+				histogramCount += counts[b] = this.buckets.get(b);
+			return SqlStatementStats.builder()
+					.sql(sql)
+					.count(count)
+					.totalMillis(millis(totalNanos))
+					.meanMillis(count == 0L ? 0.0 : millis(totalNanos / count))
+					.maxMillis(millis(maxNanos))
+					.p50Millis(percentile(counts, histogramCount, 0.50, maxNanos))
+					.p95Millis(percentile(counts, histogramCount, 0.95, maxNanos))
+					.p99Millis(percentile(counts, histogramCount, 0.99, maxNanos))
+					.build();
+		}
+		
+		private static double percentile(final long[] counts, final long total, final double quantile, final long maxNanos) {
+			final long rank = (long) Math.ceil(quantile * total);
+			long seen = 0L;
+			for (int b = 0; b < counts.length; b++) {
+				seen += counts[b];
+				if (seen >= rank && seen > 0L)
+					return millis(Math.min(maxNanos, TimeUnit.MICROSECONDS.toNanos(1L << b)));
+			}
+			return millis(maxNanos);
+		}
+		
+		private static double millis(final long nanos) {
+			return nanos / 1_000_000.0;
+		}
+	
+	}
+	
+	
+	
+}
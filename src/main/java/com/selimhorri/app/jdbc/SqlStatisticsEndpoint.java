@@ -0,0 +1,37 @@
+package com.selimhorri.app.jdbc;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@code GET /actuator/sqlstats?top=N} lists the statements with the highest total time;
+ * {@code DELETE /actuator/sqlstats} starts a new collection window.
+ */
+@Endpoint(id = "sqlstats")
+@Slf4j
+@RequiredArgsConstructor
+public class SqlStatisticsEndpoint {
+	
+	private static final int DEFAULT_TOP = 20;
+	
+	private final SqlStatistics sqlStatistics;
+	
+	@ReadOperation
+	public SqlStatisticsReport top(@Nullable final Integer top) {
+		return this.sqlStatistics.report(top == null ? DEFAULT_TOP : top);
+	}
+	
+	@DeleteOperation
+	public void reset() {
+		log.info("*** Void, endpoint; reset sql statistics *");
+		this.sqlStatistics.reset();
+	}
+	
+	
+	
+}
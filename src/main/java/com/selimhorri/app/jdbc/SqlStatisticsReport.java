@@ -0,0 +1,35 @@
+package com.selimhorri.app.jdbc;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonFormat.Shape;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public final class SqlStatisticsReport {
+	
+	/**
+	 * Start of the collection window: startup or the last reset.
+	 */
+	@JsonFormat(shape = Shape.STRING)
+	private final Instant since;
+	
+	private final int distinctStatements;
+	private final int maxStatements;
+	private final long slowThresholdMillis;
+	
+	/**
+	 * Ordered by total time, highest first.
+	 */
+	private final List<SqlStatementStats> statements;
+	
+	
+	
+}
@@ -0,0 +1,18 @@
+package com.selimhorri.app.jdbc;
+
+/**
+ * Told about every statement executed through an {@link InstrumentedDataSource}, on the
+ * thread that executed it. Runs inline with the query, so implementations must be cheap
+ * and must not throw.
+ */
+@FunctionalInterface
+public interface StatementExecutionListener {
+	
+	/**
+	 * @param sql the statement text as prepared or executed; for a batch of plain statements
+	 * the first one added, {@code null} when unknown
+	 * @param elapsedNanos time spent in the {@code execute*} call, including failed ones
+	 */
+	void afterExecute(final String sql, final long elapsedNanos);
+	
+}
@@ -0,0 +1,123 @@
+package com.selimhorri.app.offheap;
+
+/**
+ * Open-addressing {@code int -> long} map with linear probing and backward-shift
+ * deletion, so lookups never allocate and removals leave no tombstones.
+ * Key {@code 0} marks an empty slot, which is safe because database ids start at 1.
+ * Not thread-safe; {@link OffHeapProductStore} guards it with its lock.
+ */
+final class IntLongHashIndex {
+	
+	static final long MISSING = -1L;
+	
+	private static final int EMPTY = 0;
+	private static final float LOAD_FACTOR = 0.6f;
+	
+	private int[] keys;
+	private long[] values;
+	private int mask;
+	private int size;
+	private int resizeAt;
+	
+	IntLongHashIndex(final int expectedSize) {
+		this.allocate(Math.max(16, Integer.highestOneBit((int) Math.ceil(Math.max(1, expectedSize) / LOAD_FACTOR)) << 1));
+	}
+	
+	long get(final int key) {
+		for (int slot = this.slot(key); ; slot = (slot + 1) & this.mask) {
+			final int current = this.keys[slot];
+			if (current == key)
+				return this.values[slot];
+			if (current == EMPTY)
+				return MISSING;
+		}
+	}
+	
+	/**
+	 * @return the previous value, or {@link #MISSING}
+	 */
+	long put(final int key, final long value) {
+		if (key == EMPTY)
+			throw new IllegalArgumentException("Key 0 is reserved");
+		for (int slot = this.slot(key); ; slot = (slot + 1) & this.mask) {
+			final int current = this.keys[slot];
+			if (current == key) {
+				final long previous = this.values[slot];
+				this.values[slot] = value;
+				return previous;
+			}
+			if (current == EMPTY) {
+				this.keys[slot] = key;
+				this.values[slot] = value;
+				if (++this.size >= this.resizeAt)
+					this.rehash(this.keys.length << 1);
+				return MISSING;
+			}
+		}
+	}
+	
+	/**
+	 * @return the removed value, or {@link #MISSING}
+	 */
+	long remove(final int key) {
+		for (int slot = this.slot(key); ; slot = (slot + 1) & this.mask) {
+			final int current = this.keys[slot];
+			if (current == EMPTY)
+				return MISSING;
+			if (current == key) {
+				final long removed = this.values[slot];
+				this.shiftBack(slot);
+				this.size--;
+				return removed;
+			}
+		}
+	}
+	
+	int size() {
+		return this.size;
+	}
+	
+	private void shiftBack(int gap) {
+		// move later entries of the same probe run into the gap so lookups still reach them
+		for (int slot = (gap + 1) & this.mask; this.keys[slot] != EMPTY; slot = (slot + 1) & this.mask) {
+			final int home = this.slot(this.keys[slot]);
+			if (((slot - home) & this.mask) >= ((slot - gap) & this.mask)) {
+				this.keys[gap] = this.keys[slot];
+				this.values[gap] = this.values[slot];
+				gap = slot;
+			}
+		}
+		this.keys[gap] = EMPTY;
+	}
+	
+	private void rehash(final int capacity) {
+		final int[] oldKeys = this.keys;
+		final long[] oldValues = this.values;
+		this.allocate(capacity);
+		for (int i = 0; i < oldKeys.length; i++) {
+			final int key = oldKeys[i];
+			if (key == EMPTY)
+				continue;
+			int slot = this.slot(key);
+			while (this.keys[slot] != EMPTY)
+				slot = (slot + 1) & this.mask;
+			this.keys[slot] = key;
+			this.values[slot] = oldValues[i];
+		}
+	}
+	
+	private void allocate(final int capacity) {
+		this.keys = new int[capacity];
+		this.values = new long[capacity];
+		this.mask = capacity - 1;
+		this.resizeAt = (int) (capacity * LOAD_FACTOR);
+	}
+	
+	private int slot(final int key) {
+		// Fibonacci hashing spreads sequential ids across the table
+		return (key * 0x9E3779B9 >>> 16 ^ key * 0x9E3779B9) & this.mask;
+	}
+	
+	
+	
+}
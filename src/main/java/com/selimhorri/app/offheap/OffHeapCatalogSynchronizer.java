@@ -0,0 +1,96 @@
+package com.selimhorri.app.offheap;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.selimhorri.app.cache.invalidation.LocalCacheInvalidator;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.event.CatalogChangedEvent;
+import com.selimhorri.app.event.CatalogChangedEvent.EntityType;
+import com.selimhorri.app.event.PendingCatalogChanges;
+import com.selimhorri.app.service.ProductService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the {@link OffHeapProductStore} in line with the database. Committed local writes
+ * and peer invalidations only record what changed; {@link #sync()} reloads those products
+ * in one query per run. Starts with a full load.
+ */
+@Slf4j
+public class OffHeapCatalogSynchronizer implements LocalCacheInvalidator {
+	
+	private final OffHeapProductStore store;
+	private final ProductService productService;
+	private final PendingCatalogChanges pending = new PendingCatalogChanges();
+	
+	public OffHeapCatalogSynchronizer(final OffHeapProductStore store, final ProductService productService) {
+		this.store = store;
+		this.productService = productService;
+	}
+	
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+	public void onCatalogChanged(final CatalogChangedEvent event) {
+		this.pending.add(event);
+	}
+	
+	@Override
+	public void invalidate(final EntityType entityType, final Set<Integer> ids) {
+		this.pending.add(entityType, ids);
+	}
+	
+	@Override
+	public void invalidateAll(final EntityType entityType) {
+		this.pending.requestFullReload();
+	}
+	
+	@Override
+	public void invalidateEverything() {
+		this.pending.requestFullReload();
+	}
+	
+	@Scheduled(fixedDelayString = "${app.off-heap.sync-interval:200}")
+	public void sync() {
+		final PendingCatalogChanges.Batch batch = this.pending.drain();
+		if (batch.isEmpty())
+			return;
+		
+		try {
+			if (batch.isFullReload()) {
+				final List<ProductDto> products = this.productService.findAll();
+				this.store.replaceAll(products);
+				log.info("*** Loaded {} products off-heap, {} bytes *", products.size(), this.store.getLiveBytes());
+				return;
+			}
+			final Set<Integer> productIds = new HashSet<>(batch.getProductIds());
+			for (final int productId : this.store.findIdsByCategoryIds(batch.getCategoryIds()))
+				productIds.add(productId);
+			this.reload(productIds);
+		}
+		catch (RuntimeException e) {
+			log.warn("*** Off-heap catalog sync failed, retrying next run: {} *", e.getMessage());
+			this.pending.requeue(batch);
+		}
+	}
+	
+	private void reload(final Set<Integer> productIds) {
+		// products missing from the result were deleted or moved to the "Deleted" category
+		final List<ProductDto> found = this.productService.findAllById(productIds);
+		final Set<Integer> foundIds = found.stream()
+				.map(ProductDto::getProductId)
+				.collect(Collectors.toSet());
+		found.forEach(this.store::put);
+		productIds.stream()
+				.filter(productId -> !foundIds.contains(productId))
+				.forEach(this.store::remove);
+	}
+	
+	
+	
+}
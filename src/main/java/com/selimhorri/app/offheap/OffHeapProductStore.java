@@ -0,0 +1,336 @@
+package com.selimhorri.app.offheap;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.selimhorri.app.dto.ProductDto;
+
+/**
+ * Product catalog kept outside the Java heap: records are appended to direct
+ * {@link ByteBuffer} segments and located through a primitive {@link IntLongHashIndex},
+ * so the collector sees a handful of buffers and two arrays instead of millions of DTOs.
+ * <p>
+ * Updates append a new record and leave the old one as garbage; once garbage outweighs
+ * live data the live records are copied into fresh segments. Reads run concurrently
+ * under a read lock, writes are serialized under the write lock. Scans whose visitor
+ * does I/O go through {@link #visitChunk}, which never holds the lock between chunks.
+ */
+public class OffHeapProductStore {
+	
+	/**
+	 * Receives the flyweight positioned on each record; valid only during the call.
+	 */
+	@FunctionalInterface
+	public interface RecordVisitor {
+		void visit(final ProductRecord record) throws IOException;
+	}
+	
+	/**
+	 * Progress of a chunked scan, see {@link #visitChunk}. Remembers the products already
+	 * visited, one bit per id, so a scan can resume after the segments are rewritten.
+	 */
+	public static final class Cursor {
+		
+		private final BitSet visited = new BitSet();
+		private long layout = -1;
+		private int segment;
+		private int position;
+		private boolean done;
+		
+		private Cursor() {
+		}
+		
+		public boolean isDone() {
+			return this.done;
+		}
+		
+	}
+	
+	private final int segmentSize;
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private List<ByteBuffer> segments = new ArrayList<>();
+	private IntLongHashIndex index;
+	private long liveBytes;
+	private long garbageBytes;
+	// bumped whenever records move to new segments, which invalidates scan cursors
+	private long layout;
+	
+	public OffHeapProductStore(final int segmentSize, final int expectedProducts) {
+		if (segmentSize < 1 << 20)
+			throw new IllegalArgumentException("Segment size must be at least 1 MiB");
+		this.segmentSize = segmentSize;
+		this.index = new IntLongHashIndex(expectedProducts);
+	}
+	
+	public void put(final ProductDto product) {
+		final byte[] record = ProductRecord.encode(product);
+		this.lock.writeLock().lock();
+		try {
+			final long previous = this.index.put(product.getProductId(), this.append(this.segments, record));
+			this.liveBytes += record.length;
+			if (previous != IntLongHashIndex.MISSING)
+				this.release(previous);
+			this.compactIfWasteful();
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+	
+	public boolean remove(final int productId) {
+		this.lock.writeLock().lock();
+		try {
+			final long previous = this.index.remove(productId);
+			if (previous == IntLongHashIndex.MISSING)
+				return false;
+			this.release(previous);
+			this.compactIfWasteful();
+			return true;
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+	
+	/**
+	 * Replaces the whole content; the new segments are built before the lock is taken so
+	 * readers keep seeing the previous catalog until the swap.
+	 */
+	public void replaceAll(final Collection<ProductDto> products) {
+		final List<ByteBuffer> newSegments = new ArrayList<>();
+		final var newIndex = new IntLongHashIndex(products.size());
+		long newLiveBytes = 0;
+		for (final ProductDto product : products) {
+			final byte[] record = ProductRecord.encode(product);
+			newIndex.put(product.getProductId(), this.append(newSegments, record));
+			newLiveBytes += record.length;
+		}
+		
+		this.lock.writeLock().lock();
+		try {
+			this.segments = newSegments;
+			this.index = newIndex;
+			this.liveBytes = newLiveBytes;
+			this.garbageBytes = 0;
+			this.layout++;
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+	
+	/**
+	 * @return false if the product is not stored
+	 */
+	public boolean visit(final int productId, final RecordVisitor visitor) throws IOException {
+		this.lock.readLock().lock();
+		try {
+			final long address = this.index.get(productId);
+			if (address == IntLongHashIndex.MISSING)
+				return false;
+			final var record = new ProductRecord();
+			record.wrap(this.segments.get(segmentOf(address)), positionOf(address));
+			visitor.visit(record);
+			return true;
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * Visits every live record in insertion order, reusing a single flyweight. The read
+	 * lock is held throughout, so the visitor must not block; see {@link #visitChunk}.
+	 */
+	public void visitAll(final RecordVisitor visitor) throws IOException {
+		this.lock.readLock().lock();
+		try {
+			final var record = new ProductRecord();
+			for (int segment = 0; segment < this.segments.size(); segment++) {
+				final ByteBuffer buffer = this.segments.get(segment);
+				final int used = buffer.position();
+				for (int position = 0; position < used; position += buffer.getInt(position)) {
+					if (this.index.get(buffer.getInt(position + 4)) != addressOf(segment, position))
+						continue;
+					record.wrap(buffer, position);
+					visitor.visit(record);
+				}
+			}
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+	
+	public Cursor cursor() {
+		return new Cursor();
+	}
+	
+	/**
+	 * Visits up to {@code maxRecords} live records after the cursor and advances it; the
+	 * read lock is held for this chunk only, so a slow consumer between chunks never holds
+	 * up writers. Every product stored throughout the scan is visited exactly once, as it
+	 * was when its chunk was read; when the segments were rewritten since the last chunk,
+	 * the scan starts over on the new ones and skips products already visited.
+	 */
+	public void visitChunk(final Cursor cursor, final int maxRecords, final RecordVisitor visitor) throws IOException {
+		this.lock.readLock().lock();
+		try {
+			if (cursor.layout != this.layout) {
+				cursor.layout = this.layout;
+				cursor.segment = 0;
+				cursor.position = 0;
+			}
+			final var record = new ProductRecord();
+			int visited = 0;
+			for (; cursor.segment < this.segments.size(); cursor.segment++, cursor.position = 0) {
+				final ByteBuffer buffer = this.segments.get(cursor.segment);
+				final int used = buffer.position();
+				while (cursor.position < used) {
+					if (visited == maxRecords)
+						return;
+					final int position = cursor.position;
+					final int productId = buffer.getInt(position + 4);
+					cursor.position += buffer.getInt(position);
+					if (this.index.get(productId) != addressOf(cursor.segment, position) || cursor.visited.get(productId))
+						continue;
+					cursor.visited.set(productId);
+					record.wrap(buffer, position);
+					visitor.visit(record);
+					visited++;
+				}
+			}
+			cursor.done = true;
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+	
+	public Optional<ProductDto> findById(final int productId) {
+		final ProductDto[] found = new ProductDto[1];
+		try {
+			this.visit(productId, record -> found[0] = record.toDto());
+		}
+		catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		return Optional.ofNullable(found[0]);
+	}
+	
+	public int[] findIdsByCategoryIds(final Set<Integer> categoryIds) {
+		final List<Integer> ids = new ArrayList<>();
+		try {
+			this.visitAll(record -> {
+				if (record.hasCategory() && categoryIds.contains(record.getCategoryId()))
+					ids.add(record.getProductId());
+			});
+		}
+		catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		return ids.stream().mapToInt(Integer::intValue).toArray();
+	}
+	
+	public int size() {
+		this.lock.readLock().lock();
+		try {
+			return this.index.size();
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * @return bytes of direct memory held by the segments
+	 */
+	public long getAllocatedBytes() {
+		this.lock.readLock().lock();
+		try {
+			return (long) this.segments.size() * this.segmentSize;
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+	
+	public long getLiveBytes() {
+		this.lock.readLock().lock();
+		try {
+			return this.liveBytes;
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+	
+	private long append(final List<ByteBuffer> target, final byte[] record) {
+		return this.append(target, ByteBuffer.wrap(record));
+	}
+	
+	private long append(final List<ByteBuffer> target, final ByteBuffer record) {
+		ByteBuffer segment = target.isEmpty() ? null : target.get(target.size() - 1);
+		if (segment == null || segment.remaining() < record.remaining()) {
+			segment = ByteBuffer.allocateDirect(Math.max(this.segmentSize, record.remaining()));
+			target.add(segment);
+		}
+		final int position = segment.position();
+		segment.put(record);
+		return addressOf(target.size() - 1, position);
+	}
+	
+	private void release(final long address) {
+		final int length = this.segments.get(segmentOf(address)).getInt(positionOf(address));
+		this.liveBytes -= length;
+		this.garbageBytes += length;
+	}
+	
+	/**
+	 * Copies live records, in order, into new segments once garbage exceeds both the live
+	 * data and a full segment; the old direct buffers are freed when they become unreachable.
+	 */
+	private void compactIfWasteful() {
+		if (this.garbageBytes <= this.liveBytes || this.garbageBytes < this.segmentSize)
+			return;
+		
+		final List<ByteBuffer> compacted = new ArrayList<>();
+		for (int segment = 0; segment < this.segments.size(); segment++) {
+			final ByteBuffer source = this.segments.get(segment).duplicate();
+			final int used = source.position();
+			for (int position = 0; position < used; position += source.getInt(position)) {
+				final int productId = source.getInt(position + 4);
+				if (this.index.get(productId) != addressOf(segment, position))
+					continue;
+				source.limit(position + source.getInt(position)).position(position);
+				this.index.put(productId, this.append(compacted, source));
+				source.limit(source.capacity());
+			}
+		}
+		this.segments = compacted;
+		this.garbageBytes = 0;
+		this.layout++;
+	}
+	
+	private static long addressOf(final int segment, final int position) {
+		return ((long) segment << 32) | position;
+	}
+	
+	private static int segmentOf(final long address) {
+		return (int) (address >>> 32);
+	}
+	
+	private static int positionOf(final long address) {
+		return (int) address;
+	}
+	
+	
+	
+}
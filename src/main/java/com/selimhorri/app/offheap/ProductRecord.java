@@ -0,0 +1,219 @@
+package com.selimhorri.app.offheap;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+
+/**
+ * Flyweight over one product record in an {@link OffHeapProductStore} segment. The same
+ * instance is re-pointed at every record visited, so it must not be retained outside the
+ * visitor callback. Primitive getters and {@link #writeJson} read straight from the
+ * buffer without creating boxed values, strings or DTOs.
+ * <p>
+ * Record layout:
+ * <pre>
+ * 0  length(4)  4 productId(4)  8 flags(4)  12 quantity(4)  16 categoryId(4)  20 priceUnit(8)
+ * 28 byte length(2) of productTitle, imageUrl, sku, categoryTitle, categoryImageUrl (-1 for null)
+ * 38 UTF-8 bytes of those strings, in that order
+ * </pre>
+ */
+public final class ProductRecord {
+	
+	static final int HEADER_SIZE = 38;
+	static final int NULL_QUANTITY = 1;
+	static final int NULL_PRICE = 1 << 1;
+	static final int NULL_CATEGORY = 1 << 2;
+	
+	private static final int PRODUCT_TITLE = 0;
+	private static final int IMAGE_URL = 1;
+	private static final int SKU = 2;
+	private static final int CATEGORY_TITLE = 3;
+	private static final int CATEGORY_IMAGE_URL = 4;
+	
+	private static final SerializedString PRODUCT_ID_FIELD = new SerializedString("productId");
+	private static final SerializedString PRODUCT_TITLE_FIELD = new SerializedString("productTitle");
+	private static final SerializedString IMAGE_URL_FIELD = new SerializedString("imageUrl");
+	private static final SerializedString SKU_FIELD = new SerializedString("sku");
+	private static final SerializedString PRICE_UNIT_FIELD = new SerializedString("priceUnit");
+	private static final SerializedString QUANTITY_FIELD = new SerializedString("quantity");
+	private static final SerializedString CATEGORY_FIELD = new SerializedString("category");
+	private static final SerializedString CATEGORY_ID_FIELD = new SerializedString("categoryId");
+	private static final SerializedString CATEGORY_TITLE_FIELD = new SerializedString("categoryTitle");
+	
+	private ByteBuffer segment;
+	private ByteBuffer view;
+	private int offset;
+	private byte[] scratch = new byte[256];
+	
+	void wrap(final ByteBuffer segment, final int offset) {
+		if (segment != this.segment) {
+			this.segment = segment;
+			this.view = segment.duplicate();
+		}
+		this.offset = offset;
+	}
+	
+	public int getProductId() {
+		return this.segment.getInt(this.offset + 4);
+	}
+	
+	public boolean hasQuantity() {
+		return (this.flags() & NULL_QUANTITY) == 0;
+	}
+	
+	public int getQuantity() {
+		return this.segment.getInt(this.offset + 12);
+	}
+	
+	public boolean hasCategory() {
+		return (this.flags() & NULL_CATEGORY) == 0;
+	}
+	
+	public int getCategoryId() {
+		return this.segment.getInt(this.offset + 16);
+	}
+	
+	public boolean hasPriceUnit() {
+		return (this.flags() & NULL_PRICE) == 0;
+	}
+	
+	public double getPriceUnit() {
+		return this.segment.getDouble(this.offset + 20);
+	}
+	
+	/**
+	 * Writes the record in the same JSON shape Jackson produces for {@link ProductDto}.
+	 */
+	public void writeJson(final JsonGenerator generator) throws IOException {
+		generator.writeStartObject();
+		generator.writeFieldName(PRODUCT_ID_FIELD);
+		generator.writeNumber(this.getProductId());
+		this.writeString(generator, PRODUCT_TITLE_FIELD, PRODUCT_TITLE);
+		this.writeString(generator, IMAGE_URL_FIELD, IMAGE_URL);
+		this.writeString(generator, SKU_FIELD, SKU);
+		generator.writeFieldName(PRICE_UNIT_FIELD);
+		if (this.hasPriceUnit())
+			generator.writeNumber(this.getPriceUnit());
+		else
+			generator.writeNull();
+		generator.writeFieldName(QUANTITY_FIELD);
+		if (this.hasQuantity())
+			generator.writeNumber(this.getQuantity());
+		else
+			generator.writeNull();
+		if (this.hasCategory()) {
+			generator.writeFieldName(CATEGORY_FIELD);
+			generator.writeStartObject();
+			generator.writeFieldName(CATEGORY_ID_FIELD);
+			generator.writeNumber(this.getCategoryId());
+			this.writeString(generator, CATEGORY_TITLE_FIELD, CATEGORY_TITLE);
+			this.writeString(generator, IMAGE_URL_FIELD, CATEGORY_IMAGE_URL);
+			generator.writeEndObject();
+		}
+		generator.writeEndObject();
+	}
+	
+	public ProductDto toDto() {
+		return ProductDto.builder()
+				.productId(this.getProductId())
+				.productTitle(this.readString(PRODUCT_TITLE))
+				.imageUrl(this.readString(IMAGE_URL))
+				.sku(this.readString(SKU))
+				.priceUnit(this.hasPriceUnit() ? this.getPriceUnit() : null)
+				.quantity(this.hasQuantity() ? this.getQuantity() : null)
+				.categoryDto(!this.hasCategory() ? null : CategoryDto.builder()
+						.categoryId(this.getCategoryId())
+						.categoryTitle(this.readString(CATEGORY_TITLE))
+						.imageUrl(this.readString(CATEGORY_IMAGE_URL))
+						.build())
+				.build();
+	}
+	
+	/**
+	 * Serializes a product into the record layout above.
+	 */
+	static byte[] encode(final ProductDto product) {
+		final CategoryDto category = product.getCategoryDto();
+		final byte[][] strings = {
+				utf8(product.getProductTitle()),
+				utf8(product.getImageUrl()),
+				utf8(product.getSku()),
+				category == null ? null : utf8(category.getCategoryTitle()),
+				category == null ? null : utf8(category.getImageUrl()) };
+		
+		int length = HEADER_SIZE;
+		for (final byte[] string : strings) {
+			if (string != null && string.length > Short.MAX_VALUE)
+				throw new IllegalArgumentException("Field too long for product " + product.getProductId());
+			length += string == null ? 0 : string.length;
+		}
+		
+		final ByteBuffer record = ByteBuffer.allocate(length);
+		record.putInt(length)
+				.putInt(product.getProductId())
+				.putInt((product.getQuantity() == null ? NULL_QUANTITY : 0)
+						| (product.getPriceUnit() == null ? NULL_PRICE : 0)
+						| (category == null ? NULL_CATEGORY : 0))
+				.putInt(product.getQuantity() == null ? 0 : product.getQuantity())
+				.putInt(category == null || category.getCategoryId() == null ? 0 : category.getCategoryId())
+				.putDouble(product.getPriceUnit() == null ? 0d : product.getPriceUnit());
+		for (final byte[] string : strings)
+			record.putShort((short) (string == null ? -1 : string.length));
+		for (final byte[] string : strings)
+			if (string != null)
+				record.put(string);
+		return record.array();
+	}
+	
+	private int flags() {
+		return this.segment.getInt(this.offset + 8);
+	}
+	
+	private void writeString(final JsonGenerator generator, final SerializedString field, final int index)
+			throws IOException {
+		generator.writeFieldName(field);
+		final int length = this.stringLength(index);
+		if (length < 0) {
+			generator.writeNull();
+			return;
+		}
+		if (length > this.scratch.length)
+			this.scratch = new byte[Integer.highestOneBit(length) << 1];
+		this.view.position(this.stringOffset(index));
+		this.view.get(this.scratch, 0, length);
+		generator.writeUTF8String(this.scratch, 0, length);
+	}
+	
+	private String readString(final int index) {
+		final int length = this.stringLength(index);
+		if (length < 0)
+			return null;
+		final byte[] bytes = new byte[length];
+		this.view.position(this.stringOffset(index));
+		this.view.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+	
+	private int stringLength(final int index) {
+		return this.segment.getShort(this.offset + 28 + 2 * index);
+	}
+	
+	private int stringOffset(final int index) {
+		int position = this.offset + HEADER_SIZE;
+		for (int i = 0; i < index; i++)
+			position += Math.max(0, this.stringLength(i));
+		return position;
+	}
+	
+	private static byte[] utf8(final String value) {
+		return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+	}
+	
+	
+	
+}
@@ -0,0 +1,100 @@
+package com.selimhorri.app.pricing;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Hashed timing wheel of deadlines with tick granularity: a deadline lands in bucket
+ * {@code tick % wheelSize} of its tick, so scheduling and expiring cost O(1) however far
+ * ahead they are, and a deadline more than one revolution away simply waits for later
+ * passes. Deadlines are deduplicated per tick: thousands of changes due at the same
+ * instant are one entry and expire together. Not thread-safe.
+ */
+final class HashedTimingWheel {
+	
+	private final long tickMillis;
+	private final int mask;
+	private final LongList[] buckets;
+	private final Set<Long> scheduledTicks = new HashSet<>();
+	
+	/** Last tick already expired */
+	private long currentTick;
+	
+	HashedTimingWheel(final long tickMillis, final int wheelSize, final long nowMillis) {
+		if (tickMillis <= 0)
+			throw new IllegalArgumentException("tickMillis must be positive");
+		if (wheelSize <= 0 || Integer.bitCount(wheelSize) != 1)
+			throw new IllegalArgumentException("wheelSize must be a power of two");
+		this.tickMillis = tickMillis;
+		this.mask = wheelSize - 1;
+		this.buckets = new LongList[wheelSize];
+		for (int i = 0; i < wheelSize; i++)
+			this.buckets[i] = new LongList();
+		this.currentTick = nowMillis / tickMillis;
+	}
+	
+	/**
+	 * @return {@code false} if that tick was already scheduled. A deadline in the past
+	 * expires with the next tick.
+	 */
+	boolean schedule(final long deadlineMillis) {
+		final long tick = Math.max(Math.floorDiv(deadlineMillis + this.tickMillis - 1, this.tickMillis), this.currentTick + 1);
+		if (!this.scheduledTicks.add(tick))
+			return false;
+		this.buckets[(int) (tick & this.mask)].add(tick);
+		return true;
+	}
+	
+	/**
+	 * Expires every tick up to {@code nowMillis}.
+	 * @return whether any scheduled deadline expired
+	 */
+	boolean advance(final long nowMillis) {
+		final long nowTick = nowMillis / this.tickMillis;
+		boolean expired = false;
+		// after a long pause one full revolution visits every bucket
+		final long from = Math.max(this.currentTick + 1, nowTick - this.mask);
+		for (long tick = from; tick <= nowTick; tick++) {
+			final LongList bucket = this.buckets[(int) (tick & this.mask)];
+			for (int i = bucket.size - 1; i >= 0; i--) {
+				final long scheduled = bucket.values[i];
+				if (scheduled <= nowTick) {
+					bucket.removeAt(i);
+					this.scheduledTicks.remove(scheduled);
+					expired = true;
+				}
+			}
+		}
+		this.currentTick = Math.max(this.currentTick, nowTick);
+		return expired;
+	}
+	
+	int size() {
+		return this.scheduledTicks.size();
+	}
+	
+	long getTickMillis() {
+		return this.tickMillis;
+	}
+	
+	private static final class LongList {
+		
+		private long[] values = new long[4];
+		private int size;
+		
+		void add(final long value) {
+			if (this.size == this.values.length)
+				this.values = Arrays.copyOf(this.values, this.size * 2);
+			this.values[this.size++] = value;
+		}
+		
+		void removeAt(final int index) {
+			this.values[index] = this.values[--this.size];
+		}
+	
+	}
+	
+	
+	
+}
@@ -0,0 +1,320 @@
+package com.selimhorri.app.pricing;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+
+import org.hibernate.query.NativeQuery;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.selimhorri.app.aggregate.CategoryAggregateMaintainer;
+import com.selimhorri.app.domain.PriceChangeBatch;
+import com.selimhorri.app.domain.PriceChangeEntry;
+import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.domain.ScheduledPriceChange;
+import com.selimhorri.app.event.CatalogChangedEvent;
+import com.selimhorri.app.event.CatalogChangedEvent.EntityType;
+import com.selimhorri.app.repository.PriceChangeBatchRepository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Set-based SQL behind bulk and scheduled price changes. Every bulk chunk runs in its own transaction:
+ * it locks its products, logs old and new prices with one {@code INSERT ... SELECT} and
+ * copies the logged prices back with one {@code UPDATE}, so the log and the catalog can
+ * never disagree. Native statements name the entities they touch, so Hibernate only
+ * invalidates those cache regions.
+ */
+@Component
+@RequiredArgsConstructor
+public class PriceAdjustmentWriter {
+	
+	/**
+	 * Above this many products one change event invalidates the whole catalog instead of
+	 * shipping every id to the caches, read models and peers.
+	 */
+	static final int MAX_EVENT_IDS = 1000;
+	
+	private final PriceChangeBatchRepository priceChangeBatchRepository;
+	private final CategoryAggregateMaintainer categoryAggregateMaintainer;
+	private final ApplicationEventPublisher eventPublisher;
+	
+	@PersistenceContext
+	private EntityManager entityManager;
+	
+	@Transactional(readOnly = true)
+	public Preview preview(final PriceRule rule) {
+		final String newPrice = newPrice(rule);
+		final Query query = this.entityManager.createNativeQuery("SELECT COUNT(*), "
+				+ "MIN(" + newPrice + " - p.price_unit), MAX(" + newPrice + " - p.price_unit), "
+				+ "MIN(" + newPrice + "), MAX(" + newPrice + ") "
+				+ "FROM products p WHERE " + scope(rule));
+		bind(query, rule);
+		final Object[] row = (Object[]) query.getSingleResult();
+		return new Preview(((Number) row[0]).longValue(), decimal(row[1]), decimal(row[2]), decimal(row[3]), decimal(row[4]));
+	}
+	
+	@Transactional(propagation = Propagation.REQUIRES_NEW)
+	public Integer startBatch(final String description) {
+		return this.priceChangeBatchRepository.save(PriceChangeBatch.builder()
+				.description(description)
+				.startedAt(Instant.now())
+				.build()).getBatchId();
+	}
+	
+	/**
+	 * Reprices the next {@code chunkSize} products in scope with an id above {@code afterId}.
+	 */
+	@Transactional(propagation = Propagation.REQUIRES_NEW)
+	public Chunk applyChunk(final Integer batchId, final PriceRule rule, final int afterId, final int chunkSize) {
+		final Query next = this.entityManager.createNativeQuery("SELECT p.product_id FROM products p WHERE "
+				+ scope(rule) + " AND p.product_id > :afterId ORDER BY p.product_id")
+				.setParameter("afterId", afterId)
+				.setMaxResults(chunkSize);
+		bind(next, rule);
+		final List<?> candidates = next.getResultList();
+		if (candidates.isEmpty())
+			return new Chunk(null, 0);
+		final int lastId = ((Number) candidates.get(candidates.size() - 1)).intValue();
+		
+		// scope checked again under the lock, a product may have changed since it was listed
+		final Query lock = this.entityManager.createNativeQuery("SELECT p.product_id, p.category_id FROM products p "
+				+ "WHERE p.product_id IN (:ids) AND " + scope(rule) + " ORDER BY p.product_id FOR UPDATE")
+				.setParameter("ids", candidates);
+		bind(lock, rule);
+		final List<Integer> productIds = new ArrayList<>();
+		final Set<Integer> categoryIds = new HashSet<>();
+		for (final Object result : lock.getResultList()) {
+			final Object[] row = (Object[]) result;
+			productIds.add(((Number) row[0]).intValue());
+			categoryIds.add(((Number) row[1]).intValue());
+		}
+		if (productIds.isEmpty())
+			return new Chunk(lastId, 0);
+		
+		final Query log = this.entityManager.createNativeQuery("INSERT INTO price_change_entries "
+				+ "(batch_id, product_id, old_price, new_price) "
+				+ "SELECT b.batch_id, p.product_id, p.price_unit, " + newPrice(rule) + " "
+				+ "FROM products p JOIN price_change_batches b ON b.batch_id = :batchId "
+				+ "WHERE p.product_id IN (:ids)")
+				.setParameter("batchId", batchId)
+				.setParameter("ids", productIds);
+		bindAdjustment(log, rule);
+		synchronize(log, PriceChangeEntry.class).executeUpdate();
+		
+		final Query update = this.entityManager.createNativeQuery("UPDATE products p SET "
+				+ "price_unit = (SELECT e.new_price FROM price_change_entries e "
+				+ "WHERE e.batch_id = :batchId AND e.product_id = p.product_id), "
+				+ "updated_at = CURRENT_TIMESTAMP "
+				+ "WHERE p.product_id IN (:ids)")
+				.setParameter("batchId", batchId)
+				.setParameter("ids", productIds);
+		synchronize(update, Product.class).executeUpdate();
+		
+		this.categoryAggregateMaintainer.recompute(categoryIds);
+		this.eventPublisher.publishEvent(CatalogChangedEvent.ofProducts(productIds));
+		return new Chunk(lastId, productIds.size());
+	}
+	
+	/**
+	 * Stamps the batch with the totals of its logged entries.
+	 */
+	@Transactional(propagation = Propagation.REQUIRES_NEW)
+	public PriceChangeBatch completeBatch(final Integer batchId) {
+		final PriceChangeBatch batch = this.priceChangeBatchRepository.findById(batchId).orElseThrow();
+		this.summarize(batch);
+		batch.setCompletedAt(Instant.now());
+		return batch;
+	}
+	
+	/**
+	 * Applies every unclaimed scheduled change due by {@code until} in this one transaction,
+	 * so the prices switch over together, and invalidates the catalog once for all of them.
+	 * When a product has several changes due, the latest one wins. Products soft deleted since
+	 * their change was scheduled keep their price and the change is marked skipped.
+	 * @return the recorded batch, {@code null} if nothing was due
+	 */
+	@Transactional(propagation = Propagation.REQUIRES_NEW)
+	public PriceChangeBatch activateScheduled(final Instant until) {
+		final PriceChangeBatch batch = this.priceChangeBatchRepository.save(PriceChangeBatch.builder()
+				.description("scheduled changes due by " + until)
+				.startedAt(Instant.now())
+				.build());
+		final Integer batchId = batch.getBatchId();
+		
+		// claiming blocks other instances on the same rows until this commits
+		final int claimed = synchronize(this.entityManager.createNativeQuery("UPDATE scheduled_price_changes "
+				+ "SET batch_id = :batchId "
+				+ "WHERE status = 'PENDING' AND batch_id IS NULL AND activate_at <= :until")
+				.setParameter("batchId", batchId)
+				.setParameter("until", until), ScheduledPriceChange.class)
+				.executeUpdate();
+		if (claimed == 0) {
+			this.priceChangeBatchRepository.delete(batch);
+			return null;
+		}
+		
+		synchronize(this.entityManager.createNativeQuery("INSERT INTO price_change_entries "
+				+ "(batch_id, product_id, old_price, new_price) "
+				+ "SELECT s.batch_id, p.product_id, p.price_unit, s.new_price "
+				+ "FROM scheduled_price_changes s JOIN products p ON p.product_id = s.product_id "
+				+ "JOIN categories c ON c.category_id = p.category_id "
+				+ "WHERE s.batch_id = :batchId AND c.category_title <> 'Deleted' AND NOT EXISTS (SELECT 1 FROM scheduled_price_changes o "
+				+ "WHERE o.batch_id = s.batch_id AND o.product_id = s.product_id AND (o.activate_at > s.activate_at "
+				+ "OR (o.activate_at = s.activate_at AND o.schedule_id > s.schedule_id)))")
+				.setParameter("batchId", batchId), PriceChangeEntry.class)
+				.executeUpdate();
+		synchronize(this.entityManager.createNativeQuery("UPDATE products p SET "
+				+ "price_unit = (SELECT e.new_price FROM price_change_entries e "
+				+ "WHERE e.batch_id = :batchId AND e.product_id = p.product_id), "
+				+ "updated_at = CURRENT_TIMESTAMP "
+				+ "WHERE p.product_id IN (SELECT e.product_id FROM price_change_entries e WHERE e.batch_id = :batchId)")
+				.setParameter("batchId", batchId), Product.class)
+				.executeUpdate();
+		synchronize(this.entityManager.createNativeQuery("UPDATE scheduled_price_changes s SET "
+				+ "status = CASE WHEN EXISTS (SELECT 1 FROM price_change_entries e WHERE e.batch_id = s.batch_id "
+				+ "AND e.product_id = s.product_id AND e.new_price = s.new_price) THEN 'APPLIED' ELSE 'SKIPPED' END, "
+				+ "applied_at = CURRENT_TIMESTAMP "
+				+ "WHERE s.batch_id = :batchId")
+				.setParameter("batchId", batchId), ScheduledPriceChange.class)
+				.executeUpdate();
+		
+		this.summarize(batch);
+		batch.setDescription(String.format("%d scheduled changes due by %s", claimed, until));
+		batch.setCompletedAt(Instant.now());
+		
+		final List<?> categoryIds = this.entityManager.createNativeQuery("SELECT DISTINCT p.category_id "
+				+ "FROM products p JOIN price_change_entries e ON e.product_id = p.product_id "
+				+ "WHERE e.batch_id = :batchId AND p.category_id IS NOT NULL")
+				.setParameter("batchId", batchId)
+				.getResultList();
+		this.categoryAggregateMaintainer.recompute(categoryIds.stream()
+				.map(id -> ((Number) id).intValue())
+				.collect(Collectors.toSet()));
+		
+		if (batch.getProductCount() > MAX_EVENT_IDS)
+			this.eventPublisher.publishEvent(CatalogChangedEvent.allOf(EntityType.PRODUCT));
+		else if (batch.getProductCount() > 0)
+			this.eventPublisher.publishEvent(CatalogChangedEvent.ofProducts(this.entityManager.createQuery(
+					"SELECT e.productId FROM PriceChangeEntry e WHERE e.batchId = :batchId", Integer.class)
+					.setParameter("batchId", batchId)
+					.getResultList()));
+		return batch;
+	}
+	
+	private void summarize(final PriceChangeBatch batch) {
+		final Object[] totals = (Object[]) this.entityManager.createQuery("SELECT COUNT(e), "
+				+ "MIN(e.newPrice - e.oldPrice), MAX(e.newPrice - e.oldPrice) "
+				+ "FROM PriceChangeEntry e WHERE e.batchId = :batchId")
+				.setParameter("batchId", batch.getBatchId())
+				.getSingleResult();
+		batch.setProductCount(((Number) totals[0]).intValue());
+		batch.setMinDelta(decimal(totals[1]));
+		batch.setMaxDelta(decimal(totals[2]));
+	}
+	
+	/**
+	 * Matches the products whose price the rule would change.
+	 */
+	private static String scope(final PriceRule rule) {
+		final var where = new StringBuilder("p.price_unit IS NOT NULL");
+		if (rule.getExcludedCategoryId() != null)
+			where.append(" AND p.category_id <> :excludedCategoryId");
+		if (rule.getCategoryIds() != null)
+			where.append(" AND p.category_id IN (:categoryIds)");
+		if (rule.getSkus() != null)
+			where.append(" AND p.sku IN (:skus)");
+		if (rule.getMinPrice() != null)
+			where.append(" AND p.price_unit >= :minPrice");
+		if (rule.getMaxPrice() != null)
+			where.append(" AND p.price_unit <= :maxPrice");
+		return where.append(" AND ").append(newPrice(rule)).append(" <> p.price_unit").toString();
+	}
+	
+	private static String newPrice(final PriceRule rule) {
+		final String function;
+		switch (rule.getRounding()) {
+			case UP:
+				function = "CEILING";
+				break;
+			case DOWN:
+				function = "FLOOR";
+				break;
+			default:
+				function = "ROUND";
+		}
+		return "CAST(" + function + "((p.price_unit * CAST(:factor AS DECIMAL(12,6)) + CAST(:offset AS DECIMAL(9,2))) "
+				+ "/ CAST(:roundTo AS DECIMAL(9,2))) * CAST(:roundTo AS DECIMAL(9,2)) AS DECIMAL(9,2))";
+	}
+	
+	private static void bind(final Query query, final PriceRule rule) {
+		if (rule.getExcludedCategoryId() != null)
+			query.setParameter("excludedCategoryId", rule.getExcludedCategoryId());
+		if (rule.getCategoryIds() != null)
+			query.setParameter("categoryIds", rule.getCategoryIds());
+		if (rule.getSkus() != null)
+			query.setParameter("skus", rule.getSkus());
+		if (rule.getMinPrice() != null)
+			query.setParameter("minPrice", rule.getMinPrice());
+		if (rule.getMaxPrice() != null)
+			query.setParameter("maxPrice", rule.getMaxPrice());
+		bindAdjustment(query, rule);
+	}
+	
+	private static void bindAdjustment(final Query query, final PriceRule rule) {
+		query.setParameter("factor", rule.getFactor());
+		query.setParameter("offset", rule.getOffset());
+		query.setParameter("roundTo", rule.getRoundTo());
+	}
+	
+	private static Query synchronize(final Query query, final Class<?> entityClass) {
+		query.unwrap(NativeQuery.class).addSynchronizedEntityClass(entityClass);
+		return query;
+	}
+	
+	private static BigDecimal decimal(final Object value) {
+		if (value == null)
+			return null;
+		final BigDecimal decimal = value instanceof BigDecimal ? (BigDecimal) value : new BigDecimal(value.toString());
+		return decimal.setScale(2, RoundingMode.HALF_UP);
+	}
+	
+	@Getter
+	@AllArgsConstructor
+	public static final class Preview {
+		
+		private final long affectedCount;
+		private final BigDecimal minDelta;
+		private final BigDecimal maxDelta;
+		private final BigDecimal minNewPrice;
+		private final BigDecimal maxNewPrice;
+	
+	}
+	
+	@Getter
+	@AllArgsConstructor
+	public static final class Chunk {
+		
+		/** Highest product id scanned, {@code null} once the scope is exhausted */
+		private final Integer lastId;
+		private final int applied;
+	
+	}
+	
+	
+	
+}
@@ -0,0 +1,44 @@
+package com.selimhorri.app.pricing;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+import com.selimhorri.app.dto.PriceRuleDto.Rounding;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * A validated price rule with its category subtree resolved, ready to be turned into SQL.
+ * The new price is {@code round((price * factor + offset) / roundTo) * roundTo}.
+ */
+@Getter
+@Builder
+public final class PriceRule {
+	
+	/**
+	 * Largest value {@code products.price_unit}, a {@code DECIMAL(7,2)}, can hold.
+	 */
+	public static final BigDecimal MAX_PRICE = new BigDecimal("99999.99");
+	
+	/** {@code null} for every category */
+	private final Set<Integer> categoryIds;
+	
+	/** {@code null} for every SKU */
+	private final Set<String> skus;
+	
+	private final BigDecimal minPrice;
+	private final BigDecimal maxPrice;
+	
+	/** The Deleted category, whose products keep their price */
+	private final Integer excludedCategoryId;
+	
+	private final BigDecimal factor;
+	private final BigDecimal offset;
+	private final BigDecimal roundTo;
+	private final Rounding rounding;
+	
+	/** Compact human-readable form, kept in the change log */
+	private final String description;
+	
+}
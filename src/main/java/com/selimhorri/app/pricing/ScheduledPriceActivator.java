@@ -0,0 +1,125 @@
+package com.selimhorri.app.pricing;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.domain.PriceChangeBatch;
+import com.selimhorri.app.repository.ScheduledPriceChangeRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Switches scheduled prices over on time. Activation instants due within the horizon sit
+ * in a {@link HashedTimingWheel} driven by one dedicated thread; when a tick expires any
+ * of them, every change due by then is applied by
+ * {@link PriceAdjustmentWriter#activateScheduled} as one batch, however many there are.
+ * The database stays the source of truth: the periodic {@link #load} re-reads pending
+ * instants, so changes scheduled on other instances, missed ticks and failed batches are
+ * picked up again.
+ */
+@Component
+@Slf4j
+public class ScheduledPriceActivator {
+	
+	private final PriceAdjustmentWriter priceAdjustmentWriter;
+	private final ScheduledPriceChangeRepository scheduledPriceChangeRepository;
+	private final HashedTimingWheel wheel;
+	private final Duration horizon;
+	private final ScheduledExecutorService ticker;
+	private final Counter activated;
+	
+	public ScheduledPriceActivator(final PriceAdjustmentWriter priceAdjustmentWriter,
+			final ScheduledPriceChangeRepository scheduledPriceChangeRepository,
+			final MeterRegistry meterRegistry,
+			@Value("${app.pricing.schedule.tick-millis:100}") final long tickMillis,
+			@Value("${app.pricing.schedule.wheel-size:512}") final int wheelSize,
+			@Value("${app.pricing.schedule.horizon-millis:300000}") final long horizonMillis) {
+		this.priceAdjustmentWriter = priceAdjustmentWriter;
+		this.scheduledPriceChangeRepository = scheduledPriceChangeRepository;
+		this.wheel = new HashedTimingWheel(tickMillis, wheelSize, System.currentTimeMillis());
+		this.horizon = Duration.ofMillis(horizonMillis);
+		this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			final var thread = new Thread(runnable, "price-wheel");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.activated = Counter.builder("pricing.scheduled.activated")
+				.description("Products repriced by scheduled activation batches")
+				.register(meterRegistry);
+		Gauge.builder("pricing.scheduled.pending.ticks", this, activator -> activator.size())
+				.description("Activation ticks waiting in the timing wheel")
+				.register(meterRegistry);
+	}
+	
+	@PostConstruct
+	void start() {
+		final long tickMillis = this.wheel.getTickMillis();
+		this.ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+	}
+	
+	@PreDestroy
+	void stop() {
+		this.ticker.shutdownNow();
+	}
+	
+	/**
+	 * Puts activation instants on the wheel; those beyond the horizon are left to a later
+	 * {@link #load}.
+	 */
+	public void register(final Collection<Instant> activationTimes) {
+		final Instant until = Instant.now().plus(this.horizon);
+		synchronized (this.wheel) {
+			activationTimes.stream()
+					.filter(activateAt -> activateAt.isBefore(until))
+					.forEach(activateAt -> this.wheel.schedule(activateAt.toEpochMilli()));
+		}
+	}
+	
+	@Scheduled(fixedDelayString = "${app.pricing.schedule.load-interval:10000}")
+	public void load() {
+		this.register(this.scheduledPriceChangeRepository.findPendingActivationTimesBefore(Instant.now().plus(this.horizon)));
+	}
+	
+	private void tick() {
+		final boolean due;
+		synchronized (this.wheel) {
+			due = this.wheel.advance(System.currentTimeMillis());
+		}
+		if (!due)
+			return;
+		try {
+			final PriceChangeBatch batch = this.priceAdjustmentWriter.activateScheduled(Instant.now());
+			if (batch != null) {
+				log.info("*** Price batch {} activated: {} *", batch.getBatchId(), batch.getDescription());
+				this.activated.increment(batch.getProductCount());
+			}
+		}
+		catch (RuntimeException e) {
+			// the changes stay pending and come back with the next load
+			log.error("*** Scheduled price activation failed *", e);
+		}
+	}
+	
+	private int size() {
+		synchronized (this.wheel) {
+			return this.wheel.size();
+		}
+	}
+	
+	
+	
+}
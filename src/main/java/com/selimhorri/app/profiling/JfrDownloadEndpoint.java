@@ -0,0 +1,31 @@
+package com.selimhorri.app.profiling;
+
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@code GET /actuator/jfrdownload/{name}} streams a finished recording, to be opened in
+ * JDK Mission Control or read with {@code jfr print}.
+ */
+@WebEndpoint(id = "jfrdownload")
+@RequiredArgsConstructor
+public class JfrDownloadEndpoint {
+	
+	private final JfrRecorder jfrRecorder;
+	
+	@ReadOperation
+	public WebEndpointResponse<Resource> download(@Selector final String name) {
+		return this.jfrRecorder.recordingFile(name)
+				.map(path -> new WebEndpointResponse<Resource>(new FileSystemResource(path)))
+				.orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+	}
+	
+	
+	
+}
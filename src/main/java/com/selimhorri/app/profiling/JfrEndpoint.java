@@ -0,0 +1,65 @@
+package com.selimhorri.app.profiling;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@code POST /actuator/jfr} with {@code {"profile": "cpu|allocation|locks", "seconds": 60}}
+ * starts a recording, {@code GET /actuator/jfr} lists them and {@code GET /actuator/jfr/{name}}
+ * returns the text summary of a finished one. The file itself is served by
+ * {@link JfrDownloadEndpoint}.
+ */
+@Endpoint(id = "jfr")
+@Slf4j
+public class JfrEndpoint {
+	
+	private final JfrRecorder jfrRecorder;
+	private final Duration defaultDuration;
+	
+	public JfrEndpoint(final JfrRecorder jfrRecorder, final Duration defaultDuration) {
+		this.jfrRecorder = jfrRecorder;
+		this.defaultDuration = defaultDuration;
+	}
+	
+	@ReadOperation
+	public List<RecordingInfo> recordings() {
+		return this.jfrRecorder.recordings();
+	}
+	
+	@WriteOperation
+	public RecordingInfo start(final String profile, @Nullable final Integer seconds) {
+		log.info("*** RecordingInfo, endpoint; start jfr recording *");
+		final JfrProfile jfrProfile;
+		try {
+			jfrProfile = JfrProfile.of(profile);
+		}
+		catch (IllegalArgumentException e) {
+			throw new InvalidEndpointRequestException(String.format("Unknown profile: %s, expected cpu, allocation or locks", profile),
+					"Unknown profile");
+		}
+		try {
+			return this.jfrRecorder.start(jfrProfile, seconds == null ? this.defaultDuration : Duration.ofSeconds(seconds));
+		}
+		catch (IllegalArgumentException | IllegalStateException e) {
+			throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+		}
+	}
+	
+	@ReadOperation(produces = "text/plain")
+	public String summary(@Selector final String name) {
+		// null answers 404
+		return this.jfrRecorder.summary(name).orElse(null);
+	}
+	
+	
+	
+}
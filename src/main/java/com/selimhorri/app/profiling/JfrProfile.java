@@ -0,0 +1,123 @@
+package com.selimhorri.app.profiling;
+
+import java.time.Duration;
+import java.util.Locale;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+
+/**
+ * What a recording captures. Each profile enables only the events its summary reads, so a
+ * recording costs no more than what is being looked at.
+ */
+public enum JfrProfile {
+	
+	CPU("samples") {
+		
+		@Override
+		void configure(final Recording recording) {
+			recording.enable("jdk.ExecutionSample").withPeriod(Duration.ofMillis(10)).withStackTrace();
+		}
+		
+		@Override
+		long weight(final RecordedEvent event) {
+			return "jdk.ExecutionSample".equals(event.getEventType().getName()) ? 1L : 0L;
+		}
+		
+		@Override
+		String format(final long weight) {
+			return String.valueOf(weight);
+		}
+	
+	},
+	
+	/**
+	 * Weighted by TLAB size, or object size outside a TLAB: a sample of where memory goes,
+	 * not an exact count of bytes per method.
+	 */
+	ALLOCATION("allocated") {
+		
+		@Override
+		void configure(final Recording recording) {
+			recording.enable("jdk.ObjectAllocationInNewTLAB").withStackTrace();
+			recording.enable("jdk.ObjectAllocationOutsideTLAB").withStackTrace();
+		}
+		
+		@Override
+		long weight(final RecordedEvent event) {
+			switch (event.getEventType().getName()) {
+				case "jdk.ObjectAllocationInNewTLAB":
+					return event.getLong("tlabSize");
+				case "jdk.ObjectAllocationOutsideTLAB":
+					return event.getLong("allocationSize");
+				default:
+					return 0L;
+			}
+		}
+		
+		@Override
+		String format(final long weight) {
+			return weight >= 1L << 20 ? String.format(Locale.ROOT, "%.1f MB", weight / (double) (1L << 20))
+					: String.format(Locale.ROOT, "%.1f KB", weight / 1024.0);
+		}
+	
+	},
+	
+	/**
+	 * Monitor enters, waits and parks longer than {@link #LOCK_THRESHOLD}, weighted by how
+	 * long the thread was blocked.
+	 */
+	LOCKS("ms blocked") {
+		
+		@Override
+		void configure(final Recording recording) {
+			recording.enable("jdk.JavaMonitorEnter").withThreshold(LOCK_THRESHOLD).withStackTrace();
+			recording.enable("jdk.JavaMonitorWait").withThreshold(LOCK_THRESHOLD).withStackTrace();
+			recording.enable("jdk.ThreadPark").withThreshold(LOCK_THRESHOLD).withStackTrace();
+		}
+		
+		@Override
+		long weight(final RecordedEvent event) {
+			switch (event.getEventType().getName()) {
+				case "jdk.JavaMonitorEnter":
+				case "jdk.JavaMonitorWait":
+				case "jdk.ThreadPark":
+					return event.getDuration().toNanos();
+				default:
+					return 0L;
+			}
+		}
+		
+		@Override
+		String format(final long weight) {
+			return String.format(Locale.ROOT, "%.1f", weight / 1_000_000.0);
+		}
+	
+	};
+	
+	static final Duration LOCK_THRESHOLD = Duration.ofMillis(1);
+	
+	private final String unit;
+	
+	JfrProfile(final String unit) {
+		this.unit = unit;
+	}
+	
+	public String getUnit() {
+		return this.unit;
+	}
+	
+	public static JfrProfile of(final String name) {
+		return JfrProfile.valueOf(name.trim().toUpperCase(Locale.ROOT));
+	}
+	
+	abstract void configure(final Recording recording);
+	
+	/**
+	 * @return the weight of the event in this profile's unit, 0 for events it does not read
+	 */
+	abstract long weight(final RecordedEvent event);
+	
+	abstract String format(final long weight);
+	
+}
@@ -0,0 +1,278 @@
+package com.selimhorri.app.profiling;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.PreDestroy;
+
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs one time-bounded Flight Recorder recording at a time. When it ends the recording is
+ * written to the directory together with a text summary from {@link JfrSummarizer}, and the
+ * oldest recordings are deleted until at most {@code maxRecordings} files and
+ * {@code maxTotalBytes} remain.
+ */
+@Slf4j
+public class JfrRecorder {
+	
+	static final String RECORDING_SUFFIX = ".jfr";
+	static final String SUMMARY_SUFFIX = ".txt";
+	
+	/**
+	 * Recording names are generated; anything else asked for is not ours to serve.
+	 */
+	private static final Pattern NAME = Pattern.compile("jfr-\\d{8}-\\d{6}-(cpu|allocation|locks)");
+	private static final DateTimeFormatter STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+	
+	private final Path directory;
+	private final int maxRecordings;
+	private final long maxTotalBytes;
+	private final Duration maxDuration;
+	private final int summaryTop;
+	private final ScheduledExecutorService scheduler;
+	private Active active;
+	
+	public JfrRecorder(final Path directory, final int maxRecordings, final long maxTotalBytes,
+			final Duration maxDuration, final int summaryTop) {
+		this.directory = directory;
+		this.maxRecordings = maxRecordings;
+		this.maxTotalBytes = maxTotalBytes;
+		this.maxDuration = maxDuration;
+		this.summaryTop = summaryTop;
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			final var thread = new Thread(runnable, "jfr-recorder");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+	
+	/**
+	 * @throws IllegalArgumentException when the duration is not between one second and the maximum
+	 * @throws IllegalStateException when a recording is already running
+	 */
+	public synchronized RecordingInfo start(final JfrProfile profile, final Duration duration) {
+		if (duration.compareTo(Duration.ofSeconds(1)) < 0 || duration.compareTo(this.maxDuration) > 0)
+			throw new IllegalArgumentException(String.format("Duration must be between 1 and %d seconds",
+					this.maxDuration.toSeconds()));
+		if (this.active != null)
+			throw new IllegalStateException(String.format("Recording %s is still running", this.active.name));
+		
+		final Instant startedAt = Instant.now();
+		final String name = "jfr-" + STAMP.format(startedAt) + "-" + profile.name().toLowerCase(Locale.ROOT);
+		final var recording = new Recording();
+		try {
+			Files.createDirectories(this.directory);
+			this.rotate(this.maxRecordings - 1);
+			recording.setName(name);
+			recording.setToDisk(true);
+			recording.setDestination(this.directory.resolve(name + RECORDING_SUFFIX));
+			profile.configure(recording);
+			recording.start();
+		}
+		catch (IOException e) {
+			recording.close();
+			throw new UncheckedIOException(e);
+		}
+		
+		final var started = new Active(name, profile, recording, startedAt, startedAt.plus(duration));
+		this.active = started;
+		this.scheduler.schedule(() -> this.finish(started), duration.toMillis(), TimeUnit.MILLISECONDS);
+		log.info("*** JFR recording {} started for {} s *", name, duration.toSeconds());
+		return started.info();
+	}
+	
+	/**
+	 * @return the running recording, if any, then the finished ones, newest first
+	 */
+	public synchronized List<RecordingInfo> recordings() {
+		final List<RecordingInfo> recordings = new ArrayList<>();
+		if (this.active != null)
+			recordings.add(this.active.info());
+		this.finished().stream()
+				.sorted(Comparator.comparing(JfrRecorder::lastModified).reversed())
+				.map(this::info)
+				.forEach(recordings::add);
+		return recordings;
+	}
+	
+	public Optional<Path> recordingFile(final String name) {
+		return this.file(name, RECORDING_SUFFIX);
+	}
+	
+	public Optional<String> summary(final String name) {
+		return this.file(name, SUMMARY_SUFFIX).map(path -> {
+			try {
+				return Files.readString(path);
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+	}
+	
+	@PreDestroy
+	public void stop() {
+		this.scheduler.shutdownNow();
+		synchronized (this) {
+			if (this.active != null)
+				this.active.recording.close();
+			this.active = null;
+		}
+	}
+	
+	private void finish(final Active finished) {
+		try {
+			finished.recording.stop();
+			final String summary = JfrSummarizer.summarize(this.directory.resolve(finished.name + RECORDING_SUFFIX),
+					finished.name, finished.profile, this.summaryTop);
+			Files.writeString(this.directory.resolve(finished.name + SUMMARY_SUFFIX), summary);
+			log.info("*** JFR recording {} finished *", finished.name);
+		}
+		catch (IOException | RuntimeException e) {
+			log.error("*** JFR recording {} could not be written *", finished.name, e);
+		}
+		finally {
+			finished.recording.close();
+			synchronized (this) {
+				this.active = null;
+				this.rotate(this.maxRecordings);
+			}
+		}
+	}
+	
+	private void rotate(final int keepRecordings) {
+		final List<Path> oldestFirst = this.finished().stream()
+				.sorted(Comparator.comparing(JfrRecorder::lastModified))
+				.collect(Collectors.toList());
+		int count = oldestFirst.size();
+		long totalBytes = oldestFirst.stream().mapToLong(JfrRecorder::size).sum();
+		for (final Path oldest : oldestFirst) {
+			if (count <= Math.max(0, keepRecordings) && totalBytes <= this.maxTotalBytes)
+				break;
+			final long size = size(oldest);
+			try {
+				Files.deleteIfExists(oldest);
+				Files.deleteIfExists(summaryOf(oldest));
+				count--;
+				totalBytes -= size;
+			}
+			catch (IOException e) {
+				log.warn("*** Could not delete JFR recording {} *", oldest, e);
+			}
+		}
+	}
+	
+	private List<Path> finished() {
+		if (!Files.isDirectory(this.directory))
+			return List.of();
+		try (Stream<Path> files = Files.list(this.directory)) {
+			return files.filter(path -> NAME.matcher(baseName(path)).matches()
+							&& path.getFileName().toString().endsWith(RECORDING_SUFFIX))
+					.filter(path -> this.active == null || !baseName(path).equals(this.active.name))
+					.collect(Collectors.toList());
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	private Optional<Path> file(final String name, final String suffix) {
+		if (name == null || !NAME.matcher(name).matches())
+			return Optional.empty();
+		final Path path = this.directory.resolve(name + suffix);
+		return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+	}
+	
+	private RecordingInfo info(final Path path) {
+		final String name = baseName(path);
+		final Matcher matcher = NAME.matcher(name);
+		return RecordingInfo.builder()
+				.name(name)
+				.profile(matcher.matches() ? JfrProfile.of(matcher.group(1)) : null)
+				.state(RecordingInfo.State.FINISHED)
+				.finishedAt(lastModified(path))
+				.sizeBytes(size(path))
+				.summaryAvailable(Files.isRegularFile(summaryOf(path)))
+				.build();
+	}
+	
+	private static String baseName(final Path path) {
+		final String fileName = path.getFileName().toString();
+		final int dot = fileName.lastIndexOf('.');
+		return dot < 0 ? fileName : fileName.substring(0, dot);
+	}
+	
+	private static Path summaryOf(final Path recording) {
+		return recording.resolveSibling(baseName(recording) + SUMMARY_SUFFIX);
+	}
+	
+	private static Instant lastModified(final Path path) {
+		try {
+			return Files.getLastModifiedTime(path).toInstant();
+		}
+		catch (IOException e) {
+			return Instant.EPOCH;
+		}
+	}
+	
+	private static long size(final Path path) {
+		try {
+			return Files.size(path);
+		}
+		catch (IOException e) {
+			return 0L;
+		}
+	}
+	
+	private static final class Active {
+		
+		private final String name;
+		private final JfrProfile profile;
+		private final Recording recording;
+		private final Instant startedAt;
+		private final Instant endsAt;
+		
+		Active(final String name, final JfrProfile profile, final Recording recording,
+				final Instant startedAt, final Instant endsAt) {
+			this.name = name;
+			this.profile = profile;
+			this.recording = recording;
+			this.startedAt = startedAt;
+			this.endsAt = endsAt;
+		}
+		
+		RecordingInfo info() {
+			return RecordingInfo.builder()
+					.name(this.name)
+					.profile(this.profile)
+					.state(RecordingInfo.State.RUNNING)
+					.startedAt(this.startedAt)
+					.finishedAt(this.endsAt)
+					.build();
+		}
+	
+	}
+	
+	
+	
+}
@@ -0,0 +1,90 @@
+package com.selimhorri.app.profiling;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Reads a finished recording and lists where its weight went, twice: by the nearest frame
+ * in the application's own package, and by the nearest frame outside the JDK. Streaming
+ * the file keeps memory flat however many events it holds.
+ */
+final class JfrSummarizer {
+	
+	static final String APP_PACKAGE = "com.selimhorri.app.";
+	
+	private static final List<String> JDK_PACKAGES = List.of("java.", "javax.", "jdk.", "sun.", "com.sun.");
+	
+	private JfrSummarizer() {
+	}
+	
+	static String summarize(final Path recording, final String name, final JfrProfile profile, final int top)
+			throws IOException {
+		
+		final Map<String, Long> appMethods = new HashMap<>();
+		final Map<String, Long> nonJdkMethods = new HashMap<>();
+		long total = 0L;
+		long events = 0L;
+		try (RecordingFile file = new RecordingFile(recording)) {
+			while (file.hasMoreEvents()) {
+				final RecordedEvent event = file.readEvent();
+				final long weight = profile.weight(event);
+				if (weight <= 0L)
+					continue;
+				events++;
+				total += weight;
+				if (event.getStackTrace() == null)
+					continue;
+				final String app = nearest(event.getStackTrace().getFrames(), true);
+				if (app != null)
+					appMethods.merge(app, weight, Long::sum);
+				final String nonJdk = nearest(event.getStackTrace().getFrames(), false);
+				if (nonJdk != null)
+					nonJdkMethods.merge(nonJdk, weight, Long::sum);
+			}
+		}
+		
+		final var summary = new StringBuilder(4096);
+		summary.append(String.format(Locale.ROOT, "JFR %s recording %s: %d events, %s %s%n",
+				profile.name().toLowerCase(Locale.ROOT), name, events, profile.format(total), profile.getUnit()));
+		section(summary, "Hottest methods in com.selimhorri.app (nearest application frame)", appMethods, total, profile, top);
+		section(summary, "Hottest methods outside the JDK (nearest non-JDK frame)", nonJdkMethods, total, profile, top);
+		return summary.toString();
+	}
+	
+	private static String nearest(final List<RecordedFrame> frames, final boolean appOnly) {
+		for (final RecordedFrame frame : frames) {
+			if (!frame.isJavaFrame())
+				continue;
+			final String type = frame.getMethod().getType().getName();
+			if (appOnly ? type.startsWith(APP_PACKAGE) : JDK_PACKAGES.stream().noneMatch(type::startsWith))
+				return type + '.' + frame.getMethod().getName();
+		}
+		return null;
+	}
+	
+	private static void section(final StringBuilder summary, final String title, final Map<String, Long> methods,
+			final long total, final JfrProfile profile, final int top) {
+		summary.append(String.format(Locale.ROOT, "%n%s, %s:%n", title, profile.getUnit()));
+		if (methods.isEmpty()) {
+			summary.append("  (none)").append(System.lineSeparator());
+			return;
+		}
+		methods.entrySet().stream()
+				.sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+				.limit(top)
+				.forEach(entry -> summary.append(String.format(Locale.ROOT, "  %12s  %5.1f%%  %s%n",
+						profile.format(entry.getValue()), 100.0 * entry.getValue() / total, entry.getKey())));
+	}
+	
+	
+	
+}
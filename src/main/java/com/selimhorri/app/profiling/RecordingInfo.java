@@ -0,0 +1,43 @@
+package com.selimhorri.app.profiling;
+
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonFormat.Shape;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@AllArgsConstructor
+@JsonInclude(Include.NON_NULL)
+public final class RecordingInfo {
+	
+	public enum State {
+		RUNNING,
+		FINISHED
+	}
+	
+	private final String name;
+	private final JfrProfile profile;
+	private final State state;
+	
+	@JsonFormat(shape = Shape.STRING)
+	private final Instant startedAt;
+	
+	/**
+	 * When a running recording stops, or when a finished one was written.
+	 */
+	@JsonFormat(shape = Shape.STRING)
+	private final Instant finishedAt;
+	
+	private final Long sizeBytes;
+	private final boolean summaryAvailable;
+	
+	
+	
+}
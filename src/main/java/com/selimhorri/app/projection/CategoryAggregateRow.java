@@ -0,0 +1,21 @@
+package com.selimhorri.app.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Per-category statistics computed from {@code products}, built by a JPQL constructor expression.
+ */
+@Getter
+@AllArgsConstructor
+public final class CategoryAggregateRow {
+	
+	private final Integer categoryId;
+	private final Long productCount;
+	private final Long totalStock;
+	private final Long pricedCount;
+	private final Double priceSum;
+	private final Double minPrice;
+	private final Double maxPrice;
+	
+}
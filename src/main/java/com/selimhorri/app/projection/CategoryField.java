@@ -0,0 +1,22 @@
+package com.selimhorri.app.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum CategoryField implements SelectableField {
+	
+	CATEGORY_ID("categoryId", "c.categoryId"),
+	CATEGORY_TITLE("categoryTitle", "c.categoryTitle"),
+	IMAGE_URL("imageUrl", "c.imageUrl"),
+	
+	/**
+	 * The only field that needs the self join on {@code parent_category_id}.
+	 */
+	PARENT_CATEGORY("parentCategory", null);
+	
+	private final String jsonName;
+	private final String path;
+	
+}
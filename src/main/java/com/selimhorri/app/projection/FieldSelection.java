@@ -0,0 +1,41 @@
+package com.selimhorri.app.projection;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import com.selimhorri.app.exception.wrapper.InvalidFieldsException;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class FieldSelection {
+	
+	/**
+	 * Parses a comma separated {@code fields=} value; a blank value selects every field.
+	 */
+	public static <E extends Enum<E> & SelectableField> Set<E> parse(final String fields, final Class<E> type) {
+		
+		if (fields == null || fields.isBlank())
+			return EnumSet.allOf(type);
+		
+		final EnumSet<E> selected = EnumSet.noneOf(type);
+		for (final String name : fields.split(",")) {
+			final String trimmed = name.trim();
+			if (trimmed.isEmpty())
+				continue;
+			selected.add(find(trimmed, type));
+		}
+		return selected.isEmpty() ? EnumSet.allOf(type) : selected;
+	}
+	
+	private static <E extends Enum<E> & SelectableField> E find(final String name, final Class<E> type) {
+		for (final E field : type.getEnumConstants())
+			if (field.getJsonName().equals(name))
+				return field;
+		throw new InvalidFieldsException(String.format("Unknown field: %s", name));
+	}
+	
+	
+	
+}
@@ -0,0 +1,22 @@
+package com.selimhorri.app.projection;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The product columns the in-memory catalog indexes, selected with a JPQL constructor
+ * expression so no entity or category is loaded.
+ */
+@Getter
+@AllArgsConstructor
+public final class ProductColumnsRow {
+	
+	private final Integer productId;
+	private final Double priceUnit;
+	private final Integer quantity;
+	private final Integer categoryId;
+	private final Instant createdAt;
+	
+}
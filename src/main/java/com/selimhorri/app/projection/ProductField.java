@@ -0,0 +1,25 @@
+package com.selimhorri.app.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum ProductField implements SelectableField {
+	
+	PRODUCT_ID("productId", "p.productId"),
+	PRODUCT_TITLE("productTitle", "p.productTitle"),
+	IMAGE_URL("imageUrl", "p.imageUrl"),
+	SKU("sku", "p.sku"),
+	PRICE_UNIT("priceUnit", "p.priceUnit"),
+	QUANTITY("quantity", "p.quantity"),
+	
+	/**
+	 * The only field that needs the {@code categories} join.
+	 */
+	CATEGORY("category", null);
+	
+	private final String jsonName;
+	private final String path;
+	
+}
@@ -0,0 +1,10 @@
+package com.selimhorri.app.projection;
+
+public interface SelectableField {
+	
+	/**
+	 * Name of the field in the JSON representation, as accepted by {@code fields=}.
+	 */
+	String getJsonName();
+	
+}
@@ -0,0 +1,50 @@
+package com.selimhorri.app.readmodel;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonFormat.Shape;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Differences between the product read model and the normalized tables. Id lists are
+ * capped at {@link ProductViewConsistencyChecker#MAX_REPORTED_IDS}; the counts are exact.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public final class ConsistencyReport {
+	
+	@JsonFormat(shape = Shape.STRING)
+	private final Instant checkedAt;
+	
+	private final int expectedRows;
+	private final int actualRows;
+	
+	/**
+	 * Live products without a row.
+	 */
+	private final int missingCount;
+	private final List<Integer> missingIds;
+	
+	/**
+	 * Rows whose content differs from the normalized tables.
+	 */
+	private final int staleCount;
+	private final List<Integer> staleIds;
+	
+	/**
+	 * Rows of products that are deleted or gone.
+	 */
+	private final int orphanedCount;
+	private final List<Integer> orphanedIds;
+	
+	public boolean isConsistent() {
+		return this.missingCount == 0 && this.staleCount == 0 && this.orphanedCount == 0;
+	}
+	
+}
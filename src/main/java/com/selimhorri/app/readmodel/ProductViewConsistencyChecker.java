@@ -0,0 +1,80 @@
+package com.selimhorri.app.readmodel;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.selimhorri.app.domain.ProductView;
+import com.selimhorri.app.helper.ProductViewMappingHelper;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.repository.ProductViewRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compares every {@link ProductView} row with the projection of the normalized tables.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ProductViewConsistencyChecker {
+	
+	static final int MAX_REPORTED_IDS = 100;
+	
+	private final ProductRepository productRepository;
+	private final ProductViewRepository productViewRepository;
+	
+	@Transactional(readOnly = true)
+	public ConsistencyReport check() {
+		final Map<Integer, ProductView> expected = this.productRepository.findAllWithoutDeleted()
+				.stream()
+				.map(ProductViewMappingHelper::map)
+				.collect(Collectors.toMap(ProductView::getProductId, Function.identity()));
+		final List<ProductView> actual = this.productViewRepository.findAll();
+		
+		final List<Integer> stale = new ArrayList<>();
+		final List<Integer> orphaned = new ArrayList<>();
+		final Map<Integer, ProductView> missing = new HashMap<>(expected);
+		for (final ProductView row : actual) {
+			final ProductView projected = missing.remove(row.getProductId());
+			if (projected == null)
+				orphaned.add(row.getProductId());
+			else if (!projected.equals(row))
+				stale.add(row.getProductId());
+		}
+		
+		final var report = ConsistencyReport.builder()
+				.checkedAt(Instant.now())
+				.expectedRows(expected.size())
+				.actualRows(actual.size())
+				.missingCount(missing.size())
+				.missingIds(sample(new ArrayList<>(missing.keySet())))
+				.staleCount(stale.size())
+				.staleIds(sample(stale))
+				.orphanedCount(orphaned.size())
+				.orphanedIds(sample(orphaned))
+				.build();
+		if (!report.isConsistent())
+			log.warn("*** Product read model out of sync: {} missing, {} stale, {} orphaned rows *",
+					report.getMissingCount(), report.getStaleCount(), report.getOrphanedCount());
+		return report;
+	}
+	
+	private static List<Integer> sample(final List<Integer> ids) {
+		return ids.stream()
+				.sorted()
+				.limit(MAX_REPORTED_IDS)
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	
+	
+}
@@ -0,0 +1,170 @@
+package com.selimhorri.app.readmodel;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.hibernate.query.NativeQuery;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.domain.ProductView;
+import com.selimhorri.app.event.CatalogChangedEvent;
+import com.selimhorri.app.event.CatalogChangedEvent.EntityType;
+import com.selimhorri.app.helper.ProductViewMappingHelper;
+import com.selimhorri.app.repository.CategoryRepository;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.repository.ProductViewRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps {@link ProductView} rows in step with the normalized tables. Runs inside the
+ * writing transaction, just before it commits, so the read model commits or rolls back
+ * together with the write that changed it; the database is shared, so peers need no
+ * notification. Affected products are projected {@value #CHUNK_SIZE} at a time, so a
+ * write touching much of the catalog never loads all of it into the persistence context.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ProductViewProjector {
+	
+	static final int CHUNK_SIZE = 500;
+	
+	private final ProductRepository productRepository;
+	private final CategoryRepository categoryRepository;
+	private final ProductViewRepository productViewRepository;
+	
+	@PersistenceContext
+	private EntityManager entityManager;
+	
+	@TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+	public void onCatalogChanged(final CatalogChangedEvent event) {
+		if (event.getEntityType() == EntityType.PRODUCT)
+			this.projectProducts(event.isAllOfType() ? this.findDriftedProductIds() : event.getIds());
+		else
+			this.projectCategories(event.isAllOfType() ? this.findAllCategoryIds() : event.getIds());
+	}
+	
+	@EventListener(ApplicationReadyEvent.class)
+	@Transactional
+	public void bootstrap() {
+		if (this.productViewRepository.count() == 0 && this.productRepository.count() > 0) {
+			log.info("*** Product read model is empty, rebuilding it *");
+			this.rebuild();
+		}
+	}
+	
+	/**
+	 * Re-projects every live product, writing only rows that differ, and drops the rest.
+	 * @return number of live products
+	 */
+	@Transactional
+	public int rebuild() {
+		final Map<Integer, ProductView> stale = this.productViewRepository.findAll()
+				.stream()
+				.collect(Collectors.toMap(ProductView::getProductId, Function.identity()));
+		final List<Product> products = this.productRepository.findAllWithoutDeleted();
+		int written = 0;
+		for (final Product product : products) {
+			final ProductView view = ProductViewMappingHelper.map(product);
+			final ProductView current = stale.remove(view.getProductId());
+			if (current == null)
+				this.entityManager.persist(view);
+			else if (!current.equals(view))
+				this.entityManager.merge(view);
+			else
+				continue;
+			written++;
+		}
+		if (!stale.isEmpty())
+			this.productViewRepository.deleteAllByIdInBatch(stale.keySet());
+		log.info("*** Rebuilt product read model: {} products, {} rows written, {} removed *",
+				products.size(), written, stale.size());
+		return products.size();
+	}
+	
+	private void projectProducts(final Collection<Integer> productIds) {
+		final List<Integer> ids = List.copyOf(productIds);
+		for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+			final List<Integer> chunk = ids.subList(from, Math.min(ids.size(), from + CHUNK_SIZE));
+			final Set<Integer> removed = new HashSet<>(chunk);
+			for (final Product product : this.productRepository.findAllByIdWithoutDeleted(chunk)) {
+				removed.remove(product.getProductId());
+				this.productViewRepository.save(ProductViewMappingHelper.map(product));
+			}
+			if (!removed.isEmpty())
+				this.productViewRepository.deleteAllByIdInBatch(removed);
+			if (ids.size() > CHUNK_SIZE) {
+				// the writer's own changes are flushed too before anything is detached
+				this.entityManager.flush();
+				this.entityManager.clear();
+			}
+		}
+	}
+	
+	/**
+	 * Bulk writes (category deletion, large scheduled repricing) move products between
+	 * categories or reprice them without naming the rows. The database finds them instead:
+	 * rows of products gone or soft-deleted are dropped in one statement, and the ids of
+	 * live products whose row is missing or differs in category or price are returned.
+	 */
+	private List<Integer> findDriftedProductIds() {
+		this.entityManager.createNativeQuery("DELETE FROM product_views WHERE product_id NOT IN ("
+				+ "SELECT p.product_id FROM products p JOIN categories c ON c.category_id = p.category_id "
+				+ "WHERE c.category_title <> 'Deleted')")
+				.unwrap(NativeQuery.class)
+				.addSynchronizedEntityClass(ProductView.class)
+				.executeUpdate();
+		final List<?> ids = this.entityManager.createNativeQuery("SELECT p.product_id FROM products p "
+				+ "JOIN categories c ON c.category_id = p.category_id "
+				+ "LEFT JOIN product_views v ON v.product_id = p.product_id "
+				+ "WHERE c.category_title <> 'Deleted' AND (v.product_id IS NULL OR v.category_id <> p.category_id "
+				+ "OR COALESCE(v.price_unit, -1) <> COALESCE(p.price_unit, -1))")
+				.getResultList();
+		return ids.stream()
+				.map(id -> ((Number) id).intValue())
+				.collect(Collectors.toList());
+	}
+	
+	private List<Integer> findAllCategoryIds() {
+		return this.categoryRepository.findAll()
+				.stream()
+				.map(Category::getCategoryId)
+				.collect(Collectors.toList());
+	}
+	
+	/**
+	 * A category change reaches the title and parent of its own products and the path of
+	 * every product below it.
+	 */
+	private void projectCategories(final Collection<Integer> categoryIds) {
+		final Set<Integer> affected = new HashSet<>(categoryIds);
+		Collection<Integer> level = categoryIds;
+		for (int depth = 0; !level.isEmpty() && depth < ProductViewMappingHelper.MAX_CATEGORY_DEPTH; depth++)
+			level = this.categoryRepository.findAllNonReservedByParentIds(level)
+					.stream()
+					.map(Category::getCategoryId)
+					.filter(affected::add)
+					.collect(Collectors.toList());
+		this.projectProducts(this.productRepository.findIdsWithoutDeletedByCategoryIds(affected));
+	}
+	
+	
+	
+}
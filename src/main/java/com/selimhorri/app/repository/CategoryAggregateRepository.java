@@ -0,0 +1,30 @@
+package com.selimhorri.app.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import javax.persistence.LockModeType;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.selimhorri.app.domain.CategoryAggregate;
+
+public interface CategoryAggregateRepository extends JpaRepository<CategoryAggregate, Integer> {
+
+    // Writers lock rows in ascending category id order, so they cannot deadlock each other
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM CategoryAggregate a WHERE a.categoryId = :categoryId")
+    Optional<CategoryAggregate> findForUpdate(@Param("categoryId") Integer categoryId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM CategoryAggregate a ORDER BY a.categoryId")
+    List<CategoryAggregate> findAllForUpdate();
+
+    List<CategoryAggregate> findAllByCategoryIdIn(Collection<Integer> categoryIds);
+
+}
@@ -1,28 +1,77 @@
 package com.selimhorri.app.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import javax.persistence.QueryHint;
+
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.Category;
 
-public interface CategoryRepository extends JpaRepository<Category, Integer> {
+public interface CategoryRepository extends JpaRepository<Category, Integer>, CategoryRepositoryCustom {
+
+    String HINT_CACHEABLE = "org.hibernate.cacheable";
+    String HINT_CACHE_REGION = "org.hibernate.cacheRegion";
+
+    // Title lookups go through the indexed category_title_normalized column;
+    // LOWER(category_title) or UPPER(...) comparisons would scan the table.
+
+    default Optional<Category> findByCategoryTitle(final String categoryTitle) {
+        return this.findByCategoryTitleNormalizedAndCategoryTitle(Category.normalizeTitle(categoryTitle), categoryTitle);
+    }
+
+    default boolean existsByCategoryTitleIgnoreCaseAndCategoryIdNot(final String categoryTitle, final Integer categoryId) {
+        return this.existsByCategoryTitleNormalizedAndCategoryIdNot(Category.normalizeTitle(categoryTitle), categoryId);
+    }
 
-    Optional<Category> findByCategoryTitle(String string);
+    default boolean existsByCategoryTitleIgnoreCase(final String categoryTitle) {
+        return this.existsByCategoryTitleNormalized(Category.normalizeTitle(categoryTitle));
+    }
 
-    boolean existsByCategoryTitleIgnoreCaseAndCategoryIdNot(String categoryTitle, Integer categoryId);
+    default Optional<Category> findByCategoryTitleIgnoreCase(final String categoryTitle) {
+        return this.findByCategoryTitleNormalized(Category.normalizeTitle(categoryTitle));
+    }
 
-    boolean existsByCategoryTitleIgnoreCase(String categoryTitle);
+    @QueryHints({
+        @QueryHint(name = HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HINT_CACHE_REGION, value = AppConstant.CacheRegions.CATEGORY_QUERIES)
+    })
+    Optional<Category> findByCategoryTitleNormalizedAndCategoryTitle(String categoryTitleNormalized, String categoryTitle);
 
-    Optional<Category> findByCategoryTitleIgnoreCase(String categoryTitle);
+    boolean existsByCategoryTitleNormalizedAndCategoryIdNot(String categoryTitleNormalized, Integer categoryId);
 
-    @Query("SELECT c FROM Category c WHERE LOWER(c.categoryTitle) NOT IN ('deleted', 'no category')")
+    boolean existsByCategoryTitleNormalized(String categoryTitleNormalized);
+
+    @QueryHints({
+        @QueryHint(name = HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HINT_CACHE_REGION, value = AppConstant.CacheRegions.CATEGORY_QUERIES)
+    })
+    Optional<Category> findByCategoryTitleNormalized(String categoryTitleNormalized);
+
+    @QueryHints({
+        @QueryHint(name = HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HINT_CACHE_REGION, value = AppConstant.CacheRegions.CATEGORY_QUERIES)
+    })
+    @Query("SELECT c FROM Category c WHERE c.categoryTitleNormalized NOT IN ('deleted', 'no category')")
     List<Category> findAllNonReserved();
 
-    @Query("SELECT c FROM Category c WHERE c.categoryId = :id AND LOWER(c.categoryTitle) NOT IN ('deleted', 'no category')")
+    @QueryHints({
+        @QueryHint(name = HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HINT_CACHE_REGION, value = AppConstant.CacheRegions.CATEGORY_QUERIES)
+    })
+    @Query("SELECT c FROM Category c WHERE c.categoryId = :id AND c.categoryTitleNormalized NOT IN ('deleted', 'no category')")
     Optional<Category> findNonReservedById(@Param("id") Integer id);
 
+    @Query("SELECT c.categoryId FROM Category c")
+    List<Integer> findAllIds();
+
+    @Query("SELECT c FROM Category c WHERE c.parentCategory.categoryId IN :parentIds AND c.categoryTitleNormalized NOT IN ('deleted', 'no category')")
+    List<Category> findAllNonReservedByParentIds(@Param("parentIds") Collection<Integer> parentIds);
+
 }
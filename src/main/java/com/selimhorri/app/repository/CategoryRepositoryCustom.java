@@ -0,0 +1,20 @@
+package com.selimhorri.app.repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import com.selimhorri.app.projection.CategoryField;
+
+public interface CategoryRepositoryCustom {
+
+    /**
+     * Selects only the columns behind {@code fields}; the parent category is joined only when
+     * {@link CategoryField#PARENT_CATEGORY} is requested.
+     */
+    List<Map<String, Object>> findFieldsNonReserved(Set<CategoryField> fields);
+
+    Optional<Map<String, Object>> findFieldsNonReservedById(Integer categoryId, Set<CategoryField> fields);
+
+}
@@ -0,0 +1,95 @@
+package com.selimhorri.app.repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+
+import com.selimhorri.app.projection.CategoryField;
+
+public class CategoryRepositoryCustomImpl implements CategoryRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findFieldsNonReserved(final Set<CategoryField> fields) {
+        return this.query(fields, null)
+                .getResultList()
+                .stream()
+                .map(tuple -> toMap(fields, tuple))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findFieldsNonReservedById(final Integer categoryId,
+            final Set<CategoryField> fields) {
+        return this.query(fields, categoryId)
+                .getResultList()
+                .stream()
+                .findFirst()
+                .map(tuple -> toMap(fields, tuple));
+    }
+
+    private TypedQuery<Tuple> query(final Set<CategoryField> fields, final Integer categoryId) {
+
+        final List<String> selections = new ArrayList<>();
+        for (final CategoryField field : fields) {
+            if (field == CategoryField.PARENT_CATEGORY) {
+                selections.add("pc.categoryId");
+                selections.add("pc.categoryTitle");
+                selections.add("pc.imageUrl");
+            }
+            else {
+                selections.add(field.getPath());
+            }
+        }
+
+        final var jpql = new StringBuilder("SELECT ")
+                .append(String.join(", ", selections))
+                .append(" FROM Category c")
+                .append(fields.contains(CategoryField.PARENT_CATEGORY) ? " LEFT JOIN c.parentCategory pc" : "")
+                .append(" WHERE c.categoryTitleNormalized NOT IN ('deleted', 'no category')");
+        if (categoryId != null)
+            jpql.append(" AND c.categoryId = :categoryId");
+
+        final TypedQuery<Tuple> query = this.entityManager.createQuery(jpql.toString(), Tuple.class);
+        if (categoryId != null)
+            query.setParameter("categoryId", categoryId);
+        return query;
+    }
+
+    private static Map<String, Object> toMap(final Set<CategoryField> fields, final Tuple tuple) {
+        final Map<String, Object> row = new LinkedHashMap<>();
+        int index = 0;
+        for (final CategoryField field : fields) {
+            if (field == CategoryField.PARENT_CATEGORY) {
+                final Object parentId = tuple.get(index++);
+                final Object parentTitle = tuple.get(index++);
+                final Object parentImageUrl = tuple.get(index++);
+                if (parentId == null) {
+                    row.put(field.getJsonName(), null);
+                    continue;
+                }
+                final Map<String, Object> parent = new LinkedHashMap<>();
+                parent.put("categoryId", parentId);
+                parent.put("categoryTitle", parentTitle);
+                parent.put("imageUrl", parentImageUrl);
+                row.put(field.getJsonName(), parent);
+            }
+            else {
+                row.put(field.getJsonName(), tuple.get(index++));
+            }
+        }
+        return row;
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.selimhorri.app.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.selimhorri.app.domain.PriceChangeBatch;
+
+public interface PriceChangeBatchRepository extends JpaRepository<PriceChangeBatch, Integer> {
+
+    List<PriceChangeBatch> findTop50ByOrderByBatchIdDesc();
+
+}
@@ -0,0 +1,13 @@
+package com.selimhorri.app.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.selimhorri.app.domain.PriceChangeEntry;
+
+public interface PriceChangeEntryRepository extends JpaRepository<PriceChangeEntry, PriceChangeEntry.Key> {
+
+    List<PriceChangeEntry> findAllByBatchIdOrderByProductId(Integer batchId);
+
+}
@@ -1,5 +1,6 @@
 package com.selimhorri.app.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,8 +11,10 @@ import org.springframework.data.repository.query.Param;
 
 import com.selimhorri.app.domain.Category;
 import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.projection.CategoryAggregateRow;
+import com.selimhorri.app.projection.ProductColumnsRow;
 
-public interface ProductRepository extends JpaRepository<Product, Integer> {
+public interface ProductRepository extends JpaRepository<Product, Integer>, ProductRepositoryCustom {
 
     @Query("SELECT p FROM Product p WHERE p.category.categoryTitle <> 'Deleted'")
     List<Product> findAllWithoutDeleted();
@@ -19,6 +22,38 @@ public interface ProductRepository extends JpaRepository<Product, Integer> {
     @Query("SELECT p FROM Product p WHERE p.id = :productId AND p.category.categoryTitle <> 'Deleted'")
     Optional<Product> findByIdWithoutDeleted(Integer productId);
 
+    @Query("SELECT p FROM Product p WHERE p.productId IN :productIds AND p.category.categoryTitle <> 'Deleted'")
+    List<Product> findAllByIdWithoutDeleted(@Param("productIds") Collection<Integer> productIds);
+
+    @Query("SELECT p FROM Product p WHERE p.category.categoryId IN :categoryIds AND p.category.categoryTitle <> 'Deleted'")
+    List<Product> findAllWithoutDeletedByCategoryIds(@Param("categoryIds") Collection<Integer> categoryIds);
+
+    @Query("SELECT p.productId FROM Product p WHERE p.category.categoryId IN :categoryIds AND p.category.categoryTitle <> 'Deleted'")
+    List<Integer> findIdsWithoutDeletedByCategoryIds(@Param("categoryIds") Collection<Integer> categoryIds);
+
+    boolean existsBySku(String sku);
+
+    boolean existsBySkuAndProductIdNot(String sku, Integer productId);
+
+    @Query("SELECT new com.selimhorri.app.projection.ProductColumnsRow(p.productId, p.priceUnit, p.quantity, "
+            + "p.category.categoryId, p.createdAt) FROM Product p WHERE p.category.categoryTitle <> 'Deleted'")
+    List<ProductColumnsRow> findColumnsWithoutDeleted();
+
+    @Query("SELECT new com.selimhorri.app.projection.ProductColumnsRow(p.productId, p.priceUnit, p.quantity, "
+            + "p.category.categoryId, p.createdAt) FROM Product p "
+            + "WHERE p.productId IN :productIds AND p.category.categoryTitle <> 'Deleted'")
+    List<ProductColumnsRow> findColumnsByIdWithoutDeleted(@Param("productIds") Collection<Integer> productIds);
+
+    @Query("SELECT new com.selimhorri.app.projection.CategoryAggregateRow(p.category.categoryId, COUNT(p), "
+            + "SUM(COALESCE(p.quantity, 0)), COUNT(p.priceUnit), SUM(p.priceUnit), MIN(p.priceUnit), MAX(p.priceUnit)) "
+            + "FROM Product p WHERE p.category.categoryId IS NOT NULL GROUP BY p.category.categoryId")
+    List<CategoryAggregateRow> findCategoryAggregates();
+
+    @Query("SELECT new com.selimhorri.app.projection.CategoryAggregateRow(p.category.categoryId, COUNT(p), "
+            + "SUM(COALESCE(p.quantity, 0)), COUNT(p.priceUnit), SUM(p.priceUnit), MIN(p.priceUnit), MAX(p.priceUnit)) "
+            + "FROM Product p WHERE p.category.categoryId IN :categoryIds GROUP BY p.category.categoryId")
+    List<CategoryAggregateRow> findCategoryAggregates(@Param("categoryIds") Collection<Integer> categoryIds);
+
     @Modifying
     @Query("UPDATE Product p SET p.category = :newCategory WHERE p.category.categoryId = :oldCategoryId")
     void updateCategoryForProducts(@Param("oldCategoryId") Integer oldCategoryId,
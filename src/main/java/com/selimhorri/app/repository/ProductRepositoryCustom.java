@@ -0,0 +1,22 @@
+package com.selimhorri.app.repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import com.selimhorri.app.projection.ProductField;
+
+public interface ProductRepositoryCustom {
+
+    /**
+     * Selects only the columns behind {@code fields}; {@code categories} is joined only when
+     * {@link ProductField#CATEGORY} is requested. Soft-deleted products are filtered on the
+     * {@code category_id} column itself, so a null {@code deletedCategoryId} disables that filter.
+     */
+    List<Map<String, Object>> findFieldsWithoutDeleted(Set<ProductField> fields, Integer deletedCategoryId);
+
+    Optional<Map<String, Object>> findFieldsByIdWithoutDeleted(Integer productId, Set<ProductField> fields,
+            Integer deletedCategoryId);
+
+}
@@ -0,0 +1,95 @@
+package com.selimhorri.app.repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+
+import com.selimhorri.app.projection.ProductField;
+
+public class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findFieldsWithoutDeleted(final Set<ProductField> fields,
+            final Integer deletedCategoryId) {
+        return this.query(fields, deletedCategoryId, null)
+                .getResultList()
+                .stream()
+                .map(tuple -> toMap(fields, tuple))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findFieldsByIdWithoutDeleted(final Integer productId,
+            final Set<ProductField> fields, final Integer deletedCategoryId) {
+        return this.query(fields, deletedCategoryId, productId)
+                .getResultList()
+                .stream()
+                .findFirst()
+                .map(tuple -> toMap(fields, tuple));
+    }
+
+    private TypedQuery<Tuple> query(final Set<ProductField> fields, final Integer deletedCategoryId,
+            final Integer productId) {
+
+        final List<String> selections = new ArrayList<>();
+        for (final ProductField field : fields) {
+            if (field == ProductField.CATEGORY) {
+                selections.add("c.categoryId");
+                selections.add("c.categoryTitle");
+                selections.add("c.imageUrl");
+            }
+            else {
+                selections.add(field.getPath());
+            }
+        }
+
+        // p.category.categoryId resolves to the products.category_id column, no join needed
+        final var jpql = new StringBuilder("SELECT ")
+                .append(String.join(", ", selections))
+                .append(" FROM Product p")
+                .append(fields.contains(ProductField.CATEGORY) ? " JOIN p.category c" : "")
+                .append(" WHERE p.category.categoryId IS NOT NULL");
+        if (deletedCategoryId != null)
+            jpql.append(" AND p.category.categoryId <> :deletedCategoryId");
+        if (productId != null)
+            jpql.append(" AND p.productId = :productId");
+
+        final TypedQuery<Tuple> query = this.entityManager.createQuery(jpql.toString(), Tuple.class);
+        if (deletedCategoryId != null)
+            query.setParameter("deletedCategoryId", deletedCategoryId);
+        if (productId != null)
+            query.setParameter("productId", productId);
+        return query;
+    }
+
+    private static Map<String, Object> toMap(final Set<ProductField> fields, final Tuple tuple) {
+        final Map<String, Object> row = new LinkedHashMap<>();
+        int index = 0;
+        for (final ProductField field : fields) {
+            if (field == ProductField.CATEGORY) {
+                final Map<String, Object> category = new LinkedHashMap<>();
+                category.put("categoryId", tuple.get(index++));
+                category.put("categoryTitle", tuple.get(index++));
+                category.put("imageUrl", tuple.get(index++));
+                row.put(field.getJsonName(), category);
+            }
+            else {
+                row.put(field.getJsonName(), tuple.get(index++));
+            }
+        }
+        return row;
+    }
+
+}
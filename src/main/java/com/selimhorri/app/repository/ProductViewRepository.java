@@ -0,0 +1,13 @@
+package com.selimhorri.app.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.selimhorri.app.domain.ProductView;
+
+public interface ProductViewRepository extends JpaRepository<ProductView, Integer> {
+
+    List<ProductView> findAllByCategoryId(Integer categoryId);
+
+}
@@ -0,0 +1,39 @@
+package com.selimhorri.app.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.selimhorri.app.domain.ScheduledPriceChange;
+import com.selimhorri.app.domain.ScheduledPriceChange.Status;
+
+public interface ScheduledPriceChangeRepository extends JpaRepository<ScheduledPriceChange, Long>,
+        ScheduledPriceChangeRepositoryCustom {
+
+    /**
+     * Distinct activation instants of the unclaimed changes due before {@code until},
+     * overdue ones included.
+     */
+    @Query("SELECT DISTINCT s.activateAt FROM ScheduledPriceChange s "
+            + "WHERE s.status = :status AND s.batchId IS NULL AND s.activateAt < :until")
+    List<Instant> findActivationTimes(@Param("status") Status status, @Param("until") Instant until);
+
+    default List<Instant> findPendingActivationTimesBefore(final Instant until) {
+        return this.findActivationTimes(Status.PENDING, until);
+    }
+
+    @Modifying
+    @Query("UPDATE ScheduledPriceChange s SET s.status = :status "
+            + "WHERE s.scheduleId = :scheduleId AND s.status = :pending AND s.batchId IS NULL")
+    int updatePendingStatus(@Param("scheduleId") Long scheduleId, @Param("status") Status status,
+            @Param("pending") Status pending);
+
+    default boolean cancel(final Long scheduleId) {
+        return this.updatePendingStatus(scheduleId, Status.CANCELLED, Status.PENDING) == 1;
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.selimhorri.app.repository;
+
+import java.util.List;
+
+import com.selimhorri.app.domain.ScheduledPriceChange;
+
+public interface ScheduledPriceChangeRepositoryCustom {
+
+    /**
+     * Inserts with JDBC batching, which Hibernate cannot do for identity keys.
+     * Generated ids are not read back.
+     */
+    void insertAll(List<ScheduledPriceChange> changes);
+
+}
@@ -0,0 +1,33 @@
+package com.selimhorri.app.repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.selimhorri.app.domain.ScheduledPriceChange;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class ScheduledPriceChangeRepositoryCustomImpl implements ScheduledPriceChangeRepositoryCustom {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void insertAll(final List<ScheduledPriceChange> changes) {
+        this.jdbcTemplate.batchUpdate("INSERT INTO scheduled_price_changes "
+                + "(product_id, new_price, activate_at, status, created_at) VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP)",
+                changes, BATCH_SIZE, (statement, change) -> {
+                    statement.setInt(1, change.getProductId());
+                    statement.setBigDecimal(2, change.getNewPrice());
+                    statement.setTimestamp(3, Timestamp.from(change.getActivateAt()));
+                    statement.setString(4, change.getStatus().name());
+                });
+    }
+
+}
@@ -0,0 +1,153 @@
+package com.selimhorri.app.requestlog;
+
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * One JSON line per logged request, written by a dedicated thread. The request thread only
+ * decides whether to log and copies a few fields into a {@link RequestLogRing} slot: errors
+ * and slow requests are always kept, the rest are sampled. When the writer falls behind and
+ * the ring is full, records are dropped and counted instead of blocking requests.
+ */
+@Slf4j
+public class AsyncRequestLog {
+	
+	private static final int DRAIN_BATCH = 256;
+	
+	private final RequestLogRing ring;
+	private final double sampleRate;
+	private final long slowThresholdNanos;
+	private final long idleNanos;
+	private final Consumer<String> sink;
+	private final LongAdder dropped = new LongAdder();
+	private final LongAdder written = new LongAdder();
+	private final StringBuilder line = new StringBuilder(256);
+	private final Thread writer;
+	private volatile boolean running = true;
+	
+	public AsyncRequestLog(final int capacity, final double sampleRate, final long slowThresholdMillis,
+			final long idleMillis, final MeterRegistry meterRegistry) {
+		this(capacity, sampleRate, slowThresholdMillis, idleMillis, log::info);
+		FunctionCounter.builder("request.log.dropped", this.dropped, LongAdder::sum)
+				.description("Request log records dropped because the buffer was full")
+				.register(meterRegistry);
+		FunctionCounter.builder("request.log.written", this.written, LongAdder::sum)
+				.description("Request log records written")
+				.register(meterRegistry);
+		Gauge.builder("request.log.pending", this.ring, RequestLogRing::size)
+				.description("Request log records waiting for the writer")
+				.register(meterRegistry);
+	}
+	
+	AsyncRequestLog(final int capacity, final double sampleRate, final long slowThresholdMillis,
+			final long idleMillis, final Consumer<String> sink) {
+		this.ring = new RequestLogRing(capacity);
+		this.sampleRate = sampleRate;
+		this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+		this.idleNanos = TimeUnit.MILLISECONDS.toNanos(idleMillis);
+		this.sink = sink;
+		this.writer = new Thread(this::run, "request-log");
+		this.writer.setDaemon(true);
+	}
+	
+	@PostConstruct
+	public void start() {
+		this.writer.start();
+	}
+	
+	/**
+	 * Writes what is buffered, then stops the writer.
+	 */
+	@PreDestroy
+	public void stop() throws InterruptedException {
+		this.running = false;
+		LockSupport.unpark(this.writer);
+		this.writer.join(TimeUnit.SECONDS.toMillis(5));
+	}
+	
+	/**
+	 * Called on the request thread once the response is complete.
+	 *
+	 * @param rows items in the response body, {@code -1} when unknown
+	 * @param failed the request ended with an exception instead of a response
+	 */
+	public void record(final String method, final String endpoint, final int status, final long latencyNanos,
+			final long rows, final boolean failed) {
+		final RequestLogRecord.Reason reason;
+		if (failed || status >= 500)
+			reason = RequestLogRecord.Reason.ERROR;
+		else if (latencyNanos >= this.slowThresholdNanos)
+			reason = RequestLogRecord.Reason.SLOW;
+		else if (this.sampleRate >= 1.0 || this.sampleRate > 0.0 && ThreadLocalRandom.current().nextDouble() < this.sampleRate)
+			reason = RequestLogRecord.Reason.SAMPLED;
+		else
+			return;
+		if (!this.ring.offer(System.currentTimeMillis(), method, endpoint, status, latencyNanos, rows, reason))
+			this.dropped.increment();
+	}
+	
+	public long getDropped() {
+		return this.dropped.sum();
+	}
+	
+	public long getWritten() {
+		return this.written.sum();
+	}
+	
+	private void run() {
+		while (true) {
+			final int drained = this.ring.drain(this::write, DRAIN_BATCH);
+			if (drained == 0) {
+				if (!this.running)
+					return;
+				LockSupport.parkNanos(this.idleNanos);
+			}
+		}
+	}
+	
+	private void write(final RequestLogRecord record) {
+		final StringBuilder out = this.line;
+		out.setLength(0);
+		out.append("{\"ts\":\"").append(Instant.ofEpochMilli(record.getEpochMillis()))
+				.append("\",\"method\":\"").append(record.getMethod())
+				.append("\",\"endpoint\":\"");
+		appendEscaped(out, record.getEndpoint());
+		out.append("\",\"status\":").append(record.getStatus())
+				.append(",\"latencyMicros\":").append(record.getLatencyNanos() / 1_000L);
+		if (record.getRows() >= 0L)
+			out.append(",\"rows\":").append(record.getRows());
+		out.append(",\"reason\":\"").append(record.getReason().name().toLowerCase(Locale.ROOT)).append("\"}");
+		try {
+			this.sink.accept(out.toString());
+			this.written.increment();
+		}
+		catch (RuntimeException e) {
+			this.dropped.increment();
+		}
+	}
+	
+	private static void appendEscaped(final StringBuilder out, final String value) {
+		for (int i = 0; i < value.length(); i++) {
+			final char c = value.charAt(i);
+			if (c == '"' || c == '\\')
+				out.append('\\');
+			out.append(c < 0x20 ? ' ' : c);
+		}
+	}
+	
+	
+	
+}
@@ -0,0 +1,59 @@
+package com.selimhorri.app.requestlog;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Hands every finished request to the {@link AsyncRequestLog}, keyed by the matched URI
+ * pattern so that log lines group like {@code http.server.requests}.
+ */
+@RequiredArgsConstructor
+public class RequestLogFilter extends OncePerRequestFilter implements Ordered {
+	
+	/**
+	 * Request attribute holding the number of items in the response body, set by
+	 * {@link RowCountAdvice}.
+	 */
+	public static final String ROWS_ATTRIBUTE = RequestLogFilter.class.getName() + ".rows";
+	
+	private static final String UNKNOWN_ENDPOINT = "UNKNOWN";
+	
+	private final AsyncRequestLog requestLog;
+	
+	@Override
+	public int getOrder() {
+		return Ordered.HIGHEST_PRECEDENCE + 2;
+	}
+	
+	@Override
+	protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+			final FilterChain filterChain) throws ServletException, IOException {
+		
+		final long start = System.nanoTime();
+		boolean failed = true;
+		try {
+			filterChain.doFilter(request, response);
+			failed = false;
+		}
+		finally {
+			final Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+			final Object rows = request.getAttribute(ROWS_ATTRIBUTE);
+			this.requestLog.record(request.getMethod(), pattern != null ? pattern.toString() : UNKNOWN_ENDPOINT,
+					failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus(),
+					System.nanoTime() - start, rows instanceof Number ? ((Number) rows).longValue() : -1L, failed);
+		}
+	}
+	
+	
+	
+}
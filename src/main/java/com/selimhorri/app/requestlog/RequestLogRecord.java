@@ -0,0 +1,43 @@
+package com.selimhorri.app.requestlog;
+
+import lombok.Getter;
+
+/**
+ * One slot of the {@link RequestLogRing}. Slots are allocated once and overwritten, so
+ * logging a request allocates nothing; a record is only valid while the consumer holds it.
+ */
+@Getter
+public final class RequestLogRecord {
+	
+	public enum Reason {
+		ERROR,
+		SLOW,
+		SAMPLED
+	}
+	
+	private long epochMillis;
+	private String method;
+	private String endpoint;
+	private int status;
+	private long latencyNanos;
+	
+	/**
+	 * Items in the response body, {@code -1} when there was none.
+	 */
+	private long rows;
+	private Reason reason;
+	
+	void set(final long epochMillis, final String method, final String endpoint, final int status,
+			final long latencyNanos, final long rows, final Reason reason) {
+		this.epochMillis = epochMillis;
+		this.method = method;
+		this.endpoint = endpoint;
+		this.status = status;
+		this.latencyNanos = latencyNanos;
+		this.rows = rows;
+		this.reason = reason;
+	}
+	
+	
+	
+}
@@ -0,0 +1,98 @@
+package com.selimhorri.app.requestlog;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded multi-producer, single-consumer ring of preallocated {@link RequestLogRecord}s.
+ * Producers never wait: when the ring is full {@link #offer} returns {@code false} and the
+ * caller counts the record as dropped. Each slot carries a sequence number telling whose
+ * turn it is, as in D. Vyukov's bounded queue, so producers only contend on one CAS.
+ */
+public final class RequestLogRing {
+	
+	private final int mask;
+	private final RequestLogRecord[] records;
+	private final AtomicLongArray sequences;
+	private final AtomicLong tail = new AtomicLong();
+	
+	/**
+	 * Only written by the consumer thread.
+	 */
+	private volatile long head;
+	
+	/**
+	 * @param capacity rounded up to a power of two
+	 */
+	public RequestLogRing(final int capacity) {
+		if (capacity < 2)
+			throw new IllegalArgumentException("capacity must be at least 2");
+		final int size = Integer.highestOneBit(capacity - 1) << 1;
+		this.mask = size - 1;
+		this.records = new RequestLogRecord[size];
+		this.sequences = new AtomicLongArray(size);
+		for (int i = 0; i < size; i++) {
+			this.records[i] = new RequestLogRecord();
+			this.sequences.set(i, i);
+		}
+	}
+	
+	public boolean offer(final long epochMillis, final String method, final String endpoint, final int status,
+			final long latencyNanos, final long rows, final RequestLogRecord.Reason reason) {
+		long position = this.tail.get();
+		while (true) {
+			final int index = (int) (position & this.mask);
+			final long lag = this.sequences.get(index) - position;
+			if (lag == 0L) {
+				if (this.tail.compareAndSet(position, position + 1)) {
+					this.records[index].set(epochMillis, method, endpoint, status, latencyNanos, rows, reason);
+					this.sequences.set(index, position + 1);
+					return true;
+				}
+				position = this.tail.get();
+			}
+			else if (lag < 0L) {
+				// the consumer has not freed this slot yet: full
+				return false;
+			}
+			else {
+				position = this.tail.get();
+			}
+		}
+	}
+	
+	/**
+	 * Hands up to {@code max} published records to {@code consumer}, oldest first. Must only
+	 * be called from one thread.
+	 *
+	 * @return how many were handed over
+	 */
+	public int drain(final Consumer<RequestLogRecord> consumer, final int max) {
+		int drained = 0;
+		while (drained < max) {
+			final int index = (int) (this.head & this.mask);
+			if (this.sequences.get(index) != this.head + 1)
+				break;
+			consumer.accept(this.records[index]);
+			this.sequences.set(index, this.head + this.records.length);
+			this.head++;
+			drained++;
+		}
+		return drained;
+	}
+	
+	public int capacity() {
+		return this.records.length;
+	}
+	
+	/**
+	 * @return an estimate, exact only when producers are idle
+	 */
+	public int size() {
+		return (int) Math.max(0L, Math.min(this.records.length, this.tail.get() - this.head));
+	}
+	
+	
+	
+}
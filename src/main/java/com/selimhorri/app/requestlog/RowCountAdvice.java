@@ -0,0 +1,53 @@
+package com.selimhorri.app.requestlog;
+
+import java.util.Collection;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.exception.payload.ExceptionMsg;
+
+/**
+ * Records how many items a response body carries for the request log: the size of a
+ * collection response, 1 for a single resource.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(prefix = "app.request-log", name = "enabled", havingValue = "true")
+public class RowCountAdvice implements ResponseBodyAdvice<Object> {
+	
+	@Override
+	public boolean supports(final MethodParameter returnType,
+			final Class<? extends HttpMessageConverter<?>> converterType) {
+		return true;
+	}
+	
+	@Override
+	public Object beforeBodyWrite(final Object body, final MethodParameter returnType,
+			final MediaType selectedContentType, final Class<? extends HttpMessageConverter<?>> selectedConverterType,
+			final ServerHttpRequest request, final ServerHttpResponse response) {
+		if (body != null && !(body instanceof ExceptionMsg) && request instanceof ServletServerHttpRequest)
+			((ServletServerHttpRequest) request).getServletRequest().setAttribute(RequestLogFilter.ROWS_ATTRIBUTE, rows(body));
+		return body;
+	}
+	
+	private static long rows(final Object body) {
+		if (body instanceof DtoCollectionResponse) {
+			final Collection<?> collection = ((DtoCollectionResponse<?>) body).getCollection();
+			return collection == null ? 0L : collection.size();
+		}
+		if (body instanceof Collection)
+			return ((Collection<?>) body).size();
+		return 1L;
+	}
+	
+	
+	
+}
@@ -0,0 +1,38 @@
+package com.selimhorri.app.resilience;
+
+import java.util.Map;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Occupancy of every bulkhead under {@code bulkheads} in {@code /actuator/health}, next to
+ * the {@code circuitBreakers} entry resilience4j contributes. Always up: a full bulkhead
+ * is the instance protecting itself, not a reason to take it out of rotation.
+ */
+@Component
+@RequiredArgsConstructor
+public class BulkheadsHealthIndicator implements HealthIndicator {
+	
+	private final BulkheadRegistry bulkheadRegistry;
+	
+	@Override
+	public Health health() {
+		final Health.Builder health = Health.up();
+		for (final Bulkhead bulkhead : this.bulkheadRegistry.getAllBulkheads()) {
+			final Bulkhead.Metrics metrics = bulkhead.getMetrics();
+			health.withDetail(bulkhead.getName(), Map.of(
+					"availableConcurrentCalls", metrics.getAvailableConcurrentCalls(),
+					"maxAllowedConcurrentCalls", metrics.getMaxAllowedConcurrentCalls()));
+		}
+		return health.build();
+	}
+	
+	
+	
+}
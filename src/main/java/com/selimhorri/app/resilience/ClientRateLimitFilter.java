@@ -0,0 +1,64 @@
+package com.selimhorri.app.resilience;
+
+import java.io.IOException;
+import java.util.List;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Applies {@link ClientRateLimiters} to requests under the configured paths. Clients are
+ * told apart by remote address only, never by a header the caller chooses; behind the
+ * gateway that is the client address Tomcat takes from {@code X-Forwarded-For} when the
+ * request comes from a trusted proxy ({@code server.tomcat.remoteip.internal-proxies}).
+ * Requests over the limit get a 429 with {@code Retry-After} before any work is done.
+ */
+@RequiredArgsConstructor
+public class ClientRateLimitFilter extends OncePerRequestFilter implements Ordered {
+	
+	private final ClientRateLimiters clientRateLimiters;
+	private final List<String> paths;
+	private final ObjectMapper objectMapper;
+	
+	/**
+	 * After the request log, so rejected requests are still logged.
+	 */
+	@Override
+	public int getOrder() {
+		return Ordered.HIGHEST_PRECEDENCE + 3;
+	}
+	
+	@Override
+	protected boolean shouldNotFilter(final HttpServletRequest request) {
+		final String path = UrlPathHelper.defaultInstance.getPathWithinApplication(request);
+		return this.paths.stream().noneMatch(path::startsWith);
+	}
+	
+	@Override
+	protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+			final FilterChain filterChain) throws ServletException, IOException {
+		
+		if (this.clientRateLimiters.tryAcquire(request.getRemoteAddr())) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+		
+		final long retryAfterSeconds = this.clientRateLimiters.getRetryAfterSeconds();
+		RejectionResponses.write(response, this.objectMapper, HttpStatus.TOO_MANY_REQUESTS, retryAfterSeconds,
+				"Too many requests, retry after " + retryAfterSeconds + "s");
+	}
+	
+	
+	
+}
@@ -0,0 +1,91 @@
+package com.selimhorri.app.resilience;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * One {@link RateLimiter} per client, created on its first request from a shared config
+ * and dropped once idle for {@code idleTimeout}. While {@code maxClients} are tracked,
+ * newcomers share a single limiter, so a flood of distinct addresses cannot grow the map
+ * without bound. The limiters stay out of the {@link RateLimiterRegistry}, which would
+ * give every client its own meters.
+ */
+public class ClientRateLimiters {
+	
+	private static final String OVERFLOW_CLIENT = "other-clients";
+	
+	private final RateLimiterConfig config;
+	private final int maxClients;
+	private final long idleTimeoutNanos;
+	private final Map<String, ClientLimiter> limiters = new ConcurrentHashMap<>();
+	private final ClientLimiter overflow;
+	private final Counter rejected;
+	
+	public ClientRateLimiters(final RateLimiterConfig config, final int maxClients, final Duration idleTimeout,
+			final MeterRegistry meterRegistry) {
+		this.config = config;
+		this.maxClients = maxClients;
+		this.idleTimeoutNanos = idleTimeout.toNanos();
+		this.overflow = new ClientLimiter(RateLimiter.of(OVERFLOW_CLIENT, config));
+		this.rejected = Counter.builder("client.rate.limit.rejected")
+				.description("Requests turned away because their client exceeded its rate limit")
+				.register(meterRegistry);
+		Gauge.builder("client.rate.limit.clients", this.limiters, Map::size)
+				.description("Clients with a rate limiter of their own")
+				.register(meterRegistry);
+	}
+	
+	/**
+	 * Takes a permit for {@code clientId} without waiting; false if it has none left in the
+	 * current period.
+	 */
+	public boolean tryAcquire(final String clientId) {
+		ClientLimiter limiter = this.limiters.get(clientId);
+		if (limiter == null)
+			limiter = this.limiters.size() < this.maxClients
+					? this.limiters.computeIfAbsent(clientId, id -> new ClientLimiter(RateLimiter.of(id, this.config)))
+					: this.overflow;
+		limiter.lastUsedNanos = System.nanoTime();
+		if (limiter.rateLimiter.acquirePermission())
+			return true;
+		this.rejected.increment();
+		return false;
+	}
+	
+	/**
+	 * Whole seconds until permits are handed out again, at least one.
+	 */
+	public long getRetryAfterSeconds() {
+		return Math.max(1, (this.config.getLimitRefreshPeriod().toMillis() + 999) / 1000);
+	}
+	
+	@Scheduled(fixedDelayString = "${app.resilience.rate-limit.evict-interval:60000}")
+	public void evictIdle() {
+		final long now = System.nanoTime();
+		this.limiters.values().removeIf(limiter -> now - limiter.lastUsedNanos > this.idleTimeoutNanos);
+	}
+	
+	private static final class ClientLimiter {
+		
+		private final RateLimiter rateLimiter;
+		private volatile long lastUsedNanos = System.nanoTime();
+		
+		private ClientLimiter(final RateLimiter rateLimiter) {
+			this.rateLimiter = rateLimiter;
+		}
+	
+	}
+	
+	
+	
+}
@@ -0,0 +1,69 @@
+package com.selimhorri.app.resilience;
+
+import java.io.IOException;
+import java.util.List;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.concurrent.GradientConcurrencyLimit;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Applies the {@link GradientConcurrencyLimit} to requests under the configured paths.
+ * Requests beyond it get a 503 with {@code Retry-After} straight away instead of queueing
+ * for threads and connections; every admitted request reports its latency to the limit.
+ */
+@RequiredArgsConstructor
+public class ConcurrencyLimitFilter extends OncePerRequestFilter implements Ordered {
+	
+	private final GradientConcurrencyLimit concurrencyLimit;
+	private final List<String> paths;
+	private final long retryAfterSeconds;
+	private final ObjectMapper objectMapper;
+	
+	/**
+	 * After the per-client rate limit, so a client over its own limit never takes a permit.
+	 */
+	@Override
+	public int getOrder() {
+		return Ordered.HIGHEST_PRECEDENCE + 4;
+	}
+	
+	@Override
+	protected boolean shouldNotFilter(final HttpServletRequest request) {
+		final String path = UrlPathHelper.defaultInstance.getPathWithinApplication(request);
+		return this.paths.stream().noneMatch(path::startsWith);
+	}
+	
+	@Override
+	protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+			final FilterChain filterChain) throws ServletException, IOException {
+		
+		if (!this.concurrencyLimit.tryAcquire()) {
+			RejectionResponses.write(response, this.objectMapper, HttpStatus.SERVICE_UNAVAILABLE, this.retryAfterSeconds,
+					"Too many concurrent requests, retry after " + this.retryAfterSeconds + "s");
+			return;
+		}
+		
+		final long start = System.nanoTime();
+		try {
+			filterChain.doFilter(request, response);
+		}
+		finally {
+			this.concurrencyLimit.release(System.nanoTime() - start);
+		}
+	}
+	
+	
+	
+}
@@ -0,0 +1,41 @@
+package com.selimhorri.app.resilience;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.ZonedDateTime;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.exception.payload.ExceptionMsg;
+
+/**
+ * Writes the rejections of the filters in this package, which run before any controller
+ * advice could, in the same shape as {@code ApiExceptionHandler}'s.
+ */
+final class RejectionResponses {
+	
+	private static final Clock CLOCK = Clock.systemDefaultZone();
+	
+	private RejectionResponses() {
+	}
+	
+	static void write(final HttpServletResponse response, final ObjectMapper objectMapper, final HttpStatus status,
+			final long retryAfterSeconds, final String message) throws IOException {
+		response.setStatus(status.value());
+		response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		objectMapper.writeValue(response.getOutputStream(), ExceptionMsg.builder()
+				.msg("#### " + message + "! ####")
+				.httpStatus(status)
+				.timestamp(ZonedDateTime.now(CLOCK))
+				.build());
+	}
+	
+	
+	
+}
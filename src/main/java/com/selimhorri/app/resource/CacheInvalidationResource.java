@@ -0,0 +1,53 @@
+package com.selimhorri.app.resource;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import javax.validation.constraints.NotNull;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.cache.invalidation.CacheInvalidationBus;
+import com.selimhorri.app.cache.invalidation.InvalidationMessage;
+import com.selimhorri.app.cache.invalidation.RestInvalidationTransport;
+
+/**
+ * Peer-to-peer endpoint, only meant to be called by other PRODUCT-SERVICE instances.
+ * Messages without the shared {@code app.cache.invalidation.secret} are refused, and all
+ * of them are while no secret is configured.
+ */
+@RestController
+@RequestMapping(RestInvalidationTransport.PATH)
+public class CacheInvalidationResource {
+	
+	private final CacheInvalidationBus cacheInvalidationBus;
+	private final byte[] secret;
+	
+	public CacheInvalidationResource(final CacheInvalidationBus cacheInvalidationBus,
+			@Value("${app.cache.invalidation.secret:}") final String secret) {
+		this.cacheInvalidationBus = cacheInvalidationBus;
+		this.secret = secret.getBytes(StandardCharsets.UTF_8);
+	}
+	
+	@PostMapping
+	public ResponseEntity<Void> receive(
+			@RequestHeader(name = RestInvalidationTransport.SECRET_HEADER, required = false) final String secret,
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL!") final InvalidationMessage message) {
+		if (this.secret.length == 0 || secret == null
+				|| !MessageDigest.isEqual(this.secret, secret.getBytes(StandardCharsets.UTF_8)))
+			return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+		this.cacheInvalidationBus.receive(message);
+		return ResponseEntity.noContent().build();
+	}
+	
+	
+	
+}
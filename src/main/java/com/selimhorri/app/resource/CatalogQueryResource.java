@@ -0,0 +1,79 @@
+package com.selimhorri.app.resource;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.columnar.CatalogQuery;
+import com.selimhorri.app.columnar.ColumnarCatalog;
+import com.selimhorri.app.dto.CatalogEntryDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.exception.wrapper.InvalidQueryException;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Price/stock range filters and top-N selections answered from the
+ * {@link ColumnarCatalog}; results trail committed writes by the sync interval.
+ */
+@RestController
+@RequestMapping("/api/products/query")
+@Slf4j
+@RequiredArgsConstructor
+public class CatalogQueryResource {
+	
+	private static final int MAX_LIMIT = 500;
+	
+	private final ColumnarCatalog columnarCatalog;
+	
+	@GetMapping
+	public ResponseEntity<DtoCollectionResponse<CatalogEntryDto>> query(
+			@RequestParam(name = "categoryId", required = false) final Integer categoryId,
+			@RequestParam(name = "minPrice", required = false) final Double minPrice,
+			@RequestParam(name = "maxPrice", required = false) final Double maxPrice,
+			@RequestParam(name = "inStock", defaultValue = "false") final boolean inStock,
+			@RequestParam(name = "sort", defaultValue = "price") final String sort,
+			@RequestParam(name = "limit", defaultValue = "50") final int limit) {
+		log.debug("*** CatalogEntryDto List, resource; query columnar catalog *");
+		if (limit < 1 || limit > MAX_LIMIT)
+			throw new InvalidQueryException(String.format("limit must be between 1 and %d", MAX_LIMIT));
+		if (minPrice != null && maxPrice != null && minPrice > maxPrice)
+			throw new InvalidQueryException("minPrice must not exceed maxPrice");
+		
+		final var query = CatalogQuery.builder()
+				.categoryId(categoryId)
+				.inStockOnly(inStock)
+				.sort(parseSort(sort))
+				.limit(limit);
+		if (minPrice != null)
+			query.minPriceCents(toCents(minPrice, "minPrice"));
+		if (maxPrice != null)
+			query.maxPriceCents(toCents(maxPrice, "maxPrice"));
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.columnarCatalog.query(query.build())));
+	}
+	
+	private static CatalogQuery.Sort parseSort(final String sort) {
+		switch (sort) {
+			case "price":
+				return CatalogQuery.Sort.PRICE_ASC;
+			case "-price":
+				return CatalogQuery.Sort.PRICE_DESC;
+			case "newest":
+				return CatalogQuery.Sort.NEWEST;
+			default:
+				throw new InvalidQueryException(String.format("Unknown sort: %s, expected price, -price or newest", sort));
+		}
+	}
+	
+	private static long toCents(final double price, final String name) {
+		if (!(price >= 0) || price > 1e15)
+			throw new InvalidQueryException(String.format("%s must be a non-negative amount", name));
+		return Math.round(price * 100);
+	}
+	
+	
+	
+}
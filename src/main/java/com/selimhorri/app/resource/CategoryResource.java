@@ -1,5 +1,9 @@
 package com.selimhorri.app.resource;
 
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
@@ -12,10 +16,16 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.selimhorri.app.dto.CategoryAggregateDto;
 import com.selimhorri.app.dto.CategoryDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.exception.wrapper.InvalidQueryException;
+import com.selimhorri.app.projection.CategoryField;
+import com.selimhorri.app.projection.FieldSelection;
+import com.selimhorri.app.service.CategoryAggregateService;
 import com.selimhorri.app.service.CategoryService;
 
 import lombok.RequiredArgsConstructor;
@@ -28,28 +38,73 @@ import lombok.extern.slf4j.Slf4j;
 public class CategoryResource {
 	
 	private final CategoryService categoryService;
+	private final CategoryAggregateService categoryAggregateService;
 	
 	@GetMapping
 	public ResponseEntity<DtoCollectionResponse<CategoryDto>> findAll() {
-		log.info("*** CategoryDto List, controller; fetch all categories *");
+		log.debug("*** CategoryDto List, controller; fetch all categories *");
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.categoryService.findAll()));
 	}
 	
+	@GetMapping(params = { "include", "!fields" })
+	public ResponseEntity<DtoCollectionResponse<CategoryDto>> findAll(
+			@RequestParam("include") final String include) {
+		log.debug("*** CategoryDto List, resource; fetch all categories with aggregates *");
+		if (!"aggregates".equals(include.strip()))
+			throw new InvalidQueryException(String.format("Unknown include: %s, expected aggregates", include));
+		final List<CategoryDto> categories = this.categoryService.findAll();
+		final Map<Integer, CategoryAggregateDto> aggregates = this.categoryAggregateService.findByCategoryIds(
+				categories.stream().map(CategoryDto::getCategoryId).collect(Collectors.toList()));
+		// the listed DTOs may be shared cache entries, so they are copied rather than filled in
+		return ResponseEntity.ok(new DtoCollectionResponse<>(categories.stream()
+				.map(category -> category.toBuilder()
+						.aggregates(aggregates.getOrDefault(category.getCategoryId(), CategoryAggregateDto.builder().build()))
+						.build())
+				.collect(Collectors.toUnmodifiableList())));
+	}
+	
+	@PostMapping("/aggregates/reconcile")
+	public ResponseEntity<Map<String, Integer>> reconcileAggregates() {
+		log.debug("*** Integer, resource; reconcile category aggregates *");
+		return ResponseEntity.ok(Map.of("repaired", this.categoryAggregateService.reconcile()));
+	}
+	
 	@GetMapping("/{categoryId}")
 	public ResponseEntity<CategoryDto> findById(
 			@PathVariable("categoryId") 
 			@NotBlank(message = "Input must not be blank") 
 			@Valid final String categoryId) {
-		log.info("*** CategoryDto, resource; fetch category by id *");
+		log.debug("*** CategoryDto, resource; fetch category by id *");
 		return ResponseEntity.ok(this.categoryService.findById(Integer.parseInt(categoryId)));
 	}
 	
+	@GetMapping(params = "fields")
+	public ResponseEntity<DtoCollectionResponse<Map<String, Object>>> findAll(
+			@RequestParam("fields") final String fields,
+			@RequestParam(name = "include", required = false) final String include) {
+		log.debug("*** Map List, resource; fetch all categories with fields *");
+		if (include != null)
+			throw new InvalidQueryException("include cannot be combined with fields");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(
+				this.categoryService.findAll(FieldSelection.parse(fields, CategoryField.class))));
+	}
+	
+	@GetMapping(value = "/{categoryId}", params = "fields")
+	public ResponseEntity<Map<String, Object>> findById(
+			@PathVariable("categoryId") 
+			@NotBlank(message = "Input must not be blank") 
+			@Valid final String categoryId,
+			@RequestParam("fields") final String fields) {
+		log.debug("*** Map, resource; fetch category by id with fields *");
+		return ResponseEntity.ok(this.categoryService.findById(Integer.parseInt(categoryId), FieldSelection.parse(fields, CategoryField.class)));
+	}
+	
 	@PostMapping
 	public ResponseEntity<CategoryDto> save(
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL") 
 			@Valid final CategoryDto categoryDto) {
-		log.info("*** CategoryDto, resource; save category *");
+		log.debug("*** CategoryDto, resource; save category *");
 		return ResponseEntity.ok(this.categoryService.save(categoryDto));
 	}
 	
@@ -58,7 +113,7 @@ public class CategoryResource {
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL") 
 			@Valid final CategoryDto categoryDto) {
-		log.info("*** CategoryDto, resource; update category *");
+		log.debug("*** CategoryDto, resource; update category *");
 		return ResponseEntity.ok(this.categoryService.update(categoryDto));
 	}
 	
@@ -70,13 +125,13 @@ public class CategoryResource {
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL") 
 			@Valid final CategoryDto categoryDto) {
-		log.info("*** CategoryDto, resource; update category with categoryId *");
+		log.debug("*** CategoryDto, resource; update category with categoryId *");
 		return ResponseEntity.ok(this.categoryService.update(Integer.parseInt(categoryId), categoryDto));
 	}
 	
 	@DeleteMapping("/{categoryId}")
 	public ResponseEntity<Boolean> deleteById(@PathVariable("categoryId") final String categoryId) {
-		log.info("*** Boolean, resource; delete category by id *");
+		log.debug("*** Boolean, resource; delete category by id *");
 		this.categoryService.deleteById(Integer.parseInt(categoryId));
 		return ResponseEntity.ok(true);
 	}
@@ -0,0 +1,50 @@
+package com.selimhorri.app.resource;
+
+import java.util.Map;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.dto.request.GraphQLRequest;
+import com.selimhorri.app.graphql.CatalogDataLoaders;
+
+import graphql.ExecutionInput;
+import graphql.GraphQL;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/graphql")
+@Slf4j
+@RequiredArgsConstructor
+public class GraphQLResource {
+	
+	private final GraphQL graphQL;
+	private final CatalogDataLoaders catalogDataLoaders;
+	
+	@PostMapping
+	public ResponseEntity<Map<String, Object>> execute(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL!") 
+			@Valid final GraphQLRequest request) {
+		log.debug("*** Map, resource; execute graphql query *");
+		
+		final var executionInput = ExecutionInput.newExecutionInput()
+				.query(request.getQuery())
+				.operationName(request.getOperationName())
+				.variables(request.getVariables() == null ? Map.of() : request.getVariables())
+				.dataLoaderRegistry(this.catalogDataLoaders.newRegistry())
+				.build();
+		
+		return ResponseEntity.ok(this.graphQL.execute(executionInput).toSpecification());
+	}
+	
+	
+	
+}
@@ -0,0 +1,83 @@
+package com.selimhorri.app.resource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
+import com.selimhorri.app.offheap.OffHeapProductStore;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Read-only product endpoints answered from the off-heap store; same JSON as
+ * {@link ProductResource}, written straight from the record buffers.
+ */
+@RestController
+@RequestMapping("/api/off-heap/products")
+@ConditionalOnProperty(prefix = "app.off-heap", name = "enabled", havingValue = "true")
+@Slf4j
+@RequiredArgsConstructor
+public class OffHeapProductResource {
+	
+	private static final int CHUNK_RECORDS = 1_000;
+	
+	private final OffHeapProductStore offHeapProductStore;
+	private final ObjectMapper objectMapper;
+	
+	@GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> findAll() {
+		log.debug("*** ProductDto List, resource; fetch all products off-heap *");
+		return ResponseEntity.ok(outputStream -> {
+			// chunks are rendered under the store's lock into memory and sent to the client without it
+			final var chunk = new ByteArrayOutputStream(CHUNK_RECORDS * 512);
+			try (JsonGenerator generator = this.objectMapper.getFactory().createGenerator(chunk, JsonEncoding.UTF8)) {
+				generator.writeStartObject();
+				generator.writeArrayFieldStart("collection");
+				final OffHeapProductStore.Cursor cursor = this.offHeapProductStore.cursor();
+				while (!cursor.isDone()) {
+					this.offHeapProductStore.visitChunk(cursor, CHUNK_RECORDS, record -> record.writeJson(generator));
+					generator.flush();
+					chunk.writeTo(outputStream);
+					chunk.reset();
+				}
+				generator.writeEndArray();
+				generator.writeEndObject();
+			}
+			chunk.writeTo(outputStream);
+		});
+	}
+	
+	@GetMapping(value = "/{productId}", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<byte[]> findById(
+			@PathVariable("productId")
+			@NotBlank(message = "Input must not be blank!")
+			@Valid final String productId) throws IOException {
+		log.debug("*** ProductDto, resource; fetch product by id off-heap *");
+		final int id = Integer.parseInt(productId);
+		final var body = new ByteArrayOutputStream(512);
+		try (JsonGenerator generator = this.objectMapper.getFactory().createGenerator(body, JsonEncoding.UTF8)) {
+			if (!this.offHeapProductStore.visit(id, record -> record.writeJson(generator)))
+				throw new ProductNotFoundException("Product with id: " + id + " not found");
+		}
+		return ResponseEntity.ok(body.toByteArray());
+	}
+	
+	
+	
+}
@@ -0,0 +1,80 @@
+package com.selimhorri.app.resource;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.dto.PriceChangeBatchDto;
+import com.selimhorri.app.dto.PriceChangeEntryDto;
+import com.selimhorri.app.dto.PricePreviewDto;
+import com.selimhorri.app.dto.PriceRuleDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.service.PricingService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bulk price adjustments: preview a rule, apply it, and read back the change log.
+ */
+@RestController
+@RequestMapping("/api/pricing/adjustments")
+@Slf4j
+@RequiredArgsConstructor
+public class PricingResource {
+	
+	private final PricingService pricingService;
+	
+	@PostMapping("/preview")
+	public ResponseEntity<PricePreviewDto> preview(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") 
+			@Valid final PriceRuleDto priceRuleDto) {
+		log.debug("*** PricePreviewDto, resource; preview price rule *");
+		return ResponseEntity.ok(this.pricingService.preview(priceRuleDto));
+	}
+	
+	@PostMapping
+	public ResponseEntity<PriceChangeBatchDto> apply(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") 
+			@Valid final PriceRuleDto priceRuleDto) {
+		log.info("*** PriceChangeBatchDto, resource; apply price rule *");
+		return ResponseEntity.ok(this.pricingService.apply(priceRuleDto));
+	}
+	
+	@GetMapping
+	public ResponseEntity<DtoCollectionResponse<PriceChangeBatchDto>> findRecentBatches() {
+		log.debug("*** PriceChangeBatchDto List, resource; fetch recent price batches *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.pricingService.findRecentBatches()));
+	}
+	
+	@GetMapping("/{batchId}")
+	public ResponseEntity<PriceChangeBatchDto> findBatchById(
+			@PathVariable("batchId") 
+			@NotBlank(message = "Input must not be blank") 
+			@Valid final String batchId) {
+		log.debug("*** PriceChangeBatchDto, resource; fetch price batch by id *");
+		return ResponseEntity.ok(this.pricingService.findBatchById(Integer.parseInt(batchId)));
+	}
+	
+	@GetMapping("/{batchId}/entries")
+	public ResponseEntity<DtoCollectionResponse<PriceChangeEntryDto>> findEntries(
+			@PathVariable("batchId") 
+			@NotBlank(message = "Input must not be blank") 
+			@Valid final String batchId) {
+		log.debug("*** PriceChangeEntryDto List, resource; fetch price batch entries *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.pricingService.findEntriesByBatchId(Integer.parseInt(batchId))));
+	}
+	
+	
+	
+}
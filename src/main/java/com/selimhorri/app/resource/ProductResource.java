@@ -1,5 +1,7 @@
 package com.selimhorri.app.resource;
 
+import java.util.Map;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
@@ -12,11 +14,16 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.dto.ProductDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
+import com.selimhorri.app.projection.ProductField;
+import com.selimhorri.app.projection.FieldSelection;
 import com.selimhorri.app.service.ProductService;
+import com.selimhorri.app.snapshot.SnapshotReadFallback;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -28,11 +35,14 @@ import lombok.extern.slf4j.Slf4j;
 public class ProductResource {
 	
 	private final ProductService productService;
+	private final SnapshotReadFallback snapshotReadFallback;
 	
 	@GetMapping
 	public ResponseEntity<DtoCollectionResponse<ProductDto>> findAll() {
-		log.info("*** ProductDto List, controller; fetch all categories *");
-		return ResponseEntity.ok(new DtoCollectionResponse<>(this.productService.findAll()));
+		log.debug("*** ProductDto List, controller; fetch all categories *");
+		return this.snapshotReadFallback.read(
+				() -> new DtoCollectionResponse<>(this.productService.findAll()),
+				snapshot -> new DtoCollectionResponse<>(snapshot.findAll()));
 	}
 	
 	@GetMapping("/{productId}")
@@ -40,8 +50,30 @@ public class ProductResource {
 			@PathVariable("productId") 
 			@NotBlank(message = "Input must not be blank!") 
 			@Valid final String productId) {
-		log.info("*** ProductDto, resource; fetch product by id *");
-		return ResponseEntity.ok(this.productService.findById(Integer.parseInt(productId)));
+		log.debug("*** ProductDto, resource; fetch product by id *");
+		final int id = Integer.parseInt(productId);
+		return this.snapshotReadFallback.read(
+				() -> this.productService.findById(id),
+				snapshot -> snapshot.findById(id).orElseThrow(
+						() -> new ProductNotFoundException("Product with id: " + id + " not found")));
+	}
+	
+	@GetMapping(params = "fields")
+	public ResponseEntity<DtoCollectionResponse<Map<String, Object>>> findAll(
+			@RequestParam("fields") final String fields) {
+		log.debug("*** Map List, resource; fetch all products with fields *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(
+				this.productService.findAll(FieldSelection.parse(fields, ProductField.class))));
+	}
+	
+	@GetMapping(value = "/{productId}", params = "fields")
+	public ResponseEntity<Map<String, Object>> findById(
+			@PathVariable("productId") 
+			@NotBlank(message = "Input must not be blank!") 
+			@Valid final String productId,
+			@RequestParam("fields") final String fields) {
+		log.debug("*** Map, resource; fetch product by id with fields *");
+		return ResponseEntity.ok(this.productService.findById(Integer.parseInt(productId), FieldSelection.parse(fields, ProductField.class)));
 	}
 	
 	@PostMapping
@@ -49,7 +81,7 @@ public class ProductResource {
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL!") 
 			@Valid final ProductDto productDto) {
-		log.info("*** ProductDto, resource; save product *");
+		log.debug("*** ProductDto, resource; save product *");
 		return ResponseEntity.ok(this.productService.save(productDto));
 	}
 	
@@ -58,7 +90,7 @@ public class ProductResource {
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL!") 
 			@Valid final ProductDto productDto) {
-		log.info("*** ProductDto, resource; update product *");
+		log.debug("*** ProductDto, resource; update product *");
 		return ResponseEntity.ok(this.productService.update(productDto));
 	}
 	
@@ -70,13 +102,13 @@ public class ProductResource {
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL!") 
 			@Valid final ProductDto productDto) {
-		log.info("*** ProductDto, resource; update product with productId *");
+		log.debug("*** ProductDto, resource; update product with productId *");
 		return ResponseEntity.ok(this.productService.update(Integer.parseInt(productId), productDto));
 	}
 	
 	@DeleteMapping("/{productId}")
 	public ResponseEntity<Boolean> deleteById(@PathVariable("productId") final String productId) {
-		log.info("*** Boolean, resource; delete product by id *");
+		log.debug("*** Boolean, resource; delete product by id *");
 		this.productService.deleteById(Integer.parseInt(productId));
 		return ResponseEntity.ok(true);
 	}
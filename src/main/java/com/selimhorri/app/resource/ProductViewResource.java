@@ -0,0 +1,72 @@
+package com.selimhorri.app.resource;
+
+import java.util.Map;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.readmodel.ConsistencyReport;
+import com.selimhorri.app.service.ProductViewService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Product reads served from the denormalized read model, plus its maintenance commands.
+ * Same JSON as {@link ProductResource}.
+ */
+@RestController
+@RequestMapping("/api/product-views")
+@Slf4j
+@RequiredArgsConstructor
+public class ProductViewResource {
+	
+	private final ProductViewService productViewService;
+	
+	@GetMapping
+	public ResponseEntity<DtoCollectionResponse<ProductDto>> findAll() {
+		log.debug("*** ProductDto List, resource; fetch all products from read model *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.productViewService.findAll()));
+	}
+	
+	@GetMapping(params = "categoryId")
+	public ResponseEntity<DtoCollectionResponse<ProductDto>> findAllByCategoryId(
+			@RequestParam("categoryId") final Integer categoryId) {
+		log.debug("*** ProductDto List, resource; fetch products by category id from read model *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.productViewService.findAllByCategoryId(categoryId)));
+	}
+	
+	@GetMapping("/{productId}")
+	public ResponseEntity<ProductDto> findById(
+			@PathVariable("productId") 
+			@NotBlank(message = "Input must not be blank!") 
+			@Valid final String productId) {
+		log.debug("*** ProductDto, resource; fetch product by id from read model *");
+		return ResponseEntity.ok(this.productViewService.findById(Integer.parseInt(productId)));
+	}
+	
+	@PostMapping("/rebuild")
+	public ResponseEntity<Map<String, Integer>> rebuild() {
+		log.info("*** Integer, resource; rebuild product read model *");
+		return ResponseEntity.ok(Map.of("products", this.productViewService.rebuild()));
+	}
+	
+	@GetMapping("/consistency")
+	public ResponseEntity<ConsistencyReport> checkConsistency() {
+		log.info("*** ConsistencyReport, resource; check product read model *");
+		return ResponseEntity.ok(this.productViewService.checkConsistency());
+	}
+	
+	
+	
+}
@@ -0,0 +1,64 @@
+package com.selimhorri.app.resource;
+
+import java.util.List;
+import java.util.Map;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.dto.ScheduledPriceChangeDto;
+import com.selimhorri.app.service.PricingService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Prices scheduled to switch over at a given instant, e.g. for flash sales. Applied
+ * changes show up as batches under {@code /api/pricing/adjustments}.
+ */
+@RestController
+@RequestMapping("/api/pricing/schedules")
+@Slf4j
+@RequiredArgsConstructor
+public class ScheduledPriceResource {
+	
+	private final PricingService pricingService;
+	
+	@PostMapping
+	public ResponseEntity<Map<String, Integer>> schedule(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") 
+			@Valid final List<ScheduledPriceChangeDto> scheduledPriceChangeDtos) {
+		log.info("*** Integer, resource; schedule price changes *");
+		return ResponseEntity.ok(Map.of("scheduled", this.pricingService.schedule(scheduledPriceChangeDtos)));
+	}
+	
+	@GetMapping("/{scheduleId}")
+	public ResponseEntity<ScheduledPriceChangeDto> findById(
+			@PathVariable("scheduleId") 
+			@NotBlank(message = "Input must not be blank") 
+			@Valid final String scheduleId) {
+		log.debug("*** ScheduledPriceChangeDto, resource; fetch scheduled price change by id *");
+		return ResponseEntity.ok(this.pricingService.findScheduleById(Long.parseLong(scheduleId)));
+	}
+	
+	@DeleteMapping("/{scheduleId}")
+	public ResponseEntity<Boolean> cancel(@PathVariable("scheduleId") final String scheduleId) {
+		log.info("*** Boolean, resource; cancel scheduled price change *");
+		this.pricingService.cancelSchedule(Long.parseLong(scheduleId));
+		return ResponseEntity.ok(true);
+	}
+	
+	
+	
+}
@@ -0,0 +1,20 @@
+package com.selimhorri.app.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+
+/**
+ * Keyed bulk lookups backing the GraphQL data loaders: one query per call, every requested
+ * key present in the result.
+ */
+public interface CatalogBatchService {
+	
+	Map<Integer, CategoryDto> findCategoriesByIds(final Set<Integer> categoryIds);
+	Map<Integer, List<CategoryDto>> findSubCategoriesByParentIds(final Set<Integer> parentIds);
+	Map<Integer, List<ProductDto>> findProductsByCategoryIds(final Set<Integer> categoryIds);
+	
+}
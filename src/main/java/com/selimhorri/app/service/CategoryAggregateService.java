@@ -0,0 +1,13 @@
+package com.selimhorri.app.service;
+
+import java.util.Collection;
+import java.util.Map;
+
+import com.selimhorri.app.dto.CategoryAggregateDto;
+
+public interface CategoryAggregateService {
+	
+	Map<Integer, CategoryAggregateDto> findByCategoryIds(final Collection<Integer> categoryIds);
+	int reconcile();
+	
+}
@@ -1,13 +1,18 @@
 package com.selimhorri.app.service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.projection.CategoryField;
 
 public interface CategoryService {
 	
 	List<CategoryDto> findAll();
 	CategoryDto findById(final Integer categoryId);
+	List<Map<String, Object>> findAll(final Set<CategoryField> fields);
+	Map<String, Object> findById(final Integer categoryId, final Set<CategoryField> fields);
 	CategoryDto save(final CategoryDto categoryDto);
 	CategoryDto update(final CategoryDto categoryDto);
 	CategoryDto update(final Integer categoryId, final CategoryDto categoryDto);
@@ -0,0 +1,22 @@
+package com.selimhorri.app.service;
+
+import java.util.List;
+
+import com.selimhorri.app.dto.PriceChangeBatchDto;
+import com.selimhorri.app.dto.PriceChangeEntryDto;
+import com.selimhorri.app.dto.PricePreviewDto;
+import com.selimhorri.app.dto.PriceRuleDto;
+import com.selimhorri.app.dto.ScheduledPriceChangeDto;
+
+public interface PricingService {
+	
+	PricePreviewDto preview(final PriceRuleDto priceRuleDto);
+	PriceChangeBatchDto apply(final PriceRuleDto priceRuleDto);
+	List<PriceChangeBatchDto> findRecentBatches();
+	PriceChangeBatchDto findBatchById(final Integer batchId);
+	List<PriceChangeEntryDto> findEntriesByBatchId(final Integer batchId);
+	int schedule(final List<ScheduledPriceChangeDto> scheduledPriceChangeDtos);
+	ScheduledPriceChangeDto findScheduleById(final Long scheduleId);
+	void cancelSchedule(final Long scheduleId);
+	
+}
@@ -1,13 +1,20 @@
 package com.selimhorri.app.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.projection.ProductField;
 
 public interface ProductService {
 	
 	List<ProductDto> findAll();
 	ProductDto findById(final Integer productId);
+	List<ProductDto> findAllById(final Collection<Integer> productIds);
+	List<Map<String, Object>> findAll(final Set<ProductField> fields);
+	Map<String, Object> findById(final Integer productId, final Set<ProductField> fields);
 	ProductDto save(final ProductDto productDto);
 	ProductDto update(final ProductDto productDto);
 	ProductDto update(final Integer productId, final ProductDto productDto);
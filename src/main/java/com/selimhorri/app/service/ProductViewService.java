@@ -0,0 +1,16 @@
+package com.selimhorri.app.service;
+
+import java.util.List;
+
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.readmodel.ConsistencyReport;
+
+public interface ProductViewService {
+	
+	List<ProductDto> findAll();
+	ProductDto findById(final Integer productId);
+	List<ProductDto> findAllByCategoryId(final Integer categoryId);
+	int rebuild();
+	ConsistencyReport checkConsistency();
+	
+}
@@ -0,0 +1,64 @@
+package com.selimhorri.app.service.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.helper.CategoryMappingHelper;
+import com.selimhorri.app.helper.ProductMappingHelper;
+import com.selimhorri.app.repository.CategoryRepository;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.service.CatalogBatchService;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class CatalogBatchServiceImpl implements CatalogBatchService {
+	
+	private final CategoryRepository categoryRepository;
+	private final ProductRepository productRepository;
+	
+	@Override
+	public Map<Integer, CategoryDto> findCategoriesByIds(final Set<Integer> categoryIds) {
+		final Map<Integer, CategoryDto> categories = new HashMap<>();
+		for (final Category category : this.categoryRepository.findAllById(categoryIds))
+			categories.put(category.getCategoryId(), CategoryMappingHelper.map(category));
+		return categories;
+	}
+	
+	@Override
+	public Map<Integer, List<CategoryDto>> findSubCategoriesByParentIds(final Set<Integer> parentIds) {
+		final Map<Integer, List<CategoryDto>> subCategories = emptyLists(parentIds);
+		for (final Category category : this.categoryRepository.findAllNonReservedByParentIds(parentIds))
+			subCategories.get(category.getParentCategory().getCategoryId()).add(CategoryMappingHelper.map(category));
+		return subCategories;
+	}
+	
+	@Override
+	public Map<Integer, List<ProductDto>> findProductsByCategoryIds(final Set<Integer> categoryIds) {
+		final Map<Integer, List<ProductDto>> products = emptyLists(categoryIds);
+		for (final Product product : this.productRepository.findAllWithoutDeletedByCategoryIds(categoryIds))
+			products.get(product.getCategory().getCategoryId()).add(ProductMappingHelper.map(product));
+		return products;
+	}
+	
+	private static <T> Map<Integer, List<T>> emptyLists(final Set<Integer> keys) {
+		final Map<Integer, List<T>> lists = new HashMap<>(keys.size() * 2);
+		keys.forEach(key -> lists.put(key, new ArrayList<>()));
+		return lists;
+	}
+	
+	
+	
+}
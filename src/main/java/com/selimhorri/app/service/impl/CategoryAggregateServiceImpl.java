@@ -0,0 +1,58 @@
+package com.selimhorri.app.service.impl;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.selimhorri.app.aggregate.CategoryAggregateReconciler;
+import com.selimhorri.app.domain.CategoryAggregate;
+import com.selimhorri.app.dto.CategoryAggregateDto;
+import com.selimhorri.app.repository.CategoryAggregateRepository;
+import com.selimhorri.app.service.CategoryAggregateService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Transactional(readOnly = true)
+@Slf4j
+@RequiredArgsConstructor
+public class CategoryAggregateServiceImpl implements CategoryAggregateService {
+
+	private final CategoryAggregateRepository categoryAggregateRepository;
+	private final CategoryAggregateReconciler categoryAggregateReconciler;
+
+	@Override
+	public Map<Integer, CategoryAggregateDto> findByCategoryIds(final Collection<Integer> categoryIds) {
+		log.debug("*** CategoryAggregateDto Map, service; fetch aggregates by category ids *");
+		if (categoryIds.isEmpty())
+			return Map.of();
+		return this.categoryAggregateRepository.findAllByCategoryIdIn(categoryIds)
+				.stream()
+				.collect(Collectors.toUnmodifiableMap(CategoryAggregate::getCategoryId, CategoryAggregateServiceImpl::map));
+	}
+
+	@Override
+	@Transactional
+	public int reconcile() {
+		log.info("*** Integer, service; reconcile category aggregates *");
+		return this.categoryAggregateReconciler.reconcile();
+	}
+
+	private static CategoryAggregateDto map(final CategoryAggregate aggregate) {
+		return CategoryAggregateDto.builder()
+				.productCount(aggregate.getProductCount())
+				.totalStock(aggregate.getTotalStock())
+				.minPrice(aggregate.getMinPrice())
+				.maxPrice(aggregate.getMaxPrice())
+				.averagePrice(aggregate.getPricedCount() == 0 ? null
+						: aggregate.getPriceSum().divide(BigDecimal.valueOf(aggregate.getPricedCount()), 2, RoundingMode.HALF_UP))
+				.build();
+	}
+
+}
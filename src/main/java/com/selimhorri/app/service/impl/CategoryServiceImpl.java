@@ -2,16 +2,21 @@ package com.selimhorri.app.service.impl;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
-import javax.transaction.Transactional;
-
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.selimhorri.app.aggregate.CategoryAggregateMaintainer;
 import com.selimhorri.app.domain.Category;
 import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.event.CatalogChangedEvent;
 import com.selimhorri.app.exception.wrapper.CategoryNotFoundException;
 import com.selimhorri.app.helper.CategoryMappingHelper;
+import com.selimhorri.app.projection.CategoryField;
 import com.selimhorri.app.repository.CategoryRepository;
 import com.selimhorri.app.repository.ProductRepository;
 import com.selimhorri.app.service.CategoryService;
@@ -27,8 +32,11 @@ public class CategoryServiceImpl implements CategoryService {
 
 	private final CategoryRepository categoryRepository;
 	private final ProductRepository productRepository;
+	private final CategoryAggregateMaintainer categoryAggregateMaintainer;
+	private final ApplicationEventPublisher eventPublisher;
 
 	@Override
+	@Transactional(readOnly = true)
 	public List<CategoryDto> findAll() {
 		return this.categoryRepository.findAllNonReserved()
 				.stream()
@@ -37,17 +45,32 @@ public class CategoryServiceImpl implements CategoryService {
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public CategoryDto findById(final Integer categoryId) {
 		return this.categoryRepository.findNonReservedById(categoryId)
 				.map(CategoryMappingHelper::map)
 				.orElseThrow(() -> new CategoryNotFoundException(
-						String.format("Category with id: %d not found or is reserved", categoryId)));
+						"Category with id: " + categoryId + " not found or is reserved"));
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<Map<String, Object>> findAll(final Set<CategoryField> fields) {
+		return this.categoryRepository.findFieldsNonReserved(fields);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Map<String, Object> findById(final Integer categoryId, final Set<CategoryField> fields) {
+		return this.categoryRepository.findFieldsNonReservedById(categoryId, fields)
+				.orElseThrow(() -> new CategoryNotFoundException(
+						"Category with id: " + categoryId + " not found or is reserved"));
 	}
 
 	@Override
 	@Transactional
 	public CategoryDto save(final CategoryDto categoryDto) {
-		log.info("*** CategoryDto, service; save category *");
+		log.debug("*** CategoryDto, service; save category *");
 
 		if (categoryDto.getCategoryTitle() == null || categoryDto.getCategoryTitle().trim().isEmpty()) {
 			throw new IllegalArgumentException("Category title cannot be empty or null");
@@ -74,13 +97,15 @@ public class CategoryServiceImpl implements CategoryService {
 		}
 
 		// Guardar y mapear a DTO
-		return CategoryMappingHelper.map(this.categoryRepository.save(newCategory));
+		final Category savedCategory = this.categoryRepository.save(newCategory);
+		this.eventPublisher.publishEvent(CatalogChangedEvent.ofCategory(savedCategory.getCategoryId()));
+		return CategoryMappingHelper.map(savedCategory);
 	}
 
 	@Override
 	@Transactional
 	public CategoryDto update(final CategoryDto categoryDto) {
-		log.info("*** CategoryDto, service; update category *");
+		log.debug("*** CategoryDto, service; update category *");
 
 		// Validaciones básicas
 		if (categoryDto.getCategoryId() == null) {
@@ -113,13 +138,15 @@ public class CategoryServiceImpl implements CategoryService {
 		existingCategory.setParentCategory(null);
 		existingCategory.setSubCategories(null);
 
-		return CategoryMappingHelper.map(this.categoryRepository.save(existingCategory));
+		final Category savedCategory = this.categoryRepository.save(existingCategory);
+		this.eventPublisher.publishEvent(CatalogChangedEvent.ofCategory(savedCategory.getCategoryId()));
+		return CategoryMappingHelper.map(savedCategory);
 	}
 
 	@Override
 	@Transactional
 	public CategoryDto update(final Integer categoryId, final CategoryDto categoryDto) {
-		log.info("*** CategoryDto, service; update category with categoryId *");
+		log.debug("*** CategoryDto, service; update category with categoryId *");
 
 		// Validaciones básicas
 		if (categoryId == null) {
@@ -152,13 +179,15 @@ public class CategoryServiceImpl implements CategoryService {
 		existingCategory.setSubCategories(null);
 
 		// No necesitamos mapear el DTO a entidad porque trabajamos con la existente
-		return CategoryMappingHelper.map(this.categoryRepository.save(existingCategory));
+		final Category savedCategory = this.categoryRepository.save(existingCategory);
+		this.eventPublisher.publishEvent(CatalogChangedEvent.ofCategory(categoryId));
+		return CategoryMappingHelper.map(savedCategory);
 	}
 
 	@Override
 	@Transactional
 	public void deleteById(final Integer categoryId) {
-		log.info("*** Void, service; delete category by id *");
+		log.debug("*** Void, service; delete category by id *");
 
 		// 1. Verificar que la categoría exista
 		Category category = this.categoryRepository.findById(categoryId)
@@ -179,9 +208,14 @@ public class CategoryServiceImpl implements CategoryService {
 
 		// 4. Migrar todos los productos a "No Category"
 		this.productRepository.updateCategoryForProducts(categoryId, noCategory);
+		this.categoryAggregateMaintainer.merge(categoryId, noCategory.getCategoryId());
 
 		// 5. Eliminar la categoría
 		this.categoryRepository.delete(category);
+
+		// 6. Productos migrados en bloque: ids desconocidos
+		this.eventPublisher.publishEvent(CatalogChangedEvent.ofCategory(categoryId));
+		this.eventPublisher.publishEvent(CatalogChangedEvent.allOf(CatalogChangedEvent.EntityType.PRODUCT));
 	}
 
 }
@@ -0,0 +1,113 @@
+package com.selimhorri.app.service.impl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import com.selimhorri.app.cache.UnknownIdCache;
+import com.selimhorri.app.concurrent.SingleFlight;
+import com.selimhorri.app.config.datasource.ReadYourWritesTracker;
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.event.CatalogChangedEvent.EntityType;
+import com.selimhorri.app.exception.wrapper.CategoryNotFoundException;
+import com.selimhorri.app.projection.CategoryField;
+import com.selimhorri.app.service.CategoryService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Front of {@link CategoryServiceImpl}: concurrent lookups of the same id share one load,
+ * and ids found missing are remembered for a moment in the {@link UnknownIdCache}, if
+ * enabled.
+ */
+@Service
+@Primary
+public class CoalescingCategoryService implements CategoryService {
+	
+	private final CategoryService delegate;
+	private final SingleFlight<Integer, CategoryDto> findByIdFlight;
+	private final ObjectProvider<ReadYourWritesTracker> readYourWritesTracker;
+	private final UnknownIdCache unknownIds;
+	
+	public CoalescingCategoryService(
+			@Qualifier("categoryServiceImpl") final CategoryService delegate,
+			@Value("${app.single-flight.timeout:2000}") final long timeoutMillis,
+			final ObjectProvider<ReadYourWritesTracker> readYourWritesTracker,
+			final ObjectProvider<UnknownIdCache> unknownIds,
+			final MeterRegistry meterRegistry) {
+		this.delegate = delegate;
+		this.readYourWritesTracker = readYourWritesTracker;
+		this.unknownIds = unknownIds.getIfAvailable();
+		this.findByIdFlight = new SingleFlight<>("category.findById", timeoutMillis, meterRegistry);
+	}
+	
+	@Override
+	public List<CategoryDto> findAll() {
+		return this.delegate.findAll();
+	}
+	
+	@Override
+	public CategoryDto findById(final Integer categoryId) {
+		// a client that just wrote reads on its own: a flight led by another request would not see its write
+		final var tracker = this.readYourWritesTracker.getIfAvailable();
+		if (tracker != null && tracker.isSticky())
+			return this.rememberingUnknown(categoryId, () -> this.delegate.findById(categoryId));
+		return this.rememberingUnknown(categoryId, () -> this.findByIdFlight.execute(categoryId, () -> this.delegate.findById(categoryId)));
+	}
+	
+	@Override
+	public List<Map<String, Object>> findAll(final Set<CategoryField> fields) {
+		return this.delegate.findAll(fields);
+	}
+	
+	@Override
+	public Map<String, Object> findById(final Integer categoryId, final Set<CategoryField> fields) {
+		return this.rememberingUnknown(categoryId, () -> this.delegate.findById(categoryId, fields));
+	}
+	
+	@Override
+	public CategoryDto save(final CategoryDto categoryDto) {
+		return this.delegate.save(categoryDto);
+	}
+	
+	@Override
+	public CategoryDto update(final CategoryDto categoryDto) {
+		return this.delegate.update(categoryDto);
+	}
+	
+	@Override
+	public CategoryDto update(final Integer categoryId, final CategoryDto categoryDto) {
+		return this.delegate.update(categoryId, categoryDto);
+	}
+	
+	@Override
+	public void deleteById(final Integer categoryId) {
+		this.delegate.deleteById(categoryId);
+	}
+	
+	private <T> T rememberingUnknown(final Integer categoryId, final Supplier<T> lookup) {
+		if (this.unknownIds == null || categoryId == null)
+			return lookup.get();
+		if (this.unknownIds.isUnknown(EntityType.CATEGORY, categoryId))
+			throw new CategoryNotFoundException("Category with id: " + categoryId + " not found or is reserved");
+		
+		final long generation = this.unknownIds.generation(EntityType.CATEGORY);
+		try {
+			return lookup.get();
+		}
+		catch (CategoryNotFoundException e) {
+			this.unknownIds.recordUnknown(EntityType.CATEGORY, categoryId, generation);
+			throw e;
+		}
+	}
+	
+	
+	
+}
@@ -0,0 +1,193 @@
+package com.selimhorri.app.service.impl;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import com.selimhorri.app.cache.UnknownIdCache;
+import com.selimhorri.app.concurrent.BatchLoader;
+import com.selimhorri.app.concurrent.SingleFlight;
+import com.selimhorri.app.config.datasource.ReadYourWritesTracker;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.event.CatalogChangedEvent.EntityType;
+import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
+import com.selimhorri.app.projection.ProductField;
+import com.selimhorri.app.service.ProductService;
+import com.selimhorri.app.timing.RequestTiming;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Front of {@link ResilientProductService}: concurrent lookups of the same id share one
+ * load, and concurrent lookups of different ids are grouped into one {@code IN} query.
+ * Ids found missing are remembered for a moment in the {@link UnknownIdCache}, if
+ * enabled.
+ */
+@Service
+@Primary
+public class CoalescingProductService implements ProductService {
+	
+	private final ProductService delegate;
+	private final SingleFlight<Integer, ProductDto> findByIdFlight;
+	private final BatchLoader<Integer, Loaded> findByIdBatcher;
+	private final ObjectProvider<ReadYourWritesTracker> readYourWritesTracker;
+	private final UnknownIdCache unknownIds;
+	
+	public CoalescingProductService(
+			@Qualifier("resilientProductService") final ProductService delegate,
+			@Value("${app.single-flight.timeout:2000}") final long timeoutMillis,
+			@Value("${app.batch-loader.enabled:true}") final boolean batchingEnabled,
+			@Value("${app.batch-loader.max-window:2000}") final long maxWindowMicros,
+			@Value("${app.batch-loader.min-batch-size:8}") final int minBatchSize,
+			@Value("${app.batch-loader.max-batch-size:256}") final int maxBatchSize,
+			@Value("${app.batch-loader.workers:8}") final int workers,
+			final ObjectProvider<ReadYourWritesTracker> readYourWritesTracker,
+			final ObjectProvider<UnknownIdCache> unknownIds,
+			final MeterRegistry meterRegistry) {
+		this.delegate = delegate;
+		this.readYourWritesTracker = readYourWritesTracker;
+		this.unknownIds = unknownIds.getIfAvailable();
+		this.findByIdFlight = new SingleFlight<>("product.findById", timeoutMillis, meterRegistry);
+		this.findByIdBatcher = !batchingEnabled ? null : new BatchLoader<>("product.findById", this::loadBatch,
+				BatchLoader.Settings.builder()
+					.maxWindowNanos(TimeUnit.MICROSECONDS.toNanos(maxWindowMicros))
+					.minBatchSize(minBatchSize)
+					.maxBatchSize(maxBatchSize)
+					.workers(workers)
+					.timeoutMillis(timeoutMillis)
+					.build(),
+				meterRegistry);
+	}
+	
+	@PreDestroy
+	public void close() {
+		if (this.findByIdBatcher != null)
+			this.findByIdBatcher.close();
+	}
+	
+	@Override
+	public List<ProductDto> findAll() {
+		return this.delegate.findAll();
+	}
+	
+	@Override
+	public ProductDto findById(final Integer productId) {
+		// a client that just wrote reads on its own: a flight or batch led by another request would not see its write
+		final var tracker = this.readYourWritesTracker.getIfAvailable();
+		if (tracker != null && tracker.isSticky())
+			return this.rememberingUnknown(productId, () -> this.delegate.findById(productId));
+		return this.rememberingUnknown(productId, () -> this.findByIdFlight.execute(productId, () -> this.load(productId)));
+	}
+	
+	@Override
+	public List<ProductDto> findAllById(final Collection<Integer> productIds) {
+		return this.delegate.findAllById(productIds);
+	}
+	
+	@Override
+	public List<Map<String, Object>> findAll(final Set<ProductField> fields) {
+		return this.delegate.findAll(fields);
+	}
+	
+	@Override
+	public Map<String, Object> findById(final Integer productId, final Set<ProductField> fields) {
+		return this.rememberingUnknown(productId, () -> this.delegate.findById(productId, fields));
+	}
+	
+	@Override
+	public ProductDto save(final ProductDto productDto) {
+		return this.delegate.save(productDto);
+	}
+	
+	@Override
+	public ProductDto update(final ProductDto productDto) {
+		return this.delegate.update(productDto);
+	}
+	
+	@Override
+	public ProductDto update(final Integer productId, final ProductDto productDto) {
+		return this.delegate.update(productId, productDto);
+	}
+	
+	@Override
+	public void deleteById(final Integer productId) {
+		this.delegate.deleteById(productId);
+	}
+	
+	private <T> T rememberingUnknown(final Integer productId, final Supplier<T> lookup) {
+		if (this.unknownIds == null || productId == null)
+			return lookup.get();
+		if (this.unknownIds.isUnknown(EntityType.PRODUCT, productId))
+			throw new ProductNotFoundException("Product with id: " + productId + " not found");
+		
+		final long generation = this.unknownIds.generation(EntityType.PRODUCT);
+		try {
+			return lookup.get();
+		}
+		catch (ProductNotFoundException e) {
+			this.unknownIds.recordUnknown(EntityType.PRODUCT, productId, generation);
+			throw e;
+		}
+	}
+	
+	private ProductDto load(final Integer productId) {
+		
+		if (this.findByIdBatcher == null)
+			return this.delegate.findById(productId);
+		
+		final Loaded loaded = this.findByIdBatcher.load(productId);
+		RequestTiming.addShared(loaded.batchTiming);
+		if (loaded.productDto == null)
+			throw new ProductNotFoundException("Product with id: " + productId + " not found");
+		return loaded.productDto;
+	}
+	
+	private Map<Integer, Loaded> loadBatch(final Set<Integer> productIds) {
+		// on a loader thread: its JDBC and mapping time goes back to each waiting request
+		final RequestTiming batchTiming = RequestTiming.beginShared();
+		final Map<Integer, ProductDto> found;
+		try {
+			found = this.delegate.findAllById(productIds)
+					.stream()
+					.collect(Collectors.toMap(ProductDto::getProductId, Function.identity()));
+		}
+		finally {
+			RequestTiming.endShared();
+		}
+		final Map<Integer, Loaded> loaded = new HashMap<>();
+		productIds.forEach(productId -> loaded.put(productId, new Loaded(found.get(productId), batchTiming)));
+		return loaded;
+	}
+	
+	/**
+	 * A batched lookup: the product, {@code null} when missing, and the batch's timing.
+	 */
+	private static final class Loaded {
+		
+		private final ProductDto productDto;
+		private final RequestTiming batchTiming;
+		
+		private Loaded(final ProductDto productDto, final RequestTiming batchTiming) {
+			this.productDto = productDto;
+			this.batchTiming = batchTiming;
+		}
+	
+	}
+	
+	
+	
+}
@@ -0,0 +1,292 @@
+package com.selimhorri.app.service.impl;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.domain.PriceChangeBatch;
+import com.selimhorri.app.domain.ScheduledPriceChange;
+import com.selimhorri.app.dto.PriceChangeBatchDto;
+import com.selimhorri.app.dto.PriceChangeEntryDto;
+import com.selimhorri.app.dto.PricePreviewDto;
+import com.selimhorri.app.dto.PriceRuleDto;
+import com.selimhorri.app.dto.PriceRuleDto.Adjustment;
+import com.selimhorri.app.dto.PriceRuleDto.Rounding;
+import com.selimhorri.app.dto.ScheduledPriceChangeDto;
+import com.selimhorri.app.exception.wrapper.CategoryNotFoundException;
+import com.selimhorri.app.exception.wrapper.InvalidPriceRuleException;
+import com.selimhorri.app.exception.wrapper.PriceChangeBatchNotFoundException;
+import com.selimhorri.app.exception.wrapper.ScheduledPriceChangeNotFoundException;
+import com.selimhorri.app.helper.PriceChangeMappingHelper;
+import com.selimhorri.app.pricing.PriceAdjustmentWriter;
+import com.selimhorri.app.pricing.PriceRule;
+import com.selimhorri.app.pricing.ScheduledPriceActivator;
+import com.selimhorri.app.repository.CategoryRepository;
+import com.selimhorri.app.repository.PriceChangeBatchRepository;
+import com.selimhorri.app.repository.PriceChangeEntryRepository;
+import com.selimhorri.app.repository.ScheduledPriceChangeRepository;
+import com.selimhorri.app.service.PricingService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bulk and scheduled price changes. {@link #apply} is not transactional itself: the
+ * products in scope are walked in id order and repriced chunk by chunk, each chunk
+ * committing on its own, so a large rule never holds locks on a whole category tree.
+ * Scheduled changes are only stored here and handed to the {@link ScheduledPriceActivator}.
+ */
+@Service
+@Slf4j
+public class PricingServiceImpl implements PricingService {
+
+	static final int MAX_SKUS = 1000;
+	static final int MAX_SCHEDULED_CHANGES = 10_000;
+	private static final int MAX_CATEGORY_DEPTH = 32;
+	private static final BigDecimal MIN_PERCENT = BigDecimal.valueOf(-100);
+	private static final BigDecimal MAX_PERCENT = BigDecimal.valueOf(1000);
+	private static final BigDecimal DEFAULT_ROUND_TO = new BigDecimal("0.01");
+
+	private final CategoryRepository categoryRepository;
+	private final PriceChangeBatchRepository priceChangeBatchRepository;
+	private final PriceChangeEntryRepository priceChangeEntryRepository;
+	private final ScheduledPriceChangeRepository scheduledPriceChangeRepository;
+	private final PriceAdjustmentWriter priceAdjustmentWriter;
+	private final ScheduledPriceActivator scheduledPriceActivator;
+	private final int chunkSize;
+
+	public PricingServiceImpl(final CategoryRepository categoryRepository,
+			final PriceChangeBatchRepository priceChangeBatchRepository,
+			final PriceChangeEntryRepository priceChangeEntryRepository,
+			final ScheduledPriceChangeRepository scheduledPriceChangeRepository,
+			final PriceAdjustmentWriter priceAdjustmentWriter,
+			final ScheduledPriceActivator scheduledPriceActivator,
+			@Value("${app.pricing.chunk-size:500}") final int chunkSize) {
+		this.categoryRepository = categoryRepository;
+		this.priceChangeBatchRepository = priceChangeBatchRepository;
+		this.priceChangeEntryRepository = priceChangeEntryRepository;
+		this.scheduledPriceChangeRepository = scheduledPriceChangeRepository;
+		this.priceAdjustmentWriter = priceAdjustmentWriter;
+		this.scheduledPriceActivator = scheduledPriceActivator;
+		this.chunkSize = chunkSize;
+	}
+
+	@Override
+	public PricePreviewDto preview(final PriceRuleDto priceRuleDto) {
+		log.debug("*** PricePreviewDto, service; preview price rule *");
+		final PriceAdjustmentWriter.Preview preview = this.checkedPreview(this.resolve(priceRuleDto));
+		return PricePreviewDto.builder()
+				.affectedCount(preview.getAffectedCount())
+				.minDelta(preview.getMinDelta())
+				.maxDelta(preview.getMaxDelta())
+				.build();
+	}
+
+	@Override
+	public PriceChangeBatchDto apply(final PriceRuleDto priceRuleDto) {
+		log.info("*** PriceChangeBatchDto, service; apply price rule *");
+		final PriceRule rule = this.resolve(priceRuleDto);
+		this.checkedPreview(rule);
+
+		final Integer batchId = this.priceAdjustmentWriter.startBatch(rule.getDescription());
+		int afterId = 0;
+		int applied = 0;
+		while (true) {
+			final PriceAdjustmentWriter.Chunk chunk = this.priceAdjustmentWriter.applyChunk(batchId, rule, afterId, this.chunkSize);
+			if (chunk.getLastId() == null)
+				break;
+			afterId = chunk.getLastId();
+			applied += chunk.getApplied();
+		}
+		final PriceChangeBatch batch = this.priceAdjustmentWriter.completeBatch(batchId);
+		log.info("*** Price batch {} repriced {} products: {} *", batchId, applied, rule.getDescription());
+		return PriceChangeMappingHelper.map(batch);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<PriceChangeBatchDto> findRecentBatches() {
+		log.debug("*** PriceChangeBatchDto List, service; fetch recent price batches *");
+		return this.priceChangeBatchRepository.findTop50ByOrderByBatchIdDesc()
+				.stream()
+				.map(PriceChangeMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList());
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public PriceChangeBatchDto findBatchById(final Integer batchId) {
+		log.debug("*** PriceChangeBatchDto, service; fetch price batch by id *");
+		return this.priceChangeBatchRepository.findById(batchId)
+				.map(PriceChangeMappingHelper::map)
+				.orElseThrow(() -> new PriceChangeBatchNotFoundException("Price batch with id: " + batchId + " not found"));
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<PriceChangeEntryDto> findEntriesByBatchId(final Integer batchId) {
+		log.debug("*** PriceChangeEntryDto List, service; fetch price batch entries *");
+		return this.priceChangeEntryRepository.findAllByBatchIdOrderByProductId(batchId)
+				.stream()
+				.map(PriceChangeMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList());
+	}
+
+	@Override
+	public int schedule(final List<ScheduledPriceChangeDto> scheduledPriceChangeDtos) {
+		log.info("*** Integer, service; schedule price changes *");
+		if (scheduledPriceChangeDtos == null || scheduledPriceChangeDtos.isEmpty())
+			throw new InvalidPriceRuleException("At least one scheduled change is required");
+		if (scheduledPriceChangeDtos.size() > MAX_SCHEDULED_CHANGES)
+			throw new InvalidPriceRuleException(String.format("At most %d scheduled changes per request", MAX_SCHEDULED_CHANGES));
+		
+		final Instant now = Instant.now();
+		final List<ScheduledPriceChange> changes = new ArrayList<>(scheduledPriceChangeDtos.size());
+		final Set<Instant> activationTimes = new HashSet<>();
+		for (final ScheduledPriceChangeDto dto : scheduledPriceChangeDtos) {
+			if (dto.getProductId() == null || dto.getNewPrice() == null || dto.getActivateAt() == null)
+				throw new InvalidPriceRuleException("productId, newPrice and activateAt are required");
+			final BigDecimal newPrice = dto.getNewPrice().stripTrailingZeros();
+			if (newPrice.signum() < 0 || newPrice.compareTo(PriceRule.MAX_PRICE) > 0 || newPrice.scale() > 2)
+				throw new InvalidPriceRuleException(String.format("newPrice must be within 0 and %s, in cents", PriceRule.MAX_PRICE));
+			if (dto.getActivateAt().isBefore(now))
+				throw new InvalidPriceRuleException(String.format("activateAt %s is in the past", dto.getActivateAt()));
+			changes.add(ScheduledPriceChange.builder()
+					.productId(dto.getProductId())
+					.newPrice(newPrice.setScale(2, RoundingMode.UNNECESSARY))
+					.activateAt(dto.getActivateAt())
+					.build());
+			activationTimes.add(dto.getActivateAt());
+		}
+		
+		this.scheduledPriceChangeRepository.insertAll(changes);
+		this.scheduledPriceActivator.register(activationTimes);
+		log.info("*** Scheduled {} price changes at {} distinct instants *", changes.size(), activationTimes.size());
+		return changes.size();
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public ScheduledPriceChangeDto findScheduleById(final Long scheduleId) {
+		log.debug("*** ScheduledPriceChangeDto, service; fetch scheduled price change by id *");
+		return this.scheduledPriceChangeRepository.findById(scheduleId)
+				.map(PriceChangeMappingHelper::map)
+				.orElseThrow(() -> new ScheduledPriceChangeNotFoundException(
+						"Scheduled price change with id: " + scheduleId + " not found"));
+	}
+
+	@Override
+	@Transactional
+	public void cancelSchedule(final Long scheduleId) {
+		log.info("*** Void, service; cancel scheduled price change *");
+		if (this.scheduledPriceChangeRepository.cancel(scheduleId))
+			return;
+		final ScheduledPriceChangeDto current = this.findScheduleById(scheduleId);
+		throw new InvalidPriceRuleException(String.format("Scheduled price change with id: %d is %s and can no longer be cancelled",
+				scheduleId, current.getStatus() == ScheduledPriceChange.Status.PENDING ? "being applied" : current.getStatus()));
+	}
+
+	/**
+	 * Rejects rules that would push any price in scope out of the column's range.
+	 */
+	private PriceAdjustmentWriter.Preview checkedPreview(final PriceRule rule) {
+		final PriceAdjustmentWriter.Preview preview = this.priceAdjustmentWriter.preview(rule);
+		if (preview.getMinNewPrice() != null && preview.getMinNewPrice().signum() < 0)
+			throw new InvalidPriceRuleException(String.format("Rule would make prices negative, down to %s", preview.getMinNewPrice()));
+		if (preview.getMaxNewPrice() != null && preview.getMaxNewPrice().compareTo(PriceRule.MAX_PRICE) > 0)
+			throw new InvalidPriceRuleException(String.format("Rule would raise prices above %s, up to %s",
+					PriceRule.MAX_PRICE, preview.getMaxNewPrice()));
+		return preview;
+	}
+
+	private PriceRule resolve(final PriceRuleDto dto) {
+		final var description = new StringBuilder();
+		final var rule = PriceRule.builder();
+
+		final boolean hasSkus = dto.getSkus() != null && !dto.getSkus().isEmpty();
+		if (dto.getCategoryId() == null && !hasSkus && dto.getMinPrice() == null && dto.getMaxPrice() == null)
+			throw new InvalidPriceRuleException("Scope must set at least one of categoryId, skus, minPrice or maxPrice");
+		if (dto.getCategoryId() != null) {
+			final Set<Integer> subtree = this.findSubtree(dto.getCategoryId());
+			rule.categoryIds(subtree);
+			description.append(String.format("category %d subtree (%d categories); ", dto.getCategoryId(), subtree.size()));
+		}
+		if (hasSkus) {
+			if (dto.getSkus().size() > MAX_SKUS)
+				throw new InvalidPriceRuleException(String.format("At most %d skus per rule", MAX_SKUS));
+			rule.skus(Set.copyOf(dto.getSkus()));
+			description.append(String.format("%d skus; ", dto.getSkus().size()));
+		}
+		if (dto.getMinPrice() != null || dto.getMaxPrice() != null) {
+			if (dto.getMinPrice() != null && dto.getMinPrice().signum() < 0)
+				throw new InvalidPriceRuleException("minPrice must be a non-negative amount");
+			if (dto.getMinPrice() != null && dto.getMaxPrice() != null && dto.getMinPrice().compareTo(dto.getMaxPrice()) > 0)
+				throw new InvalidPriceRuleException("minPrice must not exceed maxPrice");
+			rule.minPrice(dto.getMinPrice()).maxPrice(dto.getMaxPrice());
+			description.append(String.format("price %s..%s; ",
+					dto.getMinPrice() == null ? "" : dto.getMinPrice().toPlainString(),
+					dto.getMaxPrice() == null ? "" : dto.getMaxPrice().toPlainString()));
+		}
+
+		if (dto.getAdjustment() == null || dto.getAmount() == null)
+			throw new InvalidPriceRuleException("adjustment (PERCENT or FIXED) and amount are required");
+		final BigDecimal amount = dto.getAmount().stripTrailingZeros();
+		if (dto.getAdjustment() == Adjustment.PERCENT) {
+			if (amount.compareTo(MIN_PERCENT) <= 0 || amount.compareTo(MAX_PERCENT) > 0 || amount.scale() > 4)
+				throw new InvalidPriceRuleException("Percent amount must be above -100 and at most 1000, with up to 4 decimals");
+			rule.factor(BigDecimal.ONE.add(amount.movePointLeft(2))).offset(BigDecimal.ZERO);
+			description.append(String.format("%s%s%%", amount.signum() >= 0 ? "+" : "", amount.toPlainString()));
+		}
+		else {
+			if (amount.abs().compareTo(PriceRule.MAX_PRICE) > 0 || amount.scale() > 2)
+				throw new InvalidPriceRuleException(String.format("Fixed amount must be within -%s and %s, in cents", PriceRule.MAX_PRICE, PriceRule.MAX_PRICE));
+			rule.factor(BigDecimal.ONE).offset(amount);
+			description.append(String.format("%s%s", amount.signum() >= 0 ? "+" : "", amount.toPlainString()));
+		}
+
+		final BigDecimal roundTo = dto.getRoundTo() == null ? DEFAULT_ROUND_TO : dto.getRoundTo().stripTrailingZeros();
+		if (roundTo.signum() <= 0 || roundTo.scale() > 2 || roundTo.compareTo(BigDecimal.valueOf(1000)) > 0)
+			throw new InvalidPriceRuleException("roundTo must be a positive amount in cents, at most 1000");
+		final Rounding rounding = dto.getRounding() == null ? Rounding.NEAREST : dto.getRounding();
+		rule.roundTo(roundTo.setScale(2, RoundingMode.UNNECESSARY)).rounding(rounding);
+		description.append(String.format(" rounded %s to %s",
+				rounding.name().toLowerCase(), roundTo.setScale(2, RoundingMode.UNNECESSARY).toPlainString()));
+
+		return rule
+				.excludedCategoryId(this.categoryRepository.findByCategoryTitle("Deleted")
+						.map(Category::getCategoryId)
+						.orElse(null))
+				.description(description.toString())
+				.build();
+	}
+
+	/**
+	 * The category and all its non-reserved descendants.
+	 */
+	private Set<Integer> findSubtree(final Integer categoryId) {
+		final Category root = this.categoryRepository.findNonReservedById(categoryId)
+				.orElseThrow(() -> new CategoryNotFoundException(
+						"Category with id: " + categoryId + " not found or is reserved"));
+		final Set<Integer> subtree = new HashSet<>();
+		subtree.add(root.getCategoryId());
+		Set<Integer> level = Set.of(root.getCategoryId());
+		for (int depth = 0; depth < MAX_CATEGORY_DEPTH && !level.isEmpty(); depth++) {
+			level = this.categoryRepository.findAllNonReservedByParentIds(level)
+					.stream()
+					.map(Category::getCategoryId)
+					.filter(subtree::add)
+					.collect(Collectors.toSet());
+		}
+		return Set.copyOf(subtree);
+	}
+
+}
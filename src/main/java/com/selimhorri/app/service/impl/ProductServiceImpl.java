@@ -1,19 +1,27 @@
 package com.selimhorri.app.service.impl;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
-import javax.transaction.Transactional;
-
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.selimhorri.app.aggregate.CategoryAggregateMaintainer;
+import com.selimhorri.app.aggregate.ProductFacts;
 import com.selimhorri.app.domain.Category;
 import com.selimhorri.app.domain.Product;
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.event.CatalogChangedEvent;
 import com.selimhorri.app.exception.wrapper.CategoryNotFoundException;
+import com.selimhorri.app.exception.wrapper.DuplicateSkuException;
 import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
 import com.selimhorri.app.helper.ProductMappingHelper;
+import com.selimhorri.app.projection.ProductField;
 import com.selimhorri.app.repository.CategoryRepository;
 import com.selimhorri.app.repository.ProductRepository;
 import com.selimhorri.app.service.ProductService;
@@ -29,10 +37,13 @@ public class ProductServiceImpl implements ProductService {
 
 	private final ProductRepository productRepository;
 	private final CategoryRepository categoryRepository;
+	private final CategoryAggregateMaintainer categoryAggregateMaintainer;
+	private final ApplicationEventPublisher eventPublisher;
 
 	@Override
+	@Transactional(readOnly = true)
 	public List<ProductDto> findAll() {
-		log.info("*** ProductDto List, service; fetch all products *");
+		log.debug("*** ProductDto List, service; fetch all products *");
 		return this.productRepository.findAllWithoutDeleted()
 				.stream()
 				.map(ProductMappingHelper::map)
@@ -41,17 +52,43 @@ public class ProductServiceImpl implements ProductService {
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public ProductDto findById(final Integer productId) {
-		log.info("*** ProductDto, service; fetch product by id *");
+		log.debug("*** ProductDto, service; fetch product by id *");
 		return this.productRepository.findByIdWithoutDeleted(productId)
 				.map(ProductMappingHelper::map)
 				.orElseThrow(
-						() -> new ProductNotFoundException(String.format("Product with id: %d not found", productId)));
+						() -> new ProductNotFoundException("Product with id: " + productId + " not found"));
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<ProductDto> findAllById(final Collection<Integer> productIds) {
+		return this.productRepository.findAllByIdWithoutDeleted(productIds)
+				.stream()
+				.map(ProductMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList());
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<Map<String, Object>> findAll(final Set<ProductField> fields) {
+		log.debug("*** Map List, service; fetch all products with fields *");
+		return this.productRepository.findFieldsWithoutDeleted(fields, this.findDeletedCategoryId());
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Map<String, Object> findById(final Integer productId, final Set<ProductField> fields) {
+		log.debug("*** Map, service; fetch product by id with fields *");
+		return this.productRepository.findFieldsByIdWithoutDeleted(productId, fields, this.findDeletedCategoryId())
+				.orElseThrow(
+						() -> new ProductNotFoundException("Product with id: " + productId + " not found"));
 	}
 
 	@Override
 	public ProductDto save(final ProductDto productDto) {
-		log.info("*** ProductDto, service; save product *");
+		log.debug("*** ProductDto, service; save product *");
 
 		// Validación de campos obligatorios
 		if (productDto.getProductTitle() == null || productDto.getProductTitle().isEmpty()) {
@@ -83,6 +120,8 @@ public class ProductServiceImpl implements ProductService {
 		Category category = categoryRepository.findById(categoryId)
 				.orElseThrow(() -> new CategoryNotFoundException("Categoría no encontrada con ID: " + categoryId));
 
+		this.requireUniqueSku(productDto.getSku(), null);
+
 		productDto.setProductId(null);
 		
 		// Mapear DTO a entidad
@@ -96,25 +135,35 @@ public class ProductServiceImpl implements ProductService {
 			newProduct.setCreatedAt(Instant.now());
 		}
 
-		return ProductMappingHelper.map(this.productRepository.save(newProduct));
+		final Product savedProduct = this.productRepository.save(newProduct);
+		this.categoryAggregateMaintainer.apply(null, ProductFacts.of(savedProduct));
+		this.eventPublisher.publishEvent(CatalogChangedEvent.ofProduct(savedProduct.getProductId()));
+		return ProductMappingHelper.map(savedProduct);
 	}
 
 	@Override
 	public ProductDto update(final ProductDto productDto) {
-		log.info("*** ProductDto, service; update product *");
+		log.debug("*** ProductDto, service; update product *");
 
 		// Validar que el producto exista
 		if (productDto.getProductId() == null || !productRepository.existsById(productDto.getProductId())) {
 			throw new ProductNotFoundException("Producto no encontrado con ID: " + productDto.getProductId());
 		}
 
-		return ProductMappingHelper.map(this.productRepository
-				.save(ProductMappingHelper.map(productDto)));
+		this.requireUniqueSku(productDto.getSku(), productDto.getProductId());
+
+		final ProductFacts before = this.productRepository.findById(productDto.getProductId())
+				.map(ProductFacts::of)
+				.orElse(null);
+		final Product savedProduct = this.productRepository.save(ProductMappingHelper.map(productDto));
+		this.categoryAggregateMaintainer.apply(before, ProductFacts.of(savedProduct));
+		this.eventPublisher.publishEvent(CatalogChangedEvent.ofProduct(savedProduct.getProductId()));
+		return ProductMappingHelper.map(savedProduct);
 	}
 
 	@Override
 	public ProductDto update(final Integer productId, final ProductDto productDto) {
-		log.info("*** ProductDto, service; update product with productId *");
+		log.debug("*** ProductDto, service; update product with productId *");
 
 		// Verificar que el producto exista y cargar la categoría completa
 		Product existingProduct = productRepository.findById(productId)
@@ -131,7 +180,10 @@ public class ProductServiceImpl implements ProductService {
 			category = existingProduct.getCategory();
 		}
 
+		this.requireUniqueSku(productDto.getSku(), productId);
+
 		// Preservar createdAt del producto existente
+		final ProductFacts before = ProductFacts.of(existingProduct);
 		Instant originalCreatedAt = existingProduct.getCreatedAt();
 		
 		// Actualizar los campos del producto existente con los del DTO
@@ -153,12 +205,15 @@ public class ProductServiceImpl implements ProductService {
 		// Setear updatedAt manualmente si JPA Auditing no está funcionando
 		existingProduct.setUpdatedAt(Instant.now());
 
-		return ProductMappingHelper.map(this.productRepository.save(existingProduct));
+		final Product savedProduct = this.productRepository.save(existingProduct);
+		this.categoryAggregateMaintainer.apply(before, ProductFacts.of(savedProduct));
+		this.eventPublisher.publishEvent(CatalogChangedEvent.ofProduct(productId));
+		return ProductMappingHelper.map(savedProduct);
 	}
 
 	@Override
 	public void deleteById(final Integer productId) {
-		log.info("*** Void, service; soft delete product by id *");
+		log.debug("*** Void, service; soft delete product by id *");
 
 		// 1. Verificar si el producto existe
 		Product product = this.productRepository.findByIdWithoutDeleted(productId)
@@ -169,16 +224,28 @@ public class ProductServiceImpl implements ProductService {
 				.orElseThrow(() -> new RuntimeException("Category 'Deleted' not found in database"));
 
 		// 3. Actualizar la categoría del producto a "Deleted" (soft delete)
+		final ProductFacts before = ProductFacts.of(product);
 		product.setCategory(deletedCategory);
 		this.productRepository.save(product);
+		this.categoryAggregateMaintainer.apply(before, ProductFacts.of(product));
+		this.eventPublisher.publishEvent(CatalogChangedEvent.ofProduct(productId));
 	}
-}
-
-
-
-
-
-
-
 
+	// Comprobado antes de escribir: uk_products_sku solo daría un error de integridad (500)
+	private void requireUniqueSku(final String sku, final Integer productId) {
+		if (sku == null)
+			return;
+		final boolean taken = productId == null
+				? this.productRepository.existsBySku(sku)
+				: this.productRepository.existsBySkuAndProductIdNot(sku, productId);
+		if (taken)
+			throw new DuplicateSkuException("Product with sku: " + sku + " already exists");
+	}
 
+	// Resuelto desde la query cache: permite filtrar por category_id sin join
+	private Integer findDeletedCategoryId() {
+		return this.categoryRepository.findByCategoryTitle("Deleted")
+				.map(Category::getCategoryId)
+				.orElse(null);
+	}
+}
@@ -0,0 +1,71 @@
+package com.selimhorri.app.service.impl;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
+import com.selimhorri.app.helper.ProductViewMappingHelper;
+import com.selimhorri.app.readmodel.ConsistencyReport;
+import com.selimhorri.app.readmodel.ProductViewConsistencyChecker;
+import com.selimhorri.app.readmodel.ProductViewProjector;
+import com.selimhorri.app.repository.ProductViewRepository;
+import com.selimhorri.app.service.ProductViewService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Transactional(readOnly = true)
+@Slf4j
+@RequiredArgsConstructor
+public class ProductViewServiceImpl implements ProductViewService {
+
+	private final ProductViewRepository productViewRepository;
+	private final ProductViewProjector productViewProjector;
+	private final ProductViewConsistencyChecker productViewConsistencyChecker;
+
+	@Override
+	public List<ProductDto> findAll() {
+		log.debug("*** ProductDto List, service; fetch all products from read model *");
+		return this.productViewRepository.findAll()
+				.stream()
+				.map(ProductViewMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList());
+	}
+
+	@Override
+	public ProductDto findById(final Integer productId) {
+		log.debug("*** ProductDto, service; fetch product by id from read model *");
+		return this.productViewRepository.findById(productId)
+				.map(ProductViewMappingHelper::map)
+				.orElseThrow(
+						() -> new ProductNotFoundException("Product with id: " + productId + " not found"));
+	}
+
+	@Override
+	public List<ProductDto> findAllByCategoryId(final Integer categoryId) {
+		log.debug("*** ProductDto List, service; fetch products by category id from read model *");
+		return this.productViewRepository.findAllByCategoryId(categoryId)
+				.stream()
+				.map(ProductViewMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList());
+	}
+
+	@Override
+	@Transactional
+	public int rebuild() {
+		log.info("*** Integer, service; rebuild product read model *");
+		return this.productViewProjector.rebuild();
+	}
+
+	@Override
+	public ConsistencyReport checkConsistency() {
+		log.info("*** ConsistencyReport, service; check product read model *");
+		return this.productViewConsistencyChecker.check();
+	}
+
+}
@@ -0,0 +1,113 @@
+package com.selimhorri.app.service.impl;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.projection.ProductField;
+import com.selimhorri.app.service.ProductService;
+import com.selimhorri.app.snapshot.SnapshotReadFallback;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+
+/**
+ * Guards the database work of {@link ProductServiceImpl}. It sits outside the
+ * transactions, so a rejected call never holds a connection. Every call goes through the
+ * {@value #CIRCUIT_BREAKER} circuit breaker and one of three bulkheads: lookups by id,
+ * full scans and writes. A burst of scans therefore cannot take the connections lookups
+ * and writes need. Rejections raise {@link BulkheadFullException} or
+ * {@link CallNotPermittedException}. Catalog reads then fall back to the snapshot in
+ * {@link SnapshotReadFallback}; everything else answers 503.
+ */
+@Service
+public class ResilientProductService implements ProductService {
+	
+	public static final String CIRCUIT_BREAKER = "productService";
+	public static final String BY_ID_BULKHEAD = "productReads";
+	public static final String SCAN_BULKHEAD = "productScans";
+	public static final String WRITE_BULKHEAD = "productWrites";
+	
+	private final ProductService delegate;
+	private final CircuitBreaker circuitBreaker;
+	private final Bulkhead byIdReads;
+	private final Bulkhead scans;
+	private final Bulkhead writes;
+	
+	public ResilientProductService(
+			@Qualifier("productServiceImpl") final ProductService delegate,
+			final CircuitBreakerRegistry circuitBreakerRegistry,
+			final BulkheadRegistry bulkheadRegistry) {
+		this.delegate = delegate;
+		this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(CIRCUIT_BREAKER);
+		this.byIdReads = bulkheadRegistry.bulkhead(BY_ID_BULKHEAD);
+		this.scans = bulkheadRegistry.bulkhead(SCAN_BULKHEAD);
+		this.writes = bulkheadRegistry.bulkhead(WRITE_BULKHEAD);
+	}
+	
+	@Override
+	public List<ProductDto> findAll() {
+		return this.call(this.scans, this.delegate::findAll);
+	}
+	
+	@Override
+	public ProductDto findById(final Integer productId) {
+		return this.call(this.byIdReads, () -> this.delegate.findById(productId));
+	}
+	
+	@Override
+	public List<ProductDto> findAllById(final Collection<Integer> productIds) {
+		return this.call(this.byIdReads, () -> this.delegate.findAllById(productIds));
+	}
+	
+	@Override
+	public List<Map<String, Object>> findAll(final Set<ProductField> fields) {
+		return this.call(this.scans, () -> this.delegate.findAll(fields));
+	}
+	
+	@Override
+	public Map<String, Object> findById(final Integer productId, final Set<ProductField> fields) {
+		return this.call(this.byIdReads, () -> this.delegate.findById(productId, fields));
+	}
+	
+	@Override
+	public ProductDto save(final ProductDto productDto) {
+		return this.call(this.writes, () -> this.delegate.save(productDto));
+	}
+	
+	@Override
+	public ProductDto update(final ProductDto productDto) {
+		return this.call(this.writes, () -> this.delegate.update(productDto));
+	}
+	
+	@Override
+	public ProductDto update(final Integer productId, final ProductDto productDto) {
+		return this.call(this.writes, () -> this.delegate.update(productId, productDto));
+	}
+	
+	@Override
+	public void deleteById(final Integer productId) {
+		this.writes.executeRunnable(() -> this.circuitBreaker.executeRunnable(() -> this.delegate.deleteById(productId)));
+	}
+	
+	/**
+	 * The bulkhead goes outermost: calls it turns away never reach the breaker, so a full
+	 * bulkhead does not count as a database failure.
+	 */
+	private <T> T call(final Bulkhead bulkhead, final Supplier<T> supplier) {
+		return bulkhead.executeSupplier(() -> this.circuitBreaker.executeSupplier(supplier));
+	}
+	
+	
+	
+}
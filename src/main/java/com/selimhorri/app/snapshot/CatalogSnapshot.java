@@ -0,0 +1,256 @@
+package com.selimhorri.app.snapshot;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+
+/**
+ * Read-only, memory-mapped view of the product catalog as written by {@link #write}.
+ * <p>
+ * File layout (big endian, all offsets relative to the start of the file unless noted):
+ * <pre>
+ * header   magic(4) version(4) generatedAt(8) count(4) indexOffset(4) heapOffset(4) reserved(4)
+ * records  count x 64 bytes: productId(4) nullMask(4) quantity(4) categoryId(4) priceUnit(8),
+ *          then heap offset(4) and byte length(4) of productTitle, imageUrl, sku,
+ *          categoryTitle and categoryImageUrl (length -1 for null)
+ * index    count x (productId(4), recordOffset(4)), sorted by productId
+ * heap     UTF-8 bytes of every distinct string
+ * </pre>
+ * Instances are immutable and safe to share between threads.
+ */
+public final class CatalogSnapshot {
+	
+	static final int MAGIC = 0x43415453;
+	static final int VERSION = 1;
+	
+	private static final int HEADER_SIZE = 32;
+	private static final int RECORD_SIZE = 64;
+	private static final int INDEX_ENTRY_SIZE = 8;
+	
+	private static final int NULL_QUANTITY = 1;
+	private static final int NULL_PRICE = 1 << 1;
+	private static final int NULL_CATEGORY = 1 << 2;
+	
+	private static final int PRODUCT_TITLE = 24;
+	private static final int IMAGE_URL = 32;
+	private static final int SKU = 40;
+	private static final int CATEGORY_TITLE = 48;
+	private static final int CATEGORY_IMAGE_URL = 56;
+	
+	private final ByteBuffer buffer;
+	private final Instant generatedAt;
+	private final int count;
+	private final int indexOffset;
+	private final int heapOffset;
+	
+	private CatalogSnapshot(final ByteBuffer buffer) {
+		this.buffer = buffer;
+		this.generatedAt = Instant.ofEpochMilli(buffer.getLong(8));
+		this.count = buffer.getInt(16);
+		this.indexOffset = buffer.getInt(20);
+		this.heapOffset = buffer.getInt(24);
+	}
+	
+	/**
+	 * Writes the products to a temporary file next to {@code path} and atomically moves it
+	 * into place, so readers never observe a partially written snapshot.
+	 */
+	public static void write(final Path path, final Collection<ProductDto> products, final Instant generatedAt)
+			throws IOException {
+		
+		final int count = products.size();
+		final int indexOffset = HEADER_SIZE + count * RECORD_SIZE;
+		final int heapOffset = indexOffset + count * INDEX_ENTRY_SIZE;
+		
+		final ByteBuffer fixed = ByteBuffer.allocate(heapOffset);
+		fixed.putInt(MAGIC)
+				.putInt(VERSION)
+				.putLong(generatedAt.toEpochMilli())
+				.putInt(count)
+				.putInt(indexOffset)
+				.putInt(heapOffset)
+				.putInt(0);
+		
+		final var heap = new StringHeap();
+		final long[] index = new long[count];
+		int i = 0;
+		for (final ProductDto product : products) {
+			final int recordOffset = HEADER_SIZE + i * RECORD_SIZE;
+			final CategoryDto category = product.getCategoryDto();
+			final int nullMask = (product.getQuantity() == null ? NULL_QUANTITY : 0)
+					| (product.getPriceUnit() == null ? NULL_PRICE : 0)
+					| (category == null ? NULL_CATEGORY : 0);
+			
+			fixed.position(recordOffset);
+			fixed.putInt(product.getProductId())
+					.putInt(nullMask)
+					.putInt(product.getQuantity() == null ? 0 : product.getQuantity())
+					.putInt(category == null || category.getCategoryId() == null ? 0 : category.getCategoryId())
+					.putDouble(product.getPriceUnit() == null ? 0d : product.getPriceUnit());
+			heap.put(fixed, product.getProductTitle());
+			heap.put(fixed, product.getImageUrl());
+			heap.put(fixed, product.getSku());
+			heap.put(fixed, category == null ? null : category.getCategoryTitle());
+			heap.put(fixed, category == null ? null : category.getImageUrl());
+			
+			// ids are positive, so sorting the packed longs sorts by productId
+			index[i++] = ((long) product.getProductId() << 32) | recordOffset;
+		}
+		
+		Arrays.sort(index);
+		fixed.position(indexOffset);
+		for (final long entry : index)
+			fixed.putInt((int) (entry >>> 32)).putInt((int) entry);
+		fixed.rewind();
+		
+		final Path temp = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), ".tmp");
+		try {
+			try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+				final ByteBuffer strings = heap.toByteBuffer();
+				while (fixed.hasRemaining() || strings.hasRemaining())
+					channel.write(new ByteBuffer[] { fixed, strings });
+				channel.force(true);
+			}
+			Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		}
+		finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+	
+	/**
+	 * Maps an existing snapshot file. The mapping stays valid after the file is replaced by
+	 * a newer snapshot, so readers holding this instance are unaffected by refreshes.
+	 */
+	public static CatalogSnapshot open(final Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			final long size = channel.size();
+			if (size < HEADER_SIZE || size > Integer.MAX_VALUE)
+				throw new IOException("Invalid catalog snapshot size " + size + ": " + path);
+			
+			final MappedByteBuffer buffer = channel.map(MapMode.READ_ONLY, 0, size);
+			if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION)
+				throw new IOException("Not a catalog snapshot or unsupported version: " + path);
+			
+			final var snapshot = new CatalogSnapshot(buffer);
+			if (snapshot.indexOffset != HEADER_SIZE + snapshot.count * RECORD_SIZE
+					|| snapshot.heapOffset != snapshot.indexOffset + snapshot.count * INDEX_ENTRY_SIZE
+					|| snapshot.heapOffset > size)
+				throw new IOException("Corrupt catalog snapshot: " + path);
+			return snapshot;
+		}
+	}
+	
+	public Instant getGeneratedAt() {
+		return this.generatedAt;
+	}
+	
+	public int size() {
+		return this.count;
+	}
+	
+	public Optional<ProductDto> findById(final int productId) {
+		int low = 0;
+		int high = this.count - 1;
+		while (low <= high) {
+			final int mid = (low + high) >>> 1;
+			final int entry = this.indexOffset + mid * INDEX_ENTRY_SIZE;
+			final int id = this.buffer.getInt(entry);
+			if (id < productId)
+				low = mid + 1;
+			else if (id > productId)
+				high = mid - 1;
+			else
+				return Optional.of(this.read(this.buffer.getInt(entry + 4)));
+		}
+		return Optional.empty();
+	}
+	
+	/**
+	 * @return every product, in the order they were written
+	 */
+	public List<ProductDto> findAll() {
+		final List<ProductDto> products = new ArrayList<>(this.count);
+		for (int i = 0; i < this.count; i++)
+			products.add(this.read(HEADER_SIZE + i * RECORD_SIZE));
+		return products;
+	}
+	
+	private ProductDto read(final int record) {
+		final int nullMask = this.buffer.getInt(record + 4);
+		return ProductDto.builder()
+				.productId(this.buffer.getInt(record))
+				.productTitle(this.readString(record + PRODUCT_TITLE))
+				.imageUrl(this.readString(record + IMAGE_URL))
+				.sku(this.readString(record + SKU))
+				.priceUnit((nullMask & NULL_PRICE) != 0 ? null : this.buffer.getDouble(record + 16))
+				.quantity((nullMask & NULL_QUANTITY) != 0 ? null : this.buffer.getInt(record + 8))
+				.categoryDto((nullMask & NULL_CATEGORY) != 0 ? null : CategoryDto.builder()
+						.categoryId(this.buffer.getInt(record + 12))
+						.categoryTitle(this.readString(record + CATEGORY_TITLE))
+						.imageUrl(this.readString(record + CATEGORY_IMAGE_URL))
+						.build())
+				.build();
+	}
+	
+	private String readString(final int reference) {
+		final int length = this.buffer.getInt(reference + 4);
+		if (length < 0)
+			return null;
+		final byte[] bytes = new byte[length];
+		this.buffer.duplicate()
+				.position(this.heapOffset + this.buffer.getInt(reference))
+				.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+	
+	/**
+	 * Accumulates distinct strings; repeated values such as category titles are stored once.
+	 */
+	private static final class StringHeap {
+		
+		private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		private final Map<String, Integer> offsets = new HashMap<>();
+		
+		void put(final ByteBuffer record, final String value) {
+			if (value == null) {
+				record.putInt(0).putInt(-1);
+				return;
+			}
+			final byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+			final int offset = this.offsets.computeIfAbsent(value, key -> {
+				final int start = this.bytes.size();
+				this.bytes.writeBytes(encoded);
+				return start;
+			});
+			record.putInt(offset).putInt(encoded.length);
+		}
+		
+		ByteBuffer toByteBuffer() {
+			return ByteBuffer.wrap(this.bytes.toByteArray());
+		}
+	
+	}
+	
+	
+	
+}
@@ -0,0 +1,94 @@
+package com.selimhorri.app.snapshot;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.service.ProductService;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps an on-disk {@link CatalogSnapshot} refreshed from the database and holds the
+ * current memory-mapped view of it.
+ */
+@Slf4j
+public class CatalogSnapshotManager {
+	
+	private final ProductService productService;
+	private final Path path;
+	private volatile CatalogSnapshot current;
+	
+	public CatalogSnapshotManager(final ProductService productService, final Path path, final MeterRegistry meterRegistry) {
+		this.productService = productService;
+		this.path = path.toAbsolutePath();
+		Gauge.builder("catalog.snapshot.age", this, manager -> manager.getAge()
+						.map(age -> age.toMillis() / 1000d)
+						.orElse(Double.NaN))
+				.description("Seconds since the catalog snapshot was read from the database")
+				.baseUnit("seconds")
+				.register(meterRegistry);
+		Gauge.builder("catalog.snapshot.products", this, manager -> manager.getCurrent()
+						.map(CatalogSnapshot::size)
+						.orElse(0))
+				.register(meterRegistry);
+	}
+	
+	/**
+	 * Maps the snapshot left by a previous run, so fallback reads work on a cold start
+	 * before the database has answered a single query.
+	 */
+	@PostConstruct
+	public void load() {
+		if (!Files.exists(this.path))
+			return;
+		try {
+			this.current = CatalogSnapshot.open(this.path);
+			log.info("*** Loaded catalog snapshot of {} products generated at {} *",
+					this.current.size(), this.current.getGeneratedAt());
+		}
+		catch (IOException e) {
+			log.warn("*** Ignoring unreadable catalog snapshot {}: {} *", this.path, e.getMessage());
+		}
+	}
+	
+	@Scheduled(fixedDelayString = "${app.snapshot.refresh-interval:60000}",
+			initialDelayString = "${app.snapshot.initial-delay:5000}")
+	public void refresh() {
+		// taken before the query, so the reported age never understates staleness
+		final Instant generatedAt = Instant.now();
+		try {
+			final List<ProductDto> products = this.productService.findAll();
+			Files.createDirectories(this.path.getParent());
+			CatalogSnapshot.write(this.path, products, generatedAt);
+			this.current = CatalogSnapshot.open(this.path);
+			log.info("*** Wrote catalog snapshot of {} products to {} *", products.size(), this.path);
+		}
+		catch (IOException | RuntimeException e) {
+			log.warn("*** Catalog snapshot refresh failed, keeping the previous one: {} *", e.getMessage());
+		}
+	}
+	
+	public Optional<CatalogSnapshot> getCurrent() {
+		return Optional.ofNullable(this.current);
+	}
+	
+	public Optional<Duration> getAge() {
+		return this.getCurrent()
+				.map(snapshot -> Duration.between(snapshot.getGeneratedAt(), Instant.now()));
+	}
+	
+	
+	
+}
@@ -0,0 +1,61 @@
+package com.selimhorri.app.snapshot;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.TransactionException;
+
+import com.selimhorri.app.exception.wrapper.LoadTimeoutException;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Answers catalog reads from the memory-mapped snapshot when the database read fails or
+ * is turned away by the {@code productService} circuit breaker or a bulkhead of
+ * {@link com.selimhorri.app.service.impl.ResilientProductService}. Fallback responses
+ * carry an {@code Age} header, a stale {@code Warning} and the snapshot generation time
+ * so clients can tell how old the data is.
+ */
+@Slf4j
+public class SnapshotReadFallback {
+	
+	public static final String GENERATED_AT_HEADER = "X-Catalog-Snapshot-Generated-At";
+	private static final String STALE_WARNING = "110 - \"Response is Stale\"";
+	
+	private final CatalogSnapshotManager snapshotManager;
+	
+	public SnapshotReadFallback(final CatalogSnapshotManager snapshotManager) {
+		this.snapshotManager = snapshotManager;
+	}
+	
+	public <T> ResponseEntity<T> read(final Supplier<T> databaseRead, final Function<CatalogSnapshot, T> snapshotRead) {
+		try {
+			return ResponseEntity.ok(databaseRead.get());
+		}
+		catch (CallNotPermittedException | BulkheadFullException | DataAccessException | TransactionException | LoadTimeoutException e) {
+			final Optional<CatalogSnapshot> snapshot = this.snapshotManager.getCurrent();
+			if (snapshot.isEmpty())
+				throw e;
+			
+			final Instant generatedAt = snapshot.get().getGeneratedAt();
+			final long ageSeconds = Math.max(0, Duration.between(generatedAt, Instant.now()).toSeconds());
+			log.warn("*** Serving catalog snapshot {}s old, database read failed: {} *", ageSeconds, e.getMessage());
+			return ResponseEntity.ok()
+					.header(HttpHeaders.AGE, String.valueOf(ageSeconds))
+					.header(HttpHeaders.WARNING, STALE_WARNING)
+					.header(GENERATED_AT_HEADER, generatedAt.toString())
+					.body(snapshotRead.apply(snapshot.get()));
+		}
+	}
+	
+	
+	
+}
@@ -0,0 +1,163 @@
+package com.selimhorri.app.timing;
+
+import lombok.Getter;
+
+/**
+ * Where the time of the current request went: JDBC, service calls, entity to DTO mapping
+ * and JSON serialization. Bound to the request thread by {@link ServerTimingFilter} and
+ * only ever touched from that thread; work done for the request on other threads is
+ * recorded there with {@link #beginShared} and added back with {@link #addShared}.
+ * Nested service and mapping calls are counted once, and JDBC time spent inside mapping
+ * (lazy loads) is counted as JDBC only; service time includes the JDBC and mapping done
+ * within it.
+ * <p>
+ * The static hooks are no-ops until a {@link ServerTimingFilter} is initialised, so with
+ * the feature off they cost one field read.
+ */
+public final class RequestTiming {
+	
+	private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+	private static volatile boolean enabled;
+	
+	private final long startNanos = System.nanoTime();
+	@Getter
+	private long jdbcNanos;
+	@Getter
+	private int statementCount;
+	@Getter
+	private long serviceNanos;
+	@Getter
+	private long mappingNanos;
+	@Getter
+	private long serializationNanos;
+	
+	private int serviceDepth;
+	private long serviceStartNanos;
+	private int mappingDepth;
+	private long mappingStartNanos;
+	private long mappingStartJdbcNanos;
+	
+	private RequestTiming() {
+	
+	}
+	
+	static void enable() {
+		enabled = true;
+	}
+	
+	static RequestTiming begin() {
+		final var timing = new RequestTiming();
+		CURRENT.set(timing);
+		return timing;
+	}
+	
+	static void end() {
+		CURRENT.remove();
+	}
+	
+	/**
+	 * Starts recording work this thread does on behalf of requests running on others, such
+	 * as a batch of their lookups on a loader thread. Must be paired with
+	 * {@link #endShared()} on a thread that serves no request itself.
+	 * @return the shared timing, {@code null} with the feature off
+	 */
+	public static RequestTiming beginShared() {
+		return enabled ? begin() : null;
+	}
+	
+	public static void endShared() {
+		if (enabled)
+			end();
+	}
+	
+	/**
+	 * Adds the JDBC and mapping time of shared work to the request on this thread; every
+	 * request it served waited for all of it.
+	 */
+	public static void addShared(final RequestTiming shared) {
+		final RequestTiming timing = current();
+		if (timing == null || shared == null)
+			return;
+		timing.jdbcNanos += shared.jdbcNanos;
+		timing.statementCount += shared.statementCount;
+		timing.mappingNanos += shared.mappingNanos;
+	}
+	
+	/**
+	 * @return the timing of the request running on this thread, {@code null} outside one
+	 */
+	public static RequestTiming current() {
+		return enabled ? CURRENT.get() : null;
+	}
+	
+	public static void mappingStarted() {
+		final RequestTiming timing = current();
+		if (timing != null && timing.mappingDepth++ == 0) {
+			timing.mappingStartNanos = System.nanoTime();
+			timing.mappingStartJdbcNanos = timing.jdbcNanos;
+		}
+	}
+	
+	public static void mappingFinished() {
+		final RequestTiming timing = current();
+		if (timing != null && timing.mappingDepth > 0 && --timing.mappingDepth == 0)
+			timing.mappingNanos += System.nanoTime() - timing.mappingStartNanos
+					- (timing.jdbcNanos - timing.mappingStartJdbcNanos);
+	}
+	
+	void serviceStarted() {
+		if (this.serviceDepth++ == 0)
+			this.serviceStartNanos = System.nanoTime();
+	}
+	
+	void serviceFinished() {
+		if (this.serviceDepth > 0 && --this.serviceDepth == 0)
+			this.serviceNanos += System.nanoTime() - this.serviceStartNanos;
+	}
+	
+	void statementExecuted(final long elapsedNanos) {
+		this.jdbcNanos += elapsedNanos;
+		this.statementCount++;
+	}
+	
+	void serialized(final long elapsedNanos) {
+		this.serializationNanos += elapsedNanos;
+	}
+	
+	public long elapsedNanos() {
+		return System.nanoTime() - this.startNanos;
+	}
+	
+	/**
+	 * @return the {@code Server-Timing} header value, durations in milliseconds; {@code total}
+	 * is the time since the request entered the filter
+	 */
+	public String toHeader() {
+		final var header = new StringBuilder(128);
+		header.append("db;dur=");
+		appendMillis(header, this.jdbcNanos);
+		header.append(";desc=\"").append(this.statementCount).append(" statements\", svc;dur=");
+		appendMillis(header, this.serviceNanos);
+		header.append(", map;dur=");
+		appendMillis(header, this.mappingNanos);
+		header.append(", ser;dur=");
+		appendMillis(header, this.serializationNanos);
+		header.append(", total;dur=");
+		appendMillis(header, this.elapsedNanos());
+		return header.toString();
+	}
+	
+	private static void appendMillis(final StringBuilder header, final long nanos) {
+		final long micros = Math.max(0L, nanos) / 1_000L;
+		final long fraction = micros % 1_000L;
+		header.append(micros / 1_000L).append('.');
+		if (fraction < 100)
+			header.append('0');
+		if (fraction < 10)
+			header.append('0');
+		header.append(fraction);
+	}
+	
+	
+	
+}
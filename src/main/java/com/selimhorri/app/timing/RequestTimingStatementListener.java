@@ -0,0 +1,19 @@
+package com.selimhorri.app.timing;
+
+import com.selimhorri.app.jdbc.StatementExecutionListener;
+
+/**
+ * Counts statements executed on a request thread towards its {@link RequestTiming}.
+ */
+public class RequestTimingStatementListener implements StatementExecutionListener {
+	
+	@Override
+	public void afterExecute(final String sql, final long elapsedNanos) {
+		final RequestTiming timing = RequestTiming.current();
+		if (timing != null)
+			timing.statementExecuted(elapsedNanos);
+	}
+	
+	
+	
+}
@@ -0,0 +1,118 @@
+package com.selimhorri.app.timing;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Opens a {@link RequestTiming} per request, sends it back as a {@code Server-Timing}
+ * header and records it as {@code http.server.timing} timers, one per component, tagged
+ * with the method and the matched URI pattern like {@code http.server.requests}.
+ * JSON bodies get the header from {@link TimedJsonHttpMessageConverter}; other responses
+ * get it here when they are not committed yet.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter implements Ordered {
+	
+	public static final String HEADER = "Server-Timing";
+	
+	private static final String UNKNOWN_URI = "UNKNOWN";
+	
+	private final MeterRegistry meterRegistry;
+	private final boolean header;
+	private final Map<String, EndpointMeters> meters = new ConcurrentHashMap<>();
+	
+	public ServerTimingFilter(final MeterRegistry meterRegistry, final boolean header) {
+		this.meterRegistry = meterRegistry;
+		this.header = header;
+	}
+	
+	@Override
+	protected void initFilterBean() {
+		RequestTiming.enable();
+	}
+	
+	@Override
+	public int getOrder() {
+		// right after the character encoding filter, so the total covers the other filters
+		return Ordered.HIGHEST_PRECEDENCE + 1;
+	}
+	
+	@Override
+	protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+			final FilterChain filterChain) throws ServletException, IOException {
+		
+		final RequestTiming timing = RequestTiming.begin();
+		try {
+			filterChain.doFilter(request, response);
+		}
+		finally {
+			RequestTiming.end();
+			if (this.header && !response.isCommitted() && !response.containsHeader(HEADER))
+				response.setHeader(HEADER, timing.toHeader());
+			this.endpointMeters(request).record(timing);
+		}
+	}
+	
+	private EndpointMeters endpointMeters(final HttpServletRequest request) {
+		final Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		final String uri = pattern != null ? pattern.toString() : UNKNOWN_URI;
+		final String method = request.getMethod();
+		return this.meters.computeIfAbsent(method + ' ' + uri,
+				key -> new EndpointMeters(this.meterRegistry, Tags.of("method", method, "uri", uri)));
+	}
+	
+	private static final class EndpointMeters {
+		
+		private final Timer db;
+		private final Timer service;
+		private final Timer mapping;
+		private final Timer serialization;
+		private final DistributionSummary statements;
+		
+		EndpointMeters(final MeterRegistry meterRegistry, final Tags tags) {
+			this.db = timer(meterRegistry, tags, "db");
+			this.service = timer(meterRegistry, tags, "service");
+			this.mapping = timer(meterRegistry, tags, "mapping");
+			this.serialization = timer(meterRegistry, tags, "serialization");
+			this.statements = DistributionSummary.builder("http.server.timing.statements")
+					.description("JDBC statements executed per request")
+					.tags(tags)
+					.register(meterRegistry);
+		}
+		
+		void record(final RequestTiming timing) {
+			this.db.record(timing.getJdbcNanos(), TimeUnit.NANOSECONDS);
+			this.service.record(timing.getServiceNanos(), TimeUnit.NANOSECONDS);
+			this.mapping.record(timing.getMappingNanos(), TimeUnit.NANOSECONDS);
+			this.serialization.record(timing.getSerializationNanos(), TimeUnit.NANOSECONDS);
+			this.statements.record(timing.getStatementCount());
+		}
+		
+		private static Timer timer(final MeterRegistry meterRegistry, final Tags tags, final String component) {
+			return Timer.builder("http.server.timing")
+					.description("Per-request time by component")
+					.tags(tags)
+					.tag("component", component)
+					.register(meterRegistry);
+		}
+	
+	}
+	
+	
+	
+}
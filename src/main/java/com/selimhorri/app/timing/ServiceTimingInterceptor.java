@@ -0,0 +1,27 @@
+package com.selimhorri.app.timing;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * Adds the time spent in service beans to the current {@link RequestTiming}.
+ */
+public class ServiceTimingInterceptor implements MethodInterceptor {
+	
+	@Override
+	public Object invoke(final MethodInvocation invocation) throws Throwable {
+		final RequestTiming timing = RequestTiming.current();
+		if (timing == null)
+			return invocation.proceed();
+		timing.serviceStarted();
+		try {
+			return invocation.proceed();
+		}
+		finally {
+			timing.serviceFinished();
+		}
+	}
+	
+	
+	
+}
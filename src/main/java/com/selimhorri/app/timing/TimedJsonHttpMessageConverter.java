@@ -0,0 +1,66 @@
+package com.selimhorri.app.timing;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Jackson converter that, inside a timed request, serializes into a buffer first so that
+ * serialization is measured apart from the socket write and the {@code Server-Timing}
+ * header can still be set before the body commits the response.
+ */
+public class TimedJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+	
+	private static final int INITIAL_BUFFER_SIZE = 8192;
+	
+	private final boolean header;
+	
+	public TimedJsonHttpMessageConverter(final ObjectMapper objectMapper, final boolean header) {
+		super(objectMapper);
+		this.header = header;
+	}
+	
+	@Override
+	protected void writeInternal(final Object object, final Type type, final HttpOutputMessage outputMessage)
+			throws IOException, HttpMessageNotWritableException {
+		
+		final RequestTiming timing = RequestTiming.current();
+		if (timing == null) {
+			super.writeInternal(object, type, outputMessage);
+			return;
+		}
+		
+		final var buffer = new ByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+		final long start = System.nanoTime();
+		super.writeInternal(object, type, new HttpOutputMessage() {
+			
+			@Override
+			public OutputStream getBody() {
+				return buffer;
+			}
+			
+			@Override
+			public HttpHeaders getHeaders() {
+				return outputMessage.getHeaders();
+			}
+		
+		});
+		timing.serialized(System.nanoTime() - start);
+		
+		if (this.header)
+			outputMessage.getHeaders().set(ServerTimingFilter.HEADER, timing.toHeader());
+		outputMessage.getHeaders().setContentLength(buffer.size());
+		buffer.writeTo(outputMessage.getBody());
+	}
+	
+	
+	
+}
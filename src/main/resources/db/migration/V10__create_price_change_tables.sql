@@ -0,0 +1,24 @@
+-- Change log of bulk price adjustments: one row per run, one row per repriced product.
+
+CREATE TABLE price_change_batches (
+  batch_id INT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+  description VARCHAR(1024) NOT NULL,
+  product_count INT NOT NULL DEFAULT 0,
+  min_delta DECIMAL(9,2),
+  max_delta DECIMAL(9,2),
+  started_at TIMESTAMP NULL DEFAULT NULL,
+  completed_at TIMESTAMP NULL DEFAULT NULL
+);
+
+CREATE TABLE price_change_entries (
+  batch_id INT NOT NULL,
+  product_id INT NOT NULL,
+  old_price DECIMAL(7,2) NOT NULL,
+  new_price DECIMAL(7,2) NOT NULL,
+  PRIMARY KEY (batch_id, product_id)
+);
+
+ALTER TABLE price_change_entries
+  ADD CONSTRAINT fk10_assign FOREIGN KEY (batch_id) REFERENCES price_change_batches (batch_id);
+
+CREATE INDEX idx_price_change_entries_product_id ON price_change_entries (product_id);
@@ -0,0 +1,19 @@
+-- Future prices, activated in batches by ScheduledPriceActivator. A row is claimed by
+-- setting batch_id, so only one instance applies it.
+
+CREATE TABLE scheduled_price_changes (
+  schedule_id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+  product_id INT NOT NULL,
+  new_price DECIMAL(7,2) NOT NULL,
+  activate_at TIMESTAMP NOT NULL,
+  status VARCHAR(16) NOT NULL DEFAULT 'PENDING',
+  batch_id INT,
+  created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  applied_at TIMESTAMP NULL DEFAULT NULL
+);
+
+CREATE INDEX idx_scheduled_price_changes_status_activate_at ON scheduled_price_changes (status, activate_at);
+CREATE INDEX idx_scheduled_price_changes_batch_id_product_id ON scheduled_price_changes (batch_id, product_id);
+
+-- a scheduled price may be the first price a product gets
+ALTER TABLE price_change_entries MODIFY old_price DECIMAL(7,2) NULL;
@@ -0,0 +1,14 @@
+-- Secondary indexes for every access path of ProductRepository and CategoryRepository.
+-- InnoDB secondary indexes carry the primary key, so id-only lookups through them are covering.
+
+ALTER TABLE categories ADD COLUMN category_title_normalized VARCHAR(255);
+
+UPDATE categories SET category_title_normalized = LOWER(category_title);
+
+CREATE UNIQUE INDEX uk_categories_category_title_normalized ON categories (category_title_normalized);
+
+CREATE INDEX idx_categories_parent_category_id ON categories (parent_category_id);
+
+CREATE UNIQUE INDEX uk_products_sku ON products (sku);
+
+CREATE INDEX idx_products_category_id ON products (category_id);
@@ -0,0 +1,19 @@
+-- Denormalized read model: one row per live product, category data embedded.
+-- Filled by ProductViewProjector, which rebuilds it on startup while empty.
+
+CREATE TABLE product_views (
+  product_id INT NOT NULL PRIMARY KEY,
+  product_title VARCHAR(255),
+  image_url VARCHAR(255),
+  sku VARCHAR(255),
+  price_unit DECIMAL(7,2),
+  quantity INT,
+  category_id INT NOT NULL,
+  category_title VARCHAR(255),
+  category_image_url VARCHAR(255),
+  parent_category_id INT,
+  category_path VARCHAR(1024),
+  created_at TIMESTAMP NULL DEFAULT NULL
+);
+
+CREATE INDEX idx_product_views_category_id ON product_views (category_id);
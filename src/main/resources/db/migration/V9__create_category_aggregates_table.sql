@@ -0,0 +1,31 @@
+-- Per-category product statistics, maintained incrementally by CategoryAggregateMaintainer
+-- and repaired by CategoryAggregateReconciler.
+
+CREATE TABLE category_aggregates (
+  category_id INT NOT NULL PRIMARY KEY,
+  product_count BIGINT NOT NULL DEFAULT 0,
+  total_stock BIGINT NOT NULL DEFAULT 0,
+  priced_count BIGINT NOT NULL DEFAULT 0,
+  price_sum DECIMAL(19,2) NOT NULL DEFAULT 0,
+  min_price DECIMAL(7,2),
+  max_price DECIMAL(7,2),
+  updated_at TIMESTAMP NULL DEFAULT NULL
+);
+
+ALTER TABLE category_aggregates
+  ADD CONSTRAINT fk9_assign FOREIGN KEY (category_id) REFERENCES categories (category_id)
+  ON DELETE CASCADE;
+
+INSERT INTO category_aggregates
+(category_id, product_count, total_stock, priced_count, price_sum, min_price, max_price, updated_at)
+SELECT c.category_id,
+  COUNT(p.product_id),
+  COALESCE(SUM(COALESCE(p.quantity, 0)), 0),
+  COUNT(p.price_unit),
+  COALESCE(SUM(p.price_unit), 0),
+  MIN(p.price_unit),
+  MAX(p.price_unit),
+  CURRENT_TIMESTAMP
+FROM categories c
+LEFT JOIN products p ON p.category_id = c.category_id
+GROUP BY c.category_id;
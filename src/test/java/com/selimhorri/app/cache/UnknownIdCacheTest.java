@@ -0,0 +1,112 @@
+package com.selimhorri.app.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.selimhorri.app.event.CatalogChangedEvent;
+import com.selimhorri.app.event.CatalogChangedEvent.EntityType;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("UnknownIdCache Unit Tests")
+class UnknownIdCacheTest {
+	
+	private SimpleMeterRegistry meterRegistry;
+	private UnknownIdCache cache;
+	
+	@BeforeEach
+	void setUp() {
+		this.meterRegistry = new SimpleMeterRegistry();
+		this.cache = new UnknownIdCache(60_000, 3, this.meterRegistry);
+	}
+	
+	@Test
+	@DisplayName("Should answer recorded misses per entity type and count the hits")
+	void testRecordsMisses() {
+		// Given
+		this.cache.recordUnknown(EntityType.PRODUCT, 42, this.cache.generation(EntityType.PRODUCT));
+		
+		// When / Then
+		assertTrue(this.cache.isUnknown(EntityType.PRODUCT, 42));
+		assertFalse(this.cache.isUnknown(EntityType.PRODUCT, 43));
+		assertFalse(this.cache.isUnknown(EntityType.CATEGORY, 42));
+		assertEquals(1, this.meterRegistry.get("catalog.unknown.ids.hits").tag("entity", "product").counter().count());
+	}
+	
+	@Test
+	@DisplayName("Should forget misses once the ttl has passed")
+	void testExpires() throws InterruptedException {
+		// Given
+		final var shortLived = new UnknownIdCache(20, 10, new SimpleMeterRegistry());
+		shortLived.recordUnknown(EntityType.PRODUCT, 42, shortLived.generation(EntityType.PRODUCT));
+		
+		// When
+		Thread.sleep(50);
+		
+		// Then
+		assertFalse(shortLived.isUnknown(EntityType.PRODUCT, 42));
+	}
+	
+	@Test
+	@DisplayName("Should drop ids touched by catalog writes")
+	void testInvalidatesOnWrites() {
+		// Given
+		this.cache.recordUnknown(EntityType.PRODUCT, 1, this.cache.generation(EntityType.PRODUCT));
+		this.cache.recordUnknown(EntityType.PRODUCT, 2, this.cache.generation(EntityType.PRODUCT));
+		this.cache.recordUnknown(EntityType.CATEGORY, 1, this.cache.generation(EntityType.CATEGORY));
+		
+		// When
+		this.cache.onCatalogChanged(CatalogChangedEvent.ofProduct(1));
+		
+		// Then
+		assertFalse(this.cache.isUnknown(EntityType.PRODUCT, 1));
+		assertTrue(this.cache.isUnknown(EntityType.PRODUCT, 2));
+		assertTrue(this.cache.isUnknown(EntityType.CATEGORY, 1));
+		
+		// When
+		this.cache.onCatalogCommitted(CatalogChangedEvent.allOf(EntityType.PRODUCT));
+		
+		// Then
+		assertFalse(this.cache.isUnknown(EntityType.PRODUCT, 2));
+		assertTrue(this.cache.isUnknown(EntityType.CATEGORY, 1));
+	}
+	
+	@Test
+	@DisplayName("Should not record a miss when its type was invalidated during the lookup")
+	void testSkipsMissesRacingWrites() {
+		// Given
+		final long generation = this.cache.generation(EntityType.PRODUCT);
+		
+		// When: the id is inserted while the lookup that missed it is still running
+		this.cache.invalidate(EntityType.PRODUCT, Set.of(7));
+		this.cache.recordUnknown(EntityType.PRODUCT, 7, generation);
+		
+		// Then
+		assertFalse(this.cache.isUnknown(EntityType.PRODUCT, 7));
+	}
+	
+	@Test
+	@DisplayName("Should stop recording misses once full")
+	void testBounded() {
+		// Given
+		for (int id = 1; id <= 3; id++)
+			this.cache.recordUnknown(EntityType.PRODUCT, id, this.cache.generation(EntityType.PRODUCT));
+		
+		// When
+		this.cache.recordUnknown(EntityType.PRODUCT, 4, this.cache.generation(EntityType.PRODUCT));
+		
+		// Then
+		assertFalse(this.cache.isUnknown(EntityType.PRODUCT, 4));
+		assertEquals(3, this.meterRegistry.get("catalog.unknown.ids.size").tag("entity", "product").gauge().value());
+	}
+	
+	
+	
+}
@@ -0,0 +1,202 @@
+package com.selimhorri.app.cache.invalidation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.selimhorri.app.event.CatalogChangedEvent;
+import com.selimhorri.app.event.CatalogChangedEvent.EntityType;
+
+/**
+ * Three bus instances in one JVM wired through a stand-in registry that delivers
+ * messages by direct method call.
+ */
+@DisplayName("CacheInvalidationBus Unit Tests")
+class CacheInvalidationBusTest {
+	
+	private LocalRegistry registry;
+	private Map<String, RecordingInvalidator> invalidators;
+	private Map<String, CacheInvalidationBus> nodes;
+	
+	@BeforeEach
+	void setUp() {
+		this.registry = new LocalRegistry();
+		this.invalidators = new LinkedHashMap<>();
+		this.nodes = new LinkedHashMap<>();
+		for (final String name : List.of("node-a", "node-b", "node-c")) {
+			final var invalidator = new RecordingInvalidator();
+			final var bus = new CacheInvalidationBus(name, () -> this.registry.peersOf(name),
+					this.registry, List.of(invalidator), 3, 60_000L);
+			this.invalidators.put(name, invalidator);
+			this.nodes.put(name, bus);
+			this.registry.register(name, bus);
+		}
+	}
+	
+	@Test
+	@DisplayName("Should broadcast a batch of committed writes to every peer")
+	void testBroadcastsToPeers() {
+		final var nodeA = this.nodes.get("node-a");
+		nodeA.onCatalogChanged(CatalogChangedEvent.ofProduct(1));
+		nodeA.onCatalogChanged(CatalogChangedEvent.ofProduct(2));
+		nodeA.onCatalogChanged(CatalogChangedEvent.ofCategory(7));
+		nodeA.flush();
+		
+		assertEquals(1, this.registry.delivered);
+		assertEquals(Set.of(1, 2), this.invalidators.get("node-b").ids(EntityType.PRODUCT));
+		assertEquals(Set.of(7), this.invalidators.get("node-c").ids(EntityType.CATEGORY));
+		assertTrue(this.invalidators.get("node-a").invalidated.isEmpty());
+	}
+	
+	@Test
+	@DisplayName("Should split large batches into several messages")
+	void testSplitsLargeBatches() {
+		final var nodeA = this.nodes.get("node-a");
+		for (int id = 1; id <= 7; id++)
+			nodeA.onCatalogChanged(CatalogChangedEvent.ofProduct(id));
+		nodeA.flush();
+		
+		assertEquals(3, this.registry.delivered);
+		assertEquals(Set.of(1, 2, 3, 4, 5, 6, 7), this.invalidators.get("node-b").ids(EntityType.PRODUCT));
+		assertEquals(0, this.nodes.get("node-b").getFullRefreshCount());
+	}
+	
+	@Test
+	@DisplayName("Should drop all local caches when a message was lost")
+	void testSequenceGapTriggersFullRefresh() {
+		final var nodeA = this.nodes.get("node-a");
+		nodeA.onCatalogChanged(CatalogChangedEvent.ofProduct(1));
+		nodeA.flush();
+		
+		this.registry.down.add("node-b");
+		nodeA.onCatalogChanged(CatalogChangedEvent.ofProduct(2));
+		nodeA.flush();
+		this.registry.down.remove("node-b");
+		
+		nodeA.onCatalogChanged(CatalogChangedEvent.ofProduct(3));
+		nodeA.flush();
+		
+		assertEquals(1, this.nodes.get("node-b").getFullRefreshCount());
+		assertEquals(1, this.invalidators.get("node-b").everything);
+		assertEquals(0, this.nodes.get("node-c").getFullRefreshCount());
+		assertEquals(Set.of(1, 2, 3), this.invalidators.get("node-c").ids(EntityType.PRODUCT));
+	}
+	
+	@Test
+	@DisplayName("Should ignore duplicated messages")
+	void testIgnoresDuplicates() {
+		final var message = InvalidationMessage.builder()
+				.source("node-a")
+				.sequence(1)
+				.ids(Map.of(EntityType.PRODUCT, Set.of(5)))
+				.build();
+		final var nodeB = this.nodes.get("node-b");
+		nodeB.receive(message);
+		nodeB.receive(message);
+		
+		assertEquals(1, this.invalidators.get("node-b").invalidated.size());
+	}
+	
+	@Test
+	@DisplayName("Should forget sources not heard from for a source ttl")
+	void testForgetsDepartedSources() throws InterruptedException {
+		final var invalidator = new RecordingInvalidator();
+		final var bus = new CacheInvalidationBus("node-d", List::of, this.registry, List.of(invalidator), 3, 10L);
+		final var departed = InvalidationMessage.builder()
+				.source("node-gone")
+				.sequence(1)
+				.ids(Map.of(EntityType.PRODUCT, Set.of(5)))
+				.build();
+		bus.receive(departed);
+		Thread.sleep(50L);
+		
+		// a message from a source no longer remembered counts as its first one again
+		bus.receive(departed);
+		
+		assertEquals(2, invalidator.invalidated.size());
+		assertEquals(0, bus.getFullRefreshCount());
+	}
+	
+	@Test
+	@DisplayName("Should forward whole-type evictions from bulk updates")
+	void testAllOfType() {
+		final var nodeA = this.nodes.get("node-a");
+		nodeA.onCatalogChanged(CatalogChangedEvent.ofProduct(1));
+		nodeA.onCatalogChanged(CatalogChangedEvent.allOf(EntityType.PRODUCT));
+		nodeA.flush();
+		
+		assertEquals(List.of(EntityType.PRODUCT), this.invalidators.get("node-b").allOfType);
+		assertTrue(this.invalidators.get("node-b").invalidated.isEmpty());
+	}
+	
+	private static final class LocalRegistry implements InvalidationTransport {
+		
+		private final Map<String, CacheInvalidationBus> nodes = new LinkedHashMap<>();
+		private final Set<String> down = new HashSet<>();
+		private int delivered;
+		
+		void register(final String name, final CacheInvalidationBus bus) {
+			this.nodes.put(name, bus);
+		}
+		
+		List<String> peersOf(final String name) {
+			return this.nodes.keySet().stream()
+					.filter(peer -> !peer.equals(name))
+					.collect(Collectors.toList());
+		}
+		
+		@Override
+		public void send(final String peerBaseUrl, final InvalidationMessage message) {
+			if (this.down.contains(peerBaseUrl))
+				throw new IllegalStateException("connection refused");
+			if ("node-b".equals(peerBaseUrl))
+				this.delivered++;
+			this.nodes.get(peerBaseUrl).receive(message);
+		}
+	
+	}
+	
+	private static final class RecordingInvalidator implements LocalCacheInvalidator {
+		
+		private final List<Map.Entry<EntityType, Set<Integer>>> invalidated = new ArrayList<>();
+		private final List<EntityType> allOfType = new ArrayList<>();
+		private int everything;
+		
+		@Override
+		public void invalidate(final EntityType entityType, final Set<Integer> ids) {
+			this.invalidated.add(Map.entry(entityType, ids));
+		}
+		
+		@Override
+		public void invalidateAll(final EntityType entityType) {
+			this.allOfType.add(entityType);
+		}
+		
+		@Override
+		public void invalidateEverything() {
+			this.everything++;
+		}
+		
+		Set<Integer> ids(final EntityType entityType) {
+			return this.invalidated.stream()
+					.filter(entry -> entry.getKey() == entityType)
+					.flatMap(entry -> entry.getValue().stream())
+					.collect(Collectors.toSet());
+		}
+	
+	}
+	
+	
+	
+}
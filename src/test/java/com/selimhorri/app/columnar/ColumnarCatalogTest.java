@@ -0,0 +1,161 @@
+package com.selimhorri.app.columnar;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.selimhorri.app.dto.CatalogEntryDto;
+import com.selimhorri.app.projection.ProductColumnsRow;
+
+@DisplayName("ColumnarCatalog Unit Tests")
+class ColumnarCatalogTest {
+	
+	private static final Instant EPOCH = Instant.parse("2024-01-01T00:00:00Z");
+	
+	private ColumnarCatalog catalog;
+	
+	@BeforeEach
+	void setUp() {
+		this.catalog = new ColumnarCatalog();
+		this.catalog.replaceAll(List.of(
+				row(1, 10.00, 5, 7, 1),
+				row(2, 5.50, 0, 7, 2),
+				row(3, 7.25, 3, 7, 3),
+				row(4, 7.25, 1, 7, 4),
+				row(5, 99.99, 9, 8, 5),
+				row(6, 1.00, 2, 8, 6),
+				new ProductColumnsRow(7, null, null, 8, null)));
+	}
+	
+	@Test
+	@DisplayName("Should return the cheapest in-stock products of a category within a price range")
+	void testCheapestInRange() {
+		// Given
+		final CatalogQuery query = CatalogQuery.builder()
+				.categoryId(7)
+				.minPriceCents(550)
+				.maxPriceCents(1000)
+				.inStockOnly(true)
+				.limit(2)
+				.build();
+		
+		// When
+		final List<CatalogEntryDto> result = this.catalog.query(query);
+		
+		// Then
+		assertEquals(List.of(3, 4), ids(result));
+		assertEquals(7.25, result.get(0).getPriceUnit());
+		assertEquals(7, result.get(0).getCategoryId());
+	}
+	
+	@Test
+	@DisplayName("Should select the most expensive and the newest products across categories")
+	void testPriceDescAndNewest() {
+		// Given
+		final var mostExpensive = CatalogQuery.builder().sort(CatalogQuery.Sort.PRICE_DESC).limit(3).build();
+		final var newest = CatalogQuery.builder().sort(CatalogQuery.Sort.NEWEST).limit(3).build();
+		
+		// When & Then
+		assertEquals(List.of(5, 1, 3), ids(this.catalog.query(mostExpensive)));
+		assertEquals(List.of(6, 5, 4), ids(this.catalog.query(newest)));
+		assertEquals(7, this.catalog.size());
+	}
+	
+	@Test
+	@DisplayName("Should move, update and remove products incrementally")
+	void testApply() {
+		// Given
+		final var changed = List.of(
+				row(1, 0.50, 4, 8, 10),
+				row(6, 2.00, 2, 8, 6),
+				row(9, 3.00, 1, 9, 11));
+		
+		// When
+		this.catalog.apply(Set.of(1, 2, 6, 9), changed);
+		
+		// Then
+		final var all = this.catalog.query(CatalogQuery.builder().limit(50).build());
+		assertEquals(List.of(1, 6, 9, 3, 4, 5), ids(all));
+		assertEquals(List.of(4, 3), ids(this.catalog.query(CatalogQuery.builder().categoryId(7).build())));
+		assertEquals(7, this.catalog.size());
+	}
+	
+	@Test
+	@DisplayName("Should report products without price or date with null fields")
+	void testMissingValues() {
+		// Given
+		this.catalog.replaceAll(List.of(new ProductColumnsRow(7, 0.0, null, 8, null)));
+		
+		// When
+		final CatalogEntryDto entry = this.catalog.query(CatalogQuery.builder().build()).get(0);
+		
+		// Then
+		assertEquals(0, entry.getQuantity());
+		assertNull(entry.getCreatedAt());
+		assertTrue(this.catalog.query(CatalogQuery.builder().inStockOnly(true).build()).isEmpty());
+	}
+	
+	@Test
+	@DisplayName("Should match a full sort on random data after incremental updates")
+	void testAgainstFullSort() {
+		// Given
+		final var random = new Random(42);
+		final List<ProductColumnsRow> rows = new ArrayList<>();
+		for (int id = 1; id <= 2_000; id++)
+			rows.add(row(id, random.nextInt(10_000) / 100d, random.nextInt(4), 1 + random.nextInt(5), random.nextInt(500)));
+		this.catalog.replaceAll(rows);
+		final List<ProductColumnsRow> changed = new ArrayList<>();
+		for (int id = 1; id <= 2_000; id += 7)
+			changed.add(row(id, random.nextInt(10_000) / 100d, random.nextInt(4), 1 + random.nextInt(5), random.nextInt(500)));
+		final Set<Integer> changedIds = changed.stream().map(ProductColumnsRow::getProductId).collect(Collectors.toSet());
+		rows.removeIf(row -> changedIds.contains(row.getProductId()));
+		rows.addAll(changed);
+		this.catalog.apply(changedIds, changed);
+		
+		// When & Then
+		final Predicate<ProductColumnsRow> inRange = row -> row.getCategoryId() == 3 && row.getQuantity() > 0
+				&& row.getPriceUnit() >= 20 && row.getPriceUnit() <= 60;
+		final var cheapest = CatalogQuery.builder().categoryId(3).inStockOnly(true).minPriceCents(2000).maxPriceCents(6000).limit(25).build();
+		assertEquals(expected(rows, inRange, Comparator.comparingDouble(ProductColumnsRow::getPriceUnit), 25), ids(this.catalog.query(cheapest)));
+		
+		final var newest = CatalogQuery.builder().sort(CatalogQuery.Sort.NEWEST).limit(40).build();
+		assertEquals(expected(rows, row -> true, Comparator.comparing(ProductColumnsRow::getCreatedAt).reversed(), 40), ids(this.catalog.query(newest)));
+	}
+	
+	private static List<Integer> expected(final List<ProductColumnsRow> rows, final Predicate<ProductColumnsRow> filter,
+			final Comparator<ProductColumnsRow> order, final int limit) {
+		return rows.stream()
+				.filter(filter)
+				.sorted(order.thenComparingInt(ProductColumnsRow::getProductId))
+				.limit(limit)
+				.map(ProductColumnsRow::getProductId)
+				.collect(Collectors.toList());
+	}
+	
+	private static List<Integer> ids(final List<CatalogEntryDto> entries) {
+		return entries.stream()
+				.map(CatalogEntryDto::getProductId)
+				.collect(Collectors.toList());
+	}
+	
+	private static ProductColumnsRow row(final int productId, final double price, final int quantity, final int categoryId,
+			final int minutes) {
+		return new ProductColumnsRow(productId, price, quantity, categoryId, EPOCH.plusSeconds(60L * minutes));
+	}
+	
+	
+	
+}
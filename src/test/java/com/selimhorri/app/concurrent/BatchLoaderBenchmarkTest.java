@@ -0,0 +1,100 @@
+package com.selimhorri.app.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Throughput of batched vs direct lookups against a simulated database that has a fixed
+ * round-trip cost and a connection pool of {@value #POOL_SIZE}. Run with
+ * {@code mvn test -Dbenchmarks=true -Dtest=BatchLoaderBenchmarkTest}.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+@DisplayName("BatchLoader Benchmark")
+class BatchLoaderBenchmarkTest {
+	
+	private static final int POOL_SIZE = 10;
+	private static final int CALLERS = 200;
+	private static final long ROUND_TRIP_MICROS = 1_000;
+	private static final long PER_ROW_MICROS = 5;
+	private static final long DURATION_MILLIS = 5_000;
+	
+	private final Semaphore connections = new Semaphore(POOL_SIZE);
+	
+	@Test
+	@DisplayName("Batched lookups should outperform direct lookups under concurrency")
+	void benchmark() throws Exception {
+		
+		final double direct = this.measure(id -> this.query(Set.of(id)).get(id));
+		
+		try (var loader = new BatchLoader<Integer, String>("bench", this::query,
+				BatchLoader.Settings.builder().workers(POOL_SIZE).build(), new SimpleMeterRegistry())) {
+			final double batched = this.measure(loader::load);
+			log.info("*** direct: {} ops/s, batched: {} ops/s ({}x) *",
+					Math.round(direct), Math.round(batched), String.format("%.1f", batched / direct));
+			assertTrue(batched > direct);
+		}
+	}
+	
+	private double measure(final IntFunction<String> lookup) throws InterruptedException {
+		
+		final ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+		final var running = new AtomicBoolean(true);
+		final var completed = new LongAdder();
+		
+		for (int i = 0; i < CALLERS; i++) {
+			callers.execute(() -> {
+				while (running.get()) {
+					lookup.apply(ThreadLocalRandom.current().nextInt(1_000_000));
+					completed.increment();
+				}
+			});
+		}
+		
+		Thread.sleep(DURATION_MILLIS / 5);
+		completed.reset();
+		Thread.sleep(DURATION_MILLIS);
+		final long operations = completed.sum();
+		running.set(false);
+		callers.shutdown();
+		callers.awaitTermination(10, TimeUnit.SECONDS);
+		
+		return operations * 1000.0 / DURATION_MILLIS;
+	}
+	
+	private Map<Integer, String> query(final Set<Integer> ids) {
+		this.connections.acquireUninterruptibly();
+		try {
+			// the database works elsewhere: the calling thread just waits
+			LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(ROUND_TRIP_MICROS + PER_ROW_MICROS * ids.size()));
+			final Map<Integer, String> rows = new HashMap<>();
+			ids.forEach(id -> rows.put(id, "product-" + id));
+			return rows;
+		}
+		finally {
+			this.connections.release();
+		}
+	}
+	
+	
+	
+}
@@ -0,0 +1,126 @@
+package com.selimhorri.app.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("BatchLoader Unit Tests")
+class BatchLoaderTest {
+	
+	private final ExecutorService callers = Executors.newFixedThreadPool(32);
+	private BatchLoader<Integer, String> loader;
+	
+	@AfterEach
+	void tearDown() {
+		this.callers.shutdownNow();
+		if (this.loader != null)
+			this.loader.close();
+	}
+	
+	@Test
+	@DisplayName("Should group concurrent lookups of different keys into few batches")
+	void testGroupsConcurrentLookups() throws Exception {
+		final List<Set<Integer>> batches = new CopyOnWriteArrayList<>();
+		final var gate = new CountDownLatch(1);
+		this.loader = this.loader(keys -> {
+			batches.add(keys);
+			await(gate);
+			return echo(keys);
+		});
+		
+		// the first lookup occupies the single worker while the rest queue up behind it
+		final Future<String> first = this.callers.submit(() -> this.loader.load(0));
+		while (batches.isEmpty())
+			Thread.onSpinWait();
+		final List<Future<String>> rest = new ArrayList<>();
+		for (int key = 1; key <= 31; key++) {
+			final int id = key;
+			rest.add(this.callers.submit(() -> this.loader.load(id)));
+		}
+		Thread.sleep(50);
+		gate.countDown();
+		
+		assertEquals("value-0", first.get(5, TimeUnit.SECONDS));
+		for (int key = 1; key <= 31; key++)
+			assertEquals("value-" + key, rest.get(key - 1).get(5, TimeUnit.SECONDS));
+		assertTrue(batches.size() < 16, "expected few batches, got " + batches.size());
+	}
+	
+	@Test
+	@DisplayName("Should return null for keys missing from the batch result")
+	void testMissingKey() {
+		this.loader = this.loader(keys -> Map.of());
+		assertNull(this.loader.load(42));
+	}
+	
+	@Test
+	@DisplayName("Should fail every caller of a failed batch")
+	void testFailurePropagation() throws Exception {
+		final var failure = new IllegalStateException("db down");
+		this.loader = this.loader(keys -> {
+			throw failure;
+		});
+		
+		final Future<String> result = this.callers.submit(() -> this.loader.load(1));
+		final var thrown = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+		assertSame(failure, thrown.getCause());
+	}
+	
+	@Test
+	@DisplayName("Should shrink the window back to zero when traffic is sequential")
+	void testWindowShrinksWhenIdle() {
+		this.loader = this.loader(BatchLoaderTest::echo);
+		for (int key = 0; key < 20; key++)
+			assertEquals("value-" + key, this.loader.load(key));
+		assertEquals(0L, this.loader.getWindowNanos());
+	}
+	
+	private BatchLoader<Integer, String> loader(final Function<Set<Integer>, Map<Integer, String>> batchFunction) {
+		return new BatchLoader<>("test", batchFunction, BatchLoader.Settings.builder()
+					.workers(1)
+					.minBatchSize(4)
+					.maxBatchSize(64)
+					.build(),
+				new SimpleMeterRegistry());
+	}
+	
+	private static Map<Integer, String> echo(final Set<Integer> keys) {
+		final Map<Integer, String> values = new HashMap<>();
+		keys.forEach(key -> values.put(key, "value-" + key));
+		return values;
+	}
+	
+	private static void await(final CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	
+	
+}
@@ -0,0 +1,130 @@
+package com.selimhorri.app.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("GradientConcurrencyLimit Unit Tests")
+class GradientConcurrencyLimitTest {
+	
+	private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+	private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(10);
+	
+	private SimpleMeterRegistry meterRegistry;
+	
+	@BeforeEach
+	void setUp() {
+		this.meterRegistry = new SimpleMeterRegistry();
+	}
+	
+	@Test
+	@DisplayName("Should reject beyond the limit and count rejections")
+	void testRejectsBeyondLimit() {
+		// Given
+		final var limit = this.limit(GradientConcurrencyLimit.Settings.builder()
+				.initialLimit(2)
+				.minLimit(1));
+		
+		// When & Then
+		assertTrue(limit.tryAcquire());
+		assertTrue(limit.tryAcquire());
+		assertFalse(limit.tryAcquire());
+		assertEquals(2, limit.getInFlight());
+		assertEquals(1, this.meterRegistry.get("concurrency.limit.rejected").counter().count());
+		assertEquals(2, this.meterRegistry.get("concurrency.limit.in.flight").gauge().value());
+		
+		limit.release(FAST);
+		assertTrue(limit.tryAcquire());
+	}
+	
+	@Test
+	@DisplayName("Should grow the limit while it is fully used and latency holds")
+	void testGrowsWhenSaturated() {
+		// Given
+		final var limit = this.limit(GradientConcurrencyLimit.Settings.builder());
+		
+		// When
+		for (int i = 0; i < 10; i++)
+			saturate(limit, FAST);
+		
+		// Then
+		assertTrue(limit.getLimit() > 20);
+		assertEquals(limit.getLimit(), this.meterRegistry.get("concurrency.limit").gauge().value());
+	}
+	
+	@Test
+	@DisplayName("Should shrink the limit when latency rises above its baseline")
+	void testShrinksOnQueueing() {
+		// Given
+		final var limit = this.limit(GradientConcurrencyLimit.Settings.builder());
+		for (int i = 0; i < 10; i++)
+			saturate(limit, FAST);
+		final int before = limit.getLimit();
+		
+		// When
+		for (int i = 0; i < 10; i++)
+			saturate(limit, SLOW);
+		
+		// Then
+		assertTrue(limit.getLimit() < before);
+	}
+	
+	@Test
+	@DisplayName("Should keep the limit while traffic uses only part of it")
+	void testHoldsWhenAppLimited() {
+		// Given
+		final var limit = this.limit(GradientConcurrencyLimit.Settings.builder());
+		
+		// When
+		for (int i = 0; i < 50; i++) {
+			limit.tryAcquire();
+			limit.release(FAST);
+		}
+		
+		// Then
+		assertEquals(20, limit.getLimit());
+	}
+	
+	@Test
+	@DisplayName("Should never go below the minimum limit")
+	void testRespectsMinimum() {
+		// Given
+		final var limit = this.limit(GradientConcurrencyLimit.Settings.builder()
+				.initialLimit(50)
+				.minLimit(30)
+				// keeps the baseline from adopting the slow latency
+				.longWindows(100_000));
+		saturate(limit, FAST);
+		
+		// When
+		for (int i = 0; i < 20; i++)
+			saturate(limit, SLOW);
+		
+		// Then
+		assertEquals(30, limit.getLimit());
+	}
+	
+	private GradientConcurrencyLimit limit(final GradientConcurrencyLimit.Settings.SettingsBuilder settings) {
+		// every release closes a window
+		return new GradientConcurrencyLimit("test", settings.windowNanos(0).minWindowSamples(1).build(), this.meterRegistry);
+	}
+	
+	private static void saturate(final GradientConcurrencyLimit limit, final long rttNanos) {
+		int acquired = 0;
+		while (limit.tryAcquire())
+			acquired++;
+		for (int i = 0; i < acquired; i++)
+			limit.release(rttNanos);
+	}
+	
+	
+	
+}
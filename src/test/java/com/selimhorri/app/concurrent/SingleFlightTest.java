@@ -0,0 +1,135 @@
+package com.selimhorri.app.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.selimhorri.app.exception.wrapper.LoadTimeoutException;
+import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("SingleFlight Unit Tests")
+class SingleFlightTest {
+	
+	private static final int CALLERS = 16;
+	
+	private SimpleMeterRegistry meterRegistry;
+	private ExecutorService executor;
+	
+	@BeforeEach
+	void setUp() {
+		this.meterRegistry = new SimpleMeterRegistry();
+		this.executor = Executors.newFixedThreadPool(CALLERS);
+	}
+	
+	@AfterEach
+	void tearDown() {
+		this.executor.shutdownNow();
+	}
+	
+	@Test
+	@DisplayName("Should run a single load for concurrent calls on the same key")
+	void testCollapsesConcurrentLoads() throws Exception {
+		final var flight = new SingleFlight<Integer, String>("test", 5_000, this.meterRegistry);
+		final var release = new CountDownLatch(1);
+		final var executions = new AtomicInteger();
+		
+		final List<Future<String>> results = this.submitAll(() -> flight.execute(1, () -> {
+			executions.incrementAndGet();
+			await(release);
+			return "product-1";
+		}));
+		this.awaitJoined(CALLERS - 1);
+		release.countDown();
+		
+		for (final Future<String> result : results)
+			assertEquals("product-1", result.get(5, TimeUnit.SECONDS));
+		assertEquals(1, executions.get());
+		assertEquals(1.0, this.meterRegistry.get("singleflight.loads").counter().count());
+		assertEquals(CALLERS - 1, this.meterRegistry.get("singleflight.collapsed").counter().count());
+		assertEquals(0, flight.inFlightCount());
+	}
+	
+	@Test
+	@DisplayName("Should propagate the loader failure to every waiting caller")
+	void testPropagatesFailure() throws Exception {
+		final var flight = new SingleFlight<Integer, String>("test", 5_000, this.meterRegistry);
+		final var release = new CountDownLatch(1);
+		final var failure = new ProductNotFoundException("Product with id: 1 not found");
+		
+		final List<Future<String>> results = this.submitAll(() -> flight.execute(1, () -> {
+			await(release);
+			throw failure;
+		}));
+		this.awaitJoined(CALLERS - 1);
+		release.countDown();
+		
+		for (final Future<String> result : results) {
+			final var thrown = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+			assertSame(failure, thrown.getCause());
+		}
+	}
+	
+	@Test
+	@DisplayName("Should stop waiting after the configured timeout")
+	void testBoundedWait() throws Exception {
+		final var flight = new SingleFlight<Integer, String>("test", 50, this.meterRegistry);
+		final var release = new CountDownLatch(1);
+		
+		final Future<String> leader = this.executor.submit(() -> flight.execute(1, () -> {
+			await(release);
+			return "late";
+		}));
+		while (flight.inFlightCount() == 0)
+			Thread.onSpinWait();
+		
+		assertThrows(LoadTimeoutException.class, () -> flight.execute(1, () -> "unused"));
+		assertEquals(1.0, this.meterRegistry.get("singleflight.timeouts").counter().count());
+		
+		release.countDown();
+		assertEquals("late", leader.get(5, TimeUnit.SECONDS));
+	}
+	
+	private List<Future<String>> submitAll(final Callable<String> task) {
+		final List<Future<String>> results = new ArrayList<>();
+		for (int i = 0; i < CALLERS; i++)
+			results.add(this.executor.submit(task));
+		return results;
+	}
+	
+	private void awaitJoined(final int expected) throws InterruptedException {
+		final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (this.meterRegistry.get("singleflight.collapsed").counter().count() < expected
+				&& System.nanoTime() < deadline)
+			Thread.sleep(5);
+	}
+	
+	private static void await(final CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	
+	
+}
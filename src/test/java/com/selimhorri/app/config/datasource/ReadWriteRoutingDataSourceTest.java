@@ -0,0 +1,143 @@
+package com.selimhorri.app.config.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Routing over three in-memory H2 databases, each one tagged with its own name.
+ */
+@DisplayName("ReadWriteRoutingDataSource Unit Tests")
+class ReadWriteRoutingDataSourceTest {
+	
+	private static final String LAG_QUERY = "SELECT lag_seconds FROM replication_lag";
+	
+	private Map<String, DataSource> replicas;
+	private ReplicaLagMonitor lagMonitor;
+	private ReadYourWritesTracker tracker;
+	private JdbcTemplate jdbcTemplate;
+	private TransactionTemplate readWriteTx;
+	private TransactionTemplate readOnlyTx;
+	
+	@BeforeEach
+	void setUp() {
+		final DataSource primary = this.h2("primary");
+		this.replicas = new LinkedHashMap<>();
+		this.replicas.put("replica-0", this.h2("replica-0"));
+		this.replicas.put("replica-1", this.h2("replica-1"));
+		
+		this.lagMonitor = new ReplicaLagMonitor(this.replicas, LAG_QUERY, 2000L);
+		this.lagMonitor.refresh();
+		this.tracker = new ReadYourWritesTracker(60_000L, 100);
+		
+		final Map<Object, Object> targets = new HashMap<>(this.replicas);
+		targets.put(ReadWriteRoutingDataSource.PRIMARY, primary);
+		final var routing = new ReadWriteRoutingDataSource(List.copyOf(this.replicas.keySet()),
+				this.lagMonitor, this.tracker);
+		routing.setTargetDataSources(targets);
+		routing.setDefaultTargetDataSource(primary);
+		routing.afterPropertiesSet();
+		
+		final var dataSource = new LazyConnectionDataSourceProxy(routing);
+		final var transactionManager = new DataSourceTransactionManager(dataSource);
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		this.readWriteTx = new TransactionTemplate(transactionManager);
+		this.readOnlyTx = new TransactionTemplate(transactionManager);
+		this.readOnlyTx.setReadOnly(true);
+	}
+	
+	@AfterEach
+	void tearDown() {
+		this.tracker.end();
+	}
+	
+	@Test
+	@DisplayName("Should send read-write transactions to the primary")
+	void testWriteGoesToPrimary() {
+		assertEquals("primary", this.readWriteTx.execute(status -> this.whoAmI()));
+	}
+	
+	@Test
+	@DisplayName("Should send read-only transactions to a replica")
+	void testReadGoesToReplica() {
+		for (int i = 0; i < 4; i++)
+			assertTrue(this.readOnlyTx.execute(status -> this.whoAmI()).startsWith("replica-"));
+	}
+	
+	@Test
+	@DisplayName("Should skip lagging replicas and fall back to the primary")
+	void testLaggingReplicasFallBackToPrimary() {
+		new JdbcTemplate(this.replicas.get("replica-0")).update("UPDATE replication_lag SET lag_seconds = 30");
+		this.lagMonitor.refresh();
+		assertEquals("replica-1", this.readOnlyTx.execute(status -> this.whoAmI()));
+		
+		new JdbcTemplate(this.replicas.get("replica-1")).update("UPDATE replication_lag SET lag_seconds = NULL");
+		this.lagMonitor.refresh();
+		assertEquals("primary", this.readOnlyTx.execute(status -> this.whoAmI()));
+	}
+	
+	@Test
+	@DisplayName("Should pin a client's reads to the primary right after it wrote")
+	void testReadYourWrites() {
+		this.tracker.begin("client-a");
+		this.readWriteTx.execute(status -> this.whoAmI());
+		this.tracker.end();
+		
+		this.tracker.begin("client-a");
+		assertEquals("primary", this.readOnlyTx.execute(status -> this.whoAmI()));
+		this.tracker.end();
+		
+		this.tracker.begin("client-b");
+		assertTrue(this.readOnlyTx.execute(status -> this.whoAmI()).startsWith("replica-"));
+	}
+	
+	@Test
+	@DisplayName("Should not pin a client whose write rolled back")
+	void testRolledBackWriteDoesNotPin() {
+		this.tracker.begin("client-a");
+		this.readWriteTx.executeWithoutResult(status -> {
+			this.whoAmI();
+			status.setRollbackOnly();
+		});
+		assertTrue(this.readOnlyTx.execute(status -> this.whoAmI()).startsWith("replica-"));
+		this.tracker.end();
+		
+		this.tracker.begin("client-a");
+		assertTrue(this.readOnlyTx.execute(status -> this.whoAmI()).startsWith("replica-"));
+	}
+	
+	private String whoAmI() {
+		return this.jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+	}
+	
+	private DataSource h2(final String name) {
+		final var dataSource = new JdbcDataSource();
+		dataSource.setURL("jdbc:h2:mem:routing_" + name + "_" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+		dataSource.setUser("sa");
+		final var jdbc = new JdbcTemplate(dataSource);
+		jdbc.execute("CREATE TABLE node (name VARCHAR(32))");
+		jdbc.update("INSERT INTO node VALUES (?)", name);
+		jdbc.execute("CREATE TABLE replication_lag (lag_seconds INT)");
+		jdbc.update("INSERT INTO replication_lag VALUES (0)");
+		return dataSource;
+	}
+	
+	
+	
+}
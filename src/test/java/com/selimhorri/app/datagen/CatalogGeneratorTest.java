@@ -0,0 +1,112 @@
+package com.selimhorri.app.datagen;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("CatalogGenerator Tests")
+class CatalogGeneratorTest {
+	
+	private static final String CATALOG = "SELECT CONCAT(v.sku, '|', v.product_title, '|', COALESCE(CAST(v.price_unit AS VARCHAR(16)), '-'), "
+			+ "'|', v.quantity, '|', v.category_path) FROM product_views v ORDER BY v.sku";
+	
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	
+	@AfterEach
+	void tearDown() {
+		List.of("category_aggregates", "product_views", "products", "categories")
+				.forEach(table -> this.jdbcTemplate.update("DELETE FROM " + table));
+	}
+	
+	@Test
+	@DisplayName("Should load products over a deep category tree with read model and aggregates")
+	void testGenerate() {
+		// When
+		final CatalogGenerator.Result result = this.generate(42L);
+		
+		// Then
+		assertEquals(20_000, result.getProducts());
+		assertEquals(20_000, this.count("SELECT COUNT(*) FROM products"));
+		assertEquals(20_000, this.count("SELECT COUNT(DISTINCT sku) FROM products"));
+		assertEquals(20_000, this.count("SELECT COUNT(*) FROM product_views"));
+		assertEquals(result.getCategories() + 2, this.count("SELECT COUNT(*) FROM categories"));
+		assertEquals(1, this.count("SELECT COUNT(*) FROM categories WHERE category_title = 'Deleted'"));
+		assertEquals(20_000, this.count("SELECT SUM(product_count) FROM category_aggregates"));
+		assertTrue(this.count("SELECT COUNT(*) FROM product_views WHERE category_path LIKE '% / % / %'") > 0);
+		// skewed: the largest category holds far more than an even share
+		assertTrue(this.count("SELECT MAX(product_count) FROM category_aggregates") > 5 * 20_000 / result.getLeafCategories());
+	}
+	
+	@Test
+	@DisplayName("Should generate the same catalog from the same seed and another from another seed")
+	void testDeterministic() {
+		// Given
+		this.generate(42L);
+		final List<String> first = this.jdbcTemplate.queryForList(CATALOG, String.class);
+		
+		// When
+		this.generate(42L);
+		final List<String> second = this.jdbcTemplate.queryForList(CATALOG, String.class);
+		this.generate(7L);
+		final List<String> other = this.jdbcTemplate.queryForList(CATALOG, String.class);
+		
+		// Then
+		assertEquals(first, second);
+		assertNotEquals(first, other);
+	}
+	
+	@Test
+	@DisplayName("Should refuse to clear a database other than H2 without confirmation")
+	void testClearRequiresConfirmationOutsideH2() {
+		// Given
+		final JdbcTemplate mysql = mock(JdbcTemplate.class);
+		when(mysql.execute(any(ConnectionCallback.class))).thenReturn("MySQL");
+		final var generator = new CatalogGenerator(mysql, CatalogGeneratorSettings.builder()
+				.products(10)
+				.clear(true)
+				.build());
+		
+		// When / Then
+		assertThrows(IllegalStateException.class, generator::generate);
+		verify(mysql, never()).update(anyString());
+	}
+	
+	private CatalogGenerator.Result generate(final long seed) {
+		return new CatalogGenerator(this.jdbcTemplate, CatalogGeneratorSettings.builder()
+				.seed(seed)
+				.products(20_000)
+				.maxCategories(300)
+				.batchSize(500)
+				.clear(true)
+				.build())
+				.generate();
+	}
+	
+	private int count(final String sql) {
+		return this.jdbcTemplate.queryForObject(sql, Integer.class);
+	}
+	
+	
+	
+}
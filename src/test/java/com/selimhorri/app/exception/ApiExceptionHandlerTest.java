@@ -140,5 +140,19 @@ class ApiExceptionHandlerTest {
 		assertEquals("#### Error message! ####", message);
 	}
 	
+	@Test
+	@DisplayName("Should not capture stack traces for rejected requests")
+	void testApiRequestExceptionsAreStackless() {
+		// Given
+		ProductNotFoundException exception = new ProductNotFoundException("Product with id: 1 not found");
+		
+		// When
+		ResponseEntity<ExceptionMsg> response = apiExceptionHandler.handleApiRequestException(exception);
+		
+		// Then
+		assertEquals(0, exception.getStackTrace().length);
+		assertEquals("#### Product with id: 1 not found! ####", response.getBody().getMsg());
+	}
+	
 }
 
@@ -0,0 +1,207 @@
+package com.selimhorri.app.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.domain.CategoryAggregate;
+import com.selimhorri.app.dto.CategoryAggregateDto;
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.repository.CategoryAggregateRepository;
+import com.selimhorri.app.repository.CategoryRepository;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.repository.ProductViewRepository;
+import com.selimhorri.app.service.CategoryAggregateService;
+import com.selimhorri.app.service.CategoryService;
+import com.selimhorri.app.service.ProductService;
+
+/**
+ * Category aggregate maintenance through the services. Not {@code @Transactional}, so
+ * every service call commits like it does in production.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Category Aggregate Integration Tests")
+class CategoryAggregateIntegrationTest {
+	
+	@Autowired
+	private ProductService productService;
+	
+	@Autowired
+	private CategoryService categoryService;
+	
+	@Autowired
+	private CategoryAggregateService categoryAggregateService;
+	
+	@Autowired
+	private CategoryAggregateRepository categoryAggregateRepository;
+	
+	@Autowired
+	private ProductRepository productRepository;
+	
+	@Autowired
+	private CategoryRepository categoryRepository;
+	
+	@Autowired
+	private ProductViewRepository productViewRepository;
+	
+	private Category deleted;
+	private Category noCategory;
+	private Category laptops;
+	private Category phones;
+	
+	@BeforeEach
+	void setUp() {
+		this.categoryAggregateRepository.deleteAll();
+		this.productViewRepository.deleteAll();
+		this.productRepository.deleteAll();
+		this.categoryRepository.deleteAll();
+		
+		this.deleted = this.categoryRepository.save(Category.builder().categoryTitle("Deleted").build());
+		this.noCategory = this.categoryRepository.save(Category.builder().categoryTitle("No category").build());
+		this.laptops = this.categoryRepository.save(Category.builder().categoryTitle("Laptops").build());
+		this.phones = this.categoryRepository.save(Category.builder().categoryTitle("Phones").build());
+	}
+	
+	@Test
+	@DisplayName("Should count saved products and report min, max and average price")
+	void testSaveMaintainsAggregates() {
+		// When
+		this.productService.save(this.product("Ultrabook", 1000.0, 3, this.laptops));
+		this.productService.save(this.product("Netbook", 250.5, 7, this.laptops));
+		
+		// Then
+		final CategoryAggregateDto aggregate = this.aggregateOf(this.laptops);
+		assertEquals(2, aggregate.getProductCount());
+		assertEquals(10, aggregate.getTotalStock());
+		assertEquals(250.5, aggregate.getMinPrice());
+		assertEquals(1000.0, aggregate.getMaxPrice());
+		assertEquals(new BigDecimal("625.25"), aggregate.getAveragePrice());
+	}
+	
+	@Test
+	@DisplayName("Should recompute the extremes when the priciest product gets cheaper or moves")
+	void testUpdateMaintainsAggregates() {
+		// Given
+		final Integer ultrabookId = this.productService.save(this.product("Ultrabook", 1000.0, 3, this.laptops)).getProductId();
+		final Integer netbookId = this.productService.save(this.product("Netbook", 250.0, 7, this.laptops)).getProductId();
+		
+		// When
+		this.productService.update(ultrabookId, this.product("Ultrabook", 100.0, 4, this.laptops));
+		
+		// Then
+		CategoryAggregateDto aggregate = this.aggregateOf(this.laptops);
+		assertEquals(11, aggregate.getTotalStock());
+		assertEquals(100.0, aggregate.getMinPrice());
+		assertEquals(250.0, aggregate.getMaxPrice());
+		
+		// When
+		this.productService.update(netbookId, this.product("Netbook", 250.0, 7, this.phones));
+		
+		// Then
+		aggregate = this.aggregateOf(this.laptops);
+		assertEquals(1, aggregate.getProductCount());
+		assertEquals(100.0, aggregate.getMaxPrice());
+		assertEquals(1, this.aggregateOf(this.phones).getProductCount());
+		assertEquals(7, this.aggregateOf(this.phones).getTotalStock());
+	}
+	
+	@Test
+	@DisplayName("Should move soft-deleted products to the aggregate of the Deleted category")
+	void testDeleteMaintainsAggregates() {
+		// Given
+		final Integer productId = this.productService.save(this.product("Ultrabook", 1000.0, 3, this.laptops)).getProductId();
+		
+		// When
+		this.productService.deleteById(productId);
+		
+		// Then
+		final CategoryAggregateDto aggregate = this.aggregateOf(this.laptops);
+		assertEquals(0, aggregate.getProductCount());
+		assertEquals(0, aggregate.getTotalStock());
+		assertNull(aggregate.getMinPrice());
+		assertNull(aggregate.getAveragePrice());
+		assertEquals(1, this.aggregateOf(this.deleted).getProductCount());
+	}
+	
+	@Test
+	@DisplayName("Should fold the aggregate of a deleted category into No category")
+	void testCategoryDeleteMergesAggregates() {
+		// Given
+		this.productService.save(this.product("Ultrabook", 1000.0, 3, this.laptops));
+		this.productService.save(this.product("Smartphone", 400.0, 9, this.phones));
+		this.productService.save(this.product("Orphan", 20.0, 1, this.noCategory));
+		
+		// When
+		this.categoryService.deleteById(this.laptops.getCategoryId());
+		
+		// Then
+		assertTrue(this.categoryAggregateRepository.findById(this.laptops.getCategoryId()).isEmpty());
+		final CategoryAggregateDto aggregate = this.aggregateOf(this.noCategory);
+		assertEquals(2, aggregate.getProductCount());
+		assertEquals(4, aggregate.getTotalStock());
+		assertEquals(20.0, aggregate.getMinPrice());
+		assertEquals(1000.0, aggregate.getMaxPrice());
+		assertEquals(1, this.aggregateOf(this.phones).getProductCount());
+		assertEquals(0, this.categoryAggregateService.reconcile());
+	}
+	
+	@Test
+	@DisplayName("Should repair drifted, missing and orphaned rows when reconciling")
+	void testReconcileRepairsDrift() {
+		// Given
+		this.productService.save(this.product("Ultrabook", 1000.0, 3, this.laptops));
+		this.productService.save(this.product("Smartphone", 400.0, 9, this.phones));
+		final CategoryAggregate drifted = this.categoryAggregateRepository.findById(this.laptops.getCategoryId()).orElseThrow();
+		drifted.setProductCount(42);
+		drifted.setMaxPrice(1.0);
+		this.categoryAggregateRepository.save(drifted);
+		this.categoryAggregateRepository.deleteById(this.phones.getCategoryId());
+		this.categoryAggregateRepository.save(CategoryAggregate.builder()
+				.categoryId(this.phones.getCategoryId() + 1_000)
+				.productCount(5)
+				.build());
+		
+		// When
+		final int repaired = this.categoryAggregateService.reconcile();
+		
+		// Then
+		assertEquals(3, repaired);
+		assertEquals(1, this.aggregateOf(this.laptops).getProductCount());
+		assertEquals(1000.0, this.aggregateOf(this.laptops).getMaxPrice());
+		assertEquals(9, this.aggregateOf(this.phones).getTotalStock());
+		assertTrue(this.categoryAggregateRepository.findById(this.phones.getCategoryId() + 1_000).isEmpty());
+		assertEquals(0, this.categoryAggregateService.reconcile());
+	}
+	
+	private CategoryAggregateDto aggregateOf(final Category category) {
+		return this.categoryAggregateService.findByCategoryIds(List.of(category.getCategoryId()))
+				.get(category.getCategoryId());
+	}
+	
+	private ProductDto product(final String title, final double price, final int quantity, final Category category) {
+		return ProductDto.builder()
+				.productTitle(title)
+				.imageUrl("https://example.com/" + title.toLowerCase() + ".jpg")
+				.sku("SKU-" + title.toUpperCase())
+				.priceUnit(price)
+				.quantity(quantity)
+				.categoryDto(CategoryDto.builder().categoryId(category.getCategoryId()).build())
+				.build();
+	}
+	
+	
+	
+}
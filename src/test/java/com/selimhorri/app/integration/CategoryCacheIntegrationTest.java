@@ -0,0 +1,115 @@
+package com.selimhorri.app.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.repository.CategoryRepository;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.service.CategoryService;
+
+/**
+ * Second-level and query cache behaviour. Deliberately not {@code @Transactional}:
+ * every service call must run in its own session so reads can only be served
+ * from the shared cache, never from the persistence context.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@DisplayName("Category Cache Integration Tests")
+class CategoryCacheIntegrationTest {
+	
+	@Autowired
+	private CategoryService categoryService;
+	
+	@Autowired
+	private CategoryRepository categoryRepository;
+	
+	@Autowired
+	private ProductRepository productRepository;
+	
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	
+	private Statistics statistics;
+	
+	@BeforeEach
+	void setUp() {
+		this.productRepository.deleteAll();
+		this.categoryRepository.deleteAll();
+		this.entityManagerFactory.getCache().evictAll();
+		this.statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		this.statistics.clear();
+	}
+	
+	@Test
+	@DisplayName("Should serve repeated lookups from the second-level cache")
+	void testFindByIdIsCached() {
+		final Integer categoryId = this.categoryService.save(this.category("Electronics")).getCategoryId();
+		this.statistics.clear();
+		
+		this.categoryService.findById(categoryId);
+		this.categoryService.findById(categoryId);
+		
+		assertTrue(this.statistics.getQueryCacheHitCount() >= 1);
+		assertTrue(this.statistics.getDomainDataRegionStatistics(AppConstant.CacheRegions.CATEGORY).getHitCount() >= 1);
+	}
+	
+	@Test
+	@DisplayName("Should invalidate cached lookups after an update")
+	void testUpdateInvalidatesCache() {
+		final Integer categoryId = this.categoryService.save(this.category("Electronics")).getCategoryId();
+		this.categoryService.findById(categoryId);
+		this.categoryService.findAll();
+		
+		this.categoryService.update(categoryId, this.category("Gadgets"));
+		
+		assertEquals("Gadgets", this.categoryService.findById(categoryId).getCategoryTitle());
+		assertEquals("Gadgets", this.categoryService.findAll().get(0).getCategoryTitle());
+	}
+	
+	@Test
+	@DisplayName("Should invalidate the cached list after a save")
+	void testSaveInvalidatesQueryCache() {
+		this.categoryService.save(this.category("Electronics"));
+		assertEquals(1, this.categoryService.findAll().size());
+		
+		this.categoryService.save(this.category("Books"));
+		
+		assertEquals(2, this.categoryService.findAll().size());
+	}
+	
+	@Test
+	@DisplayName("Should invalidate cached lookups after a delete")
+	void testDeleteInvalidatesCache() {
+		this.categoryService.save(this.category("No Category"));
+		final Integer categoryId = this.categoryService.save(this.category("Electronics")).getCategoryId();
+		assertEquals(1, this.categoryService.findAll().size());
+		
+		this.categoryService.deleteById(categoryId);
+		
+		assertTrue(this.categoryService.findAll().isEmpty());
+		assertTrue(this.categoryRepository.findById(categoryId).isEmpty());
+	}
+	
+	private CategoryDto category(final String title) {
+		return CategoryDto.builder()
+				.categoryTitle(title)
+				.imageUrl("https://example.com/" + title.toLowerCase() + ".jpg")
+				.build();
+	}
+	
+	
+	
+}
@@ -182,6 +182,36 @@ class CategoryServiceIntegrationTest {
 				.andExpect(jsonPath("$.collection").isEmpty());
 	}
 	
+	@Test
+	@DisplayName("Should return only the requested fields when fields parameter is given")
+	void testGetCategoryById_SparseFields() throws Exception {
+		// Given
+		Category savedCategory = createCategoryInDatabase();
+		
+		// When & Then
+		mockMvc.perform(get("/api/categories/" + savedCategory.getCategoryId()).param("fields", "categoryTitle"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.categoryTitle").value("Test Category"))
+				.andExpect(jsonPath("$.imageUrl").doesNotExist())
+				.andExpect(jsonPath("$.parentCategory").doesNotExist());
+	}
+	
+	@Test
+	@DisplayName("Should return 400 when fields parameter contains an unknown field")
+	void testGetAllCategories_UnknownField() throws Exception {
+		// When & Then
+		mockMvc.perform(get("/api/categories").param("fields", "categoryTitle,secret"))
+				.andExpect(status().isBadRequest());
+	}
+	
+	@Test
+	@DisplayName("Should return 400 when fields and include parameters are combined")
+	void testGetAllCategories_FieldsWithInclude() throws Exception {
+		// When & Then
+		mockMvc.perform(get("/api/categories").param("fields", "categoryTitle").param("include", "aggregates"))
+				.andExpect(status().isBadRequest());
+	}
+	
 	/**
 	 * Helper method to create a category in the database
 	 */
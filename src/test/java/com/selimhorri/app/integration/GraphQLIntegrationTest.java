@@ -0,0 +1,204 @@
+package com.selimhorri.app.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.persistence.EntityManager;
+
+import org.hamcrest.Matchers;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.dto.request.GraphQLRequest;
+import com.selimhorri.app.repository.CategoryRepository;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.repository.RecordingStatementInspector;
+
+@SpringBootTest(properties =
+		"spring.jpa.properties.hibernate.session_factory.statement_inspector=com.selimhorri.app.repository.RecordingStatementInspector")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("GraphQL Integration Tests")
+class GraphQLIntegrationTest {
+	
+	@Autowired
+	private MockMvc mockMvc;
+	
+	@Autowired
+	private ProductRepository productRepository;
+	
+	@Autowired
+	private CategoryRepository categoryRepository;
+	
+	@Autowired
+	private ObjectMapper objectMapper;
+	
+	@Autowired
+	private EntityManager entityManager;
+	
+	private Category computers;
+	
+	@BeforeEach
+	void setUp() {
+		productRepository.deleteAll();
+		categoryRepository.deleteAll();
+		
+		categoryRepository.save(Category.builder().categoryTitle("Deleted").build());
+		computers = categoryRepository.save(Category.builder().categoryTitle("Computers").build());
+		final Category laptops = categoryRepository.save(Category.builder()
+				.categoryTitle("Laptops")
+				.parentCategory(computers)
+				.build());
+		
+		productRepository.save(this.product("Tower", "TWR-001", computers));
+		productRepository.save(this.product("Ultrabook", "ULT-001", laptops));
+		productRepository.save(this.product("Gaming laptop", "GAM-001", laptops));
+	}
+	
+	@Test
+	@DisplayName("Should resolve nested categories, subcategories and products")
+	void testNestedQuery() throws Exception {
+		this.execute("{ category(id: " + computers.getCategoryId() + ") { categoryTitle "
+				+ "products { sku } subCategories { categoryTitle parentCategory { categoryTitle } products { sku } } } }")
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.errors").doesNotExist())
+				.andExpect(jsonPath("$.data.category.categoryTitle").value("Computers"))
+				.andExpect(jsonPath("$.data.category.products[*].sku").value(Matchers.contains("TWR-001")))
+				.andExpect(jsonPath("$.data.category.subCategories[0].categoryTitle").value("Laptops"))
+				.andExpect(jsonPath("$.data.category.subCategories[0].parentCategory.categoryTitle").value("Computers"))
+				.andExpect(jsonPath("$.data.category.subCategories[0].products[*].sku")
+						.value(Matchers.containsInAnyOrder("ULT-001", "GAM-001")));
+	}
+	
+	@Test
+	@DisplayName("Should query once per nesting level, however many categories a level holds")
+	void testOneQueryPerLevel() throws Exception {
+		// Given
+		final String query = "{ category(id: " + computers.getCategoryId() + ") { categoryTitle "
+				+ "products { sku } subCategories { categoryTitle parentCategory { categoryTitle } products { sku } } } }";
+		final List<String> narrow = this.selects(query);
+		for (int i = 1; i <= 4; i++) {
+			final Category sibling = categoryRepository.save(Category.builder()
+					.categoryTitle("Sibling " + i)
+					.parentCategory(computers)
+					.build());
+			productRepository.save(this.product("Sibling product " + i, "SIB-00" + i, sibling));
+			productRepository.save(this.product("Other sibling product " + i, "SIB-10" + i, sibling));
+		}
+		
+		// When
+		final List<String> wide = this.selects(query);
+		
+		// Then
+		assertFalse(narrow.isEmpty());
+		assertEquals(narrow.size(), wide.size(), () -> "narrow:\n" + narrow + "\nwide:\n" + wide);
+	}
+	
+	@Test
+	@DisplayName("Should refuse more product ids than one batch")
+	void testProductIdsCap() throws Exception {
+		final String ids = IntStream.rangeClosed(1, 501)
+				.mapToObj(String::valueOf)
+				.collect(Collectors.joining(", "));
+		this.execute("{ products(ids: [" + ids + "]) { sku } }")
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.errors[0].message").value(Matchers.containsString("at most 500 ids")));
+	}
+	
+	@Test
+	@DisplayName("Should only return the requested product fields")
+	void testSparseProductFields() throws Exception {
+		this.execute("{ products { sku category { categoryTitle } } }")
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.data.products.length()").value(3))
+				.andExpect(jsonPath("$.data.products[0].productTitle").doesNotExist())
+				.andExpect(jsonPath("$.data.products[*].category.categoryTitle")
+						.value(Matchers.hasItems("Computers", "Laptops")));
+	}
+	
+	@Test
+	@DisplayName("Should reject queries deeper than the configured limit")
+	void testDepthLimit() throws Exception {
+		this.execute("{ categories { subCategories { subCategories { subCategories { subCategories "
+				+ "{ subCategories { categoryTitle } } } } } } }")
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.errors[0].message").value(Matchers.containsString("depth")))
+				.andExpect(jsonPath("$.data").doesNotExist());
+	}
+	
+	@Test
+	@DisplayName("Should reject queries more expensive than the configured limit")
+	void testComplexityLimit() throws Exception {
+		this.execute("{ categories { subCategories { products { category { subCategories { categoryTitle } } } } } }")
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.errors[0].message").value(Matchers.containsString("complexity")));
+	}
+	
+	private ResultActions execute(final String query) throws Exception {
+		return mockMvc.perform(post("/graphql")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(GraphQLRequest.builder()
+						.query(query)
+						.variables(Map.of())
+						.build())));
+	}
+	
+	/**
+	 * The SELECTs {@code query} issues against empty caches and an empty persistence context.
+	 */
+	private List<String> selects(final String query) throws Exception {
+		entityManager.flush();
+		entityManager.clear();
+		entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getCache().evictAllRegions();
+		final List<String> statements = RecordingStatementInspector.record(() -> {
+			try {
+				this.execute(query)
+						.andExpect(status().isOk())
+						.andExpect(jsonPath("$.errors").doesNotExist());
+			}
+			catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		return statements.stream()
+				.filter(sql -> sql.trim().toLowerCase(Locale.ROOT).startsWith("select"))
+				.collect(Collectors.toList());
+	}
+	
+	private Product product(final String title, final String sku, final Category category) {
+		return Product.builder()
+				.productTitle(title)
+				.imageUrl("https://example.com/" + sku + ".jpg")
+				.sku(sku)
+				.priceUnit(999.0)
+				.quantity(5)
+				.category(category)
+				.build();
+	}
+	
+	
+	
+}
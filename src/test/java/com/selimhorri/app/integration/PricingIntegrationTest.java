@@ -0,0 +1,226 @@
+package com.selimhorri.app.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.PriceChangeBatchDto;
+import com.selimhorri.app.dto.PriceChangeEntryDto;
+import com.selimhorri.app.dto.PricePreviewDto;
+import com.selimhorri.app.dto.PriceRuleDto;
+import com.selimhorri.app.dto.PriceRuleDto.Adjustment;
+import com.selimhorri.app.dto.PriceRuleDto.Rounding;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.exception.wrapper.InvalidPriceRuleException;
+import com.selimhorri.app.repository.CategoryAggregateRepository;
+import com.selimhorri.app.repository.CategoryRepository;
+import com.selimhorri.app.repository.PriceChangeBatchRepository;
+import com.selimhorri.app.repository.PriceChangeEntryRepository;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.repository.ProductViewRepository;
+import com.selimhorri.app.service.CategoryAggregateService;
+import com.selimhorri.app.service.PricingService;
+import com.selimhorri.app.service.ProductService;
+
+/**
+ * Bulk price adjustments end to end. A chunk size of 2 makes every rule below span
+ * several chunk transactions.
+ */
+@SpringBootTest(properties = "app.pricing.chunk-size=2")
+@ActiveProfiles("test")
+@DisplayName("Pricing Integration Tests")
+class PricingIntegrationTest {
+	
+	@Autowired
+	private PricingService pricingService;
+	
+	@Autowired
+	private ProductService productService;
+	
+	@Autowired
+	private CategoryAggregateService categoryAggregateService;
+	
+	@Autowired
+	private PriceChangeEntryRepository priceChangeEntryRepository;
+	
+	@Autowired
+	private PriceChangeBatchRepository priceChangeBatchRepository;
+	
+	@Autowired
+	private CategoryAggregateRepository categoryAggregateRepository;
+	
+	@Autowired
+	private ProductViewRepository productViewRepository;
+	
+	@Autowired
+	private ProductRepository productRepository;
+	
+	@Autowired
+	private CategoryRepository categoryRepository;
+	
+	private Category computer;
+	private Category laptops;
+	private Integer laptopA;
+	private Integer laptopB;
+	private Integer desktop;
+	private Integer phone;
+	private Integer discontinued;
+	
+	@BeforeEach
+	void setUp() {
+		this.priceChangeEntryRepository.deleteAll();
+		this.priceChangeBatchRepository.deleteAll();
+		this.categoryAggregateRepository.deleteAll();
+		this.productViewRepository.deleteAll();
+		this.productRepository.deleteAll();
+		this.categoryRepository.deleteAll();
+		
+		this.categoryRepository.save(Category.builder().categoryTitle("Deleted").build());
+		this.categoryRepository.save(Category.builder().categoryTitle("No category").build());
+		this.computer = this.categoryRepository.save(Category.builder().categoryTitle("Computer").build());
+		this.laptops = this.categoryRepository.save(Category.builder()
+				.categoryTitle("Laptops")
+				.parentCategory(this.computer)
+				.build());
+		final Category phones = this.categoryRepository.save(Category.builder().categoryTitle("Phones").build());
+		
+		this.laptopA = this.save("Laptop-A", 100.0, this.laptops);
+		this.laptopB = this.save("Laptop-B", 205.0, this.laptops);
+		this.desktop = this.save("Desktop", 300.0, this.computer);
+		this.phone = this.save("Phone", 400.0, phones);
+		this.discontinued = this.save("Discontinued", 50.0, this.laptops);
+		this.productService.deleteById(this.discontinued);
+	}
+	
+	@Test
+	@DisplayName("Should preview a subtree rule without changing any price")
+	void testPreview() {
+		// When
+		final PricePreviewDto preview = this.pricingService.preview(this.computerPlusTenPercent());
+		
+		// Then
+		assertEquals(3, preview.getAffectedCount());
+		assertEquals(new BigDecimal("10.00"), preview.getMinDelta());
+		assertEquals(new BigDecimal("30.00"), preview.getMaxDelta());
+		assertEquals(100.0, this.productService.findById(this.laptopA).getPriceUnit());
+		assertEquals(0, this.priceChangeBatchRepository.count());
+	}
+	
+	@Test
+	@DisplayName("Should reprice a category subtree in chunks and log every change")
+	void testApplySubtreeRule() {
+		// When
+		final PriceChangeBatchDto batch = this.pricingService.apply(this.computerPlusTenPercent());
+		
+		// Then
+		assertEquals(3, batch.getProductCount());
+		assertEquals(new BigDecimal("10.00"), batch.getMinDelta());
+		assertEquals(new BigDecimal("30.00"), batch.getMaxDelta());
+		assertNotNull(batch.getCompletedAt());
+		assertEquals(110.0, this.productService.findById(this.laptopA).getPriceUnit());
+		assertEquals(225.5, this.productService.findById(this.laptopB).getPriceUnit());
+		assertEquals(330.0, this.productService.findById(this.desktop).getPriceUnit());
+		assertEquals(400.0, this.productService.findById(this.phone).getPriceUnit());
+		assertEquals(50.0, this.productRepository.findById(this.discontinued).orElseThrow().getPriceUnit());
+		
+		final List<PriceChangeEntryDto> entries = this.pricingService.findEntriesByBatchId(batch.getBatchId());
+		assertEquals(List.of(this.laptopA, this.laptopB, this.desktop), entries.stream()
+				.map(PriceChangeEntryDto::getProductId)
+				.collect(Collectors.toList()));
+		assertEquals(new BigDecimal("205.00"), entries.get(1).getOldPrice());
+		assertEquals(new BigDecimal("225.50"), entries.get(1).getNewPrice());
+		
+		assertEquals(225.5, this.categoryAggregateService.findByCategoryIds(List.of(this.laptops.getCategoryId()))
+				.get(this.laptops.getCategoryId()).getMaxPrice());
+		assertEquals(225.5, this.productViewRepository.findById(this.laptopB).orElseThrow().getPriceUnit());
+		assertEquals(batch.getBatchId(), this.pricingService.findRecentBatches().get(0).getBatchId());
+	}
+	
+	@Test
+	@DisplayName("Should combine SKU and price band scopes with a rounded fixed amount")
+	void testApplySkuAndBandRule() {
+		// Given
+		final PriceRuleDto rule = PriceRuleDto.builder()
+				.skus(Set.of("SKU-LAPTOP-B", "SKU-PHONE"))
+				.maxPrice(new BigDecimal("300"))
+				.adjustment(Adjustment.FIXED)
+				.amount(new BigDecimal("-4.5"))
+				.roundTo(BigDecimal.ONE)
+				.rounding(Rounding.DOWN)
+				.build();
+		
+		// When
+		final PriceChangeBatchDto batch = this.pricingService.apply(rule);
+		
+		// Then
+		assertEquals(1, batch.getProductCount());
+		assertEquals(new BigDecimal("-5.00"), batch.getMinDelta());
+		assertEquals(200.0, this.productService.findById(this.laptopB).getPriceUnit());
+		assertEquals(400.0, this.productService.findById(this.phone).getPriceUnit());
+	}
+	
+	@Test
+	@DisplayName("Should reject rules without scope or that would leave the price range")
+	void testInvalidRules() {
+		assertThrows(InvalidPriceRuleException.class, () -> this.pricingService.preview(PriceRuleDto.builder()
+				.adjustment(Adjustment.PERCENT)
+				.amount(BigDecimal.TEN)
+				.build()));
+		assertThrows(InvalidPriceRuleException.class, () -> this.pricingService.preview(PriceRuleDto.builder()
+				.categoryId(this.computer.getCategoryId())
+				.adjustment(Adjustment.PERCENT)
+				.amount(new BigDecimal("-100"))
+				.build()));
+		assertThrows(InvalidPriceRuleException.class, () -> this.pricingService.apply(PriceRuleDto.builder()
+				.maxPrice(new BigDecimal("150"))
+				.adjustment(Adjustment.FIXED)
+				.amount(new BigDecimal("-150"))
+				.build()));
+		assertThrows(InvalidPriceRuleException.class, () -> this.pricingService.apply(PriceRuleDto.builder()
+				.minPrice(BigDecimal.ZERO)
+				.adjustment(Adjustment.FIXED)
+				.amount(BigDecimal.ONE)
+				.roundTo(new BigDecimal("0.001"))
+				.build()));
+		assertEquals(0, this.priceChangeBatchRepository.count());
+		assertEquals(100.0, this.productService.findById(this.laptopA).getPriceUnit());
+	}
+	
+	private PriceRuleDto computerPlusTenPercent() {
+		return PriceRuleDto.builder()
+				.categoryId(this.computer.getCategoryId())
+				.adjustment(Adjustment.PERCENT)
+				.amount(BigDecimal.TEN)
+				.roundTo(new BigDecimal("0.05"))
+				.rounding(Rounding.UP)
+				.build();
+	}
+	
+	private Integer save(final String title, final double price, final Category category) {
+		return this.productService.save(ProductDto.builder()
+				.productTitle(title)
+				.imageUrl("https://example.com/" + title.toLowerCase() + ".jpg")
+				.sku("SKU-" + title.toUpperCase())
+				.priceUnit(price)
+				.quantity(5)
+				.categoryDto(CategoryDto.builder().categoryId(category.getCategoryId()).build())
+				.build()).getProductId();
+	}
+	
+	
+	
+}
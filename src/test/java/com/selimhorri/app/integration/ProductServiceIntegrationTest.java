@@ -306,6 +306,45 @@ class ProductServiceIntegrationTest {
 				.andExpect(jsonPath("$.collection[0].category.categoryTitle").value("Electronics"));
 	}
 	
+	@Test
+	@DisplayName("Should return only the requested fields when fields parameter is given")
+	void testGetAllProducts_SparseFields() throws Exception {
+		// Given
+		createProductInDatabase();
+		
+		// When & Then
+		mockMvc.perform(get("/api/products").param("fields", "productId,priceUnit,quantity"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.collection.length()").value(1))
+				.andExpect(jsonPath("$.collection[0].productId").exists())
+				.andExpect(jsonPath("$.collection[0].priceUnit").value(199.99))
+				.andExpect(jsonPath("$.collection[0].quantity").value(15))
+				.andExpect(jsonPath("$.collection[0].productTitle").doesNotExist())
+				.andExpect(jsonPath("$.collection[0].category").doesNotExist());
+	}
+	
+	@Test
+	@DisplayName("Should include nested category only when requested in fields")
+	void testGetProductById_SparseFieldsWithCategory() throws Exception {
+		// Given
+		Product savedProduct = createProductInDatabase();
+		
+		// When & Then
+		mockMvc.perform(get("/api/products/" + savedProduct.getProductId()).param("fields", "sku,category"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.sku").value(savedProduct.getSku()))
+				.andExpect(jsonPath("$.category.categoryTitle").value("Electronics"))
+				.andExpect(jsonPath("$.productId").doesNotExist());
+	}
+	
+	@Test
+	@DisplayName("Should return 400 when fields parameter contains an unknown field")
+	void testGetAllProducts_UnknownField() throws Exception {
+		// When & Then
+		mockMvc.perform(get("/api/products").param("fields", "productId,password"))
+				.andExpect(status().isBadRequest());
+	}
+	
 	/**
 	 * Helper method to create a product in the database
 	 */
@@ -0,0 +1,190 @@
+package com.selimhorri.app.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.domain.ProductView;
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
+import com.selimhorri.app.readmodel.ConsistencyReport;
+import com.selimhorri.app.repository.CategoryRepository;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.repository.ProductViewRepository;
+import com.selimhorri.app.service.CategoryService;
+import com.selimhorri.app.service.ProductService;
+import com.selimhorri.app.service.ProductViewService;
+
+/**
+ * Product read model maintenance. Deliberately not {@code @Transactional}: the projector
+ * runs when the service transaction commits.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Product View Integration Tests")
+class ProductViewIntegrationTest {
+	
+	@Autowired
+	private ProductService productService;
+	
+	@Autowired
+	private CategoryService categoryService;
+	
+	@Autowired
+	private ProductViewService productViewService;
+	
+	@Autowired
+	private ProductRepository productRepository;
+	
+	@Autowired
+	private CategoryRepository categoryRepository;
+	
+	@Autowired
+	private ProductViewRepository productViewRepository;
+	
+	private Category computer;
+	private Category laptops;
+	
+	@BeforeEach
+	void setUp() {
+		this.productViewRepository.deleteAll();
+		this.productRepository.deleteAll();
+		this.categoryRepository.deleteAll();
+		
+		this.categoryRepository.save(Category.builder().categoryTitle("Deleted").build());
+		this.categoryRepository.save(Category.builder().categoryTitle("No category").build());
+		this.computer = this.categoryRepository.save(Category.builder().categoryTitle("Computer").build());
+		this.laptops = this.categoryRepository.save(Category.builder()
+				.categoryTitle("Laptops")
+				.parentCategory(this.computer)
+				.build());
+	}
+	
+	@Test
+	@DisplayName("Should project saved products with their category path")
+	void testSaveProjectsProduct() {
+		// When
+		final Integer productId = this.productService.save(this.product("Ultrabook", this.laptops)).getProductId();
+		
+		// Then
+		final ProductView view = this.productViewRepository.findById(productId).orElseThrow();
+		assertEquals("Ultrabook", view.getProductTitle());
+		assertEquals("Laptops", view.getCategoryTitle());
+		assertEquals(this.computer.getCategoryId(), view.getParentCategoryId());
+		assertEquals("Computer / Laptops", view.getCategoryPath());
+		assertEquals("Ultrabook", this.productViewService.findById(productId).getProductTitle());
+		assertEquals(1, this.productViewService.findAllByCategoryId(this.laptops.getCategoryId()).size());
+	}
+	
+	@Test
+	@DisplayName("Should re-project products below a renamed category")
+	void testCategoryRenameUpdatesPath() {
+		// Given
+		final Integer productId = this.productService.save(this.product("Ultrabook", this.laptops)).getProductId();
+		
+		// When
+		this.categoryService.update(this.computer.getCategoryId(), CategoryDto.builder().categoryTitle("Hardware").build());
+		
+		// Then
+		assertEquals("Hardware / Laptops", this.productViewRepository.findById(productId).orElseThrow().getCategoryPath());
+	}
+	
+	@Test
+	@DisplayName("Should drop soft-deleted products from the read model")
+	void testDeleteRemovesRow() {
+		// Given
+		final Integer productId = this.productService.save(this.product("Ultrabook", this.laptops)).getProductId();
+		
+		// When
+		this.productService.deleteById(productId);
+		
+		// Then
+		assertTrue(this.productViewRepository.findById(productId).isEmpty());
+		assertThrows(ProductNotFoundException.class, () -> this.productViewService.findById(productId));
+	}
+	
+	@Test
+	@DisplayName("Should re-project products moved in bulk by a category deletion without a rebuild")
+	void testCategoryDeleteReprojectsMovedProducts() {
+		// Given
+		final Integer movedId = this.productService.save(this.product("Ultrabook", this.laptops)).getProductId();
+		final Integer keptId = this.productService.save(this.product("Desktop", this.computer)).getProductId();
+		final ProductView untouched = this.productViewRepository.findById(keptId).orElseThrow();
+		untouched.setProductTitle("Left alone");
+		this.productViewRepository.save(untouched);
+		
+		// When
+		this.categoryService.deleteById(this.laptops.getCategoryId());
+		
+		// Then
+		final ProductView moved = this.productViewRepository.findById(movedId).orElseThrow();
+		assertEquals("No category", moved.getCategoryTitle());
+		assertEquals("No category", moved.getCategoryPath());
+		// only rows whose category or price drifted are re-projected
+		assertEquals("Left alone", this.productViewRepository.findById(keptId).orElseThrow().getProductTitle());
+	}
+	
+	@Test
+	@DisplayName("Should report drift from the normalized tables and repair it with a rebuild")
+	void testConsistencyCheckAndRebuild() {
+		// Given
+		final Integer tamperedId = this.productService.save(this.product("Ultrabook", this.laptops)).getProductId();
+		final ProductView tampered = this.productViewRepository.findById(tamperedId).orElseThrow();
+		tampered.setProductTitle("Tampered");
+		this.productViewRepository.save(tampered);
+		final Integer missingId = this.productRepository.save(Product.builder()
+				.productTitle("Written behind the service's back")
+				.sku("SKU-MISSING")
+				.priceUnit(10.0)
+				.quantity(1)
+				.category(this.laptops)
+				.createdAt(Instant.now())
+				.build()).getProductId();
+		this.productViewRepository.save(ProductView.builder()
+				.productId(missingId + 1_000)
+				.categoryId(this.laptops.getCategoryId())
+				.build());
+		
+		// When
+		final ConsistencyReport before = this.productViewService.checkConsistency();
+		final int rebuilt = this.productViewService.rebuild();
+		final ConsistencyReport after = this.productViewService.checkConsistency();
+		
+		// Then
+		assertFalse(before.isConsistent());
+		assertEquals(List.of(missingId), before.getMissingIds());
+		assertEquals(List.of(tamperedId), before.getStaleIds());
+		assertEquals(List.of(missingId + 1_000), before.getOrphanedIds());
+		assertEquals(2, rebuilt);
+		assertTrue(after.isConsistent());
+		assertEquals("Ultrabook", this.productViewService.findById(tamperedId).getProductTitle());
+	}
+	
+	private ProductDto product(final String title, final Category category) {
+		return ProductDto.builder()
+				.productTitle(title)
+				.imageUrl("https://example.com/" + title.toLowerCase() + ".jpg")
+				.sku("SKU-" + title.toUpperCase())
+				.priceUnit(999.99)
+				.quantity(5)
+				.categoryDto(CategoryDto.builder().categoryId(category.getCategoryId()).build())
+				.build();
+	}
+	
+	
+	
+}
@@ -0,0 +1,69 @@
+package com.selimhorri.app.integration;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.repository.CategoryRepository;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.requestlog.AsyncRequestLog;
+import com.selimhorri.app.requestlog.RequestLogFilter;
+
+@SpringBootTest(properties = "app.request-log.sample-rate=1.0")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Request Log Integration Tests")
+class RequestLogIntegrationTest {
+	
+	@Autowired
+	private MockMvc mockMvc;
+	
+	@Autowired
+	private AsyncRequestLog asyncRequestLog;
+	
+	@Autowired
+	private ProductRepository productRepository;
+	
+	@Autowired
+	private CategoryRepository categoryRepository;
+	
+	@BeforeEach
+	void setUp() {
+		this.productRepository.deleteAll();
+		this.categoryRepository.deleteAll();
+		this.categoryRepository.save(Category.builder().categoryTitle("Computer").build());
+		this.categoryRepository.save(Category.builder().categoryTitle("Phones").build());
+	}
+	
+	@Test
+	@DisplayName("Should count response rows and write one record per request off the request thread")
+	void testRequestIsLogged() throws Exception {
+		// Given
+		final long before = this.asyncRequestLog.getWritten();
+		
+		// When
+		this.mockMvc.perform(get("/api/categories"))
+				.andExpect(status().isOk())
+				.andExpect(request().attribute(RequestLogFilter.ROWS_ATTRIBUTE, 2L));
+		
+		// Then
+		final long deadline = System.nanoTime() + 5_000_000_000L;
+		while (this.asyncRequestLog.getWritten() == before && System.nanoTime() < deadline)
+			Thread.sleep(10);
+		assertTrue(this.asyncRequestLog.getWritten() > before);
+	}
+	
+	
+	
+}
@@ -0,0 +1,84 @@
+package com.selimhorri.app.integration;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import com.selimhorri.app.service.impl.ResilientProductService;
+
+@SpringBootTest(properties = {
+	"app.resilience.rate-limit.enabled=true",
+	"resilience4j.ratelimiter.configs.perClient.limit-for-period=2",
+	"resilience4j.ratelimiter.configs.perClient.limit-refresh-period=60s",
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Resilience Integration Tests")
+class ResilienceIntegrationTest {
+	
+	@Autowired
+	private MockMvc mockMvc;
+	
+	@Test
+	@DisplayName("Should answer 429 with Retry-After once a client is over its limit, without affecting other clients")
+	void testRateLimitPerClient() throws Exception {
+		// When
+		this.mockMvc.perform(get("/api/products").with(from("10.0.0.1"))).andExpect(status().isOk());
+		this.mockMvc.perform(get("/api/products").with(from("10.0.0.1"))).andExpect(status().isOk());
+		
+		// Then
+		this.mockMvc.perform(get("/api/products").with(from("10.0.0.1")))
+				.andExpect(status().isTooManyRequests())
+				.andExpect(header().string("Retry-After", "60"));
+		this.mockMvc.perform(get("/api/products").with(from("10.0.0.2"))).andExpect(status().isOk());
+		this.mockMvc.perform(get("/api/categories").with(from("10.0.0.1"))).andExpect(status().isOk());
+	}
+	
+	@Test
+	@DisplayName("Should not let a client reset its limit through request headers")
+	void testRateLimitIgnoresClientHeaders() throws Exception {
+		// Given
+		this.mockMvc.perform(get("/api/products").with(from("10.0.0.3")).header("X-Client-Id", "a"));
+		this.mockMvc.perform(get("/api/products").with(from("10.0.0.3")).header("X-Client-Id", "b"));
+		
+		// When & Then
+		this.mockMvc.perform(get("/api/products").with(from("10.0.0.3")).header("X-Client-Id", "c"))
+				.andExpect(status().isTooManyRequests());
+	}
+	
+	@Test
+	@DisplayName("Should report the circuit breaker and every bulkhead in the health endpoint")
+	void testHealthDetails() throws Exception {
+		// When
+		this.mockMvc.perform(get("/api/products").with(from("10.0.0.4")));
+		
+		// Then
+		this.mockMvc.perform(get("/actuator/health/circuitBreakers"))
+				.andExpect(jsonPath("$.details." + ResilientProductService.CIRCUIT_BREAKER + ".details.state").value("CLOSED"));
+		this.mockMvc.perform(get("/actuator/health/bulkheads"))
+				.andExpect(jsonPath("$.status").value("UP"))
+				.andExpect(jsonPath("$.details." + ResilientProductService.BY_ID_BULKHEAD + ".maxAllowedConcurrentCalls").value(20))
+				.andExpect(jsonPath("$.details." + ResilientProductService.SCAN_BULKHEAD + ".availableConcurrentCalls").value(3))
+				.andExpect(jsonPath("$.details." + ResilientProductService.WRITE_BULKHEAD).exists());
+	}
+	
+	private static RequestPostProcessor from(final String remoteAddress) {
+		return request -> {
+			request.setRemoteAddr(remoteAddress);
+			return request;
+		};
+	}
+	
+	
+	
+}
@@ -0,0 +1,232 @@
+package com.selimhorri.app.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.domain.PriceChangeBatch;
+import com.selimhorri.app.domain.ScheduledPriceChange;
+import com.selimhorri.app.domain.ScheduledPriceChange.Status;
+import com.selimhorri.app.dto.ScheduledPriceChangeDto;
+import com.selimhorri.app.exception.wrapper.InvalidPriceRuleException;
+import com.selimhorri.app.repository.CategoryAggregateRepository;
+import com.selimhorri.app.repository.CategoryRepository;
+import com.selimhorri.app.repository.PriceChangeBatchRepository;
+import com.selimhorri.app.repository.ScheduledPriceChangeRepository;
+import com.selimhorri.app.service.PricingService;
+import com.selimhorri.app.service.ProductService;
+
+/**
+ * Scheduled price activation against the running timing wheel. Products are seeded with
+ * plain JDBC batches; tables are cleared the same way, as deleting 100k entities one by
+ * one would dominate the run.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Scheduled Price Integration Tests")
+class ScheduledPriceIntegrationTest {
+	
+	private static final int FLASH_SALE_SIZE = 100_000;
+	private static final Duration ACTIVATION_TIMEOUT = Duration.ofSeconds(120);
+	
+	@Autowired
+	private PricingService pricingService;
+	
+	@Autowired
+	private ProductService productService;
+	
+	@Autowired
+	private ScheduledPriceChangeRepository scheduledPriceChangeRepository;
+	
+	@Autowired
+	private PriceChangeBatchRepository priceChangeBatchRepository;
+	
+	@Autowired
+	private CategoryAggregateRepository categoryAggregateRepository;
+	
+	@Autowired
+	private CategoryRepository categoryRepository;
+	
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	
+	private Category sale;
+	
+	@BeforeEach
+	void setUp() {
+		this.clear();
+		this.categoryRepository.save(Category.builder().categoryTitle("Deleted").build());
+		this.categoryRepository.save(Category.builder().categoryTitle("No category").build());
+		this.sale = this.categoryRepository.save(Category.builder().categoryTitle("Flash sale").build());
+	}
+	
+	@AfterEach
+	void tearDown() {
+		this.clear();
+	}
+	
+	@Test
+	@DisplayName("Should switch 100k prices due in the same second over in one batch")
+	void testFlashSaleSwitchesOverTogether() throws InterruptedException {
+		// Given
+		final List<Integer> productIds = this.seedProducts(FLASH_SALE_SIZE, 29.99);
+		final Integer sampleId = productIds.get(FLASH_SALE_SIZE / 2);
+		assertEquals(29.99, this.productService.findById(sampleId).getPriceUnit()); // now cached
+		final Instant activateAt = Instant.now().plusSeconds(15).truncatedTo(ChronoUnit.SECONDS);
+		
+		// When
+		for (int from = 0; from < FLASH_SALE_SIZE; from += 10_000)
+			this.pricingService.schedule(productIds.subList(from, from + 10_000)
+					.stream()
+					.map(productId -> this.change(productId, "19.99", activateAt))
+					.collect(Collectors.toList()));
+		this.awaitNoPendingChanges();
+		
+		// Then
+		final List<PriceChangeBatch> batches = this.priceChangeBatchRepository.findAll();
+		assertEquals(1, batches.size());
+		final PriceChangeBatch batch = batches.get(0);
+		assertEquals(FLASH_SALE_SIZE, batch.getProductCount());
+		assertEquals(new BigDecimal("-10.00"), batch.getMinDelta());
+		assertEquals(new BigDecimal("-10.00"), batch.getMaxDelta());
+		assertFalse(batch.getStartedAt().isBefore(activateAt));
+		
+		assertEquals(FLASH_SALE_SIZE, this.count("SELECT COUNT(*) FROM scheduled_price_changes "
+				+ "WHERE status = 'APPLIED' AND batch_id = " + batch.getBatchId()));
+		assertEquals(FLASH_SALE_SIZE, this.count("SELECT COUNT(*) FROM products WHERE price_unit = 19.99"));
+		assertEquals(19.99, this.productService.findById(sampleId).getPriceUnit());
+		assertEquals(0, new BigDecimal("19.99").compareTo(this.categoryAggregateRepository
+				.findById(this.sale.getCategoryId()).orElseThrow().getMaxPrice()));
+	}
+	
+	@Test
+	@DisplayName("Should apply the latest change per product and leave cancelled changes alone")
+	void testLatestChangeWinsAndCancel() throws InterruptedException {
+		// Given
+		final List<Integer> productIds = this.seedProducts(2, 50.0);
+		final Instant activateAt = Instant.now().plusSeconds(2);
+		this.pricingService.schedule(List.of(
+				this.change(productIds.get(0), "40.00", activateAt),
+				this.change(productIds.get(0), "35.00", activateAt),
+				this.change(productIds.get(1), "45.00", activateAt)));
+		final List<ScheduledPriceChange> scheduled = this.scheduledPriceChangeRepository.findAll()
+				.stream()
+				.sorted((a, b) -> a.getScheduleId().compareTo(b.getScheduleId()))
+				.collect(Collectors.toList());
+		
+		// When
+		this.pricingService.cancelSchedule(scheduled.get(2).getScheduleId());
+		this.awaitNoPendingChanges();
+		
+		// Then
+		assertEquals(Status.SKIPPED, this.pricingService.findScheduleById(scheduled.get(0).getScheduleId()).getStatus());
+		final ScheduledPriceChangeDto applied = this.pricingService.findScheduleById(scheduled.get(1).getScheduleId());
+		assertEquals(Status.APPLIED, applied.getStatus());
+		assertEquals(Status.CANCELLED, this.pricingService.findScheduleById(scheduled.get(2).getScheduleId()).getStatus());
+		assertNull(this.pricingService.findScheduleById(scheduled.get(2).getScheduleId()).getBatchId());
+		assertEquals(35.0, this.productService.findById(productIds.get(0)).getPriceUnit());
+		assertEquals(50.0, this.productService.findById(productIds.get(1)).getPriceUnit());
+		assertEquals(1, this.pricingService.findBatchById(applied.getBatchId()).getProductCount());
+		assertThrows(InvalidPriceRuleException.class, () -> this.pricingService.cancelSchedule(applied.getScheduleId()));
+	}
+	
+	@Test
+	@DisplayName("Should skip changes of products deleted after they were scheduled")
+	void testSkipsDeletedProducts() throws InterruptedException {
+		// Given
+		final List<Integer> productIds = this.seedProducts(2, 50.0);
+		final Instant activateAt = Instant.now().plusSeconds(2);
+		this.pricingService.schedule(List.of(
+				this.change(productIds.get(0), "40.00", activateAt),
+				this.change(productIds.get(1), "45.00", activateAt)));
+		this.productService.deleteById(productIds.get(1));
+		
+		// When
+		this.awaitNoPendingChanges();
+		
+		// Then
+		assertEquals(1, this.count("SELECT COUNT(*) FROM scheduled_price_changes WHERE status = 'APPLIED' "
+				+ "AND product_id = " + productIds.get(0)));
+		assertEquals(1, this.count("SELECT COUNT(*) FROM scheduled_price_changes WHERE status = 'SKIPPED' "
+				+ "AND product_id = " + productIds.get(1)));
+		assertEquals(0, this.count("SELECT COUNT(*) FROM price_change_entries WHERE product_id = " + productIds.get(1)));
+		assertEquals(1, this.count("SELECT COUNT(*) FROM products WHERE price_unit = 50.0 "
+				+ "AND product_id = " + productIds.get(1)));
+		assertEquals(40.0, this.productService.findById(productIds.get(0)).getPriceUnit());
+	}
+	
+	@Test
+	@DisplayName("Should reject changes in the past or out of the price range")
+	void testRejectsInvalidChanges() {
+		// Given
+		final Integer productId = this.seedProducts(1, 50.0).get(0);
+		
+		// When & Then
+		assertThrows(InvalidPriceRuleException.class, () -> this.pricingService.schedule(List.of(
+				this.change(productId, "10.00", Instant.now().minusSeconds(1)))));
+		assertThrows(InvalidPriceRuleException.class, () -> this.pricingService.schedule(List.of(
+				this.change(productId, "-1.00", Instant.now().plusSeconds(60)))));
+		assertThrows(InvalidPriceRuleException.class, () -> this.pricingService.schedule(List.of(
+				this.change(productId, "10.001", Instant.now().plusSeconds(60)))));
+		assertEquals(0, this.scheduledPriceChangeRepository.count());
+	}
+	
+	private List<Integer> seedProducts(final int count, final double price) {
+		final List<Object[]> rows = IntStream.range(0, count)
+				.mapToObj(i -> new Object[] { "Sale item " + i, "SALE-" + i, price, 1, this.sale.getCategoryId() })
+				.collect(Collectors.toCollection(ArrayList::new));
+		this.jdbcTemplate.batchUpdate("INSERT INTO products (product_title, sku, price_unit, quantity, category_id, created_at) "
+				+ "VALUES (?, ?, ?, ?, ?, CURRENT_TIMESTAMP)", rows);
+		return this.jdbcTemplate.queryForList("SELECT product_id FROM products ORDER BY product_id", Integer.class);
+	}
+	
+	private ScheduledPriceChangeDto change(final Integer productId, final String newPrice, final Instant activateAt) {
+		return ScheduledPriceChangeDto.builder()
+				.productId(productId)
+				.newPrice(new BigDecimal(newPrice))
+				.activateAt(activateAt)
+				.build();
+	}
+	
+	private void awaitNoPendingChanges() throws InterruptedException {
+		final Instant deadline = Instant.now().plus(ACTIVATION_TIMEOUT);
+		while (this.count("SELECT COUNT(*) FROM scheduled_price_changes WHERE status = 'PENDING'") > 0) {
+			assertTrue(Instant.now().isBefore(deadline), "scheduled changes still pending");
+			Thread.sleep(100);
+		}
+	}
+	
+	private int count(final String sql) {
+		return this.jdbcTemplate.queryForObject(sql, Integer.class);
+	}
+	
+	private void clear() {
+		List.of("scheduled_price_changes", "price_change_entries", "price_change_batches", "category_aggregates",
+				"product_views", "products", "categories")
+				.forEach(table -> this.jdbcTemplate.update("DELETE FROM " + table));
+	}
+	
+	
+	
+}
@@ -0,0 +1,150 @@
+package com.selimhorri.app.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.jdbc.InstrumentedDataSource;
+import com.selimhorri.app.repository.CategoryRepository;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.repository.ProductViewRepository;
+import com.selimhorri.app.service.ProductViewService;
+import com.selimhorri.app.timing.ServerTimingFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@SpringBootTest(properties = "app.server-timing.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Server-Timing Integration Tests")
+class ServerTimingIntegrationTest {
+	
+	private static final Pattern HEADER = Pattern.compile(
+			"db;dur=\\d+\\.\\d{3};desc=\"(\\d+) statements\", svc;dur=\\d+\\.\\d{3}, map;dur=\\d+\\.\\d{3}, ser;dur=\\d+\\.\\d{3}, total;dur=\\d+\\.\\d{3}");
+	
+	@Autowired
+	private MockMvc mockMvc;
+	
+	@Autowired
+	private DataSource dataSource;
+	
+	@Autowired
+	private MeterRegistry meterRegistry;
+	
+	@Autowired
+	private ProductViewService productViewService;
+	
+	@Autowired
+	private ProductViewRepository productViewRepository;
+	
+	@Autowired
+	private ProductRepository productRepository;
+	
+	@Autowired
+	private CategoryRepository categoryRepository;
+	
+	private Integer productId;
+	
+	@BeforeEach
+	void setUp() {
+		this.productViewRepository.deleteAll();
+		this.productRepository.deleteAll();
+		this.categoryRepository.deleteAll();
+		
+		final Category laptops = this.categoryRepository.save(Category.builder().categoryTitle("Laptops").build());
+		for (int i = 0; i < 3; i++)
+			this.productId = this.productRepository.save(Product.builder()
+					.productTitle("Laptop " + i)
+					.sku("SKU-TIMING-" + i)
+					.priceUnit(999.99)
+					.quantity(5)
+					.category(laptops)
+					.createdAt(Instant.now())
+					.build()).getProductId();
+		this.productViewService.rebuild();
+	}
+	
+	@Test
+	@DisplayName("Should send the per-request breakdown as a Server-Timing header")
+	void testHeader() throws Exception {
+		// When
+		final String header = this.mockMvc.perform(get("/api/product-views"))
+				.andExpect(status().isOk())
+				.andReturn()
+				.getResponse()
+				.getHeader(ServerTimingFilter.HEADER);
+		
+		// Then
+		assertTrue(this.dataSource instanceof InstrumentedDataSource);
+		assertNotNull(header);
+		final Matcher matcher = HEADER.matcher(header);
+		assertTrue(matcher.matches(), header);
+		assertTrue(Integer.parseInt(matcher.group(1)) >= 1, header);
+	}
+	
+	@Test
+	@DisplayName("Should count the JDBC work of a batched lookup done on a loader thread")
+	void testHeaderForBatchedLookup() throws Exception {
+		// When
+		final String header = this.mockMvc.perform(get("/api/products/" + this.productId))
+				.andExpect(status().isOk())
+				.andReturn()
+				.getResponse()
+				.getHeader(ServerTimingFilter.HEADER);
+		
+		// Then
+		assertNotNull(header);
+		final Matcher matcher = HEADER.matcher(header);
+		assertTrue(matcher.matches(), header);
+		assertTrue(Integer.parseInt(matcher.group(1)) >= 1, header);
+	}
+	
+	@Test
+	@DisplayName("Should record component timers tagged by endpoint")
+	void testTimers() throws Exception {
+		// When
+		this.mockMvc.perform(get("/api/product-views"))
+				.andExpect(status().isOk());
+		
+		// Then
+		for (final String component : new String[] { "db", "service", "mapping", "serialization" }) {
+			final Timer timer = this.meterRegistry.find("http.server.timing")
+					.tags("method", "GET", "uri", "/api/product-views", "component", component)
+					.timer();
+			assertNotNull(timer, component);
+			assertTrue(timer.count() >= 1, component);
+		}
+		assertTrue(this.meterRegistry.find("http.server.timing")
+				.tags("component", "mapping", "uri", "/api/product-views")
+				.timer()
+				.totalTime(TimeUnit.NANOSECONDS) > 0);
+		assertEquals(1, this.meterRegistry.find("http.server.timing.statements")
+				.tags("uri", "/api/product-views")
+				.summaries()
+				.size());
+	}
+	
+	
+	
+}
@@ -0,0 +1,107 @@
+package com.selimhorri.app.integration;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.repository.CategoryRepository;
+import com.selimhorri.app.repository.ProductRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Payload size and latency of the full product list vs a sparse fieldset. Run with
+ * {@code mvn test -Dbenchmarks=true -Dtest=SparseFieldsBenchmarkTest}.
+ */
+@Slf4j
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+@DisplayName("Sparse Fields Benchmark")
+class SparseFieldsBenchmarkTest {
+	
+	private static final int PRODUCTS = 2_000;
+	private static final int WARMUP = 20;
+	private static final int ITERATIONS = 100;
+	private static final String SPARSE_FIELDS = "productId,priceUnit,quantity";
+	
+	@Autowired
+	private MockMvc mockMvc;
+	
+	@Autowired
+	private ProductRepository productRepository;
+	
+	@Autowired
+	private CategoryRepository categoryRepository;
+	
+	@BeforeEach
+	void setUp() {
+		this.productRepository.deleteAll();
+		this.categoryRepository.deleteAll();
+		
+		this.categoryRepository.save(Category.builder().categoryTitle("Deleted").build());
+		final Category category = this.categoryRepository.save(Category.builder()
+				.categoryTitle("Benchmark")
+				.imageUrl("https://example.com/benchmark.jpg")
+				.build());
+		
+		final List<Product> products = new ArrayList<>(PRODUCTS);
+		for (int i = 0; i < PRODUCTS; i++)
+			products.add(Product.builder()
+					.productTitle("Benchmark product " + i)
+					.imageUrl("https://example.com/products/" + i + ".jpg")
+					.sku("BENCH-SKU-" + i)
+					.priceUnit(10.0 + i)
+					.quantity(i % 100)
+					.category(category)
+					.build());
+		this.productRepository.saveAll(products);
+	}
+	
+	@Test
+	@DisplayName("Sparse fieldset should produce a smaller payload than the full representation")
+	void benchmark() throws Exception {
+		
+		final long[] full = this.measure(get("/api/products"));
+		final long[] sparse = this.measure(get("/api/products").param("fields", SPARSE_FIELDS));
+		
+		log.info("*** full: {} bytes, {} us/request *", full[0], full[1]);
+		log.info("*** sparse ({}): {} bytes, {} us/request ({}% of full payload) *",
+				SPARSE_FIELDS, sparse[0], sparse[1], Math.round(100.0 * sparse[0] / full[0]));
+		assertTrue(sparse[0] < full[0]);
+	}
+	
+	/**
+	 * @return response size in bytes and mean latency in microseconds
+	 */
+	private long[] measure(final MockHttpServletRequestBuilder request) throws Exception {
+		
+		long bytes = 0;
+		for (int i = 0; i < WARMUP; i++)
+			bytes = this.mockMvc.perform(request).andReturn().getResponse().getContentAsByteArray().length;
+		
+		final long start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++)
+			this.mockMvc.perform(request).andReturn();
+		return new long[] { bytes, (System.nanoTime() - start) / ITERATIONS / 1_000 };
+	}
+	
+	
+	
+}
@@ -0,0 +1,59 @@
+package com.selimhorri.app.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.selimhorri.app.jdbc.InstrumentedDataSource;
+import com.selimhorri.app.jdbc.SqlStatementStats;
+import com.selimhorri.app.jdbc.SqlStatisticsEndpoint;
+import com.selimhorri.app.jdbc.SqlStatisticsReport;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("SQL Statistics Integration Tests")
+class SqlStatisticsIntegrationTest {
+	
+	@Autowired
+	private DataSource dataSource;
+	
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	
+	@Autowired
+	private SqlStatisticsEndpoint sqlStatisticsEndpoint;
+	
+	@Test
+	@DisplayName("Should aggregate statements differing only in literals and list them by total time")
+	void testEndpointReportsNormalizedStatements() {
+		// Given
+		this.sqlStatisticsEndpoint.reset();
+		
+		// When
+		for (int id = 1; id <= 5; id++)
+			this.jdbcTemplate.queryForList("SELECT category_title FROM categories WHERE category_id = " + id);
+		this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM products", Integer.class);
+		
+		// Then
+		assertTrue(this.dataSource instanceof InstrumentedDataSource);
+		final SqlStatisticsReport report = this.sqlStatisticsEndpoint.top(null);
+		final SqlStatementStats byId = report.getStatements().stream()
+				.filter(stats -> stats.getSql().equals("SELECT category_title FROM categories WHERE category_id = ?"))
+				.findFirst()
+				.orElseThrow();
+		assertEquals(5L, byId.getCount());
+		assertTrue(byId.getMaxMillis() <= byId.getTotalMillis());
+		assertEquals(1, this.sqlStatisticsEndpoint.top(1).getStatements().size());
+	}
+	
+	
+	
+}
@@ -0,0 +1,95 @@
+package com.selimhorri.app.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@DisplayName("InstrumentedDataSource Unit Tests")
+class InstrumentedDataSourceTest {
+	
+	private final List<String> executed = new ArrayList<>();
+	private InstrumentedDataSource dataSource;
+	
+	@BeforeEach
+	void setUp() {
+		final var h2 = new JdbcDataSource();
+		h2.setURL("jdbc:h2:mem:instrumented;DB_CLOSE_DELAY=-1");
+		this.dataSource = new InstrumentedDataSource(h2, List.of((sql, elapsedNanos) -> {
+			assertTrue(elapsedNanos >= 0);
+			this.executed.add(sql);
+		}));
+		new JdbcTemplate(h2).execute("CREATE TABLE IF NOT EXISTS items (id INT PRIMARY KEY, title VARCHAR(64))");
+		new JdbcTemplate(h2).execute("DELETE FROM items");
+	}
+	
+	@Test
+	@DisplayName("Should report prepared and plain statements with their SQL")
+	void testReportsStatements() {
+		// Given
+		final var jdbcTemplate = new JdbcTemplate(this.dataSource);
+		
+		// When
+		jdbcTemplate.update("INSERT INTO items (id, title) VALUES (?, ?)", 1, "first");
+		jdbcTemplate.queryForObject("SELECT COUNT(*) FROM items", Integer.class);
+		jdbcTemplate.queryForObject("SELECT title FROM items WHERE id = ?", String.class, 1);
+		
+		// Then
+		assertEquals(List.of(
+				"INSERT INTO items (id, title) VALUES (?, ?)",
+				"SELECT COUNT(*) FROM items",
+				"SELECT title FROM items WHERE id = ?"), this.executed);
+	}
+	
+	@Test
+	@DisplayName("Should report a batch as one execution")
+	void testReportsBatchOnce() throws SQLException {
+		try (Connection connection = this.dataSource.getConnection();
+				PreparedStatement insert = connection.prepareStatement("INSERT INTO items (id, title) VALUES (?, ?)");
+				Statement statement = connection.createStatement()) {
+			// When
+			for (int id = 1; id <= 3; id++) {
+				insert.setInt(1, id);
+				insert.setString(2, "item-" + id);
+				insert.addBatch();
+			}
+			insert.executeBatch();
+			statement.addBatch("UPDATE items SET title = 'a' WHERE id = 1");
+			statement.addBatch("UPDATE items SET title = 'b' WHERE id = 2");
+			statement.executeBatch();
+			
+			// Then
+			assertSame(connection, insert.getConnection());
+			assertEquals(List.of(
+					"INSERT INTO items (id, title) VALUES (?, ?)",
+					"UPDATE items SET title = 'a' WHERE id = 1"), this.executed);
+		}
+	}
+	
+	@Test
+	@DisplayName("Should report failed statements and rethrow the driver exception")
+	void testReportsFailures() throws SQLException {
+		try (Connection connection = this.dataSource.getConnection();
+				Statement statement = connection.createStatement()) {
+			// When / Then
+			assertThrows(SQLException.class, () -> statement.executeQuery("SELECT missing FROM items"));
+			assertEquals(List.of("SELECT missing FROM items"), this.executed);
+		}
+	}
+	
+	
+	
+}
@@ -0,0 +1,45 @@
+package com.selimhorri.app.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("SqlNormalizer Unit Tests")
+class SqlNormalizerTest {
+	
+	@Test
+	@DisplayName("Should replace string and numeric literals with placeholders")
+	void testStripsLiterals() {
+		assertEquals("SELECT * FROM products WHERE title = ? AND price_unit > ? LIMIT ?",
+				SqlNormalizer.normalize("SELECT * FROM products WHERE title = 'O''Brien' AND price_unit > 12.5 LIMIT 10", 2000));
+	}
+	
+	@Test
+	@DisplayName("Should keep identifiers containing digits and quoted identifiers")
+	void testKeepsIdentifiers() {
+		assertEquals("select product0_.product_id as product_1_ from \"products2\" product0_ where product0_.sku = ?",
+				SqlNormalizer.normalize("select product0_.product_id as product_1_ from \"products2\" product0_ where product0_.sku = ?", 2000));
+	}
+	
+	@Test
+	@DisplayName("Should drop comments, collapse whitespace and fold placeholder lists")
+	void testFoldsLists() {
+		// Given
+		final String hibernate = "/* load Product */ select p.product_id\n   from products p\n  where p.product_id in (? , ?, ?)";
+		final String literals = "select p.product_id from products p where p.product_id in (1, 2, 3, 4) -- batch\n";
+		
+		// When / Then
+		assertEquals("select p.product_id from products p where p.product_id in (?, ...)", SqlNormalizer.normalize(hibernate, 2000));
+		assertEquals("select p.product_id from products p where p.product_id in (?, ...)", SqlNormalizer.normalize(literals, 2000));
+	}
+	
+	@Test
+	@DisplayName("Should cut long statements")
+	void testTruncates() {
+		assertEquals("SELECT * FROM t WHERE ...", SqlNormalizer.normalize("SELECT * FROM t WHERE a = 1 AND b = 2", 20));
+	}
+	
+	
+	
+}
@@ -0,0 +1,89 @@
+package com.selimhorri.app.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("SqlStatistics Unit Tests")
+class SqlStatisticsTest {
+	
+	private static final long MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+	
+	@Test
+	@DisplayName("Should group executions by normalized statement and rank them by total time")
+	void testTopByTotalTime() {
+		// Given
+		final var statistics = new SqlStatistics(100, 2000, 1000);
+		
+		// When
+		statistics.afterExecute("SELECT * FROM products WHERE product_id = 1", 2 * MILLI);
+		statistics.afterExecute("SELECT * FROM products WHERE product_id = 2", 4 * MILLI);
+		statistics.afterExecute("SELECT * FROM categories", 5 * MILLI);
+		statistics.afterExecute(null, MILLI);
+		
+		// Then
+		final SqlStatisticsReport report = statistics.report(2);
+		assertEquals(3, report.getDistinctStatements());
+		assertEquals(List.of("SELECT * FROM products WHERE product_id = ?", "SELECT * FROM categories"),
+				report.getStatements().stream().map(SqlStatementStats::getSql).collect(Collectors.toList()));
+		final SqlStatementStats products = report.getStatements().get(0);
+		assertEquals(2L, products.getCount());
+		assertEquals(6.0, products.getTotalMillis(), 1e-9);
+		assertEquals(3.0, products.getMeanMillis(), 1e-9);
+		assertEquals(4.0, products.getMaxMillis(), 1e-9);
+	}
+	
+	@Test
+	@DisplayName("Should report percentiles as power-of-two upper bounds capped at the max")
+	void testPercentiles() {
+		// Given
+		final var statistics = new SqlStatistics(100, 2000, 1000);
+		
+		// When
+		for (int i = 0; i < 99; i++)
+			statistics.afterExecute("SELECT 1", 100_000L);
+		statistics.afterExecute("SELECT 1", 50 * MILLI);
+		
+		// Then
+		final SqlStatementStats stats = statistics.report(1).getStatements().get(0);
+		assertTrue(stats.getP50Millis() >= 0.1 && stats.getP50Millis() <= 0.2, String.valueOf(stats.getP50Millis()));
+		assertEquals(stats.getP50Millis(), stats.getP95Millis(), 1e-9);
+		assertTrue(stats.getP99Millis() >= 0.1 && stats.getP99Millis() <= 0.2, String.valueOf(stats.getP99Millis()));
+		assertEquals(50.0, stats.getMaxMillis(), 1e-9);
+	}
+	
+	@Test
+	@DisplayName("Should bound the number of tracked statements and reset the window")
+	void testBoundedAndReset() {
+		// Given
+		final var statistics = new SqlStatistics(2, 2000, 1000);
+		
+		// When
+		statistics.afterExecute("SELECT a FROM t", MILLI);
+		statistics.afterExecute("SELECT b FROM t", MILLI);
+		statistics.afterExecute("SELECT c FROM t", MILLI);
+		statistics.afterExecute("SELECT d FROM t", MILLI);
+		
+		// Then
+		final SqlStatisticsReport report = statistics.report(10);
+		assertEquals(3, report.getDistinctStatements());
+		assertTrue(report.getStatements().stream()
+				.anyMatch(stats -> stats.getSql().equals(SqlStatistics.OTHER_STATEMENTS) && stats.getCount() == 2L));
+		
+		// When
+		statistics.reset();
+		
+		// Then
+		assertTrue(statistics.report(10).getStatements().isEmpty());
+		assertTrue(!statistics.report(10).getSince().isBefore(report.getSince()));
+	}
+	
+	
+	
+}
@@ -0,0 +1,49 @@
+package com.selimhorri.app.offheap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("IntLongHashIndex Unit Tests")
+class IntLongHashIndexTest {
+	
+	@Test
+	@DisplayName("Should behave like a HashMap under random puts and removes")
+	void testMatchesHashMap() {
+		// Given
+		final var index = new IntLongHashIndex(4);
+		final Map<Integer, Long> expected = new HashMap<>();
+		final var random = new Random(42);
+		
+		// When & Then
+		for (int i = 0; i < 200_000; i++) {
+			final int key = 1 + random.nextInt(5_000);
+			if (random.nextInt(3) == 0) {
+				final Long previous = expected.remove(key);
+				assertEquals(previous == null ? IntLongHashIndex.MISSING : previous, index.remove(key));
+			}
+			else {
+				final Long previous = expected.put(key, (long) i);
+				assertEquals(previous == null ? IntLongHashIndex.MISSING : previous, index.put(key, i));
+			}
+		}
+		
+		assertEquals(expected.size(), index.size());
+		expected.forEach((key, value) -> assertEquals(value.longValue(), index.get(key)));
+	}
+	
+	@Test
+	@DisplayName("Should reject the reserved empty key")
+	void testRejectsZeroKey() {
+		assertThrows(IllegalArgumentException.class, () -> new IntLongHashIndex(1).put(0, 1L));
+	}
+	
+	
+	
+}
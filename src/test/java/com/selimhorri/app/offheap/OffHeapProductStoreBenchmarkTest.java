@@ -0,0 +1,170 @@
+package com.selimhorri.app.offheap;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Retained heap, allocation and GC activity of serving the full catalog from on-heap DTOs
+ * vs the off-heap store. Run with
+ * {@code mvn test -Dbenchmarks=true -Dtest=OffHeapProductStoreBenchmarkTest -Dbenchmark.products=1000000};
+ * 1M on-heap products need a heap of roughly 2 GiB.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+@DisplayName("OffHeapProductStore Benchmark")
+class OffHeapProductStoreBenchmarkTest {
+	
+	private static final int PRODUCTS = Integer.getInteger("benchmark.products", 1_000_000);
+	private static final int PASSES = 5;
+	private static final int CATEGORIES = 50;
+	
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	
+	@Test
+	@DisplayName("Off-heap store should retain less heap and allocate less per full serialization")
+	void benchmark() throws IOException {
+		
+		final long baseline = usedHeapAfterGc();
+		final List<ProductDto> onHeap = new ArrayList<>(PRODUCTS);
+		for (int i = 1; i <= PRODUCTS; i++)
+			onHeap.add(product(i));
+		final long onHeapRetained = usedHeapAfterGc() - baseline;
+		final Result onHeapResult = this.measure(() -> this.objectMapper.writeValue(NullOutputStream.INSTANCE,
+				new DtoCollectionResponse<>(onHeap)));
+		log.info("*** on-heap: retained {} MiB, {} *", onHeapRetained >> 20, onHeapResult);
+		
+		final var store = new OffHeapProductStore(64 << 20, PRODUCTS);
+		for (int i = 1; i <= PRODUCTS; i++)
+			store.put(product(i));
+		onHeap.clear();
+		final long offHeapRetained = usedHeapAfterGc() - baseline;
+		final Result offHeapResult = this.measure(() -> {
+			try (JsonGenerator generator = this.objectMapper.getFactory()
+					.createGenerator(NullOutputStream.INSTANCE, JsonEncoding.UTF8)) {
+				generator.writeStartObject();
+				generator.writeArrayFieldStart("collection");
+				store.visitAll(record -> record.writeJson(generator));
+				generator.writeEndArray();
+				generator.writeEndObject();
+			}
+		});
+		log.info("*** off-heap: retained {} MiB heap + {} MiB direct, {} *",
+				offHeapRetained >> 20, store.getAllocatedBytes() >> 20, offHeapResult);
+		
+		assertTrue(offHeapRetained < onHeapRetained);
+		assertTrue(offHeapResult.allocatedBytes < onHeapResult.allocatedBytes);
+	}
+	
+	private Result measure(final IoTask pass) throws IOException {
+		pass.run();
+		final long allocatedBefore = allocatedBytes();
+		final long[] gcBefore = gcCountAndMillis();
+		final long start = System.nanoTime();
+		for (int i = 0; i < PASSES; i++)
+			pass.run();
+		final long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+		final long[] gcAfter = gcCountAndMillis();
+		return new Result(elapsedMillis / PASSES, (allocatedBytes() - allocatedBefore) / PASSES,
+				gcAfter[0] - gcBefore[0], gcAfter[1] - gcBefore[1]);
+	}
+	
+	private static ProductDto product(final int productId) {
+		final int categoryId = productId % CATEGORIES + 1;
+		return ProductDto.builder()
+				.productId(productId)
+				.productTitle("Benchmark product " + productId)
+				.imageUrl("https://example.com/products/" + productId + ".jpg")
+				.sku("BENCH-SKU-" + productId)
+				.priceUnit(10.0 + productId % 1000)
+				.quantity(productId % 100)
+				.categoryDto(CategoryDto.builder()
+						.categoryId(categoryId)
+						.categoryTitle("Category " + categoryId)
+						.imageUrl("https://example.com/categories/" + categoryId + ".jpg")
+						.build())
+				.build();
+	}
+	
+	private static long usedHeapAfterGc() {
+		for (int i = 0; i < 3; i++)
+			System.gc();
+		return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+	}
+	
+	private static long allocatedBytes() {
+		return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+				.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+	
+	private static long[] gcCountAndMillis() {
+		final long[] totals = new long[2];
+		for (final GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+			totals[0] += Math.max(0, collector.getCollectionCount());
+			totals[1] += Math.max(0, collector.getCollectionTime());
+		}
+		return totals;
+	}
+	
+	@FunctionalInterface
+	private interface IoTask {
+		void run() throws IOException;
+	}
+	
+	private static final class Result {
+		
+		private final long millisPerPass;
+		private final long allocatedBytes;
+		private final long collections;
+		private final long gcMillis;
+		
+		private Result(final long millisPerPass, final long allocatedBytes, final long collections, final long gcMillis) {
+			this.millisPerPass = millisPerPass;
+			this.allocatedBytes = allocatedBytes;
+			this.collections = collections;
+			this.gcMillis = gcMillis;
+		}
+		
+		@Override
+		public String toString() {
+			return String.format("%d ms/pass, %d MiB allocated/pass, %d GCs (%d ms) over %d passes",
+					this.millisPerPass, this.allocatedBytes >> 20, this.collections, this.gcMillis, PASSES);
+		}
+	
+	}
+	
+	private static final class NullOutputStream extends OutputStream {
+		
+		static final NullOutputStream INSTANCE = new NullOutputStream();
+		
+		@Override
+		public void write(final int b) {
+		}
+		
+		@Override
+		public void write(final byte[] b, final int off, final int len) {
+		}
+	
+	}
+	
+	
+	
+}
@@ -0,0 +1,175 @@
+package com.selimhorri.app.offheap;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+
+@DisplayName("OffHeapProductStore Unit Tests")
+class OffHeapProductStoreTest {
+	
+	private static final int SEGMENT_SIZE = 1 << 20;
+	
+	private OffHeapProductStore store;
+	
+	@BeforeEach
+	void setUp() {
+		this.store = new OffHeapProductStore(SEGMENT_SIZE, 16);
+	}
+	
+	@Test
+	@DisplayName("Should read back stored products, including null fields")
+	void testPutAndFind() {
+		// Given
+		final ProductDto full = product(1, "Laptop", 7);
+		final ProductDto sparse = ProductDto.builder().productId(2).productTitle("Ñandú").build();
+		
+		// When
+		this.store.put(full);
+		this.store.put(sparse);
+		
+		// Then
+		assertEquals(2, this.store.size());
+		assertEquals(full, this.store.findById(1).orElseThrow());
+		assertEquals(sparse, this.store.findById(2).orElseThrow());
+		assertTrue(this.store.findById(3).isEmpty());
+	}
+	
+	@Test
+	@DisplayName("Should replace updated products and drop removed ones")
+	void testUpdateAndRemove() {
+		// Given
+		this.store.put(product(1, "Old title", 7));
+		this.store.put(product(2, "Other", 7));
+		
+		// When
+		this.store.put(product(1, "New title", 8));
+		final boolean removed = this.store.remove(2);
+		
+		// Then
+		assertTrue(removed);
+		assertFalse(this.store.remove(2));
+		assertEquals(1, this.store.size());
+		assertEquals("New title", this.store.findById(1).orElseThrow().getProductTitle());
+		assertEquals(8, this.store.findById(1).orElseThrow().getCategoryDto().getCategoryId());
+	}
+	
+	@Test
+	@DisplayName("Should write the same JSON as Jackson does for ProductDto")
+	void testJsonMatchesJackson() throws IOException {
+		// Given
+		final var objectMapper = new ObjectMapper();
+		final ProductDto product = product(1, "Quote \" and emoji ☕", 7);
+		product.setQuantity(null);
+		this.store.put(product);
+		this.store.put(ProductDto.builder().productId(2).build());
+		
+		// When & Then
+		for (final int productId : new int[] { 1, 2 }) {
+			final var json = new StringWriter();
+			try (JsonGenerator generator = objectMapper.getFactory().createGenerator(json)) {
+				this.store.visit(productId, record -> record.writeJson(generator));
+			}
+			assertEquals(objectMapper.writeValueAsString(this.store.findById(productId).orElseThrow()), json.toString());
+		}
+	}
+	
+	@Test
+	@DisplayName("Should compact garbage left by updates while keeping insertion order")
+	void testCompaction() throws IOException {
+		// Given
+		final String padding = "x".repeat(2_000);
+		for (int id = 1; id <= 100; id++)
+			this.store.put(product(id, padding, 7));
+		
+		// When
+		for (int round = 0; round < 20; round++)
+			for (int id = 1; id <= 100; id++)
+				this.store.put(product(id, padding + round, 7));
+		
+		// Then
+		final List<Integer> visited = new ArrayList<>();
+		this.store.visitAll(record -> visited.add(record.getProductId()));
+		assertEquals(100, visited.size());
+		for (int i = 0; i < visited.size(); i++)
+			assertEquals(i + 1, visited.get(i));
+		assertEquals(padding + 19, this.store.findById(50).orElseThrow().getProductTitle());
+		assertTrue(this.store.getAllocatedBytes() <= 3L * SEGMENT_SIZE, "garbage should have been reclaimed");
+	}
+	
+	@Test
+	@DisplayName("Should visit every product once in chunks while writes interleave")
+	void testChunkedScan() throws IOException {
+		// Given
+		final String padding = "x".repeat(2_000);
+		for (int id = 1; id <= 100; id++)
+			this.store.put(product(id, padding, 7));
+		final OffHeapProductStore.Cursor cursor = this.store.cursor();
+		final List<Integer> visited = new ArrayList<>();
+		
+		// When
+		for (int round = 0; !cursor.isDone(); round++) {
+			this.store.visitChunk(cursor, 10, record -> visited.add(record.getProductId()));
+			// moves products both behind and ahead of the cursor, and compacts along the way
+			for (int id = 1; id <= 100; id++)
+				this.store.put(product(id, padding + round, 7));
+		}
+		
+		// Then
+		assertEquals(100, visited.size());
+		assertEquals(100, Set.copyOf(visited).size());
+	}
+	
+	@Test
+	@DisplayName("Should find product ids by category and replace the whole content")
+	void testCategoryLookupAndReplaceAll() {
+		// Given
+		this.store.put(product(1, "A", 7));
+		this.store.put(product(2, "B", 8));
+		this.store.put(product(3, "C", 7));
+		
+		// When
+		final int[] inCategory = this.store.findIdsByCategoryIds(Set.of(7));
+		this.store.replaceAll(List.of(product(9, "Z", 8)));
+		
+		// Then
+		assertArrayEquals(new int[] { 1, 3 }, inCategory);
+		assertEquals(1, this.store.size());
+		assertTrue(this.store.findById(1).isEmpty());
+		assertEquals("Z", this.store.findById(9).orElseThrow().getProductTitle());
+	}
+	
+	private static ProductDto product(final int productId, final String title, final int categoryId) {
+		return ProductDto.builder()
+				.productId(productId)
+				.productTitle(title)
+				.imageUrl("https://example.com/" + productId + ".jpg")
+				.sku("SKU-" + productId)
+				.priceUnit(productId + 0.99)
+				.quantity(productId * 3)
+				.categoryDto(CategoryDto.builder()
+						.categoryId(categoryId)
+						.categoryTitle("Category " + categoryId)
+						.imageUrl(null)
+						.build())
+				.build();
+	}
+	
+	
+	
+}
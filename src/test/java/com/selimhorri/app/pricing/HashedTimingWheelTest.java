@@ -0,0 +1,84 @@
+package com.selimhorri.app.pricing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("HashedTimingWheel Unit Tests")
+class HashedTimingWheelTest {
+	
+	@Test
+	@DisplayName("Should expire a deadline at its tick, not before")
+	void testExpiresOnTime() {
+		// Given
+		final var wheel = new HashedTimingWheel(100, 8, 1_000);
+		wheel.schedule(1_250);
+		
+		// When & Then
+		assertFalse(wheel.advance(1_299));
+		assertEquals(1, wheel.size());
+		assertTrue(wheel.advance(1_300));
+		assertEquals(0, wheel.size());
+		assertFalse(wheel.advance(1_400));
+	}
+	
+	@Test
+	@DisplayName("Should keep one entry per tick however many deadlines share it")
+	void testDeduplicatesPerTick() {
+		// Given
+		final var wheel = new HashedTimingWheel(100, 8, 0);
+		
+		// When
+		final boolean first = wheel.schedule(550);
+		final boolean second = wheel.schedule(600);
+		final boolean other = wheel.schedule(601);
+		
+		// Then
+		assertTrue(first);
+		assertFalse(second);
+		assertTrue(other);
+		assertEquals(2, wheel.size());
+	}
+	
+	@Test
+	@DisplayName("Should hold deadlines more than one revolution ahead until their own pass")
+	void testDeadlineBeyondOneRevolution() {
+		// Given
+		final var wheel = new HashedTimingWheel(100, 8, 0);
+		wheel.schedule(1_000);
+		
+		// When & Then: tick 10 shares its bucket with tick 2
+		assertFalse(wheel.advance(200));
+		assertFalse(wheel.advance(900));
+		assertTrue(wheel.advance(1_000));
+	}
+	
+	@Test
+	@DisplayName("Should expire overdue deadlines on the next advance, also after a long pause")
+	void testOverdueAndLongPause() {
+		// Given
+		final var wheel = new HashedTimingWheel(100, 8, 10_000);
+		wheel.schedule(5_000);
+		wheel.schedule(10_300);
+		
+		// When & Then
+		assertTrue(wheel.advance(10_100));
+		assertEquals(1, wheel.size());
+		assertTrue(wheel.advance(60_000));
+		assertEquals(0, wheel.size());
+	}
+	
+	@Test
+	@DisplayName("Should reject wheel sizes that are not powers of two")
+	void testRejectsInvalidSize() {
+		assertThrows(IllegalArgumentException.class, () -> new HashedTimingWheel(100, 12, 0));
+		assertThrows(IllegalArgumentException.class, () -> new HashedTimingWheel(0, 8, 0));
+	}
+	
+	
+	
+}
@@ -0,0 +1,112 @@
+package com.selimhorri.app.profiling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName("JfrRecorder Unit Tests")
+class JfrRecorderTest {
+	
+	private static volatile long sink;
+	
+	@TempDir
+	Path directory;
+	
+	private JfrRecorder recorder;
+	
+	@AfterEach
+	void tearDown() {
+		if (this.recorder != null)
+			this.recorder.stop();
+	}
+	
+	@Test
+	@DisplayName("Should write the recording and summarize the hottest application methods")
+	void testRecordingAndSummary() throws Exception {
+		// Given
+		this.recorder = new JfrRecorder(this.directory, 5, Long.MAX_VALUE, Duration.ofMinutes(1), 10);
+		
+		// When
+		final RecordingInfo started = this.recorder.start(JfrProfile.CPU, Duration.ofSeconds(1));
+		burn(Duration.ofMillis(1_500));
+		this.awaitFinished();
+		
+		// Then
+		assertEquals(RecordingInfo.State.RUNNING, started.getState());
+		final RecordingInfo finished = this.recorder.recordings().get(0);
+		assertEquals(started.getName(), finished.getName());
+		assertEquals(JfrProfile.CPU, finished.getProfile());
+		assertTrue(finished.isSummaryAvailable());
+		assertTrue(finished.getSizeBytes() > 0L);
+		assertTrue(this.recorder.recordingFile(started.getName()).isPresent());
+		final String summary = this.recorder.summary(started.getName()).orElseThrow();
+		assertTrue(summary.contains("Hottest methods in com.selimhorri.app"), summary);
+		assertTrue(summary.contains("com.selimhorri.app.profiling.JfrRecorderTest.burn"), summary);
+	}
+	
+	@Test
+	@DisplayName("Should run one recording at a time and keep only the newest ones")
+	void testSingleRecordingAndRotation() throws Exception {
+		// Given
+		this.recorder = new JfrRecorder(this.directory, 1, Long.MAX_VALUE, Duration.ofMinutes(1), 10);
+		
+		// When
+		final String first = this.recorder.start(JfrProfile.LOCKS, Duration.ofSeconds(1)).getName();
+		assertThrows(IllegalStateException.class, () -> this.recorder.start(JfrProfile.CPU, Duration.ofSeconds(1)));
+		this.awaitFinished();
+		final String second = this.recorder.start(JfrProfile.ALLOCATION, Duration.ofSeconds(1)).getName();
+		this.awaitFinished();
+		
+		// Then
+		assertEquals(List.of(second), this.recorder.recordings().stream()
+				.map(RecordingInfo::getName)
+				.collect(Collectors.toList()));
+		assertTrue(this.recorder.recordingFile(first).isEmpty());
+		try (Stream<Path> files = Files.list(this.directory)) {
+			assertEquals(2L, files.count());
+		}
+	}
+	
+	@Test
+	@DisplayName("Should reject out of range durations and names it did not generate")
+	void testValidation() {
+		// Given
+		this.recorder = new JfrRecorder(this.directory, 5, Long.MAX_VALUE, Duration.ofMinutes(1), 10);
+		
+		// When / Then
+		assertThrows(IllegalArgumentException.class, () -> this.recorder.start(JfrProfile.CPU, Duration.ofMinutes(2)));
+		assertThrows(IllegalArgumentException.class, () -> this.recorder.start(JfrProfile.CPU, Duration.ZERO));
+		assertTrue(this.recorder.recordingFile("../../etc/passwd").isEmpty());
+		assertTrue(this.recorder.summary("jfr-20260101-000000-cpu").isEmpty());
+		assertTrue(this.recorder.recordings().isEmpty());
+	}
+	
+	private void awaitFinished() throws InterruptedException {
+		final long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+		while (this.recorder.recordings().stream().anyMatch(info -> info.getState() == RecordingInfo.State.RUNNING)) {
+			assertTrue(System.nanoTime() < deadline, "recording did not finish");
+			Thread.sleep(50);
+		}
+	}
+	
+	private static void burn(final Duration duration) {
+		final long end = System.nanoTime() + duration.toNanos();
+		while (System.nanoTime() < end)
+			sink += Long.toString(sink).hashCode();
+	}
+	
+	
+	
+}
@@ -0,0 +1,220 @@
+package com.selimhorri.app.repository;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.projection.CategoryField;
+import com.selimhorri.app.projection.ProductField;
+import com.selimhorri.app.readmodel.ProductViewProjector;
+
+/**
+ * Runs {@code EXPLAIN} on the SQL behind every repository query, against the Flyway
+ * schema on H2 in MySQL mode, and fails when a keyed lookup reads a whole table or index.
+ * Queries that list the whole catalog may scan the one table driving the join.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:query_plan_db;MODE=MySQL;DB_CLOSE_ON_EXIT=FALSE",
+		"spring.flyway.enabled=true",
+		"spring.jpa.hibernate.ddl-auto=validate",
+		"spring.jpa.properties.hibernate.session_factory.statement_inspector=com.selimhorri.app.repository.RecordingStatementInspector"
+})
+@ActiveProfiles("test")
+@TestInstance(Lifecycle.PER_CLASS)
+@DisplayName("Repository Query Plan Tests")
+class QueryPlanRegressionTest {
+	
+	private static final int CATEGORIES = 50;
+	private static final int PRODUCTS = 5_000;
+	
+	/**
+	 * H2 annotates each table access with the index and condition it uses, e.g.
+	 * {@code PUBLIC.PRIMARY_KEY_F: PRODUCT_ID = ?1}; a bare name, such as
+	 * {@code PUBLIC.PRODUCTS.tableScan}, means every row is read.
+	 */
+	private static final Pattern FULL_SCAN = Pattern.compile("/\\*\\s*([A-Za-z0-9_.]+)\\s*\\*/");
+	
+	@Autowired
+	private ProductRepository productRepository;
+	
+	@Autowired
+	private CategoryRepository categoryRepository;
+	
+	@Autowired
+	private ProductViewRepository productViewRepository;
+	
+	@Autowired
+	private CategoryAggregateRepository categoryAggregateRepository;
+	
+	@Autowired
+	private PriceChangeEntryRepository priceChangeEntryRepository;
+	
+	@Autowired
+	private ProductViewProjector productViewProjector;
+	
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+	
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	
+	@BeforeAll
+	void seed() {
+		// enough rows that the optimizer prefers indexes over scanning tiny tables
+		final List<Object[]> categories = new ArrayList<>();
+		for (int i = 1; i <= CATEGORIES; i++)
+			categories.add(new Object[] { "Seed " + i, "seed " + i, i > 10 ? i % 10 + 1 : null });
+		this.jdbcTemplate.batchUpdate(
+				"INSERT INTO categories (category_title, category_title_normalized, parent_category_id) VALUES (?, ?, ?)",
+				categories);
+		
+		final List<Object[]> products = new ArrayList<>();
+		for (int i = 1; i <= PRODUCTS; i++)
+			products.add(new Object[] { i % CATEGORIES + 1, "Seed product " + i, "SEED-SKU-" + i, i % 500, i % 40 });
+		this.jdbcTemplate.batchUpdate(
+				"INSERT INTO products (category_id, product_title, sku, price_unit, quantity) VALUES (?, ?, ?, ?, ?)",
+				products);
+		this.productViewProjector.rebuild();
+		this.jdbcTemplate.execute("ANALYZE");
+	}
+	
+	@Test
+	@DisplayName("Should look up products by id and category through indexes")
+	void testProductLookups() {
+		assertNoFullScan(() -> this.productRepository.findByIdWithoutDeleted(1));
+		assertNoFullScan(() -> this.productRepository.findAllByIdWithoutDeleted(List.of(1, 2, 3)));
+		assertNoFullScan(() -> this.productRepository.findAllWithoutDeletedByCategoryIds(List.of(1, 2)));
+		assertNoFullScan(() -> this.productRepository.findColumnsByIdWithoutDeleted(List.of(1, 2, 3)));
+		assertNoFullScan(() -> this.productRepository.findFieldsByIdWithoutDeleted(1,
+				EnumSet.of(ProductField.PRODUCT_TITLE, ProductField.CATEGORY), 5));
+	}
+	
+	@Test
+	@DisplayName("Should reassign products of a category through the category index")
+	void testProductUpdates() {
+		assertNoFullScan(() -> this.productRepository.updateCategoryIdForProducts(-1, 1));
+		assertNoFullScan(() -> this.productRepository.updateCategoryForProducts(-1,
+				this.categoryRepository.getById(1)));
+	}
+	
+	@Test
+	@DisplayName("Should scan only the driving table when listing products")
+	void testProductListings() {
+		assertAtMostOneScan(() -> this.productRepository.findAllWithoutDeleted());
+		assertAtMostOneScan(() -> this.productRepository.findColumnsWithoutDeleted());
+		assertAtMostOneScan(() -> this.productRepository.findFieldsWithoutDeleted(
+				EnumSet.of(ProductField.PRODUCT_TITLE, ProductField.CATEGORY), 5));
+	}
+	
+	@Test
+	@DisplayName("Should look up categories by title, id and parent through indexes")
+	void testCategoryLookups() {
+		assertNoFullScan(() -> this.categoryRepository.findByCategoryTitle("Computer"));
+		assertNoFullScan(() -> this.categoryRepository.findByCategoryTitleIgnoreCase("no category"));
+		assertNoFullScan(() -> this.categoryRepository.existsByCategoryTitleIgnoreCase("GAME"));
+		assertNoFullScan(() -> this.categoryRepository.existsByCategoryTitleIgnoreCaseAndCategoryIdNot("Mode", 2));
+		assertNoFullScan(() -> this.categoryRepository.findNonReservedById(1));
+		assertNoFullScan(() -> this.categoryRepository.findAllNonReservedByParentIds(Set.of(1, 2)));
+		assertNoFullScan(() -> this.categoryRepository.findFieldsNonReservedById(1,
+				EnumSet.of(CategoryField.CATEGORY_TITLE, CategoryField.PARENT_CATEGORY)));
+	}
+	
+	@Test
+	@DisplayName("Should scan only the categories table when listing categories")
+	void testCategoryListings() {
+		assertAtMostOneScan(() -> this.categoryRepository.findAllNonReserved());
+		assertAtMostOneScan(() -> this.categoryRepository.findFieldsNonReserved(
+				EnumSet.of(CategoryField.CATEGORY_TITLE, CategoryField.PARENT_CATEGORY)));
+	}
+	
+	@Test
+	@DisplayName("Should read the product read model without joins or scans")
+	void testProductViewReads() {
+		assertNoFullScan(() -> this.productViewRepository.findById(1));
+		assertNoFullScan(() -> this.productViewRepository.findAllByCategoryId(1));
+		assertAtMostOneScan(() -> this.productViewRepository.findAll());
+	}
+	
+	@Test
+	@DisplayName("Should maintain category aggregates through keyed lookups only")
+	void testCategoryAggregates() {
+		assertNoFullScan(() -> this.categoryAggregateRepository.findForUpdate(1));
+		assertNoFullScan(() -> this.categoryAggregateRepository.findAllByCategoryIdIn(List.of(1, 2)));
+		assertNoFullScan(() -> this.productRepository.findCategoryAggregates(List.of(1)));
+		assertAtMostOneScan(() -> this.categoryAggregateRepository.findAllForUpdate());
+		assertAtMostOneScan(() -> this.productRepository.findCategoryAggregates());
+		assertAtMostOneScan(() -> this.categoryRepository.findAllIds());
+	}
+	
+	@Test
+	@DisplayName("Should read a price change batch through its primary key")
+	void testPriceChangeEntries() {
+		assertNoFullScan(() -> this.priceChangeEntryRepository.findAllByBatchIdOrderByProductId(1));
+	}
+	
+	private void assertNoFullScan(final Runnable call) {
+		this.explainEach(call, 0);
+	}
+	
+	private void assertAtMostOneScan(final Runnable call) {
+		this.explainEach(call, 1);
+	}
+	
+	/**
+	 * Runs {@code call} in a rolled back transaction with empty caches, then explains every
+	 * statement it issued. Plans do not depend on parameter values, so all are bound to NULL.
+	 */
+	private void explainEach(final Runnable call, final int allowedScans) {
+		this.entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+		final List<String> statements = RecordingStatementInspector.record(() ->
+				this.transactionTemplate.executeWithoutResult(status -> {
+					call.run();
+					status.setRollbackOnly();
+				}));
+		assertFalse(statements.isEmpty(), "no SQL was issued");
+		
+		for (final String sql : statements) {
+			final String plan = this.jdbcTemplate.query("EXPLAIN " + sql,
+					statement -> {
+						final int count = statement.getParameterMetaData().getParameterCount();
+						for (int i = 1; i <= count; i++)
+							statement.setNull(i, Types.NULL);
+					},
+					resultSet -> resultSet.next() ? resultSet.getString(1) : "");
+			final List<String> scans = new ArrayList<>();
+			final Matcher matcher = FULL_SCAN.matcher(plan);
+			while (matcher.find())
+				scans.add(matcher.group(1));
+			assertTrue(scans.size() <= allowedScans,
+					String.format("full scan of %s in plan:%n%s%nfor:%n%s", scans, plan, sql));
+		}
+	}
+	
+	
+	
+}
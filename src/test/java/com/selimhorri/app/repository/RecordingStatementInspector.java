@@ -0,0 +1,40 @@
+package com.selimhorri.app.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Collects the SQL Hibernate prepares on the calling thread while {@link #record} runs,
+ * leaving statements issued by scheduled jobs on other threads out.
+ */
+public class RecordingStatementInspector implements StatementInspector {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private static final ThreadLocal<List<String>> RECORDED = new ThreadLocal<>();
+	
+	@Override
+	public String inspect(final String sql) {
+		final List<String> recorded = RECORDED.get();
+		if (recorded != null)
+			recorded.add(sql);
+		return sql;
+	}
+	
+	public static List<String> record(final Runnable call) {
+		final List<String> recorded = new ArrayList<>();
+		RECORDED.set(recorded);
+		try {
+			call.run();
+		}
+		finally {
+			RECORDED.remove();
+		}
+		return recorded;
+	}
+	
+	
+	
+}
@@ -0,0 +1,62 @@
+package com.selimhorri.app.requestlog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("AsyncRequestLog Unit Tests")
+class AsyncRequestLogTest {
+	
+	private final List<String> lines = new CopyOnWriteArrayList<>();
+	
+	@Test
+	@DisplayName("Should always log errors and slow requests and skip unsampled ones")
+	void testSampling() throws InterruptedException {
+		// Given
+		final var requestLog = new AsyncRequestLog(64, 0.0, 100, 1, this.lines::add);
+		requestLog.start();
+		
+		// When
+		requestLog.record("GET", "/api/products", 200, TimeUnit.MILLISECONDS.toNanos(5), 10, false);
+		requestLog.record("GET", "/api/products/{productId}", 503, TimeUnit.MILLISECONDS.toNanos(5), -1, false);
+		requestLog.record("POST", "/api/products", 200, TimeUnit.MILLISECONDS.toNanos(5), -1, true);
+		requestLog.record("GET", "/api/categories", 200, TimeUnit.MILLISECONDS.toNanos(150), 3, false);
+		requestLog.stop();
+		
+		// Then
+		assertEquals(List.of(
+				"\"endpoint\":\"/api/products/{productId}\",\"status\":503,\"latencyMicros\":5000,\"reason\":\"error\"}",
+				"\"endpoint\":\"/api/products\",\"status\":200,\"latencyMicros\":5000,\"reason\":\"error\"}",
+				"\"endpoint\":\"/api/categories\",\"status\":200,\"latencyMicros\":150000,\"rows\":3,\"reason\":\"slow\"}"),
+				this.lines.stream().map(line -> line.substring(line.indexOf("\"endpoint\""))).collect(Collectors.toList()));
+		assertTrue(this.lines.get(0).startsWith("{\"ts\":\""));
+		assertEquals(3L, requestLog.getWritten());
+	}
+	
+	@Test
+	@DisplayName("Should drop and count records when the buffer is full instead of blocking")
+	void testDropsWhenFull() throws InterruptedException {
+		// Given: the writer is not running, so nothing is drained
+		final var requestLog = new AsyncRequestLog(4, 1.0, 100, 1, this.lines::add);
+		
+		// When
+		for (int i = 0; i < 10; i++)
+			requestLog.record("GET", "/api/products", 200, 1_000L, 1, false);
+		
+		// Then
+		assertEquals(6L, requestLog.getDropped());
+		requestLog.start();
+		requestLog.stop();
+		assertEquals(4, this.lines.size());
+	}
+	
+	
+	
+}
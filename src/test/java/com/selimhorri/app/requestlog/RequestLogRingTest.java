@@ -0,0 +1,109 @@
+package com.selimhorri.app.requestlog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("RequestLogRing Unit Tests")
+class RequestLogRingTest {
+	
+	@Test
+	@DisplayName("Should round the capacity up and refuse records when full")
+	void testDropsWhenFull() {
+		// Given
+		final var ring = new RequestLogRing(3);
+		
+		// When
+		for (int i = 0; i < 4; i++)
+			assertTrue(this.offer(ring, i));
+		
+		// Then
+		assertEquals(4, ring.capacity());
+		assertFalse(this.offer(ring, 4));
+		assertEquals(4, ring.size());
+	}
+	
+	@Test
+	@DisplayName("Should drain in order and reuse freed slots")
+	void testDrainOrder() {
+		// Given
+		final var ring = new RequestLogRing(4);
+		final List<Integer> statuses = new ArrayList<>();
+		
+		// When
+		for (int round = 0; round < 3; round++) {
+			for (int i = 0; i < 4; i++)
+				this.offer(ring, round * 4 + i);
+			ring.drain(record -> statuses.add(record.getStatus()), 3);
+			ring.drain(record -> statuses.add(record.getStatus()), 10);
+		}
+		
+		// Then
+		assertEquals(12, statuses.size());
+		for (int i = 0; i < 12; i++)
+			assertEquals(i, statuses.get(i));
+		assertEquals(0, ring.size());
+	}
+	
+	@Test
+	@DisplayName("Should hand over every accepted record exactly once under concurrent producers")
+	void testConcurrentProducers() throws InterruptedException {
+		// Given
+		final var ring = new RequestLogRing(1024);
+		final int producers = 4;
+		final int perProducer = 50_000;
+		final var accepted = new AtomicInteger();
+		final var start = new CountDownLatch(1);
+		final ExecutorService pool = Executors.newFixedThreadPool(producers);
+		
+		// When
+		for (int p = 0; p < producers; p++) {
+			final int producer = p;
+			pool.execute(() -> {
+				try {
+					start.await();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				for (int i = 0; i < perProducer; i++)
+					if (this.offer(ring, producer * perProducer + i))
+						accepted.incrementAndGet();
+			});
+		}
+		final Set<Integer> seen = new HashSet<>();
+		final int[] duplicates = new int[1];
+		start.countDown();
+		pool.shutdown();
+		while (!pool.isTerminated() || ring.size() > 0)
+			ring.drain(record -> {
+				if (!seen.add(record.getStatus()))
+					duplicates[0]++;
+			}, 256);
+		assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+		
+		// Then
+		assertEquals(0, duplicates[0]);
+		assertEquals(accepted.get(), seen.size());
+	}
+	
+	private boolean offer(final RequestLogRing ring, final int status) {
+		return ring.offer(0L, "GET", "/api/products", status, 1_000L, 1L, RequestLogRecord.Reason.SAMPLED);
+	}
+	
+	
+	
+}
@@ -0,0 +1,81 @@
+package com.selimhorri.app.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("ClientRateLimiters Unit Tests")
+class ClientRateLimitersTest {
+	
+	private final RateLimiterConfig config = RateLimiterConfig.custom()
+			.limitForPeriod(2)
+			.limitRefreshPeriod(Duration.ofMinutes(1))
+			.timeoutDuration(Duration.ZERO)
+			.build();
+	
+	private SimpleMeterRegistry meterRegistry;
+	
+	@BeforeEach
+	void setUp() {
+		this.meterRegistry = new SimpleMeterRegistry();
+	}
+	
+	@Test
+	@DisplayName("Should limit every client separately and count rejections")
+	void testLimitsPerClient() {
+		// Given
+		final var limiters = new ClientRateLimiters(this.config, 10, Duration.ofMinutes(5), this.meterRegistry);
+		
+		// When & Then
+		assertTrue(limiters.tryAcquire("a"));
+		assertTrue(limiters.tryAcquire("a"));
+		assertFalse(limiters.tryAcquire("a"));
+		assertTrue(limiters.tryAcquire("b"));
+		assertEquals(1, this.meterRegistry.get("client.rate.limit.rejected").counter().count());
+		assertEquals(2, this.meterRegistry.get("client.rate.limit.clients").gauge().value());
+		assertEquals(60, limiters.getRetryAfterSeconds());
+	}
+	
+	@Test
+	@DisplayName("Should make clients beyond the maximum share one limiter")
+	void testOverflowIsShared() {
+		// Given
+		final var limiters = new ClientRateLimiters(this.config, 1, Duration.ofMinutes(5), this.meterRegistry);
+		limiters.tryAcquire("a");
+		
+		// When & Then
+		assertTrue(limiters.tryAcquire("b"));
+		assertTrue(limiters.tryAcquire("c"));
+		assertFalse(limiters.tryAcquire("d"));
+		assertEquals(1, this.meterRegistry.get("client.rate.limit.clients").gauge().value());
+	}
+	
+	@Test
+	@DisplayName("Should forget idle clients")
+	void testEvictsIdleClients() throws InterruptedException {
+		// Given
+		final var limiters = new ClientRateLimiters(this.config, 10, Duration.ofMillis(10), this.meterRegistry);
+		limiters.tryAcquire("a");
+		limiters.tryAcquire("a");
+		Thread.sleep(30);
+		
+		// When
+		limiters.evictIdle();
+		
+		// Then
+		assertEquals(0, this.meterRegistry.get("client.rate.limit.clients").gauge().value());
+		assertTrue(limiters.tryAcquire("a"));
+	}
+	
+	
+	
+}
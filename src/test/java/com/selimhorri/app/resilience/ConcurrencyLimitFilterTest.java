@@ -0,0 +1,92 @@
+package com.selimhorri.app.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import javax.servlet.FilterChain;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.concurrent.GradientConcurrencyLimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("ConcurrencyLimitFilter Unit Tests")
+class ConcurrencyLimitFilterTest {
+	
+	private GradientConcurrencyLimit concurrencyLimit;
+	private ConcurrencyLimitFilter filter;
+	
+	@BeforeEach
+	void setUp() {
+		this.concurrencyLimit = new GradientConcurrencyLimit("test", GradientConcurrencyLimit.Settings.builder()
+				.initialLimit(1)
+				.minLimit(1)
+				.build(),
+			new SimpleMeterRegistry());
+		this.filter = new ConcurrencyLimitFilter(this.concurrencyLimit, List.of("/api/products"), 2, new ObjectMapper());
+	}
+	
+	@Test
+	@DisplayName("Should shed requests arriving while the limit is used up")
+	void testShedsBeyondLimit() throws Exception {
+		// Given
+		final var nested = new MockHttpServletResponse();
+		final FilterChain chain = (request, response) ->
+				this.filter.doFilter(new MockHttpServletRequest("GET", "/api/products/2"), nested, new MockFilterChain());
+		final var response = new MockHttpServletResponse();
+		
+		// When
+		this.filter.doFilter(new MockHttpServletRequest("GET", "/api/products/1"), response, chain);
+		
+		// Then
+		assertEquals(200, response.getStatus());
+		assertEquals(503, nested.getStatus());
+		assertEquals("2", nested.getHeader(HttpHeaders.RETRY_AFTER));
+		assertTrue(nested.getContentAsString().contains("Too many concurrent requests"));
+		assertEquals(0, this.concurrencyLimit.getInFlight());
+	}
+	
+	@Test
+	@DisplayName("Should release the permit when the request fails")
+	void testReleasesOnFailure() {
+		// Given
+		final FilterChain chain = (request, response) -> {
+			throw new IllegalStateException("boom");
+		};
+		
+		// When
+		assertThrows(IllegalStateException.class, () -> this.filter.doFilter(
+				new MockHttpServletRequest("GET", "/api/products/1"), new MockHttpServletResponse(), chain));
+		
+		// Then
+		assertEquals(0, this.concurrencyLimit.getInFlight());
+	}
+	
+	@Test
+	@DisplayName("Should leave other paths alone")
+	void testIgnoresOtherPaths() throws Exception {
+		// Given
+		this.concurrencyLimit.tryAcquire();
+		final var response = new MockHttpServletResponse();
+		
+		// When
+		this.filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), response, new MockFilterChain());
+		
+		// Then
+		assertEquals(200, response.getStatus());
+	}
+	
+	
+	
+}
@@ -22,7 +22,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import com.selimhorri.app.aggregate.CategoryAggregateMaintainer;
 import com.selimhorri.app.domain.Category;
 import com.selimhorri.app.dto.CategoryDto;
 import com.selimhorri.app.exception.wrapper.CategoryNotFoundException;
@@ -39,6 +41,12 @@ class CategoryServiceImplTest {
 	@Mock
 	private ProductRepository productRepository;
 	
+	@Mock
+	private CategoryAggregateMaintainer categoryAggregateMaintainer;
+	
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+	
 	@InjectMocks
 	private CategoryServiceImpl categoryService;
 	
@@ -260,6 +268,7 @@ class CategoryServiceImplTest {
 		verify(categoryRepository, times(1)).findById(1);
 		verify(categoryRepository, times(1)).findByCategoryTitleIgnoreCase("No Category");
 		verify(productRepository, times(1)).updateCategoryForProducts(1, noCategory);
+		verify(categoryAggregateMaintainer, times(1)).merge(1, 999);
 		verify(categoryRepository, times(1)).delete(any(Category.class));
 	}
 	
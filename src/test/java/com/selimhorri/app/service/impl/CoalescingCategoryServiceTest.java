@@ -0,0 +1,105 @@
+package com.selimhorri.app.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import com.selimhorri.app.cache.UnknownIdCache;
+import com.selimhorri.app.config.datasource.ReadYourWritesTracker;
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.service.CategoryService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CoalescingCategoryService Unit Tests")
+class CoalescingCategoryServiceTest {
+	
+	@Mock
+	private CategoryService delegate;
+	
+	@Mock
+	private ObjectProvider<ReadYourWritesTracker> trackerProvider;
+	
+	@Mock
+	private ObjectProvider<UnknownIdCache> unknownIdsProvider;
+	
+	private ReadYourWritesTracker tracker;
+	private CoalescingCategoryService coalescingCategoryService;
+	private ExecutorService executor;
+	
+	@BeforeEach
+	void setUp() {
+		this.tracker = new ReadYourWritesTracker(60_000L, 100);
+		when(this.trackerProvider.getIfAvailable()).thenReturn(this.tracker);
+		this.coalescingCategoryService = new CoalescingCategoryService(this.delegate, 5_000L,
+				this.trackerProvider, this.unknownIdsProvider, new SimpleMeterRegistry());
+		this.executor = Executors.newFixedThreadPool(2);
+	}
+	
+	@AfterEach
+	void tearDown() {
+		this.executor.shutdownNow();
+	}
+	
+	@Test
+	@DisplayName("Should not let a client that just wrote join a lookup led by another request")
+	void testStickyClientBypassesFlight() throws Exception {
+		// Given
+		final var leading = new CountDownLatch(1);
+		final var release = new CountDownLatch(1);
+		final var calls = new AtomicInteger();
+		final CategoryDto stale = CategoryDto.builder().categoryId(1).categoryTitle("stale").build();
+		final CategoryDto fresh = CategoryDto.builder().categoryId(1).categoryTitle("fresh").build();
+		when(this.delegate.findById(1)).thenAnswer(invocation -> {
+			if (calls.incrementAndGet() > 1)
+				return fresh;
+			leading.countDown();
+			release.await();
+			return stale;
+		});
+		final Future<CategoryDto> leader = this.executor.submit(() -> this.coalescingCategoryService.findById(1));
+		leading.await(5, TimeUnit.SECONDS);
+		
+		// When
+		final Future<CategoryDto> writer = this.executor.submit(() -> {
+			this.tracker.begin("client-a");
+			try {
+				this.tracker.markWrite();
+				return this.coalescingCategoryService.findById(1);
+			}
+			finally {
+				this.tracker.end();
+			}
+		});
+		final CategoryDto read = writer.get(5, TimeUnit.SECONDS);
+		release.countDown();
+		
+		// Then
+		assertSame(fresh, read);
+		assertSame(stale, leader.get(5, TimeUnit.SECONDS));
+		assertEquals(2, calls.get());
+		verify(this.delegate, times(2)).findById(1);
+	}
+	
+	
+	
+}
@@ -0,0 +1,106 @@
+package com.selimhorri.app.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import com.selimhorri.app.cache.UnknownIdCache;
+import com.selimhorri.app.config.datasource.ReadYourWritesTracker;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.service.ProductService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CoalescingProductService Unit Tests")
+class CoalescingProductServiceTest {
+	
+	@Mock
+	private ProductService delegate;
+	
+	@Mock
+	private ObjectProvider<ReadYourWritesTracker> trackerProvider;
+	
+	@Mock
+	private ObjectProvider<UnknownIdCache> unknownIdsProvider;
+	
+	private ReadYourWritesTracker tracker;
+	private CoalescingProductService coalescingProductService;
+	private ExecutorService executor;
+	
+	@BeforeEach
+	void setUp() {
+		this.tracker = new ReadYourWritesTracker(60_000L, 100);
+		when(this.trackerProvider.getIfAvailable()).thenReturn(this.tracker);
+		this.coalescingProductService = new CoalescingProductService(this.delegate, 5_000L, false, 2000L, 8, 256, 1,
+				this.trackerProvider, this.unknownIdsProvider, new SimpleMeterRegistry());
+		this.executor = Executors.newFixedThreadPool(2);
+	}
+	
+	@AfterEach
+	void tearDown() {
+		this.executor.shutdownNow();
+		this.coalescingProductService.close();
+	}
+	
+	@Test
+	@DisplayName("Should not let a client that just wrote join a lookup led by another request")
+	void testStickyClientBypassesFlight() throws Exception {
+		// Given
+		final var leading = new CountDownLatch(1);
+		final var release = new CountDownLatch(1);
+		final var calls = new AtomicInteger();
+		final ProductDto stale = ProductDto.builder().productId(1).productTitle("stale").build();
+		final ProductDto fresh = ProductDto.builder().productId(1).productTitle("fresh").build();
+		when(this.delegate.findById(1)).thenAnswer(invocation -> {
+			if (calls.incrementAndGet() > 1)
+				return fresh;
+			leading.countDown();
+			release.await();
+			return stale;
+		});
+		final Future<ProductDto> leader = this.executor.submit(() -> this.coalescingProductService.findById(1));
+		leading.await(5, TimeUnit.SECONDS);
+		
+		// When
+		final Future<ProductDto> writer = this.executor.submit(() -> {
+			this.tracker.begin("client-a");
+			try {
+				this.tracker.markWrite();
+				return this.coalescingProductService.findById(1);
+			}
+			finally {
+				this.tracker.end();
+			}
+		});
+		final ProductDto read = writer.get(5, TimeUnit.SECONDS);
+		release.countDown();
+		
+		// Then
+		assertSame(fresh, read);
+		assertSame(stale, leader.get(5, TimeUnit.SECONDS));
+		assertEquals(2, calls.get());
+		verify(this.delegate, times(2)).findById(1);
+	}
+	
+	
+	
+}
@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -22,11 +23,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import com.selimhorri.app.aggregate.CategoryAggregateMaintainer;
 import com.selimhorri.app.domain.Category;
 import com.selimhorri.app.domain.Product;
 import com.selimhorri.app.dto.CategoryDto;
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.exception.wrapper.DuplicateSkuException;
 import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
 import com.selimhorri.app.repository.CategoryRepository;
 import com.selimhorri.app.repository.ProductRepository;
@@ -41,6 +45,12 @@ class ProductServiceImplTest {
 	@Mock
 	private CategoryRepository categoryRepository;
 	
+	@Mock
+	private CategoryAggregateMaintainer categoryAggregateMaintainer;
+	
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+	
 	@InjectMocks
 	private ProductServiceImpl productService;
 	
@@ -151,6 +161,22 @@ class ProductServiceImplTest {
 		verify(productRepository, times(1)).findByIdWithoutDeleted(999);
 	}
 	
+	@Test
+	@DisplayName("Should find several products by id with one query")
+	void testFindAllById_Success() {
+		// Given
+		List<Integer> ids = Arrays.asList(1, 999);
+		when(productRepository.findAllByIdWithoutDeleted(ids)).thenReturn(Arrays.asList(testProduct));
+		
+		// When
+		List<ProductDto> result = productService.findAllById(ids);
+		
+		// Then
+		assertEquals(1, result.size());
+		assertEquals(1, result.get(0).getProductId());
+		verify(productRepository, times(1)).findAllByIdWithoutDeleted(ids);
+	}
+	
 	@Test
 	@DisplayName("Should save product successfully")
 	void testSave_Success() {
@@ -259,6 +285,39 @@ class ProductServiceImplTest {
 		verify(productRepository, times(1)).save(any(Product.class));
 	}
 	
+	@Test
+	@DisplayName("Should reject saving a product with a SKU already in use")
+	void testSave_DuplicateSku() {
+		// Given
+		ProductDto newProductDto = ProductDto.builder()
+				.productTitle("Copy")
+				.imageUrl("https://example.com/copy.jpg")
+				.sku("LAP-ASUS-001")
+				.priceUnit(99.99)
+				.quantity(10)
+				.categoryDto(testCategoryDto)
+				.build();
+		when(categoryRepository.findById(1)).thenReturn(Optional.of(testCategory));
+		when(productRepository.existsBySku("LAP-ASUS-001")).thenReturn(true);
+		
+		// When & Then
+		assertThrows(DuplicateSkuException.class, () -> productService.save(newProductDto));
+		verify(productRepository, never()).save(any(Product.class));
+	}
+	
+	@Test
+	@DisplayName("Should reject updating a product to another product's SKU")
+	void testUpdateById_DuplicateSku() {
+		// Given
+		when(productRepository.findById(1)).thenReturn(Optional.of(testProduct));
+		when(categoryRepository.findById(testCategory.getCategoryId())).thenReturn(Optional.of(testCategory));
+		when(productRepository.existsBySkuAndProductIdNot(testProductDto.getSku(), 1)).thenReturn(true);
+		
+		// When & Then
+		assertThrows(DuplicateSkuException.class, () -> productService.update(1, testProductDto));
+		verify(productRepository, never()).save(any(Product.class));
+	}
+	
 	@Test
 	@DisplayName("Should delete product by id successfully")
 	void testDeleteById_Success() {
@@ -278,6 +337,9 @@ class ProductServiceImplTest {
 		verify(productRepository, times(1)).findByIdWithoutDeleted(1);
 		verify(categoryRepository, times(1)).findByCategoryTitle("Deleted");
 		verify(productRepository, times(1)).save(any(Product.class));
+		verify(categoryAggregateMaintainer, times(1)).apply(
+				argThat(before -> before.getCategoryId() == 1 && before.getQuantity() == 50),
+				argThat(after -> after.getCategoryId() == 999 && after.getQuantity() == 50));
 	}
 	
 	@Test
@@ -0,0 +1,127 @@
+package com.selimhorri.app.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
+import com.selimhorri.app.service.ProductService;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ResilientProductService Unit Tests")
+class ResilientProductServiceTest {
+	
+	@Mock
+	private ProductService delegate;
+	
+	private CircuitBreakerRegistry circuitBreakerRegistry;
+	private ResilientProductService resilientProductService;
+	private ExecutorService executor;
+	
+	@BeforeEach
+	void setUp() {
+		this.circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+				.slidingWindowSize(2)
+				.minimumNumberOfCalls(2)
+				.recordExceptions(DataAccessResourceFailureException.class)
+				.build());
+		final BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+				.maxConcurrentCalls(1)
+				.maxWaitDuration(Duration.ZERO)
+				.build());
+		this.resilientProductService = new ResilientProductService(this.delegate, this.circuitBreakerRegistry, bulkheadRegistry);
+		this.executor = Executors.newSingleThreadExecutor();
+	}
+	
+	@AfterEach
+	void tearDown() {
+		this.executor.shutdownNow();
+	}
+	
+	@Test
+	@DisplayName("Should turn scans away while the scan bulkhead is full, but keep serving lookups by id")
+	void testBulkheadsAreSeparate() throws Exception {
+		// Given
+		final var scanning = new CountDownLatch(1);
+		final var release = new CountDownLatch(1);
+		final ProductDto product = ProductDto.builder().productId(1).build();
+		when(this.delegate.findAll()).thenAnswer(invocation -> {
+			scanning.countDown();
+			release.await();
+			return List.of();
+		});
+		when(this.delegate.findById(1)).thenReturn(product);
+		this.executor.submit(() -> this.resilientProductService.findAll());
+		scanning.await(5, TimeUnit.SECONDS);
+		
+		// When & Then
+		try {
+			assertThrows(BulkheadFullException.class, () -> this.resilientProductService.findAll());
+			assertSame(product, this.resilientProductService.findById(1));
+		}
+		finally {
+			release.countDown();
+		}
+	}
+	
+	@Test
+	@DisplayName("Should open the breaker on database failures and stop calling the delegate")
+	void testBreakerOpensOnDatabaseFailures() {
+		// Given
+		when(this.delegate.findById(1)).thenThrow(new DataAccessResourceFailureException("connection refused"));
+		assertThrows(DataAccessResourceFailureException.class, () -> this.resilientProductService.findById(1));
+		assertThrows(DataAccessResourceFailureException.class, () -> this.resilientProductService.findById(1));
+		
+		// When & Then
+		assertEquals(CircuitBreaker.State.OPEN,
+				this.circuitBreakerRegistry.circuitBreaker(ResilientProductService.CIRCUIT_BREAKER).getState());
+		assertThrows(CallNotPermittedException.class, () -> this.resilientProductService.deleteById(2));
+		verify(this.delegate, never()).deleteById(2);
+	}
+	
+	@Test
+	@DisplayName("Should not count not found as a database failure")
+	void testBusinessExceptionsKeepBreakerClosed() {
+		// Given
+		when(this.delegate.findById(1)).thenThrow(new ProductNotFoundException("Product with id: 1 not found"));
+		
+		// When
+		for (int i = 0; i < 3; i++)
+			assertThrows(ProductNotFoundException.class, () -> this.resilientProductService.findById(1));
+		
+		// Then
+		assertEquals(CircuitBreaker.State.CLOSED,
+				this.circuitBreakerRegistry.circuitBreaker(ResilientProductService.CIRCUIT_BREAKER).getState());
+	}
+	
+	
+	
+}
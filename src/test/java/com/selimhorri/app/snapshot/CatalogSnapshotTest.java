@@ -0,0 +1,113 @@
+package com.selimhorri.app.snapshot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+
+@DisplayName("CatalogSnapshot Unit Tests")
+class CatalogSnapshotTest {
+	
+	@TempDir
+	Path directory;
+	
+	@Test
+	@DisplayName("Should read back every product written, in write order")
+	void testRoundTrip() throws IOException {
+		// Given
+		final Path path = this.directory.resolve("catalog.snapshot");
+		final Instant generatedAt = Instant.parse("2024-01-01T10:00:00Z");
+		final List<ProductDto> products = List.of(product(30, "Café ☕"), product(10, "Laptop"), product(20, "Mouse"));
+		
+		// When
+		CatalogSnapshot.write(path, products, generatedAt);
+		final CatalogSnapshot snapshot = CatalogSnapshot.open(path);
+		
+		// Then
+		assertEquals(3, snapshot.size());
+		assertEquals(generatedAt, snapshot.getGeneratedAt());
+		assertEquals(products, snapshot.findAll());
+		assertEquals(products.get(0), snapshot.findById(30).orElseThrow());
+		assertEquals(products.get(2), snapshot.findById(20).orElseThrow());
+		assertTrue(snapshot.findById(15).isEmpty());
+	}
+	
+	@Test
+	@DisplayName("Should preserve null fields and products without category")
+	void testNulls() throws IOException {
+		// Given
+		final Path path = this.directory.resolve("catalog.snapshot");
+		final ProductDto product = ProductDto.builder()
+				.productId(1)
+				.productTitle("No details")
+				.build();
+		
+		// When
+		CatalogSnapshot.write(path, List.of(product), Instant.now());
+		final ProductDto read = CatalogSnapshot.open(path).findById(1).orElseThrow();
+		
+		// Then
+		assertEquals(product, read);
+		assertNull(read.getPriceUnit());
+		assertNull(read.getQuantity());
+		assertNull(read.getCategoryDto());
+	}
+	
+	@Test
+	@DisplayName("Should keep serving the mapped snapshot after the file is replaced")
+	void testReplaceWhileMapped() throws IOException {
+		// Given
+		final Path path = this.directory.resolve("catalog.snapshot");
+		CatalogSnapshot.write(path, List.of(product(1, "Old")), Instant.now());
+		final CatalogSnapshot old = CatalogSnapshot.open(path);
+		
+		// When
+		CatalogSnapshot.write(path, List.of(product(1, "New"), product(2, "Other")), Instant.now());
+		
+		// Then
+		assertEquals("Old", old.findById(1).orElseThrow().getProductTitle());
+		assertEquals("New", CatalogSnapshot.open(path).findById(1).orElseThrow().getProductTitle());
+	}
+	
+	@Test
+	@DisplayName("Should reject files that are not catalog snapshots")
+	void testRejectsForeignFile() throws IOException {
+		// Given
+		final Path path = Files.write(this.directory.resolve("catalog.snapshot"), new byte[64]);
+		
+		// When & Then
+		assertThrows(IOException.class, () -> CatalogSnapshot.open(path));
+	}
+	
+	private static ProductDto product(final int productId, final String title) {
+		return ProductDto.builder()
+				.productId(productId)
+				.productTitle(title)
+				.imageUrl("https://example.com/" + productId + ".jpg")
+				.sku("SKU-" + productId)
+				.priceUnit(productId * 1.5)
+				.quantity(productId * 2)
+				.categoryDto(CategoryDto.builder()
+						.categoryId(7)
+						.categoryTitle("Electronics")
+						.imageUrl("https://example.com/electronics.jpg")
+						.build())
+				.build();
+	}
+	
+	
+	
+}
@@ -0,0 +1,147 @@
+package com.selimhorri.app.snapshot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
+import com.selimhorri.app.service.ProductService;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SnapshotReadFallback Unit Tests")
+class SnapshotReadFallbackTest {
+	
+	@Mock
+	private ProductService productService;
+	
+	@TempDir
+	Path directory;
+	
+	private CatalogSnapshotManager snapshotManager;
+	private SnapshotReadFallback fallback;
+	
+	@BeforeEach
+	void setUp() {
+		this.snapshotManager = new CatalogSnapshotManager(
+				this.productService, this.directory.resolve("catalog.snapshot"), new SimpleMeterRegistry());
+		this.fallback = new SnapshotReadFallback(this.snapshotManager);
+	}
+	
+	@Test
+	@DisplayName("Should return the database result without stale headers when the read succeeds")
+	void testClosedBreaker() {
+		// Given
+		final ProductDto product = ProductDto.builder().productId(1).productTitle("Live").build();
+		
+		// When
+		final ResponseEntity<ProductDto> response = this.fallback.read(() -> product, snapshot -> null);
+		
+		// Then
+		assertSame(product, response.getBody());
+		assertNull(response.getHeaders().getFirst(HttpHeaders.WARNING));
+	}
+	
+	@Test
+	@DisplayName("Should serve the snapshot with staleness headers when the breaker is open")
+	void testOpenBreaker() {
+		// Given
+		this.refreshSnapshot(ProductDto.builder().productId(1).productTitle("Snapshot").build());
+		final CircuitBreaker circuitBreaker = CircuitBreaker.ofDefaults("productService");
+		circuitBreaker.transitionToOpenState();
+		
+		// When
+		final ResponseEntity<ProductDto> response = this.fallback.read(
+				() -> circuitBreaker.executeSupplier(() -> { throw new IllegalStateException("must not be called"); }),
+				snapshot -> snapshot.findById(1).orElseThrow());
+		
+		// Then
+		assertEquals("Snapshot", response.getBody().getProductTitle());
+		assertEquals("110 - \"Response is Stale\"", response.getHeaders().getFirst(HttpHeaders.WARNING));
+		assertEquals(this.snapshotManager.getCurrent().orElseThrow().getGeneratedAt().toString(),
+				response.getHeaders().getFirst(SnapshotReadFallback.GENERATED_AT_HEADER));
+		assertEquals("0", response.getHeaders().getFirst(HttpHeaders.AGE));
+	}
+	
+	@Test
+	@DisplayName("Should serve the snapshot when the database read fails")
+	void testDatabaseFailure() {
+		// Given
+		this.refreshSnapshot(ProductDto.builder().productId(1).productTitle("Snapshot").build());
+		
+		// When
+		final ResponseEntity<ProductDto> response = this.fallback.read(
+				() -> { throw new DataAccessResourceFailureException("connection refused"); },
+				snapshot -> snapshot.findById(1).orElseThrow());
+		
+		// Then
+		assertEquals("Snapshot", response.getBody().getProductTitle());
+	}
+	
+	@Test
+	@DisplayName("Should serve the snapshot when a bulkhead turns the read away")
+	void testBulkheadFull() {
+		// Given
+		this.refreshSnapshot(ProductDto.builder().productId(1).productTitle("Snapshot").build());
+		final Bulkhead bulkhead = Bulkhead.ofDefaults("productScans");
+		
+		// When
+		final ResponseEntity<ProductDto> response = this.fallback.read(
+				() -> { throw BulkheadFullException.createBulkheadFullException(bulkhead); },
+				snapshot -> snapshot.findById(1).orElseThrow());
+		
+		// Then
+		assertEquals("Snapshot", response.getBody().getProductTitle());
+	}
+	
+	@Test
+	@DisplayName("Should rethrow the failure when no snapshot exists yet")
+	void testNoSnapshot() {
+		// When & Then
+		assertThrows(DataAccessResourceFailureException.class, () -> this.fallback.read(
+				() -> { throw new DataAccessResourceFailureException("connection refused"); },
+				snapshot -> null));
+	}
+	
+	@Test
+	@DisplayName("Should not fall back on business exceptions")
+	void testBusinessException() {
+		// Given
+		this.refreshSnapshot(ProductDto.builder().productId(1).productTitle("Snapshot").build());
+		
+		// When & Then
+		assertThrows(ProductNotFoundException.class, () -> this.fallback.read(
+				() -> { throw new ProductNotFoundException("Product with id: 2 not found"); },
+				snapshot -> snapshot.findById(1).orElseThrow()));
+	}
+	
+	private void refreshSnapshot(final ProductDto... products) {
+		when(this.productService.findAll()).thenReturn(List.of(products));
+		this.snapshotManager.refresh();
+		assertEquals(products.length, this.snapshotManager.getCurrent().orElseThrow().size());
+	}
+	
+	
+	
+}
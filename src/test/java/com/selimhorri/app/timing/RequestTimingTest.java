@@ -0,0 +1,99 @@
+package com.selimhorri.app.timing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("RequestTiming Unit Tests")
+class RequestTimingTest {
+	
+	private RequestTiming timing;
+	
+	@BeforeEach
+	void setUp() {
+		RequestTiming.enable();
+		this.timing = RequestTiming.begin();
+	}
+	
+	@AfterEach
+	void tearDown() {
+		RequestTiming.end();
+	}
+	
+	@Test
+	@DisplayName("Should count nested mapping once and leave lazy loads to JDBC")
+	void testNestedMappingExcludesJdbc() throws InterruptedException {
+		// When
+		RequestTiming.mappingStarted();
+		RequestTiming.mappingStarted();
+		Thread.sleep(20);
+		this.timing.statementExecuted(TimeUnit.MILLISECONDS.toNanos(10));
+		RequestTiming.mappingFinished();
+		RequestTiming.mappingFinished();
+		
+		// Then
+		assertEquals(1, this.timing.getStatementCount());
+		assertEquals(TimeUnit.MILLISECONDS.toNanos(10), this.timing.getJdbcNanos());
+		assertTrue(this.timing.getMappingNanos() >= TimeUnit.MILLISECONDS.toNanos(10));
+		assertTrue(this.timing.getMappingNanos() <= this.timing.elapsedNanos() - TimeUnit.MILLISECONDS.toNanos(10));
+	}
+	
+	@Test
+	@DisplayName("Should time only the outermost service call")
+	void testNestedServiceCalls() throws InterruptedException {
+		// When
+		this.timing.serviceStarted();
+		this.timing.serviceStarted();
+		Thread.sleep(5);
+		this.timing.serviceFinished();
+		final long inner = this.timing.getServiceNanos();
+		this.timing.serviceFinished();
+		
+		// Then
+		assertEquals(0L, inner);
+		assertTrue(this.timing.getServiceNanos() >= TimeUnit.MILLISECONDS.toNanos(5));
+	}
+	
+	@Test
+	@DisplayName("Should format the Server-Timing header in milliseconds")
+	void testHeader() {
+		// Given
+		this.timing.statementExecuted(1_234_567L);
+		this.timing.statementExecuted(1_000L);
+		this.timing.serialized(5_000L);
+		
+		// When
+		final String header = this.timing.toHeader();
+		
+		// Then
+		assertTrue(header.startsWith("db;dur=1.235;desc=\"2 statements\", svc;dur=0.000, map;dur=0.000, ser;dur=0.005, total;dur="),
+				header);
+	}
+	
+	@Test
+	@DisplayName("Should be bound to the request thread only")
+	void testThreadBound() throws InterruptedException {
+		// Given
+		final RequestTiming[] seen = new RequestTiming[1];
+		final var other = new Thread(() -> seen[0] = RequestTiming.current());
+		
+		// When
+		other.start();
+		other.join();
+		
+		// Then
+		assertSame(this.timing, RequestTiming.current());
+		assertNull(seen[0]);
+	}
+	
+	
+	
+}